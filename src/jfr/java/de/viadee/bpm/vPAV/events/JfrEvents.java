@@ -0,0 +1,137 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event types. This class is only compiled on JDK 11 and later
+ * (profile jfr) and only loaded by ValidatorEvents, if the JVM provides jdk.jfr.
+ */
+final class JfrEvents {
+
+	private JfrEvents() {
+	}
+
+	static Object begin(final ValidatorEvents.Type type, final String modelPath, final String elementId,
+			final String checkerName, final String method) {
+		final ValidatorEvent event;
+		switch (type) {
+		case MODEL_PARSE:
+			event = new ModelParseEvent();
+			break;
+		case BPMN_SCANNER:
+			event = new BpmnScannerEvent();
+			break;
+		case CALL_GRAPH:
+			final CallGraphEvent callGraphEvent = new CallGraphEvent();
+			callGraphEvent.method = method;
+			event = callGraphEvent;
+			break;
+		case CHECKER:
+			event = new CheckerEvent();
+			break;
+		case DATA_FLOW:
+			event = new DataFlowEvent();
+			break;
+		default:
+			event = new InvalidPathsEvent();
+			break;
+		}
+		if (!event.isEnabled()) {
+			return null;
+		}
+		event.modelPath = modelPath;
+		event.elementId = elementId;
+		event.checkerName = checkerName;
+		event.begin();
+		return event;
+	}
+
+	static void commit(final Object event) {
+		((ValidatorEvent) event).commit();
+	}
+
+	@Category("vPAV")
+	abstract static class ValidatorEvent extends Event {
+
+		@Label("Model Path")
+		String modelPath;
+
+		@Label("Element Id")
+		String elementId;
+
+		@Label("Checker")
+		String checkerName;
+	}
+
+	@Name("de.viadee.vPAV.ModelParse")
+	@Label("Model Parse")
+	@Description("Parsing of a BPMN model by the Camunda model API")
+	static final class ModelParseEvent extends ValidatorEvent {
+	}
+
+	@Name("de.viadee.vPAV.BpmnScanner")
+	@Label("BpmnScanner Creation")
+	static final class BpmnScannerEvent extends ValidatorEvent {
+	}
+
+	@Name("de.viadee.vPAV.CallGraph")
+	@Label("Call Graph")
+	@Description("Soot call graph of a method analysed by the static code analysis")
+	static final class CallGraphEvent extends ValidatorEvent {
+
+		@Label("Method")
+		String method;
+	}
+
+	@Name("de.viadee.vPAV.Check")
+	@Label("Checker Call")
+	static final class CheckerEvent extends ValidatorEvent {
+	}
+
+	@Name("de.viadee.vPAV.DataFlow")
+	@Label("Data Flow Analysis")
+	@Description("Calculation of the variable states of a data flow graph")
+	static final class DataFlowEvent extends ValidatorEvent {
+	}
+
+	@Name("de.viadee.vPAV.InvalidPaths")
+	@Label("Invalid Paths")
+	@Description("Search of the paths of the data flow anomalies of a graph")
+	static final class InvalidPathsEvent extends ValidatorEvent {
+	}
+}
@@ -0,0 +1,100 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import de.viadee.bpm.vPAV.SyntheticModelGenerator;
+import de.viadee.bpm.vPAV.constants.ConfigConstants;
+
+/**
+ * Models used by the benchmarks: the models of the test resources and scaled
+ * synthetic models, which are written to target/benchmark
+ */
+public final class BenchmarkModels {
+
+    /* prefix of a synthetic model, followed by the number of flow nodes */
+    public static final String SYNTHETIC = "synthetic:";
+
+    /* folder of the synthetic models, delegate sources are written to the subfolder java */
+    public static final String TARGET_FOLDER = "target/benchmark/";
+
+    /* generated models: file paths by process id */
+    private static final Map<String, Map<String, String>> generated = new HashMap<String, Map<String, String>>();
+
+    private BenchmarkModels() {
+    }
+
+    /**
+     * Resolves a benchmark parameter to a model file
+     *
+     * @param model
+     *            name of a model in src/test/resources or "synthetic:" and the
+     *            size of the model
+     * @return model file
+     * @throws IOException
+     *             if a synthetic model couldn't be written
+     */
+    public static File resolve(final String model) throws IOException {
+        if (model.startsWith(SYNTHETIC)) {
+            return new File(getProcessIdToPathMap(model).values().iterator().next());
+        }
+        return new File(ConfigConstants.TEST_BASEPATH + model);
+    }
+
+    /**
+     * @param model
+     *            benchmark parameter
+     * @return file paths of the processes called by a synthetic model, empty for
+     *         test resources
+     * @throws IOException
+     *             if a synthetic model couldn't be written
+     */
+    public static synchronized Map<String, String> getProcessIdToPathMap(final String model) throws IOException {
+        if (!model.startsWith(SYNTHETIC)) {
+            return new HashMap<String, String>();
+        }
+        Map<String, String> processIdToPathMap = generated.get(model);
+        if (processIdToPathMap == null) {
+            final int size = Integer.parseInt(model.substring(SYNTHETIC.length()));
+            processIdToPathMap = new SyntheticModelGenerator().setElements(size).setGatewayDensity(0.3)
+                    .setLoops(size / 100).setVariables(Math.max(10, size / 10)).setDelegateReuse(0.5)
+                    .setSubProcessDepth(2).setCallActivityChain(3)
+                    .generate(new File(TARGET_FOLDER), "synthetic_" + size);
+            generated.put(model, processIdToPathMap);
+        }
+        return processIdToPathMap;
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.benchmark;
+
+import java.io.IOException;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+import org.xml.sax.SAXException;
+
+import de.viadee.bpm.vPAV.BpmnScanner;
+import de.viadee.bpm.vPAV.processing.model.data.BpmnElement;
+
+/**
+ * Parsing of a model by the BpmnScanner and the queries of the checkers
+ */
+public class BpmnScannerBenchmark {
+
+    @Benchmark
+    public BpmnScanner construct(final ModelState state)
+            throws ParserConfigurationException, SAXException, IOException {
+        return new BpmnScanner(state.path);
+    }
+
+    @Benchmark
+    public void queries(final ModelState state, final Blackhole blackhole) {
+        for (final BpmnElement element : state.elements) {
+            final String id = element.getBaseElement().getId();
+            blackhole.consume(state.bpmnScanner.getImplementation(id));
+            blackhole.consume(state.bpmnScanner.getOutgoing(id));
+            blackhole.consume(state.bpmnScanner.getInputVariables(id));
+            blackhole.consume(state.bpmnScanner.getOutputVariables(id));
+            blackhole.consume(state.bpmnScanner.getErrorEvent(id));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.viadee.bpm.vPAV.config.model.ElementConvention;
+import de.viadee.bpm.vPAV.config.model.ModelConvention;
+import de.viadee.bpm.vPAV.config.model.Rule;
+import de.viadee.bpm.vPAV.config.reader.ConfigReaderException;
+import de.viadee.bpm.vPAV.config.reader.XmlConfigReader;
+import de.viadee.bpm.vPAV.constants.ConfigConstants;
+import de.viadee.bpm.vPAV.processing.checker.CheckerFactory;
+import de.viadee.bpm.vPAV.processing.checker.ElementChecker;
+import de.viadee.bpm.vPAV.processing.model.data.BpmnElement;
+
+/**
+ * Every element checker on all elements of a model. The rule of a checker is
+ * taken from the ruleSet.xml of the test resources and otherwise from the
+ * default rule set.
+ */
+public class CheckerBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class CheckerState {
+
+        @Param({ "XorConventionChecker", "TimerExpressionChecker", "JavaDelegateChecker", "NoScriptChecker",
+                "NoExpressionChecker", "EmbeddedGroovyScriptChecker", "VersioningChecker", "DmnTaskChecker",
+                "ProcessVariablesNameConventionChecker", "TaskNamingConventionChecker", "ElementIdConventionChecker",
+                "MessageEventChecker", "FieldInjectionChecker", "BoundaryErrorChecker", "ExtensionChecker",
+                "OverlapChecker", "SignalEventChecker" })
+        public String checker;
+
+        public Collection<ElementChecker> checkers;
+
+        @Setup(Level.Trial)
+        public void setup(final ModelState state) throws ConfigReaderException {
+            final Map<String, Rule> rules = new HashMap<String, Rule>();
+            rules.putAll(new XmlConfigReader().read(ConfigConstants.RULESETDEFAULT));
+            rules.putAll(new XmlConfigReader().read(ConfigConstants.RULESET));
+            final Rule rule = rules.get(checker);
+            // deactivated checkers are measured as well
+            final Rule activeRule = rule == null
+                    ? new Rule(checker, true, null, new HashMap<>(), new ArrayList<ElementConvention>(),
+                            new ArrayList<ModelConvention>())
+                    : new Rule(checker, true, rule.getRuleDescription(), rule.getSettings(),
+                            rule.getElementConventions(), rule.getModelConventions());
+            checkers = new CheckerFactory().createCheckerInstances(Collections.singletonMap(checker, activeRule),
+                    state.fileScanner.getResourcesNewestVersions(), state.bpmnScanner);
+            if (checkers.isEmpty()) {
+                throw new IllegalStateException("Checker " + checker + " couldn't be instantiated");
+            }
+        }
+    }
+
+    @Benchmark
+    public void check(final ModelState state, final CheckerState checkerState, final Blackhole blackhole) {
+        for (final ElementChecker checker : checkerState.checkers) {
+            for (final BpmnElement element : state.elements) {
+                blackhole.consume(checker.check(element));
+            }
+        }
+    }
+}
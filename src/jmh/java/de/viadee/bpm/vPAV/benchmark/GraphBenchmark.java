@@ -0,0 +1,96 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import de.viadee.bpm.vPAV.processing.ElementGraphBuilder;
+import de.viadee.bpm.vPAV.processing.model.data.AnomalyContainer;
+import de.viadee.bpm.vPAV.processing.model.graph.IGraph;
+import de.viadee.bpm.vPAV.processing.model.graph.Path;
+
+/**
+ * Creation of the data flow graphs and the data flow analysis
+ */
+public class GraphBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class GraphState {
+
+        public ElementGraphBuilder graphBuilder;
+
+        public Collection<IGraph> graphs;
+
+        @Setup(Level.Trial)
+        public void setup(final ModelState state) {
+            graphBuilder = createGraphBuilder(state);
+            graphs = graphBuilder.createProcessGraph(state.javaReaderContext, state.fileScanner,
+                    state.modelInstance, state.path, new ArrayList<String>(), state.variableScanner);
+        }
+    }
+
+    /**
+     * call activities of synthetic models are followed into the called processes
+     */
+    static ElementGraphBuilder createGraphBuilder(final ModelState state) {
+        return new ElementGraphBuilder(state.fileScanner.getDecisionRefToPathMap(), state.processIdToPathMap,
+                state.bpmnScanner);
+    }
+
+    @Benchmark
+    public Collection<IGraph> createProcessGraph(final ModelState state) {
+        return createGraphBuilder(state).createProcessGraph(state.javaReaderContext,
+                state.fileScanner, state.modelInstance, state.path, new ArrayList<String>(), state.variableScanner);
+    }
+
+    @Benchmark
+    public Collection<IGraph> setAnomalyInformation(final GraphState state) {
+        for (final IGraph graph : state.graphs) {
+            graph.setAnomalyInformation(graph.getStartNodes().iterator().next());
+        }
+        return state.graphs;
+    }
+
+    @Benchmark
+    public Map<AnomalyContainer, List<Path>> createInvalidPaths(final GraphState state) {
+        return state.graphBuilder.createInvalidPaths(state.graphs);
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.instance.BaseElement;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.xml.sax.SAXException;
+
+import de.viadee.bpm.vPAV.BpmnModelRegistry;
+import de.viadee.bpm.vPAV.BpmnScanner;
+import de.viadee.bpm.vPAV.FileScanner;
+import de.viadee.bpm.vPAV.OuterProcessVariablesScanner;
+import de.viadee.bpm.vPAV.RuntimeConfig;
+import de.viadee.bpm.vPAV.constants.ConfigConstants;
+import de.viadee.bpm.vPAV.processing.JavaReaderContext;
+import de.viadee.bpm.vPAV.processing.JavaReaderRegex;
+import de.viadee.bpm.vPAV.processing.model.data.BpmnElement;
+
+/**
+ * Parsed model with the scanners, which are needed by the benchmarks. The
+ * environment is the same as in the unit tests.
+ */
+@State(Scope.Benchmark)
+public class ModelState {
+
+    @Param({ "ProcessVariablesModelCheckerTest_GraphCreation.bpmn", "ComplexModelTest_GraphOnComplexModel.bpmn",
+            BenchmarkModels.SYNTHETIC + "1000", BenchmarkModels.SYNTHETIC + "10000" })
+    public String model;
+
+    public File processdefinition;
+
+    public String path;
+
+    public BpmnModelInstance modelInstance;
+
+    public BpmnScanner bpmnScanner;
+
+    public FileScanner fileScanner;
+
+    public OuterProcessVariablesScanner variableScanner;
+
+    public Map<String, String> processIdToPathMap;
+
+    public JavaReaderContext javaReaderContext;
+
+    public Collection<BpmnElement> elements;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, ParserConfigurationException, SAXException {
+        RuntimeConfig.getInstance().setTest(true);
+        // delegates of the synthetic models are read from the target folder
+        final String currentPath = new File(".").toURI().toURL().toString();
+        final URL[] classUrls = { new URL(currentPath + ConfigConstants.TEST_JAVAPATH),
+                new URL(currentPath + BenchmarkModels.TARGET_FOLDER + "java/") };
+        RuntimeConfig.getInstance().setClassLoader(new URLClassLoader(classUrls));
+        RuntimeConfig.getInstance().getResource("en_US");
+
+        processdefinition = BenchmarkModels.resolve(model);
+        processIdToPathMap = BenchmarkModels.getProcessIdToPathMap(model);
+        path = processdefinition.getPath();
+        modelInstance = Bpmn.readModelFromFile(processdefinition);
+        bpmnScanner = new BpmnScanner(path);
+        fileScanner = new FileScanner(new HashMap<>(), ConfigConstants.TEST_JAVAPATH);
+        variableScanner = new OuterProcessVariablesScanner(null);
+        javaReaderContext = new JavaReaderContext();
+        javaReaderContext.setJavaReadingStrategy(new JavaReaderRegex());
+
+        elements = new ArrayList<BpmnElement>();
+        for (final BaseElement baseElement : modelInstance.getModelElementsByType(BaseElement.class)) {
+            elements.add(new BpmnElement(path, baseElement));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BpmnModelRegistry.getInstance().clear();
+        RuntimeConfig.getInstance().setTest(false);
+    }
+}
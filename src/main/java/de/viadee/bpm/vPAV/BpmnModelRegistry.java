@@ -0,0 +1,242 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.w3c.dom.Document;
+
+import de.viadee.bpm.vPAV.events.ValidatorEvents;
+
+/**
+ * Parses each BPMN model only once per run. Models are keyed by their path and
+ * the hash of their content, so a changed file is parsed again. The parsed
+ * model serves both the Camunda model instance and the DOM used by the
+ * BpmnScanner. The diagram interchange is removed while parsing (see
+ * {@link DiagramInterchangeFilter}), so it isn't part of the parsed model.
+ *
+ * The parsed model itself is never handed out, because the DOM isn't safe for
+ * concurrent reads. Each caller gets its own copy of the model instance, which
+ * is cloned under the lock of the parsed model.
+ */
+public class BpmnModelRegistry {
+
+	private static volatile BpmnModelRegistry instance;
+
+	private final Map<String, ParsedModel> models = new ConcurrentHashMap<>();
+
+	private BpmnModelRegistry() {
+	}
+
+	public static BpmnModelRegistry getInstance() {
+		if (BpmnModelRegistry.instance == null) {
+			synchronized (BpmnModelRegistry.class) {
+				if (BpmnModelRegistry.instance == null) {
+					BpmnModelRegistry.instance = new BpmnModelRegistry();
+				}
+			}
+		}
+		return BpmnModelRegistry.instance;
+	}
+
+	/**
+	 * Returns the parsed model of the given file. The file is parsed, if it has not
+	 * been parsed before or its content has changed. The content is only read and
+	 * hashed again, if the modification time or the size of the file changed.
+	 *
+	 * @param modelFile
+	 *            BPMN file
+	 * @return parsed model
+	 * @throws RuntimeException
+	 *             Model couldn't be read
+	 */
+	public ParsedModel getModel(final File modelFile) throws RuntimeException {
+		final String key = createKey(modelFile);
+		final long lastModified = modelFile.lastModified();
+		final long length = modelFile.length();
+
+		final ParsedModel cachedModel = models.get(key);
+		if (cachedModel != null && cachedModel.hasFileStamp(lastModified, length)) {
+			return cachedModel;
+		}
+
+		final byte[] content;
+		try {
+			content = Files.readAllBytes(modelFile.toPath());
+		} catch (final IOException e) {
+			throw new RuntimeException("bpmn model couldn't be read: " + modelFile.getPath(), e);
+		}
+		final String contentHash = createHash(content);
+
+		return models.compute(key, (k, parsedModel) -> {
+			if (parsedModel != null && parsedModel.getContentHash().equals(contentHash)) {
+				// only touched, the content is still the same
+				parsedModel.setFileStamp(lastModified, length);
+				return parsedModel;
+			}
+			try (ValidatorEvents.Scope scope = ValidatorEvents.begin(ValidatorEvents.Type.MODEL_PARSE,
+					modelFile.getPath(), null, null)) {
+				final ParsedModel newModel = new ParsedModel(modelFile.getPath(), contentHash,
+						DiagramInterchangeFilter.readModel(content));
+				newModel.setFileStamp(lastModified, length);
+				return newModel;
+			}
+		});
+	}
+
+	/**
+	 * Returns a copy of the Camunda model instance of the given file, which is
+	 * owned by the caller
+	 *
+	 * @param modelFile
+	 *            BPMN file
+	 * @return BpmnModelInstance
+	 */
+	public BpmnModelInstance getModelInstance(final File modelFile) {
+		return getModel(modelFile).copyModelInstance();
+	}
+
+	/**
+	 * Returns a BpmnScanner of the given file, based on a copy of the already
+	 * parsed DOM
+	 *
+	 * @param modelFile
+	 *            BPMN file
+	 * @return BpmnScanner
+	 */
+	public BpmnScanner getBpmnScanner(final File modelFile) {
+		final ParsedModel parsedModel = getModel(modelFile);
+		return createBpmnScanner(parsedModel.getPath(), parsedModel.copyModelInstance());
+	}
+
+	/**
+	 * Creates a BpmnScanner on top of the DOM of a model instance, which is owned
+	 * by the caller
+	 *
+	 * @param path
+	 *            Path of the model
+	 * @param modelInstance
+	 *            BpmnModelInstance
+	 * @return BpmnScanner
+	 * @throws RuntimeException
+	 *             Version of the model couldn't be determined
+	 */
+	public static BpmnScanner createBpmnScanner(final String path, final BpmnModelInstance modelInstance)
+			throws RuntimeException {
+		try (ValidatorEvents.Scope scope = ValidatorEvents.begin(ValidatorEvents.Type.BPMN_SCANNER, path, null,
+				null)) {
+			return new BpmnScanner((Document) modelInstance.getDocument().getDomSource().getNode());
+		} catch (final ParserConfigurationException e) {
+			throw new RuntimeException("Model couldn't be parsed", e);
+		}
+	}
+
+	/**
+	 * Removes all parsed models
+	 */
+	public void clear() {
+		models.clear();
+	}
+
+	private static String createKey(final File modelFile) {
+		return modelFile.toPath().toAbsolutePath().normalize().toString();
+	}
+
+	private static String createHash(final byte[] content) {
+		try {
+			final MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+			return new BigInteger(1, messageDigest.digest(content)).toString(16);
+		} catch (final NoSuchAlgorithmException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * A BPMN model, which has been parsed once
+	 */
+	public static class ParsedModel {
+
+		private final String path;
+
+		private final String contentHash;
+
+		private final BpmnModelInstance modelInstance;
+
+		// modification time and size of the file, when the content hash was computed
+		private long lastModified;
+
+		private long length;
+
+		ParsedModel(final String path, final String contentHash, final BpmnModelInstance modelInstance) {
+			this.path = path;
+			this.contentHash = contentHash;
+			this.modelInstance = modelInstance;
+		}
+
+		public String getPath() {
+			return path;
+		}
+
+		public String getContentHash() {
+			return contentHash;
+		}
+
+		/**
+		 * Clones the parsed model instance. The parsed instance is only read here, so
+		 * the lock keeps concurrent callers from reading its DOM at the same time.
+		 *
+		 * @return copy of the model instance
+		 */
+		public synchronized BpmnModelInstance copyModelInstance() {
+			return modelInstance.clone();
+		}
+
+		synchronized void setFileStamp(final long lastModified, final long length) {
+			this.lastModified = lastModified;
+			this.length = length;
+		}
+
+		synchronized boolean hasFileStamp(final long lastModified, final long length) {
+			return this.lastModified == lastModified && this.length == length;
+		}
+	}
+}
@@ -32,14 +32,22 @@
 package de.viadee.bpm.vPAV;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
+import org.camunda.bpm.model.bpmn.impl.BpmnModelConstants;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NamedNodeMap;
@@ -51,17 +59,13 @@ import de.viadee.bpm.vPAV.constants.BpmnConstants;
 
 public class BpmnScanner {
 
-    private DocumentBuilderFactory factory;
-
-    private DocumentBuilder builder;
-
     private Document doc;
 
-    private ModelVersionEnum modelVersion;
+    // bpmn elements by id
+    private final Map<String, Element> elementsById = new HashMap<String, Element>();
 
-    private enum ModelVersionEnum {
-        V1, V2, V3
-    }
+    // bpmn elements by local name, independent of the namespace prefix used in the model
+    private final Map<String, List<Element>> elementsByLocalName = new HashMap<String, List<Element>>();
 
     /**
      * The Camunda API's method "getimplementation" doesn't return the correct Implementation, so the we have to scan
@@ -77,34 +81,135 @@ public class BpmnScanner {
      *             Encapsulate a general SAX error or warning.
      */
     public BpmnScanner(String path) throws ParserConfigurationException, SAXException, IOException {
-        factory = DocumentBuilderFactory.newInstance();
-        factory.setNamespaceAware(true);
-        builder = factory.newDocumentBuilder();
-        setModelVersion(path);
+        this(parse(path));
+    }
+
+    /**
+     * Creates a scanner on top of an already parsed, namespace aware document (e.g. the DOM of a BpmnModelInstance)
+     *
+     * @param doc
+     *            parsed bpmn model
+     * @throws ParserConfigurationException
+     *             exception if the document doesn't contain a bpmn model
+     */
+    public BpmnScanner(Document doc) throws ParserConfigurationException {
+        this.doc = doc;
+        createIndex();
     }
 
     /**
-     * Checks which camunda namespace is used in a given model and sets the version correspondingly
+     * Parses the given bpmn model
      *
      * @param path
+     *            path to model
+     * @return document
      * @throws SAXException
      * @throws IOException
      * @throws ParserConfigurationException
      */
-    private void setModelVersion(String path) throws SAXException, IOException, ParserConfigurationException {
-        // parse the given bpmn model
-        doc = builder.parse(path);
-
-        if (doc.getElementsByTagName(BpmnConstants.DEFINITIONS).getLength() > 0)
-            modelVersion = ModelVersionEnum.V1;
-        else if (doc.getElementsByTagName(BpmnConstants.BPMN_DEFINITIONS).getLength() > 0)
-            modelVersion = ModelVersionEnum.V2;
-        else if (doc.getElementsByTagName(BpmnConstants.BPMN2_DEFINITIONS).getLength() > 0)
-            modelVersion = ModelVersionEnum.V3;
-        else
+    private static Document parse(String path) throws SAXException, IOException, ParserConfigurationException {
+        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        final DocumentBuilder builder = factory.newDocumentBuilder();
+        return builder.parse(path);
+    }
+
+    /**
+     * Indexes all bpmn elements of the model by id and by local name. Elements are matched by namespace, so models
+     * with and without a prefix (e.g. bpmn: or bpmn2:) are handled the same way.
+     *
+     * @throws ParserConfigurationException
+     *             if the document doesn't contain bpmn definitions
+     */
+    private void createIndex() throws ParserConfigurationException {
+        final Deque<Element> stack = new ArrayDeque<Element>();
+        if (doc.getDocumentElement() != null) {
+            stack.push(doc.getDocumentElement());
+        }
+
+        while (!stack.isEmpty()) {
+            final Element element = stack.pop();
+            if (isBpmnElement(element)) {
+                List<Element> elements = elementsByLocalName.get(element.getLocalName());
+                if (elements == null) {
+                    elements = new ArrayList<Element>();
+                    elementsByLocalName.put(element.getLocalName(), elements);
+                }
+                elements.add(element);
+
+                final String id = element.getAttribute(BpmnConstants.ATTR_ID);
+                if (!id.isEmpty() && !elementsById.containsKey(id)) {
+                    elementsById.put(id, element);
+                }
+            }
+
+            // push children in reverse order to index in document order
+            final NodeList childNodes = element.getChildNodes();
+            for (int i = childNodes.getLength() - 1; i >= 0; i--) {
+                if (childNodes.item(i).getNodeType() == Node.ELEMENT_NODE) {
+                    stack.push((Element) childNodes.item(i));
+                }
+            }
+        }
+
+        if (!elementsByLocalName.containsKey(BpmnConstants.DEFINITIONS))
             throw new ParserConfigurationException("Can't get the version of the BPMN Model");
     }
 
+    /**
+     * Checks whether a node belongs to the bpmn namespace
+     *
+     * @param node
+     *            node to check
+     * @return true if node is a bpmn element
+     */
+    private static boolean isBpmnElement(final Node node) {
+        return node.getNodeType() == Node.ELEMENT_NODE && node.getLocalName() != null
+                && BpmnModelConstants.BPMN20_NS.equals(node.getNamespaceURI());
+    }
+
+    /**
+     * Checks whether a node is a bpmn element with the given local name
+     *
+     * @param node
+     *            node to check
+     * @param localName
+     *            local name of the bpmn element
+     * @return true if node is a bpmn element with the given local name
+     */
+    private static boolean isBpmnElement(final Node node, final String localName) {
+        return isBpmnElement(node) && node.getLocalName().equals(localName);
+    }
+
+    /**
+     * Returns the bpmn element with the given id, if it is one of the given types
+     *
+     * @param id
+     *            id of bpmn element
+     * @param localNames
+     *            allowed local names (e.g. serviceTask)
+     * @return element or null
+     */
+    private Element getElement(final String id, final String... localNames) {
+        final Element element = elementsById.get(id);
+        if (element != null && Arrays.asList(localNames).contains(element.getLocalName())) {
+            return element;
+        }
+        return null;
+    }
+
+    /**
+     * Returns all bpmn elements with the given local name in document order
+     *
+     * @param localName
+     *            local name of the bpmn element
+     * @return elements
+     */
+    private List<Element> getElements(final String localName) {
+        final List<Element> elements = elementsByLocalName.get(localName);
+        return elements != null ? elements : Collections.<Element> emptyList();
+    }
+
     /**
      * Return the Implementation of an specific element (sendTask, ServiceTask or BusinessRuleTask)
      *
@@ -118,72 +223,36 @@ public class BpmnScanner {
 
         String nodeName;
 
-        // List for all Task elements
-        ArrayList<NodeList> listNodeList = new ArrayList<NodeList>();
-
-        switch (modelVersion) {
-            case V1:
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BUSINESSRULETASK));
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.SERVICETASK));
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.SENDTASK));
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.ENDEVENT));
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.INTERMEDIATETHROWEVENT));
-                break;
-            case V2:
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN_BUSINESSRULETASK));
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN_SERVICETASK));
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN_SENDTASK));
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN_ENDEVENT));
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN_INTERMEDIATETHROWEVENT));
-                break;
-            case V3:
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN2_BUSINESSRULETASK));
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN2_SERVICETASK));
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN2_SENDTASK));
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN2_ENDEVENT));
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN2_INTERMEDIATETHROWEVENT));
-                break;
-            default:
-                listNodeList = null;
-        }
-
-        // iterate over list<NodeList> and check each NodeList (BRTask,
-        // ServiceTask and SendTask)
-        for (final NodeList list : listNodeList) {
-            // iterate over list and check child of each node
-            for (int i = 0; i < list.getLength(); i++) {
-                Element taskElement = (Element) list.item(i);   
-                // check if the ids are corresponding
-                if (id.equals(taskElement.getAttribute(BpmnConstants.ATTR_ID))) {
-                	NamedNodeMap taskElementAttr = taskElement.getAttributes();
-                    // check if more than 1 inner attribute exists
-                    if (taskElementAttr.getLength() > 1) {
-                        // check all attributes, whether they fit an
-                        // implementation
-                        for (int x = 0; x < taskElementAttr.getLength(); x++) {
-                            Node attr = taskElementAttr.item(x);
-                            // node_name equals an implementation
-                            nodeName = attr.getNodeName();
-                            if (nodeName.equals(BpmnConstants.CAMUNDA_CLASS)
-                                    || nodeName.equals(BpmnConstants.CAMUNDA_EXPRESSION)
-                                    || nodeName.equals(BpmnConstants.CAMUNDA_DEXPRESSION)
-                                    || nodeName.equals(BpmnConstants.CAMUNDA_DMN)
-                                    || nodeName.equals(BpmnConstants.CAMUNDA_EXT)) {
-                                returnImplementation = nodeName;
-                                break;
-                            }
-                        }
-                        // if inner attributes dont consist of implementations
-                    }
-                    if (taskElementAttr.getNamedItem(BpmnConstants.CAMUNDA_CLASS) == null
-                            && taskElementAttr.getNamedItem(BpmnConstants.CAMUNDA_EXPRESSION) == null
-                            && taskElementAttr.getNamedItem(BpmnConstants.CAMUNDA_DEXPRESSION) == null
-                            && taskElementAttr.getNamedItem(BpmnConstants.CAMUNDA_DMN) == null
-                            && taskElementAttr.getNamedItem(BpmnConstants.CAMUNDA_EXT) == null) {
-                        returnImplementation = BpmnConstants.IMPLEMENTATION;
+        final Element taskElement = getElement(id, BpmnConstants.BUSINESSRULETASK, BpmnConstants.SERVICETASK,
+                BpmnConstants.SENDTASK, BpmnConstants.ENDEVENT, BpmnConstants.INTERMEDIATETHROWEVENT);
+
+        if (taskElement != null) {
+            NamedNodeMap taskElementAttr = taskElement.getAttributes();
+            // check if more than 1 inner attribute exists
+            if (taskElementAttr.getLength() > 1) {
+                // check all attributes, whether they fit an
+                // implementation
+                for (int x = 0; x < taskElementAttr.getLength(); x++) {
+                    Node attr = taskElementAttr.item(x);
+                    // node_name equals an implementation
+                    nodeName = attr.getNodeName();
+                    if (nodeName.equals(BpmnConstants.CAMUNDA_CLASS)
+                            || nodeName.equals(BpmnConstants.CAMUNDA_EXPRESSION)
+                            || nodeName.equals(BpmnConstants.CAMUNDA_DEXPRESSION)
+                            || nodeName.equals(BpmnConstants.CAMUNDA_DMN)
+                            || nodeName.equals(BpmnConstants.CAMUNDA_EXT)) {
+                        returnImplementation = nodeName;
                         break;
                     }
-                }                 
+                }
+                // if inner attributes dont consist of implementations
+            }
+            if (taskElementAttr.getNamedItem(BpmnConstants.CAMUNDA_CLASS) == null
+                    && taskElementAttr.getNamedItem(BpmnConstants.CAMUNDA_EXPRESSION) == null
+                    && taskElementAttr.getNamedItem(BpmnConstants.CAMUNDA_DEXPRESSION) == null
+                    && taskElementAttr.getNamedItem(BpmnConstants.CAMUNDA_DMN) == null
+                    && taskElementAttr.getNamedItem(BpmnConstants.CAMUNDA_EXT) == null) {
+                returnImplementation = BpmnConstants.IMPLEMENTATION;
             }
         }
         return returnImplementation;
@@ -200,45 +269,15 @@ public class BpmnScanner {
     public String getImplementationReference(String id, String implementation) {
         String implementationReference = "";
 
-        // List for all Task elements
-        ArrayList<NodeList> listNodeList = new ArrayList<NodeList>();
-
-        switch (modelVersion) {
-            case V1:
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BUSINESSRULETASK));
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.SERVICETASK));
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.SENDTASK));
-                break;
-            case V2:
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN_BUSINESSRULETASK));
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN_SERVICETASK));
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN_SENDTASK));
-                break;
-            case V3:
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN2_BUSINESSRULETASK));
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN2_SERVICETASK));
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN2_SENDTASK));
-                break;
-            default:
-                listNodeList = null;
-        }
+        final Element taskElement = getElement(id, BpmnConstants.BUSINESSRULETASK, BpmnConstants.SERVICETASK,
+                BpmnConstants.SENDTASK);
 
-        // iterate over list<NodeList> and check each NodeList (BRTask,
-        // ServiceTask and SendTask)
-        for (final NodeList list : listNodeList) {
-            // iterate over list and check child of each node
-            for (int i = 0; i < list.getLength(); i++) {
-                Element taskElement = (Element) list.item(i);
-
-                // check if the ids are corresponding
-                if (id.equals(taskElement.getAttribute(BpmnConstants.ATTR_ID))) {
-                    // check for implementation reference
-                    if (implementation.equals(BpmnConstants.CAMUNDA_CLASS)) {
-                        implementationReference = taskElement.getAttribute(BpmnConstants.CAMUNDA_CLASS);
-                    } else if (implementation.equals(BpmnConstants.CAMUNDA_DEXPRESSION)) {
-                        implementationReference = taskElement.getAttribute(BpmnConstants.CAMUNDA_DEXPRESSION);
-                    }
-                }
+        if (taskElement != null) {
+            // check for implementation reference
+            if (implementation.equals(BpmnConstants.CAMUNDA_CLASS)) {
+                implementationReference = taskElement.getAttribute(BpmnConstants.CAMUNDA_CLASS);
+            } else if (implementation.equals(BpmnConstants.CAMUNDA_DEXPRESSION)) {
+                implementationReference = taskElement.getAttribute(BpmnConstants.CAMUNDA_DEXPRESSION);
             }
         }
 
@@ -256,63 +295,34 @@ public class BpmnScanner {
         // List to hold return values
         String returnImplementation = null;
 
-        // List for all Task elements
-        ArrayList<NodeList> listNodeList = new ArrayList<NodeList>();
-
-        switch (modelVersion) {
-            case V1:
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.ENDEVENT));
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.INTERMEDIATETHROWEVENT));
-                break;
-            case V2:
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN_ENDEVENT));
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN_INTERMEDIATETHROWEVENT));
-                break;
-            case V3:
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN2_ENDEVENT));
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN2_INTERMEDIATETHROWEVENT));
-                break;
-            default:
-                listNodeList = null;
-        }
+        final Element taskElement = getElement(id, BpmnConstants.ENDEVENT, BpmnConstants.INTERMEDIATETHROWEVENT);
 
-        // iterate over list<NodeList> and check each NodeList (endEvent, intermediateThrowEvent)
-        for (final NodeList list : listNodeList) {
-            // iterate over list and check child of each node
-            for (int i = 0; i < list.getLength(); i++) {
-                final Element taskElement = (Element) list.item(i);
-
-                // check if the ids are corresponding
-                if (id.equals(taskElement.getAttribute(BpmnConstants.ATTR_ID))) {
-
-                    final NodeList childNodes = taskElement.getChildNodes();
-
-                    // check all attributes, whether they equal a messageEventDefinition
-                    for (int x = 0; x < childNodes.getLength(); x++) {
-                        if (childNodes.item(x).getLocalName() != null
-                                && childNodes.item(x).getLocalName().equals(BpmnConstants.MESSAGEEVENTDEFINITION)) {
-                            final Element event = (Element) childNodes.item(x);
-
-                            // if the node messageEventDefinition contains the camunda expression -> return
-                            if (event.getAttributeNode(BpmnConstants.CAMUNDA_EXPRESSION) != null) {
-                                returnImplementation = event.getAttributeNode(BpmnConstants.CAMUNDA_EXPRESSION)
-                                        .toString();
-                            } else if (event.getAttributeNode(BpmnConstants.CAMUNDA_DEXPRESSION) != null) {
-                                returnImplementation = event.getAttributeNode(BpmnConstants.CAMUNDA_DEXPRESSION)
-                                        .toString();
-                            } else if (event.getAttributeNode(BpmnConstants.CAMUNDA_CLASS) != null) {
-                                returnImplementation = event.getAttributeNode(BpmnConstants.CAMUNDA_CLASS).toString();
-                            } else if (event.getAttributeNode(BpmnConstants.CAMUNDA_EXT) != null) {
-                                returnImplementation = event.getAttributeNode(BpmnConstants.CAMUNDA_EXT).toString();
-                            }
+        if (taskElement != null) {
 
-                            if (event.getAttributeNode(BpmnConstants.CAMUNDA_DEXPRESSION) == null
-                                    && event.getAttributeNode(BpmnConstants.CAMUNDA_EXPRESSION) == null
-                                    && event.getAttributeNode(BpmnConstants.CAMUNDA_CLASS) == null
-                                    && event.getAttributeNode(BpmnConstants.CAMUNDA_EXT) == null) {
-                                returnImplementation = BpmnConstants.IMPLEMENTATION;
-                            }
-                        }
+            final NodeList childNodes = taskElement.getChildNodes();
+
+            // check all attributes, whether they equal a messageEventDefinition
+            for (int x = 0; x < childNodes.getLength(); x++) {
+                if (childNodes.item(x).getLocalName() != null
+                        && childNodes.item(x).getLocalName().equals(BpmnConstants.MESSAGEEVENTDEFINITION)) {
+                    final Element event = (Element) childNodes.item(x);
+
+                    // if the node messageEventDefinition contains the camunda expression -> return
+                    if (event.getAttributeNode(BpmnConstants.CAMUNDA_EXPRESSION) != null) {
+                        returnImplementation = event.getAttributeNode(BpmnConstants.CAMUNDA_EXPRESSION).toString();
+                    } else if (event.getAttributeNode(BpmnConstants.CAMUNDA_DEXPRESSION) != null) {
+                        returnImplementation = event.getAttributeNode(BpmnConstants.CAMUNDA_DEXPRESSION).toString();
+                    } else if (event.getAttributeNode(BpmnConstants.CAMUNDA_CLASS) != null) {
+                        returnImplementation = event.getAttributeNode(BpmnConstants.CAMUNDA_CLASS).toString();
+                    } else if (event.getAttributeNode(BpmnConstants.CAMUNDA_EXT) != null) {
+                        returnImplementation = event.getAttributeNode(BpmnConstants.CAMUNDA_EXT).toString();
+                    }
+
+                    if (event.getAttributeNode(BpmnConstants.CAMUNDA_DEXPRESSION) == null
+                            && event.getAttributeNode(BpmnConstants.CAMUNDA_EXPRESSION) == null
+                            && event.getAttributeNode(BpmnConstants.CAMUNDA_CLASS) == null
+                            && event.getAttributeNode(BpmnConstants.CAMUNDA_EXT) == null) {
+                        returnImplementation = BpmnConstants.IMPLEMENTATION;
                     }
                 }
             }
@@ -335,30 +345,16 @@ public class BpmnScanner {
         // list to hold return values
         ArrayList<String> returnAttrList = new ArrayList<String>();
 
-        // List for all Task elements
-        NodeList nodeListExtensionElements;
-
-        // search for script tag
-
-        switch (modelVersion) {
-            case V1:
-                nodeListExtensionElements = doc.getElementsByTagName(BpmnConstants.EXTELEMENTS);
-                break;
-            case V2:
-                nodeListExtensionElements = doc.getElementsByTagName(BpmnConstants.BPMN_EXTELEMENTS);
-                break;
-            case V3:
-                nodeListExtensionElements = doc.getElementsByTagName(BpmnConstants.BPMN2_EXTELEMENTS);
-                break;
-            default:
-                nodeListExtensionElements = null;
+        final Element element = elementsById.get(id);
+        if (element == null) {
+            return returnAttrList;
         }
 
-        // search for parent with id
-        for (int i = 0; i < nodeListExtensionElements.getLength(); i++) {
-            if (((Element) nodeListExtensionElements.item(i).getParentNode()).getAttribute(BpmnConstants.ATTR_ID)
-                    .equals(id)) {
-                NodeList childNodes = nodeListExtensionElements.item(i).getChildNodes();
+        // search for extension elements of the element with id
+        final NodeList extensionElements = element.getChildNodes();
+        for (int i = 0; i < extensionElements.getLength(); i++) {
+            if (isBpmnElement(extensionElements.item(i), BpmnConstants.EXTELEMENTS)) {
+                NodeList childNodes = extensionElements.item(i).getChildNodes();
                 for (int x = 0; x < childNodes.getLength(); x++) {
                     if (childNodes.item(x).getNodeName().equals(extType)) {
                         String attName = checkAttributesOfNode(childNodes.item(x), listType);
@@ -400,18 +396,9 @@ public class BpmnScanner {
         // bool to hold return values
         ArrayList<String> returnScriptType = new ArrayList<String>();
 
-        // List for all Task elements
-        NodeList nodeList;
-
-        // search for script tag
-        nodeList = doc.getElementsByTagName(BpmnConstants.SCRIPT_TAG);
-
-        // search for parent with id
-        for (int i = 0; i < nodeList.getLength(); i++) {
-            Node n = nodeList.item(i).getParentNode();
-            if (idMatch(nodeList.item(i), id)) {
-                returnScriptType.add(n.getLocalName());
-            }
+        // search for script tags below the element with id
+        for (final Element script : getDescendants(id, BpmnConstants.SCRIPT_TAG)) {
+            returnScriptType.add(script.getParentNode().getLocalName());
         }
 
         return returnScriptType;
@@ -426,32 +413,12 @@ public class BpmnScanner {
      */
     public boolean checkStartEvent(String id) {
 
-        // List for startevents elements
-        NodeList nodeList;
-        boolean isSubprocess = false;
-
-        switch (modelVersion) {
-            case V1:
-                nodeList = doc.getElementsByTagName(BpmnConstants.STARTEVENT);
-                break;
-            case V2:
-                nodeList = doc.getElementsByTagName(BpmnConstants.BPMN_STARTEVENT);
-                break;
-            case V3:
-                nodeList = doc.getElementsByTagName(BpmnConstants.BPMN2_STARTEVENT);
-                break;
-            default:
-                nodeList = null;
-        }
-
-        for (int i = 0; i < nodeList.getLength(); i++) {
-            Element startEvent = (Element) nodeList.item(i);
-            if (id.equals(startEvent.getAttribute(BpmnConstants.ATTR_ID))) {
-                return isSubprocess(startEvent);
-            }
+        final Element startEvent = getElement(id, BpmnConstants.STARTEVENT);
+        if (startEvent != null) {
+            return isSubprocess(startEvent);
         }
 
-        return isSubprocess;
+        return false;
     }
 
     /**
@@ -478,27 +445,44 @@ public class BpmnScanner {
     }
 
     /**
-     * Check if any parentnode has the specific id
+     * Retrieves all nodes with the given tag name, which are nested in the element with the given id. Like before,
+     * only elements inside of a process are taken into account.
      *
-     * @param n
-     *            Node to check their parents
      * @param id
-     *            id to check
-     * @return true if id was found
+     *            id of the enclosing element
+     * @param tagName
+     *            tag name (e.g. camunda:field)
+     * @return nodes in document order
      */
-    private boolean idMatch(Node n, String id) {
-        Element e = (Element) n;
+    private List<Element> getDescendants(String id, String tagName) {
+        final List<Element> descendants = new ArrayList<Element>();
+
+        final Element element = elementsById.get(id);
+        if (element == null || !isInProcess(element)) {
+            return descendants;
+        }
 
-        if (e.getAttribute(BpmnConstants.ATTR_ID).equals(id))
-            return true;
+        final NodeList nodeList = element.getElementsByTagName(tagName);
+        for (int i = 0; i < nodeList.getLength(); i++) {
+            descendants.add((Element) nodeList.item(i));
+        }
+        return descendants;
+    }
 
-        while (e.getParentNode() != null && !e.getParentNode().getLocalName().equals(BpmnConstants.PROCESS)) {
-            Element check = (Element) e.getParentNode();
-            if (check.getAttribute(BpmnConstants.ATTR_ID).equals(id)) {
+    /**
+     * Check if any parentnode is a process
+     *
+     * @param e
+     *            element to check
+     * @return true if element is nested in a process
+     */
+    private boolean isInProcess(Element e) {
+        Node parent = e.getParentNode();
+        while (parent != null) {
+            if (isBpmnElement(parent, BpmnConstants.PROCESS)) {
                 return true;
-            } else {
-                e = (Element) e.getParentNode();
             }
+            parent = parent.getParentNode();
         }
         return false;
     }
@@ -511,27 +495,9 @@ public class BpmnScanner {
      * @return boolean has condition Expression
      */
     public boolean hasScriptInCondExp(String id) {
-        // List for all Task elements
-        NodeList nodeList = null;
-
-        switch (modelVersion) {
-            case V1:
-                // create nodelist that contains all Tasks with the namespace
-                nodeList = doc.getElementsByTagName(BpmnConstants.SEQUENCE);
-                break;
-            case V2:
-                nodeList = doc.getElementsByTagName(BpmnConstants.BPMN_SEQUENCE);
-                break;
-            case V3:
-                nodeList = doc.getElementsByTagName(BpmnConstants.BPMN2_SEQUENCE);
-                break;
-        }
-
-        for (int i = 0; i < nodeList.getLength(); i++) {
-            Element sequenceElement = (Element) nodeList.item(i);
-            if (sequenceElement.getAttribute(BpmnConstants.ATTR_ID).equals(id)) {
-                return hasCondExp(sequenceElement);
-            }
+        final Element sequenceElement = getElement(id, BpmnConstants.SEQUENCE);
+        if (sequenceElement != null) {
+            return hasCondExp(sequenceElement);
         }
 
         return false;
@@ -569,34 +535,11 @@ public class BpmnScanner {
      *
      */
     public String getXorGateWays(String id) {
-        final NodeList nodeList;
-
-        String gateway = "";
-
-        switch (modelVersion) {
-            case V1:
-                nodeList = doc.getElementsByTagName(BpmnConstants.GATEWAY);
-                break;
-            case V2:
-                nodeList = doc.getElementsByTagName(BpmnConstants.BPMN_GATEWAY);
-                break;
-            case V3:
-                nodeList = doc.getElementsByTagName(BpmnConstants.BPMN2_GATEWAY);
-                break;
-            default:
-                return "";
+        final Element gateway = getElement(id, BpmnConstants.GATEWAY);
+        if (gateway != null) {
+            return gateway.getAttribute(BpmnConstants.ATTR_ID);
         }
-
-        // iterate over list and check each item
-        for (int i = 0; i < nodeList.getLength(); i++) {
-            Element taskElement = (Element) nodeList.item(i);
-
-            // check if the ids are corresponding
-            if (id.equals(taskElement.getAttribute(BpmnConstants.ATTR_ID))) {
-                gateway = taskElement.getAttribute(BpmnConstants.ATTR_ID);
-            }
-        }
-        return gateway;
+        return "";
     }
 
     /**
@@ -607,39 +550,14 @@ public class BpmnScanner {
      * @return outgoing number of outgoing
      */
     public int getOutgoing(String id) {
-        final NodeList nodeList;
-        String out = "";
         int outgoing = 0;
 
-        switch (modelVersion) {
-            case V1:
-                // create nodelist that contains all Tasks with the namespace
-                nodeList = doc.getElementsByTagName(BpmnConstants.GATEWAY);
-                out = BpmnConstants.OUT;
-                break;
-            case V2:
-                nodeList = doc.getElementsByTagName(BpmnConstants.BPMN_GATEWAY);
-                out = BpmnConstants.BPMN_OUT;
-                break;
-            case V3:
-                nodeList = doc.getElementsByTagName(BpmnConstants.BPMN2_GATEWAY);
-                out = BpmnConstants.BPMN2_OUT;
-                break;
-            default:
-                return -1;
-        }
-
-        // iterate over list and check each item
-        for (int i = 0; i < nodeList.getLength(); i++) {
-            Element taskElement = (Element) nodeList.item(i);
-
-            // check if the ids are corresponding
-            if (id.equals(taskElement.getAttribute(BpmnConstants.ATTR_ID))) {
-                NodeList childNodeGateway = taskElement.getChildNodes();
-                for (int x = 0; x < childNodeGateway.getLength(); x++) {
-                    if (childNodeGateway.item(x).getNodeName().equals(out)) {
-                        outgoing++;
-                    }
+        final Element gateway = getElement(id, BpmnConstants.GATEWAY);
+        if (gateway != null) {
+            NodeList childNodeGateway = gateway.getChildNodes();
+            for (int x = 0; x < childNodeGateway.getLength(); x++) {
+                if (isBpmnElement(childNodeGateway.item(x), BpmnConstants.OUT)) {
+                    outgoing++;
                 }
             }
         }
@@ -657,28 +575,11 @@ public class BpmnScanner {
 
         final ArrayList<String> references = new ArrayList<>();
 
-        NodeList nodeList = null;
-
-        switch (modelVersion) {
-            case V1:
-                nodeList = doc.getElementsByTagName(BpmnConstants.SEQUENCE);
-                break;
-            case V2:
-                nodeList = doc.getElementsByTagName(BpmnConstants.BPMN_SEQUENCE);
-                break;
-            case V3:
-                nodeList = doc.getElementsByTagName(BpmnConstants.BPMN2_SEQUENCE);
-                break;
-        }
-
-        for (int i = 0; i < nodeList.getLength(); i++) {
-            Element taskElement = (Element) nodeList.item(i);
-
-            // check if the ids are corresponding and retrieve the attributes for target and source reference
-            if (id.equals(taskElement.getAttribute(BpmnConstants.ATTR_ID))) {
-                references.add(taskElement.getAttribute(BpmnConstants.SOURCEREF));
-                references.add(taskElement.getAttribute(BpmnConstants.TARGETREF));
-            }
+        // retrieve the attributes for target and source reference
+        final Element sequenceElement = getElement(id, BpmnConstants.SEQUENCE);
+        if (sequenceElement != null) {
+            references.add(sequenceElement.getAttribute(BpmnConstants.SOURCEREF));
+            references.add(sequenceElement.getAttribute(BpmnConstants.TARGETREF));
         }
         return references;
     }
@@ -693,35 +594,14 @@ public class BpmnScanner {
     public ArrayList<Node> getOutgoingEdges(String id) {
 
         ArrayList<Node> outgoingEdges = new ArrayList<Node>();
-        NodeList nodeList = null;
-        String out = "";
-
-        switch (modelVersion) {
-            case V1:
-                // create nodelist that contains all Tasks with the namespace
-                nodeList = doc.getElementsByTagName(BpmnConstants.GATEWAY);
-                out = BpmnConstants.OUT;
-                break;
-            case V2:
-                nodeList = doc.getElementsByTagName(BpmnConstants.BPMN_GATEWAY);
-                out = BpmnConstants.BPMN_OUT;
-                break;
-            case V3:
-                nodeList = doc.getElementsByTagName(BpmnConstants.BPMN2_GATEWAY);
-                out = BpmnConstants.BPMN2_OUT;
-                break;
-        }
 
-        for (int i = 0; i < nodeList.getLength(); i++) {
-            Element taskElement = (Element) nodeList.item(i);
-
-            // check if the ids are corresponding and retrieve the outgoing edges of the xor gateway
-            if (id.equals(taskElement.getAttribute(BpmnConstants.ATTR_ID))) {
-                NodeList children = taskElement.getChildNodes();
-                for (int j = 0; j < children.getLength(); j++) {
-                    if (children.item(j).getNodeName().equals(out)) {
-                        outgoingEdges.add(checkNamingOfEdges(children.item(j).getTextContent()));
-                    }
+        // retrieve the outgoing edges of the xor gateway
+        final Element gateway = getElement(id, BpmnConstants.GATEWAY);
+        if (gateway != null) {
+            NodeList children = gateway.getChildNodes();
+            for (int j = 0; j < children.getLength(); j++) {
+                if (isBpmnElement(children.item(j), BpmnConstants.OUT)) {
+                    outgoingEdges.add(checkNamingOfEdges(children.item(j).getTextContent()));
                 }
             }
         }
@@ -736,30 +616,7 @@ public class BpmnScanner {
      * @return edge
      */
     public Node checkNamingOfEdges(String id) {
-
-        Node edge = null;
-        NodeList nodeList = null;
-
-        switch (modelVersion) {
-            case V1:
-                // create nodelist that contains all Tasks with the namespace
-                nodeList = doc.getElementsByTagName(BpmnConstants.SEQUENCE);
-                break;
-            case V2:
-                nodeList = doc.getElementsByTagName(BpmnConstants.BPMN_SEQUENCE);
-                break;
-            case V3:
-                nodeList = doc.getElementsByTagName(BpmnConstants.BPMN2_SEQUENCE);
-                break;
-        }
-
-        for (int i = 0; i < nodeList.getLength(); i++) {
-            Element taskElement = (Element) nodeList.item(i);
-            if (taskElement.getAttribute(BpmnConstants.ATTR_ID).equals(id)) {
-                edge = taskElement;
-            }
-        }
-        return edge;
+        return getElement(id, BpmnConstants.SEQUENCE);
     }
 
     /**
@@ -771,59 +628,30 @@ public class BpmnScanner {
      */
     public Map<Element, Element> getTimerImplementation(final String id) {
 
-        // List for all Task elements
-        ArrayList<NodeList> listNodeList = new ArrayList<NodeList>();
-
-        switch (modelVersion) {
-            case V1:
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.STARTEVENT));
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.INTERMEDIATECATCHEVENT));
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BOUNDARYEVENT));
-                break;
-            case V2:
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN_STARTEVENT));
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN_INTERMEDIATECATCHEVENT));
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN_BOUNDARYEVENT));
-                break;
-            case V3:
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN2_STARTEVENT));
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN2_INTERMEDIATECATCHEVENT));
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN2_BOUNDARYEVENT));
-                break;
-            default:
-                listNodeList = null;
-        }
-
         // final ArrayList<Element> timerList = new ArrayList<>();
         final Map<Element, Element> timerList = new HashMap<>();
 
-        // iterate over list<NodeList>
-        for (final NodeList list : listNodeList) {
-            for (int i = 0; i < list.getLength(); i++) {
-                final Element taskElement = (Element) list.item(i);
+        final Element taskElement = getElement(id, BpmnConstants.STARTEVENT, BpmnConstants.INTERMEDIATECATCHEVENT,
+                BpmnConstants.BOUNDARYEVENT);
 
-                // check whether a node matches with the provided id
-                if (taskElement.getAttribute(BpmnConstants.ATTR_ID).equals(id)) {
+        if (taskElement != null) {
+            final NodeList childNodes = taskElement.getChildNodes();
+            for (int x = 0; x < childNodes.getLength(); x++) {
 
-                    final NodeList childNodes = taskElement.getChildNodes();
-                    for (int x = 0; x < childNodes.getLength(); x++) {
+                // check if an event consists of a timereventdefinition tag
+                if (childNodes.item(x).getLocalName() != null
+                        && childNodes.item(x).getLocalName().equals(BpmnConstants.TIMEREVENTDEFINTION)) {
 
-                        // check if an event consists of a timereventdefinition tag
-                        if (childNodes.item(x).getLocalName() != null
-                                && childNodes.item(x).getLocalName().equals(BpmnConstants.TIMEREVENTDEFINTION)) {
+                    timerList.put(taskElement, null);
 
-                            timerList.put(taskElement, null);
-
-                            // retrieve values of children
-                            final Element taskElement2 = (Element) childNodes.item(x);
-                            final NodeList childChildNodes = taskElement2.getChildNodes();
-                            for (int y = 0; y < childChildNodes.getLength(); y++) {
-                                // localname must be either timeDate, timeCycle or timeDuration
-                                // add nodes/elements to map
-                                if (childChildNodes.item(y).getLocalName() != null) {
-                                    timerList.put(taskElement, (Element) childChildNodes.item(y));
-                                }
-                            }
+                    // retrieve values of children
+                    final Element taskElement2 = (Element) childNodes.item(x);
+                    final NodeList childChildNodes = taskElement2.getChildNodes();
+                    for (int y = 0; y < childChildNodes.getLength(); y++) {
+                        // localname must be either timeDate, timeCycle or timeDuration
+                        // add nodes/elements to map
+                        if (childChildNodes.item(y).getLocalName() != null) {
+                            timerList.put(taskElement, (Element) childChildNodes.item(y));
                         }
                     }
                 }
@@ -843,13 +671,8 @@ public class BpmnScanner {
         // List for all Task elements
         ArrayList<String> listVariables = new ArrayList<String>();
 
-        NodeList nodeList = doc.getElementsByTagName(inOut);
-
-        for (int i = 0; i < nodeList.getLength(); i++) {
-            Node node = nodeList.item(i);
-            if (idMatch(node, id)) {
-                listVariables.add(((Element) node).getAttribute(BpmnConstants.ATTR_NAME));
-            }
+        for (final Element node : getDescendants(id, inOut)) {
+            listVariables.add(node.getAttribute(BpmnConstants.ATTR_NAME));
         }
         return listVariables;
     }
@@ -884,34 +707,29 @@ public class BpmnScanner {
         // List for all Task elements
         ArrayList<String> listVariablesValue = new ArrayList<String>();
 
-        NodeList nodeList = doc.getElementsByTagName(inOut);
-
-        for (int i = 0; i < nodeList.getLength(); i++) {
-            Node node = nodeList.item(i);
-            if (idMatch(node, id)) {
-                // if more than one child, check on list and value
-                if (node.hasChildNodes() && node.getChildNodes().getLength() > 1) {
-                    NodeList nodeChilds = node.getChildNodes();
-                    for (int y = 0; y < nodeChilds.getLength(); y++) {
-                        if (nodeChilds.item(y).getNodeName().equals(BpmnConstants.CAMUNDA_LIST)) {
-                            NodeList listChilds = nodeChilds.item(y).getChildNodes();
-                            for (int z = 0; z < listChilds.getLength(); z++) {
-                                if (listChilds.item(z).getNodeName().equals(BpmnConstants.CAMUNDA_VALUE)) {
-                                    listVariablesValue.add(listChilds.item(z).getTextContent());
-                                }
+        for (final Element node : getDescendants(id, inOut)) {
+            // if more than one child, check on list and value
+            if (node.hasChildNodes() && node.getChildNodes().getLength() > 1) {
+                NodeList nodeChilds = node.getChildNodes();
+                for (int y = 0; y < nodeChilds.getLength(); y++) {
+                    if (nodeChilds.item(y).getNodeName().equals(BpmnConstants.CAMUNDA_LIST)) {
+                        NodeList listChilds = nodeChilds.item(y).getChildNodes();
+                        for (int z = 0; z < listChilds.getLength(); z++) {
+                            if (listChilds.item(z).getNodeName().equals(BpmnConstants.CAMUNDA_VALUE)) {
+                                listVariablesValue.add(listChilds.item(z).getTextContent());
                             }
-                        } else if (nodeChilds.item(y).getNodeName().equals(BpmnConstants.CAMUNDA_MAP)) {
-                            NodeList mapChilds = nodeChilds.item(y).getChildNodes();
-                            for (int x = 0; x < mapChilds.getLength(); x++) {
-                                if (mapChilds.item(x).getNodeName().equals(BpmnConstants.CAMUNDA_ENTRY)) {
-                                    listVariablesValue.add(mapChilds.item(x).getTextContent());
-                                }
+                        }
+                    } else if (nodeChilds.item(y).getNodeName().equals(BpmnConstants.CAMUNDA_MAP)) {
+                        NodeList mapChilds = nodeChilds.item(y).getChildNodes();
+                        for (int x = 0; x < mapChilds.getLength(); x++) {
+                            if (mapChilds.item(x).getNodeName().equals(BpmnConstants.CAMUNDA_ENTRY)) {
+                                listVariablesValue.add(mapChilds.item(x).getTextContent());
                             }
                         }
                     }
-                } else {
-                    listVariablesValue.add(node.getTextContent());
                 }
+            } else {
+                listVariablesValue.add(node.getTextContent());
             }
         }
         return listVariablesValue;
@@ -937,14 +755,10 @@ public class BpmnScanner {
      */
     public ArrayList<String> getFieldInjectionExpression(String id) {
         ArrayList<String> varNames = new ArrayList<String>();
-        NodeList nodeList = doc.getElementsByTagName(BpmnConstants.CAMUNDA_FIELD);
-        for (int i = 0; i < nodeList.getLength(); i++) {
-            Node node = nodeList.item(i);
-            if (idMatch(node, id)) {
-                for (int y = 0; y < node.getChildNodes().getLength(); y++) {
-                    if (node.getChildNodes().item(y).getNodeName().equals(BpmnConstants.CAMUNDA_EXPRESSION)) {
-                        varNames.add(node.getChildNodes().item(y).getTextContent());
-                    }
+        for (final Element node : getDescendants(id, BpmnConstants.CAMUNDA_FIELD)) {
+            for (int y = 0; y < node.getChildNodes().getLength(); y++) {
+                if (node.getChildNodes().item(y).getNodeName().equals(BpmnConstants.CAMUNDA_EXPRESSION)) {
+                    varNames.add(node.getChildNodes().item(y).getTextContent());
                 }
             }
         }
@@ -960,14 +774,11 @@ public class BpmnScanner {
      */
     public ArrayList<String> getFieldInjectionVarName(String id) {
         ArrayList<String> varNames = new ArrayList<String>();
-        NodeList nodeList = doc.getElementsByTagName(BpmnConstants.CAMUNDA_FIELD);
-        for (int i = 0; i < nodeList.getLength(); i++) {
-            Node node = nodeList.item(i);
-            if (idMatch(node, id))
-                for (int y = 0; y < node.getAttributes().getLength(); y++) {
-                    if (node.getAttributes().item(y).getNodeName().equals(BpmnConstants.ATTR_NAME))
-                        varNames.add(node.getAttributes().item(y).getNodeValue());
-                }
+        for (final Element node : getDescendants(id, BpmnConstants.CAMUNDA_FIELD)) {
+            for (int y = 0; y < node.getAttributes().getLength(); y++) {
+                if (node.getAttributes().item(y).getNodeName().equals(BpmnConstants.ATTR_NAME))
+                    varNames.add(node.getAttributes().item(y).getNodeValue());
+            }
         }
         return varNames;
     }
@@ -981,46 +792,20 @@ public class BpmnScanner {
      */
     public Map<String, String> getErrorEvent(String id) {
 
-        // List for all Task elements
-        ArrayList<NodeList> listNodeList = new ArrayList<NodeList>();
-
-        switch (modelVersion) {
-            case V1:
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BOUNDARYEVENT));
-                break;
-            case V2:
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN_BOUNDARYEVENT));
-                break;
-            case V3:
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN2_BOUNDARYEVENT));
-                break;
-            default:
-                listNodeList = null;
-
-        }
-
         final Map<String, String> boundaryEventList = new HashMap<>();
 
-        // iterate over list<NodeList>
-        for (final NodeList list : listNodeList) {
-            for (int i = 0; i < list.getLength(); i++) {
-                final Element taskElement = (Element) list.item(i);
-
-                // check whether a node matches with the provided id
-                if (taskElement.getAttribute(BpmnConstants.ATTR_ID).equals(id)) {
+        final Element taskElement = getElement(id, BpmnConstants.BOUNDARYEVENT);
+        if (taskElement != null) {
+            final NodeList childNodes = taskElement.getChildNodes();
+            for (int x = 0; x < childNodes.getLength(); x++) {
 
-                    final NodeList childNodes = taskElement.getChildNodes();
-                    for (int x = 0; x < childNodes.getLength(); x++) {
+                // check if an event consists of a errorEventDefinition tag
+                if (childNodes.item(x).getLocalName() != null
+                        && childNodes.item(x).getLocalName().equals(BpmnConstants.ERROREVENTDEFINITION)) {
+                    final Element taskElement2 = (Element) childNodes.item(x);
+                    boundaryEventList.put(taskElement2.getAttribute(BpmnConstants.ATTR_ERRORREF),
+                            taskElement2.getAttribute(BpmnConstants.CAMUNDA_ERRORCODEMESSVAR));
 
-                        // check if an event consists of a errorEventDefinition tag
-                        if (childNodes.item(x).getLocalName() != null
-                                && childNodes.item(x).getLocalName().equals(BpmnConstants.ERROREVENTDEFINITION)) {
-                            final Element taskElement2 = (Element) childNodes.item(x);
-                            boundaryEventList.put(taskElement2.getAttribute(BpmnConstants.ATTR_ERRORREF),
-                                    taskElement2.getAttribute(BpmnConstants.CAMUNDA_ERRORCODEMESSVAR));
-
-                        }
-                    }
                 }
             }
         }
@@ -1036,33 +821,12 @@ public class BpmnScanner {
      */
     public Map<String, String> getErrorDef(String id) {
 
-        NodeList nodeList = null;
-
-        switch (modelVersion) {
-            case V1:
-                nodeList = doc.getElementsByTagName(BpmnConstants.ERROR);
-                break;
-            case V2:
-                nodeList = doc.getElementsByTagName(BpmnConstants.BPMN_ERROR);
-                break;
-            case V3:
-                nodeList = doc.getElementsByTagName(BpmnConstants.BPMN2_ERROR);
-                break;
-            default:
-                break;
-        }
-
         final Map<String, String> errorDef = new HashMap<String, String>();
 
-        // iterate over list and check each item
-        for (int i = 0; i < nodeList.getLength(); i++) {
-            Element taskElement = (Element) nodeList.item(i);
-
-            // check if the ids are corresponding
-            if (id.equals(taskElement.getAttribute(BpmnConstants.ATTR_ID))) {
-                errorDef.put(taskElement.getAttribute(BpmnConstants.ATTR_NAME),
-                        taskElement.getAttribute(BpmnConstants.ATTR_ERRORCODE));
-            }
+        final Element errorElement = getElement(id, BpmnConstants.ERROR);
+        if (errorElement != null) {
+            errorDef.put(errorElement.getAttribute(BpmnConstants.ATTR_NAME),
+                    errorElement.getAttribute(BpmnConstants.ATTR_ERRORCODE));
         }
         return errorDef;
     }
@@ -1075,44 +839,19 @@ public class BpmnScanner {
      * @return String with errorCodeVariable
      */
     public String getErrorCodeVar(String id) {
-        // List for all Task elements
-        ArrayList<NodeList> listNodeList = new ArrayList<NodeList>();
-
-        switch (modelVersion) {
-            case V1:
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BOUNDARYEVENT));
-                break;
-            case V2:
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN_BOUNDARYEVENT));
-                break;
-            case V3:
-                listNodeList.add(doc.getElementsByTagName(BpmnConstants.BPMN2_BOUNDARYEVENT));
-                break;
-            default:
-                listNodeList = null;
-
-        }
 
         String getErrorCodeVar = "";
 
-        // iterate over list<NodeList>
-        for (final NodeList list : listNodeList) {
-            for (int i = 0; i < list.getLength(); i++) {
-                final Element taskElement = (Element) list.item(i);
-
-                // check whether a node matches with the provided id
-                if (taskElement.getAttribute(BpmnConstants.ATTR_ID).equals(id)) {
-
-                    final NodeList childNodes = taskElement.getChildNodes();
-                    for (int x = 0; x < childNodes.getLength(); x++) {
+        final Element taskElement = getElement(id, BpmnConstants.BOUNDARYEVENT);
+        if (taskElement != null) {
+            final NodeList childNodes = taskElement.getChildNodes();
+            for (int x = 0; x < childNodes.getLength(); x++) {
 
-                        // check if an event consists of a errorEventDefinition tag
-                        if (childNodes.item(x).getLocalName() != null
-                                && childNodes.item(x).getLocalName().equals(BpmnConstants.ERROREVENTDEFINITION)) {
-                            final Element taskElement2 = (Element) childNodes.item(x);
-                            getErrorCodeVar = taskElement2.getAttribute(BpmnConstants.CAMUNDA_ERRORCODEVAR);
-                        }
-                    }
+                // check if an event consists of a errorEventDefinition tag
+                if (childNodes.item(x).getLocalName() != null
+                        && childNodes.item(x).getLocalName().equals(BpmnConstants.ERROREVENTDEFINITION)) {
+                    final Element taskElement2 = (Element) childNodes.item(x);
+                    getErrorCodeVar = taskElement2.getAttribute(BpmnConstants.CAMUNDA_ERRORCODEVAR);
                 }
             }
         }
@@ -1128,30 +867,10 @@ public class BpmnScanner {
     public String getErrorEventMapping(String id) {
 
         String attachedToTask = "";
-        NodeList nodeList = null;
-
-        switch (modelVersion) {
-            case V1:
-                nodeList = doc.getElementsByTagName(BpmnConstants.BOUNDARYEVENT);
-                break;
-            case V2:
-                nodeList = doc.getElementsByTagName(BpmnConstants.BPMN_BOUNDARYEVENT);
-                break;
-            case V3:
-                nodeList = doc.getElementsByTagName(BpmnConstants.BPMN2_BOUNDARYEVENT);
-                break;
-            default:
-                break;
-        }
 
-        // iterate over list and check each item
-        for (int i = 0; i < nodeList.getLength(); i++) {
-            Element taskElement = (Element) nodeList.item(i);
-
-            // check if the ids are corresponding
-            if (id.equals(taskElement.getAttribute(BpmnConstants.ATTR_ID))) {
-                attachedToTask = taskElement.getAttribute(BpmnConstants.ATTACHED_TO_REF);
-            }
+        final Element boundaryEvent = getElement(id, BpmnConstants.BOUNDARYEVENT);
+        if (boundaryEvent != null) {
+            attachedToTask = boundaryEvent.getAttribute(BpmnConstants.ATTACHED_TO_REF);
         }
 
         return attachedToTask;
@@ -1167,13 +886,17 @@ public class BpmnScanner {
 
         final Map<String, String> keyPairs = new HashMap<String, String>();
 
-        final NodeList nodeList = doc.getElementsByTagName(BpmnConstants.CAMUNDA_PROPERTY);
+        final Element element = elementsById.get(id);
+        if (element == null) {
+            return keyPairs;
+        }
+
+        final NodeList nodeList = element.getElementsByTagName(BpmnConstants.CAMUNDA_PROPERTY);
 
         for (int i = 0; i < nodeList.getLength(); i++) {
 
             // Due to the static nesting of nodes, we can check the third parent node whether the id are corresponding
-            Element parent_element = (Element) nodeList.item(i).getParentNode().getParentNode().getParentNode();
-            if (parent_element.getAttribute(BpmnConstants.ATTR_ID).equals(id)) {
+            if (nodeList.item(i).getParentNode().getParentNode().getParentNode() == element) {
                 Element extension_node = (Element) nodeList.item(i);
                 keyPairs.put(extension_node.getAttribute(BpmnConstants.ATTR_NAME),
                         extension_node.getAttribute(BpmnConstants.ATTR_VALUE));
@@ -1196,87 +919,106 @@ public class BpmnScanner {
 
     private ArrayList<String> getMessageRefFromReceiveTask(String id) {
         ArrayList<String> messageRefs = new ArrayList<String>();
-        NodeList nodeList = null;
-
-        switch (modelVersion) {
-            case V1:
-                nodeList = doc.getElementsByTagName(BpmnConstants.RECEIVETASK);
-                break;
-            case V2:
-                nodeList = doc.getElementsByTagName(BpmnConstants.BPMN_RECEIVETASK);
-                break;
-            case V3:
-                nodeList = doc.getElementsByTagName(BpmnConstants.BPMN2_RECEIVETASK);
-                break;
-            default:
-                break;
-        }
 
-        // iterate over list and check each item
-        for (int i = 0; i < nodeList.getLength(); i++) {
-            Element taskElement = (Element) nodeList.item(i);
-            if (id.equals(taskElement.getAttribute(BpmnConstants.ATTR_ID)))
-                messageRefs.add(taskElement.getAttribute(BpmnConstants.ATTR_MESSAGEREF));
-        }
+        final Element receiveTask = getElement(id, BpmnConstants.RECEIVETASK);
+        if (receiveTask != null)
+            messageRefs.add(receiveTask.getAttribute(BpmnConstants.ATTR_MESSAGEREF));
         return messageRefs;
     }
 
     private ArrayList<String> getModelRefs(String id, String eventDefinition, String attrRef) {
         ArrayList<String> refs = new ArrayList<String>();
 
-        switch (modelVersion) {
-            case V1:
-                refs.addAll(getRefs(id, BpmnConstants.BOUNDARYEVENT, eventDefinition, attrRef));
-                refs.addAll(getRefs(id, BpmnConstants.INTERMEDIATECATCHEVENT, eventDefinition, attrRef));
-                refs.addAll(getRefs(id, BpmnConstants.INTERMEDIATETHROWEVENT, eventDefinition, attrRef));
-                refs.addAll(getRefs(id, BpmnConstants.STARTEVENT, eventDefinition, attrRef));
-                refs.addAll(getRefs(id, BpmnConstants.ENDEVENT, eventDefinition, attrRef));
-                break;
-            case V2:
-                refs.addAll(getRefs(id, BpmnConstants.BPMN_BOUNDARYEVENT, eventDefinition, attrRef));
-                refs.addAll(getRefs(id, BpmnConstants.BPMN_INTERMEDIATECATCHEVENT, eventDefinition, attrRef));
-                refs.addAll(getRefs(id, BpmnConstants.BPMN_INTERMEDIATETHROWEVENT, eventDefinition, attrRef));
-                refs.addAll(getRefs(id, BpmnConstants.BPMN_STARTEVENT, eventDefinition, attrRef));
-                refs.addAll(getRefs(id, BpmnConstants.BPMN_ENDEVENT, eventDefinition, attrRef));
-                break;
-            case V3:
-                refs.addAll(getRefs(id, BpmnConstants.BPMN2_BOUNDARYEVENT, eventDefinition, attrRef));
-                refs.addAll(getRefs(id, BpmnConstants.BPMN_INTERMEDIATECATCHEVENT, eventDefinition, attrRef));
-                refs.addAll(getRefs(id, BpmnConstants.BPMN_INTERMEDIATETHROWEVENT, eventDefinition, attrRef));
-                refs.addAll(getRefs(id, BpmnConstants.BPMN_STARTEVENT, eventDefinition, attrRef));
-                refs.addAll(getRefs(id, BpmnConstants.BPMN_ENDEVENT, eventDefinition, attrRef));
-                break;
-            default:
-                break;
+        final Element event = getElement(id, BpmnConstants.BOUNDARYEVENT, BpmnConstants.INTERMEDIATECATCHEVENT,
+                BpmnConstants.INTERMEDIATETHROWEVENT, BpmnConstants.STARTEVENT, BpmnConstants.ENDEVENT);
+
+        if (event != null && event.hasChildNodes()) {
+            NodeList eventChilds = event.getChildNodes();
+            for (int x = 0; x < eventChilds.getLength(); x++) {
+                if (eventChilds.item(x).getLocalName() != null
+                        && eventChilds.item(x).getLocalName().equals(eventDefinition)) {
+                    Element eventChild = (Element) eventChilds.item(x);
+                    refs.add(eventChild.getAttribute(attrRef));
+                }
+            }
         }
 
         return refs;
     }
 
-    private ArrayList<String> getRefs(String id, String tag, String eventDefinition, String attrRef) {
-        ArrayList<String> signalRefs = new ArrayList<String>();
-        NodeList nodeList = null;
+    /**
+     * Retrieves all java classes referenced in the model (delegates, listeners and variable mappings of call
+     * activities)
+     *
+     * @return names of classes in order of appearance
+     */
+    public Set<String> getDelegateClasses() {
+        final Set<String> classes = new LinkedHashSet<String>();
 
-        nodeList = doc.getElementsByTagName(tag);
+        final NodeList nodeList = doc.getElementsByTagName("*");
+        for (int i = 0; i < nodeList.getLength(); i++) {
+            final Element element = (Element) nodeList.item(i);
+            addIfPresent(classes, element.getAttribute(BpmnConstants.CAMUNDA_CLASS));
+            addIfPresent(classes, element.getAttribute(BpmnConstants.CAMUNDA_VARIABLEMAPPINGCLASS));
 
-        // iterate over list and check each item
+            if (element.getNodeName().equals(BpmnConstants.CAMUNDA_EXECUTIONLISTENER)
+                    || element.getNodeName().equals(BpmnConstants.CAMUNDA_TASKLISTENER)) {
+                addIfPresent(classes, element.getAttribute(BpmnConstants.ATTR_CLASS));
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * Retrieves all external script files referenced in the model (script tasks, listener scripts and conditions)
+     *
+     * @return resources in order of appearance
+     */
+    public Set<String> getScriptResources() {
+        final Set<String> resources = new LinkedHashSet<String>();
+
+        final NodeList nodeList = doc.getElementsByTagName("*");
         for (int i = 0; i < nodeList.getLength(); i++) {
-            Element taskElement = (Element) nodeList.item(i);
-
-            if (id.equals(taskElement.getAttribute(BpmnConstants.ATTR_ID))) {
-                if (nodeList.item(i).hasChildNodes()) {
-                    NodeList boundaryChilds = nodeList.item(i).getChildNodes();
-                    for (int x = 0; x < boundaryChilds.getLength(); x++) {
-                        if (boundaryChilds.item(x).getLocalName() != null
-                                && boundaryChilds.item(x).getLocalName().equals(eventDefinition)) {
-                            Element boundaryChild = (Element) boundaryChilds.item(x);
-                            signalRefs.add(boundaryChild.getAttribute(attrRef));
-                        }
-                    }
-                }
+            final Element element = (Element) nodeList.item(i);
+            addIfPresent(resources, element.getAttribute(BpmnConstants.CAMUNDA_RESOURCE));
+
+            if (element.getNodeName().equals(BpmnConstants.SCRIPT_TAG)) {
+                addIfPresent(resources, element.getAttribute(BpmnConstants.ATTR_RESOURCE));
             }
         }
-        return signalRefs;
+        return resources;
+    }
+
+    /**
+     * Retrieves the ids of all processes called by call activities of the model
+     *
+     * @return called elements in order of appearance
+     */
+    public Set<String> getCalledElements() {
+        final Set<String> calledElements = new LinkedHashSet<String>();
+        for (final Element callActivity : getElements(BpmnConstants.CALLACTIVITY)) {
+            addIfPresent(calledElements, callActivity.getAttribute(BpmnConstants.ATTR_CALLEDELEMENT));
+        }
+        return calledElements;
+    }
+
+    /**
+     * Retrieves the keys of all decisions referenced by business rule tasks of the model
+     *
+     * @return decision refs in order of appearance
+     */
+    public Set<String> getDecisionRefs() {
+        final Set<String> decisionRefs = new LinkedHashSet<String>();
+        for (final Element businessRuleTask : getElements(BpmnConstants.BUSINESSRULETASK)) {
+            addIfPresent(decisionRefs, businessRuleTask.getAttribute(BpmnConstants.CAMUNDA_DMN));
+        }
+        return decisionRefs;
+    }
+
+    private void addIfPresent(final Set<String> values, final String value) {
+        if (value != null && !value.trim().isEmpty()) {
+            values.add(value.trim());
+        }
     }
 
     /**
@@ -1287,21 +1029,7 @@ public class BpmnScanner {
      * @return messageName
      */
     public String getMessageName(String messageRef) {
-        NodeList nodeList = null;
-        switch (modelVersion) {
-            case V1:
-                nodeList = doc.getElementsByTagName(BpmnConstants.MESSAGE);
-                break;
-            case V2:
-                nodeList = doc.getElementsByTagName(BpmnConstants.BPMN_MESSAGE);
-                break;
-            case V3:
-                nodeList = doc.getElementsByTagName(BpmnConstants.BPMN2_MESSAGE);
-                break;
-            default:
-                break;
-        }
-        return getName(nodeList, messageRef);
+        return getName(getElement(messageRef, BpmnConstants.MESSAGE));
     }
 
     /**
@@ -1312,44 +1040,17 @@ public class BpmnScanner {
      * @return signalName
      */
     public String getSignalName(String signalRef) {
-        NodeList nodeList = null;
-        switch (modelVersion) {
-            case V1:
-                nodeList = doc.getElementsByTagName(BpmnConstants.SIGNAL);
-                break;
-            case V2:
-                nodeList = doc.getElementsByTagName(BpmnConstants.BPMN_SIGNAL);
-                break;
-            case V3:
-                nodeList = doc.getElementsByTagName(BpmnConstants.BPMN2_SIGNAL);
-                break;
-            default:
-                break;
-        }
-        return getName(nodeList, signalRef);
+        return getName(getElement(signalRef, BpmnConstants.SIGNAL));
     }
 
     /**
      * return attribute name of element
      *
-     * @param nodeList
-     *            list of nodes to check
-     * @param id
-     *            element id
+     * @param element
+     *            element or null
      * @return name
      */
-    private String getName(NodeList nodeList, String id) {
-        String name = "";
-
-        // iterate over list and check each item
-        for (int i = 0; i < nodeList.getLength(); i++) {
-            Element taskElement = (Element) nodeList.item(i);
-
-            // check if the ids are corresponding
-            if (id.equals(taskElement.getAttribute(BpmnConstants.ATTR_ID))) {
-                name = taskElement.getAttribute(BpmnConstants.ATTR_NAME);
-            }
-        }
-        return name;
+    private String getName(Element element) {
+        return element != null ? element.getAttribute(BpmnConstants.ATTR_NAME) : "";
     }
 }
@@ -0,0 +1,256 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV;
+
+import java.io.ByteArrayInputStream;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMResult;
+import javax.xml.transform.sax.SAXSource;
+
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.impl.BpmnParser;
+import org.camunda.bpm.model.xml.impl.instance.DomDocumentImpl;
+import org.camunda.bpm.model.xml.instance.DomDocument;
+import org.w3c.dom.Document;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXNotRecognizedException;
+import org.xml.sax.SAXNotSupportedException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.ext.LexicalHandler;
+import org.xml.sax.helpers.XMLFilterImpl;
+
+/**
+ * Reads a BPMN file without its diagram interchange (bpmndi). The shapes, edges
+ * and labels of the diagram make up about half of a typical model, but are not
+ * used by any checker.
+ *
+ * The diagram interchange is dropped by a SAX filter while the DOM is built, so
+ * the file is still parsed only once. The DOM is then validated and wrapped
+ * into a model instance like the Camunda model API does for a stream.
+ */
+public class DiagramInterchangeFilter extends XMLFilterImpl implements LexicalHandler {
+
+	private static final Logger LOGGER = Logger.getLogger(DiagramInterchangeFilter.class.getName());
+
+	public static final String BPMNDI_NAMESPACE = "http://www.omg.org/spec/BPMN/20100524/DI";
+
+	private static final String LEXICAL_HANDLER = "http://xml.org/sax/properties/lexical-handler";
+
+	private static final SAXParserFactory PARSER_FACTORY = createParserFactory();
+
+	private static final TransformerFactory TRANSFORMER_FACTORY = TransformerFactory.newInstance();
+
+	private static final ModelParser MODEL_PARSER = new ModelParser();
+
+	private LexicalHandler lexicalHandler;
+
+	// depth inside of a skipped bpmndi element
+	private int skipped;
+
+	private DiagramInterchangeFilter(final XMLReader parent) {
+		super(parent);
+	}
+
+	/**
+	 * Reads the model instance of the given BPMN content without diagram
+	 * interchange
+	 *
+	 * @param content
+	 *            BPMN file content
+	 * @return BpmnModelInstance without diagram interchange or with the complete
+	 *         content, if it couldn't be filtered
+	 */
+	public static BpmnModelInstance readModel(final byte[] content) {
+		final Document document;
+		try {
+			document = parse(content);
+		} catch (final ParserConfigurationException | SAXException | TransformerException | RuntimeException e) {
+			LOGGER.log(Level.FINE, "Diagram interchange couldn't be removed, model is parsed completely", e);
+			return Bpmn.readModelFromStream(new ByteArrayInputStream(content));
+		}
+		return MODEL_PARSER.readModel(new DomDocumentImpl(document));
+	}
+
+	private static Document parse(final byte[] content)
+			throws ParserConfigurationException, SAXException, TransformerException {
+		final XMLReader reader;
+		synchronized (PARSER_FACTORY) {
+			reader = PARSER_FACTORY.newSAXParser().getXMLReader();
+		}
+		final Transformer transformer;
+		synchronized (TRANSFORMER_FACTORY) {
+			transformer = TRANSFORMER_FACTORY.newTransformer();
+		}
+
+		final DOMResult result = new DOMResult();
+		transformer.transform(new SAXSource(new DiagramInterchangeFilter(reader),
+				new InputSource(new ByteArrayInputStream(content))), result);
+		return (Document) result.getNode();
+	}
+
+	@Override
+	public void setProperty(final String name, final Object value)
+			throws SAXNotRecognizedException, SAXNotSupportedException {
+		if (LEXICAL_HANDLER.equals(name)) {
+			// lexical events (comments, CDATA) have to pass the filter, too
+			lexicalHandler = (LexicalHandler) value;
+			super.setProperty(name, this);
+		} else {
+			super.setProperty(name, value);
+		}
+	}
+
+	@Override
+	public void startPrefixMapping(final String prefix, final String uri) throws SAXException {
+		if (skipped == 0) {
+			super.startPrefixMapping(prefix, uri);
+		}
+	}
+
+	@Override
+	public void endPrefixMapping(final String prefix) throws SAXException {
+		if (skipped == 0) {
+			super.endPrefixMapping(prefix);
+		}
+	}
+
+	@Override
+	public void startElement(final String uri, final String localName, final String qName, final Attributes atts)
+			throws SAXException {
+		if (skipped > 0 || BPMNDI_NAMESPACE.equals(uri)) {
+			skipped++;
+		} else {
+			super.startElement(uri, localName, qName, atts);
+		}
+	}
+
+	@Override
+	public void endElement(final String uri, final String localName, final String qName) throws SAXException {
+		if (skipped > 0) {
+			skipped--;
+		} else {
+			super.endElement(uri, localName, qName);
+		}
+	}
+
+	@Override
+	public void characters(final char[] ch, final int start, final int length) throws SAXException {
+		if (skipped == 0) {
+			super.characters(ch, start, length);
+		}
+	}
+
+	@Override
+	public void ignorableWhitespace(final char[] ch, final int start, final int length) throws SAXException {
+		if (skipped == 0) {
+			super.ignorableWhitespace(ch, start, length);
+		}
+	}
+
+	@Override
+	public void processingInstruction(final String target, final String data) {
+		// processing instructions are not part of the model
+	}
+
+	@Override
+	public void startCDATA() throws SAXException {
+		if (skipped == 0 && lexicalHandler != null) {
+			lexicalHandler.startCDATA();
+		}
+	}
+
+	@Override
+	public void endCDATA() throws SAXException {
+		if (skipped == 0 && lexicalHandler != null) {
+			lexicalHandler.endCDATA();
+		}
+	}
+
+	@Override
+	public void comment(final char[] ch, final int start, final int length) {
+		// comments are ignored by the Camunda model API as well
+	}
+
+	@Override
+	public void startDTD(final String name, final String publicId, final String systemId) {
+		// document type declarations are not part of the model
+	}
+
+	@Override
+	public void endDTD() {
+		// document type declarations are not part of the model
+	}
+
+	@Override
+	public void startEntity(final String name) {
+		// entities are already resolved
+	}
+
+	@Override
+	public void endEntity(final String name) {
+		// entities are already resolved
+	}
+
+	private static SAXParserFactory createParserFactory() {
+		final SAXParserFactory factory = SAXParserFactory.newInstance();
+		factory.setNamespaceAware(true);
+		try {
+			factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+			factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+		} catch (final ParserConfigurationException | SAXException e) {
+			LOGGER.log(Level.FINE, "External entities couldn't be disabled", e);
+		}
+		return factory;
+	}
+
+	/**
+	 * Creates the model instance of an already parsed document, like the
+	 * BpmnParser does after parsing a stream
+	 */
+	private static class ModelParser extends BpmnParser {
+
+		BpmnModelInstance readModel(final DomDocument document) {
+			validateModel(document);
+			return createModelInstance(document);
+		}
+	}
+}
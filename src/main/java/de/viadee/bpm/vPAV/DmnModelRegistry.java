@@ -0,0 +1,254 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.camunda.bpm.model.dmn.Dmn;
+import org.camunda.bpm.model.dmn.DmnModelException;
+import org.camunda.bpm.model.dmn.DmnModelInstance;
+import org.camunda.bpm.model.dmn.instance.Decision;
+import org.camunda.bpm.model.dmn.instance.DecisionTable;
+import org.camunda.bpm.model.dmn.instance.Input;
+import org.camunda.bpm.model.dmn.instance.InputExpression;
+import org.camunda.bpm.model.dmn.instance.Output;
+import org.camunda.bpm.model.dmn.instance.Text;
+
+import de.viadee.bpm.vPAV.events.ValidatorEvents;
+
+/**
+ * Parses each DMN model only once per run. Models are keyed by their resource
+ * name, i.e. the path relative to the resource folder, which is also the value
+ * of the decisionRef to path mapping of the FileScanner.
+ *
+ * While parsing, the input expressions and output names of each decision are
+ * collected, so that business rule tasks only have to look them up.
+ */
+public class DmnModelRegistry {
+
+	private static volatile DmnModelRegistry instance;
+
+	private final Map<String, DmnModel> models = new ConcurrentHashMap<>();
+
+	private DmnModelRegistry() {
+	}
+
+	public static DmnModelRegistry getInstance() {
+		if (DmnModelRegistry.instance == null) {
+			synchronized (DmnModelRegistry.class) {
+				if (DmnModelRegistry.instance == null) {
+					DmnModelRegistry.instance = new DmnModelRegistry();
+				}
+			}
+		}
+		return DmnModelRegistry.instance;
+	}
+
+	/**
+	 * Returns the model of the given file and registers it under the resource
+	 * name. The file is parsed, if the resource hasn't been parsed before.
+	 *
+	 * @param resourceName
+	 *            path of the model relative to the resource folder
+	 * @param modelFile
+	 *            DMN file
+	 * @return parsed model
+	 * @throws RuntimeException
+	 *             Model couldn't be read
+	 */
+	public DmnModel getModel(final String resourceName, final File modelFile) throws RuntimeException {
+		return models.computeIfAbsent(resourceName, name -> {
+			try (ValidatorEvents.Scope scope = ValidatorEvents.begin(ValidatorEvents.Type.MODEL_PARSE,
+					modelFile.getPath(), null, null)) {
+				return new DmnModel(name, Dmn.readModelFromFile(modelFile));
+			} catch (final DmnModelException ex) {
+				throw new RuntimeException("dmn model couldn't be read", ex);
+			}
+		});
+	}
+
+	/**
+	 * Returns the model of the given resource. If it hasn't been parsed yet, it is
+	 * read with the class loader of the RuntimeConfig.
+	 *
+	 * @param resourceName
+	 *            path of the model relative to the resource folder
+	 * @return parsed model or null, if the resource doesn't exist
+	 * @throws RuntimeException
+	 *             Model couldn't be read
+	 */
+	public DmnModel getModel(final String resourceName) throws RuntimeException {
+		final DmnModel model = models.get(resourceName);
+		if (model != null) {
+			return model;
+		}
+		final InputStream resource = RuntimeConfig.getInstance().getClassLoader().getResourceAsStream(resourceName);
+		if (resource == null) {
+			return null;
+		}
+		try (InputStream stream = resource) {
+			return models.computeIfAbsent(resourceName, name -> {
+				try (ValidatorEvents.Scope scope = ValidatorEvents.begin(ValidatorEvents.Type.MODEL_PARSE, name,
+						null, null)) {
+					return new DmnModel(name, Dmn.readModelFromStream(stream));
+				}
+			});
+		} catch (final IOException ex) {
+			throw new RuntimeException("dmn model couldn't be read", ex);
+		}
+	}
+
+	/**
+	 * Checks whether a DMN resource exists, without parsing it
+	 *
+	 * @param resourceName
+	 *            path of the model relative to the resource folder
+	 * @return true, if the resource has been parsed before or can be found by the
+	 *         class loader of the RuntimeConfig
+	 */
+	public boolean exists(final String resourceName) {
+		return models.containsKey(resourceName)
+				|| RuntimeConfig.getInstance().getClassLoader().getResource(resourceName) != null;
+	}
+
+	/**
+	 * Removes all parsed models
+	 */
+	public void clear() {
+		models.clear();
+	}
+
+	/**
+	 * A DMN model, which has been parsed once. Only the facts needed by the
+	 * validation are kept, not the model instance itself.
+	 */
+	public static class DmnModel {
+
+		private final String resourceName;
+
+		private final Map<String, DecisionFacts> decisions;
+
+		DmnModel(final String resourceName, final DmnModelInstance modelInstance) {
+			this.resourceName = resourceName;
+			final Map<String, DecisionFacts> decisionFacts = new LinkedHashMap<String, DecisionFacts>();
+			final Collection<Decision> modelDecisions = modelInstance.getModelElementsByType(Decision.class);
+			if (modelDecisions != null) {
+				for (final Decision decision : modelDecisions) {
+					decisionFacts.put(decision.getId(), new DecisionFacts(decision));
+				}
+			}
+			this.decisions = Collections.unmodifiableMap(decisionFacts);
+		}
+
+		public String getResourceName() {
+			return resourceName;
+		}
+
+		/**
+		 * @return ids of all decisions of the model in document order
+		 */
+		public Collection<String> getDecisionIds() {
+			return decisions.keySet();
+		}
+
+		/**
+		 * @param decisionId
+		 *            id of the decision
+		 * @return facts of the decision or null, if the model doesn't contain it
+		 */
+		public DecisionFacts getDecision(final String decisionId) {
+			return decisions.get(decisionId);
+		}
+	}
+
+	/**
+	 * Variables read and written by a single decision
+	 */
+	public static class DecisionFacts {
+
+		private final String id;
+
+		private final List<String> inputExpressions;
+
+		private final List<String> outputNames;
+
+		DecisionFacts(final Decision decision) {
+			this.id = decision.getId();
+			final List<String> inputs = new ArrayList<String>();
+			final List<String> outputs = new ArrayList<String>();
+			if (decision.getExpression() instanceof DecisionTable) {
+				final DecisionTable decisionTable = (DecisionTable) decision.getExpression();
+				for (final Input input : decisionTable.getInputs()) {
+					final InputExpression inputExpression = input.getInputExpression();
+					final Text text = inputExpression != null ? inputExpression.getText() : null;
+					if (text != null && text.getTextContent() != null) {
+						inputs.add(text.getTextContent());
+					}
+				}
+				for (final Output output : decisionTable.getOutputs()) {
+					if (output.getName() != null) {
+						outputs.add(output.getName());
+					}
+				}
+			}
+			this.inputExpressions = Collections.unmodifiableList(inputs);
+			this.outputNames = Collections.unmodifiableList(outputs);
+		}
+
+		public String getId() {
+			return id;
+		}
+
+		/**
+		 * @return texts of the input expressions of the decision table
+		 */
+		public List<String> getInputExpressions() {
+			return inputExpressions;
+		}
+
+		/**
+		 * @return names of the outputs of the decision table
+		 */
+		public List<String> getOutputNames() {
+			return outputNames;
+		}
+	}
+}
@@ -0,0 +1,168 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.tools.ant.types.selectors.SelectorUtils;
+
+import de.viadee.bpm.vPAV.constants.ConfigConstants;
+
+/**
+ * Discovers files below a base directory in a single traversal and classifies
+ * them by Ant-style include patterns (e.g.
+ * {@link ConfigConstants#BPMN_FILE_PATTERN}), like a DirectoryScanner with
+ * several include sets would do. The top-level
+ * directories are walked in parallel, which pays off on slow (e.g. network
+ * mounted) file systems.
+ *
+ * Paths are returned relative to the base directory, using the platform
+ * separator. Symbolic links are followed.
+ */
+public class FileDiscovery {
+
+	private static final Logger LOGGER = Logger.getLogger(FileDiscovery.class.getName());
+
+	private FileDiscovery() {
+	}
+
+	/**
+	 * Walks the base directory once and collects the files matching the patterns
+	 *
+	 * @param basedir
+	 *            Base directory, a missing directory yields no files
+	 * @param patterns
+	 *            Ant-style include patterns
+	 * @return Relative paths of the matching files for each pattern
+	 */
+	public static Map<String, Set<String>> discover(final String basedir, final String... patterns) {
+		final Map<String, Set<String>> result = new HashMap<>();
+		final List<String> normalizedPatterns = new ArrayList<>();
+		for (final String pattern : patterns) {
+			result.put(pattern, ConcurrentHashMap.newKeySet());
+			normalizedPatterns.add(normalizePattern(pattern));
+		}
+
+		final Path root = Paths.get(basedir);
+		if (Files.isDirectory(root)) {
+			final List<Path> topLevelDirectories = new ArrayList<>();
+			try (DirectoryStream<Path> entries = Files.newDirectoryStream(root)) {
+				for (final Path entry : entries) {
+					if (Files.isDirectory(entry)) {
+						topLevelDirectories.add(entry);
+					} else {
+						classify(root, entry, patterns, normalizedPatterns, result);
+					}
+				}
+			} catch (final IOException e) {
+				throw new UncheckedIOException("Directory couldn't be read: " + basedir, e);
+			}
+			topLevelDirectories.parallelStream()
+					.forEach(directory -> walk(root, directory, patterns, normalizedPatterns, result));
+		}
+
+		for (final Map.Entry<String, Set<String>> entry : result.entrySet()) {
+			entry.setValue(Collections.unmodifiableSet(entry.getValue()));
+		}
+		return result;
+	}
+
+	private static void walk(final Path root, final Path directory, final String[] patterns,
+			final List<String> normalizedPatterns, final Map<String, Set<String>> result) {
+		try {
+			Files.walkFileTree(directory, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE,
+					new SimpleFileVisitor<Path>() {
+						@Override
+						public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+							if (!attrs.isDirectory()) {
+								classify(root, file, patterns, normalizedPatterns, result);
+							}
+							return FileVisitResult.CONTINUE;
+						}
+
+						@Override
+						public FileVisitResult visitFileFailed(final Path file, final IOException e) {
+							// e.g. a link cycle or missing permissions, the rest of the tree is still walked
+							LOGGER.log(Level.FINE, "File couldn't be visited: " + file, e);
+							return FileVisitResult.CONTINUE;
+						}
+					});
+		} catch (final IOException e) {
+			throw new UncheckedIOException("Directory couldn't be walked: " + directory, e);
+		}
+	}
+
+	private static void classify(final Path root, final Path file, final String[] patterns,
+			final List<String> normalizedPatterns, final Map<String, Set<String>> result) {
+		final String relativePath = root.relativize(file).toString();
+		for (int i = 0; i < patterns.length; i++) {
+			if (SelectorUtils.matchPath(normalizedPatterns.get(i), relativePath, true)) {
+				result.get(patterns[i]).add(relativePath);
+			}
+		}
+	}
+
+	/**
+	 * Normalizes a pattern the same way the Ant DirectoryScanner does
+	 *
+	 * @param pattern
+	 *            Ant-style pattern
+	 * @return Pattern using the platform separator
+	 */
+	private static String normalizePattern(final String pattern) {
+		String normalized = pattern.replace('/', File.separatorChar).replace('\\', File.separatorChar);
+		if (normalized.endsWith(File.separator)) {
+			normalized += SelectorUtils.DEEP_TREE_MATCH;
+		}
+		return normalized;
+	}
+}
@@ -35,13 +35,14 @@ import java.io.File;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
@@ -50,15 +51,9 @@ import java.util.regex.Pattern;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.DirectoryFileFilter;
 import org.apache.commons.io.filefilter.TrueFileFilter;
-import org.apache.tools.ant.DirectoryScanner;
-import org.camunda.bpm.model.bpmn.Bpmn;
 import org.camunda.bpm.model.bpmn.BpmnModelException;
 import org.camunda.bpm.model.bpmn.BpmnModelInstance;
 import org.camunda.bpm.model.bpmn.instance.Process;
-import org.camunda.bpm.model.dmn.Dmn;
-import org.camunda.bpm.model.dmn.DmnModelException;
-import org.camunda.bpm.model.dmn.DmnModelInstance;
-import org.camunda.bpm.model.dmn.instance.Decision;
 
 import de.viadee.bpm.vPAV.config.model.Rule;
 import de.viadee.bpm.vPAV.config.model.Setting;
@@ -74,7 +69,7 @@ public class FileScanner {
 
 	private final Set<String> processdefinitions;
 
-	private static Set<String> javaResourcesFileInputStream = new HashSet<String>();
+	private static volatile Set<String> javaResourcesFileInputStream = new HashSet<String>();
 
 	private Set<String> includedFiles = new HashSet<String>();
 
@@ -84,37 +79,35 @@ public class FileScanner {
 
 	private Map<String, String> processIdToPathMap;
 
-	private static String scheme = null;
+	private static volatile String scheme = null;
 
-	private static StringBuilder sootPath = new StringBuilder();
+	private static final CopyOnWriteArrayList<String> sootPaths = new CopyOnWriteArrayList<String>();
 
-	private static Collection<String> sootPaths = new ArrayList<String>();
-
-	private static boolean isDirectory = false;
+	private static volatile boolean isDirectory = false;
 
 	private static final Logger LOGGER = Logger.getLogger(FileScanner.class.getName());
 
+	private static final String ALL_FILES_PATTERN = "**";
+
 	public FileScanner(final Map<String, Rule> rules, final String javaScanPath) {
 
-		final DirectoryScanner scanner = new DirectoryScanner();
-		scanner.setBasedir(ConfigConstants.BASEPATH);
+		// classify all resources of the base path in a single walk
+		final Map<String, Set<String>> resources = FileDiscovery.discover(ConfigConstants.BASEPATH,
+				ConfigConstants.BPMN_FILE_PATTERN, ConfigConstants.DMN_FILE_PATTERN,
+				ConfigConstants.SCRIPT_FILE_PATTERN);
 
 		// get file paths of process definitions
-		scanner.setIncludes(new String[] { ConfigConstants.BPMN_FILE_PATTERN });
-		scanner.scan();
-		processdefinitions = new HashSet<String>(Arrays.asList(scanner.getIncludedFiles()));
+		processdefinitions = new HashSet<String>(resources.get(ConfigConstants.BPMN_FILE_PATTERN));
 
-		scanner.setBasedir(javaScanPath);
-		// get file paths of process definitions
-		scanner.setIncludes(new String[] { ConfigConstants.JAVA_FILE_PATTERN });
-		scanner.scan();
-		javaResourcesFileInputStream = new HashSet<String>(Arrays.asList(scanner.getIncludedFiles()));
+		// get file paths of java files
+		final Set<String> javaResources = new HashSet<String>(
+				FileDiscovery.discover(javaScanPath, ConfigConstants.JAVA_FILE_PATTERN)
+						.get(ConfigConstants.JAVA_FILE_PATTERN));
+		javaResources.addAll(FileDiscovery.discover("target/generated-sources/", ConfigConstants.JAVA_FILE_PATTERN)
+				.get(ConfigConstants.JAVA_FILE_PATTERN));
 
-		scanner.setBasedir("target/generated-sources/");
-		// get file paths of process definitions
-		scanner.setIncludes(new String[] { ConfigConstants.JAVA_FILE_PATTERN });
-		scanner.scan();
-		javaResourcesFileInputStream.addAll(Arrays.asList(scanner.getIncludedFiles()));
+		// publish the complete set at once, it is read concurrently during parallel validation
+		javaResourcesFileInputStream = Collections.unmodifiableSet(javaResources);
 
 		// get mapping from process id to file path
 		processIdToPathMap = createProcessIdToPathMap(processdefinitions);
@@ -166,8 +159,7 @@ public class FileScanner {
 			if (url.getFile().contains(ConfigConstants.TARGET_CLASS_FOLDER)) {
 				File f = new File(url.getFile());
 				if (!isDirectory && f.exists()) {
-					files = (LinkedList<File>) FileUtils.listFiles(f, TrueFileFilter.INSTANCE, TrueFileFilter.INSTANCE);
-					addResources(files);
+					addResources(FileDiscovery.discover(f.getPath(), ALL_FILES_PATTERN).get(ALL_FILES_PATTERN));
 				} else {
 					files = (LinkedList<File>) FileUtils.listFilesAndDirs(f, DirectoryFileFilter.INSTANCE,
 							TrueFileFilter.INSTANCE);
@@ -177,19 +169,13 @@ public class FileScanner {
 		}
 		
 		// get mapping from decision reference to file path
-		scanner.setBasedir(ConfigConstants.BASEPATH);
-		scanner.setIncludes(new String[] { ConfigConstants.DMN_FILE_PATTERN });
-		scanner.scan();
-		decisionRefToPathMap = createDmnKeyToPathMap(new HashSet<String>(Arrays.asList(scanner.getIncludedFiles())));
+		decisionRefToPathMap = createDmnKeyToPathMap(resources.get(ConfigConstants.DMN_FILE_PATTERN));
 
 		final Rule rule = rules.get(VersioningChecker.class.getSimpleName());
 		if (rule != null && rule.isActive()) {
 			if (versioningScheme != null && !isDirectory) {
 				// also add groovy files to included files
-				scanner.setIncludes(new String[] { ConfigConstants.SCRIPT_FILE_PATTERN });
-				scanner.scan();
-
-				includedFiles.addAll(Arrays.asList(scanner.getIncludedFiles()));
+				includedFiles.addAll(resources.get(ConfigConstants.SCRIPT_FILE_PATTERN));
 
 				// filter files by versioningSchema
 				resourcesNewestVersions = createResourcesToNewestVersions(includedFiles, versioningScheme);
@@ -217,15 +203,11 @@ public class FileScanner {
 			if (System.getProperty("os.name").startsWith("Windows")) {
 				sootPathCurrent = sootPathCurrent.replace("file:/", "");
 				sootPathCurrent = sootPathCurrent.replace("/./", "\\\\").replaceAll("/$", "");
-				if (!sootPaths.contains(sootPathCurrent)) {
-					sootPaths.add(sootPathCurrent);
-				}
+				sootPaths.addIfAbsent(sootPathCurrent);
 			} else {
 				sootPathCurrent = sootPathCurrent.replace("file:", "");
 				sootPathCurrent = sootPathCurrent.replace("/./", "\\\\").replaceAll("/$", "");
-				if (!sootPaths.contains(sootPathCurrent)) {
-					sootPaths.add(sootPathCurrent);
-				}
+				sootPaths.addIfAbsent(sootPathCurrent);
 			}
 		}
 	}
@@ -260,11 +242,12 @@ public class FileScanner {
 	 * filenames to includedFiles
 	 *
 	 * @param classes
+	 *            paths of the classes, relative to the class folder
 	 */
-	private void addResources(LinkedList<File> classes) {
+	private void addResources(Collection<String> classes) {
 
-		for (File file : classes) {
-			includedFiles.add(file.getName());
+		for (String file : classes) {
+			includedFiles.add(new File(file).getName());
 		}
 	}
 
@@ -318,7 +301,8 @@ public class FileScanner {
 			// read bpmn file
 			BpmnModelInstance modelInstance = null;
 			try {
-				modelInstance = Bpmn.readModelFromFile(new File(ConfigConstants.BASEPATH + path));
+				modelInstance = BpmnModelRegistry.getInstance()
+						.getModelInstance(new File(ConfigConstants.BASEPATH + path));
 			} catch (final BpmnModelException ex) {
 				throw new RuntimeException("bpmn model couldn't be read", ex);
 			}
@@ -348,23 +332,12 @@ public class FileScanner {
 		final Map<String, String> keyToPathMap = new HashMap<String, String>();
 
 		for (final String path : paths) {
-			// read dmn file
-			DmnModelInstance modelInstance = null;
-			try {
-				modelInstance = Dmn.readModelFromFile(new File(ConfigConstants.BASEPATH + path));
-			} catch (final DmnModelException ex) {
-				throw new RuntimeException("dmn model couldn't be read", ex);
-			}
-			// if dmn could read
-			if (modelInstance != null) {
-				// find decisions
-				final Collection<Decision> decisions = modelInstance.getModelElementsByType(Decision.class);
-				if (decisions != null) {
-					for (final Decision decision : decisions) {
-						// save path for each decision
-						keyToPathMap.put(decision.getId(), path);
-					}
-				}
+			// read dmn file once, the registry keeps the decisions for later lookups
+			final DmnModelRegistry.DmnModel model = DmnModelRegistry.getInstance().getModel(path,
+					new File(ConfigConstants.BASEPATH + path));
+			for (final String decisionId : model.getDecisionIds()) {
+				// save path for each decision
+				keyToPathMap.put(decisionId, path);
 			}
 		}
 
@@ -497,6 +470,7 @@ public class FileScanner {
 	 * @return - Concatenated String of jars' local paths
 	 */
 	public static String getSootPath() {
+		final StringBuilder sootPath = new StringBuilder();
 		for (String entry : sootPaths) {
 			if (System.getProperty("os.name").startsWith("Windows")) {
 				sootPath.append(entry);
@@ -506,6 +480,6 @@ public class FileScanner {
 				sootPath.append(":");
 			}
 		}
-		return sootPath.toString().substring(0, sootPath.toString().length() - 1);
+		return sootPath.length() > 0 ? sootPath.substring(0, sootPath.length() - 1) : "";
 	}
 }
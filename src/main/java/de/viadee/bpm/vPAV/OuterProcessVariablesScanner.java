@@ -31,26 +31,23 @@
  */
 package de.viadee.bpm.vPAV;
 
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
-import org.apache.commons.io.IOUtils;
-import org.apache.tools.ant.DirectoryScanner;
-import org.apache.tools.ant.types.Resource;
-
 import de.viadee.bpm.vPAV.constants.ConfigConstants;
+import de.viadee.bpm.vPAV.processing.SourceFileCache;
 import groovyjarjarasm.asm.ClassReader;
 import groovyjarjarasm.asm.ClassVisitor;
 import groovyjarjarasm.asm.FieldVisitor;
@@ -62,6 +59,14 @@ import groovyjarjarasm.asm.Opcodes;
  */
 public class OuterProcessVariablesScanner {
 
+    // calls of startProcessInstanceBy* (group 1: method, group 2: id) and correlateMessage (group 3: method, group
+    // 4: message id) in code without quotes and blanks
+    private static final Pattern ENGINE_API_CALL_PATTERN = Pattern.compile("\\.(?:(?i:("
+            + "startProcessInstanceByMessageAndProcessDefinitionId|startProcessInstanceByMessage"
+            + "|startProcessInstanceById|startProcessInstanceByKey)"
+            + "\\(([a-z0-9_.]+)(?:,.?)*\\n?[a-z0-9_.()]*,?[a-z0-9_.()]*\\))"
+            + "|(correlateMessage)\\((\\w+),.*)");
+
     private Set<String> javaResources;
 
     private Map<String, Collection<String>> messageIdToVariableMap = new HashMap<String, Collection<String>>();
@@ -83,50 +88,124 @@ public class OuterProcessVariablesScanner {
      *             possible exception if filepath can not be resolved
      */
     public void scanProcessVariables() throws IOException {
-        for (final String filePath : javaResources) {
-            if (!filePath.startsWith("javax")) { 
-                final String content = readResourceFile(filePath);
-                if (content != null) {
-                    final Collection<String> initialProcessVariablesInFilePath = readVariablesOfInnerClassInitialProcessVariables(
-                            filePath);
-                    if (!initialProcessVariablesInFilePath.isEmpty()) {
-                        initialProcessVariables.addAll(initialProcessVariablesInFilePath);
-                        initialProcessVariablesLocation.add(filePath);
-                        // if correlateMessage and startProcessInstanceByMessage called
-                        // together in one class take the intersection to avoid duplicates
-                        final Set<String> messageIds = new HashSet<String>();
-                        messageIds.addAll(checkStartProcessByMessageIdPattern(content));
-                        messageIds.addAll(checkStartProcessByMessageAndProcessDefinitionId(content));
-                        messageIds.addAll(checkCorrelateMessagePattern(content));
-                        for (final String messageId : messageIds) {
-                            if (messageIdToVariableMap.containsKey(messageId)) {
-                                // if messageId is already set, create intersection of variables and overwrite map
-                                // item
-                                final Collection<String> existingProcessVariables = messageIdToVariableMap
-                                        .get(messageId);                                
-                                final List<String> intersectionProcessVariables = existingProcessVariables.stream()
-                                        .filter(initialProcessVariablesInFilePath::contains)
-                                        .collect(Collectors.toList());
-                                
-                                messageIdToVariableMap.put(messageId, intersectionProcessVariables);
-                            } else {
-                                messageIdToVariableMap.put(messageId, initialProcessVariablesInFilePath);
-                            }
-                        }
-                        
-                        final Set<String> processIds = new HashSet<String>();
-                        processIds.addAll(checkStartProcessByKeyPattern(content));
-                        processIds.addAll(checkStartProcessByIdPattern(content));                      
-                        
-                        for (final String processId : processIds) {
-                            processIdToVariableMap.put(processId, initialProcessVariablesInFilePath);
-                        }
-                    }
+        // files are scanned in parallel, but merged in a fixed order to keep the intersections stable
+        final List<ScannedFile> scannedFiles;
+        try {
+            scannedFiles = new ArrayList<String>(javaResources).parallelStream()
+                    .filter(filePath -> !filePath.startsWith("javax"))
+                    .map(this::scanFile)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        } catch (final UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+
+        for (final ScannedFile scannedFile : scannedFiles) {
+            final Collection<String> initialProcessVariablesInFilePath = scannedFile.initialProcessVariables;
+            initialProcessVariables.addAll(initialProcessVariablesInFilePath);
+            initialProcessVariablesLocation.add(scannedFile.filePath);
+            // if correlateMessage and startProcessInstanceByMessage called
+            // together in one class take the intersection to avoid duplicates
+            for (final String messageId : scannedFile.messageIds) {
+                if (messageIdToVariableMap.containsKey(messageId)) {
+                    // if messageId is already set, create intersection of variables and overwrite map
+                    // item
+                    final Collection<String> existingProcessVariables = messageIdToVariableMap
+                            .get(messageId);
+                    final List<String> intersectionProcessVariables = existingProcessVariables.stream()
+                            .filter(initialProcessVariablesInFilePath::contains)
+                            .collect(Collectors.toList());
+
+                    messageIdToVariableMap.put(messageId, intersectionProcessVariables);
+                } else {
+                    messageIdToVariableMap.put(messageId, initialProcessVariablesInFilePath);
                 }
             }
+
+            for (final String processId : scannedFile.processIds) {
+                processIdToVariableMap.put(processId, initialProcessVariablesInFilePath);
+            }
         }
     }
 
+    /**
+     * scan a single java file for initial process variables and the engine api
+     * calls using them
+     *
+     * @param filePath
+     *            path of the file
+     * @return scanned file or null, if the file has no initial process variables
+     */
+    private ScannedFile scanFile(final String filePath) {
+        final Collection<String> initialProcessVariablesInFilePath;
+        try {
+            initialProcessVariablesInFilePath = readVariablesOfInnerClassInitialProcessVariables(filePath);
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        if (initialProcessVariablesInFilePath.isEmpty()) {
+            return null;
+        }
+        final String content = readResourceFile(filePath);
+        if (content == null) {
+            return null;
+        }
+        final ScannedFile scannedFile = new ScannedFile(filePath, initialProcessVariablesInFilePath);
+        findEngineApiCalls(content, scannedFile.messageIds, scannedFile.processIds);
+        return scannedFile;
+    }
+
+    /**
+     * find the message ids and process ids of all engine api calls
+     * (startProcessInstanceBy*, correlateMessage) in a single scan of the code.
+     * Each kind of call is matched as if it was searched on its own, so a call
+     * nested in the arguments of another call is still found.
+     *
+     * @param code
+     *            java code
+     * @param messageIds
+     *            found message ids
+     * @param processIds
+     *            found process ids (keys and definition ids)
+     */
+    static void findEngineApiCalls(final String code, final Collection<String> messageIds,
+            final Collection<String> processIds) {
+
+        // remove special characters from code
+        final String cleanedCode = removeQuotesAndBlanks(code);
+
+        // position, from which on the next call of a method may start
+        final Map<String, Integer> nextStart = new HashMap<String, Integer>();
+        final Matcher matcher = ENGINE_API_CALL_PATTERN.matcher(cleanedCode);
+        int from = 0;
+        while (matcher.find(from)) {
+            final boolean correlate = matcher.group(1) == null;
+            final String method = correlate ? matcher.group(3) : matcher.group(1).toLowerCase();
+            final Integer start = nextStart.get(method);
+            if (start == null || matcher.start() >= start) {
+                nextStart.put(method, matcher.end());
+                if (correlate) {
+                    messageIds.add(matcher.group(4));
+                } else if (method.startsWith("startprocessinstancebymessage")) {
+                    messageIds.add(matcher.group(2));
+                } else {
+                    processIds.add(matcher.group(2));
+                }
+            }
+            from = matcher.start() + 1;
+        }
+    }
+
+    private static String removeQuotesAndBlanks(final String code) {
+        final StringBuilder cleanedCode = new StringBuilder(code.length());
+        for (int i = 0; i < code.length(); i++) {
+            final char c = code.charAt(i);
+            if (c != '\'' && c != '"' && c != ' ') {
+                cleanedCode.append(c);
+            }
+        }
+        return cleanedCode.toString();
+    }
     
     /**
      * get list of locations where initial process variables have been found 
@@ -168,24 +247,9 @@ public class OuterProcessVariablesScanner {
 
         if (filePath != null && filePath.trim().length() > 0) {
             try {
-                final DirectoryScanner scanner = new DirectoryScanner();
-
-                if (RuntimeConfig.getInstance().isTest()) {
-                    scanner.setBasedir(ConfigConstants.TEST_JAVAPATH);
-                } else {
-                    scanner.setBasedir(ConfigConstants.JAVAPATH);
-                }
-
-                Resource s = scanner.getResource(filePath);
-
-                if (s.isExists()) {
-
-                    InputStreamReader resource = new InputStreamReader(new FileInputStream(s.toString()));
-
-                    methodBody = IOUtils.toString(resource);
-
-                } else {
-
+                final String content = SourceFileCache.getInstance().getContent(filePath);
+                if (content != null) {
+                    methodBody = content;
                 }
             } catch (final IOException ex) {
                 throw new RuntimeException(
@@ -198,132 +262,6 @@ public class OuterProcessVariablesScanner {
 
     }
 
-    /**
-     * check pattern for startProcessInstanceByMessage
-     *
-     * @param code
-     * @return message ids
-     */
-    private Collection<String> checkStartProcessByMessageIdPattern(final String code) {
-
-        // remove special characters from code
-        final String FILTER_PATTERN = "'|\"| ";
-        final String cleanedCode = code.replaceAll(FILTER_PATTERN, "");
-
-        // search locations where variables are read
-        final Pattern pattern = Pattern.compile("\\.(startProcessInstanceByMessage)(\\()([a-z0-9_.]+)(,.?)*(\\n?)([a-z0-9_.()])*(,?)([a-z0-9_.()])*\\)", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
-        final Matcher matcher = pattern.matcher(cleanedCode);
-
-        final Collection<String> messageIds = new ArrayList<String>();
-        while (matcher.find()) {
-            final String match = matcher.group(3);
-            messageIds.add(match);
-        }
-
-        return messageIds;
-    }
-    
-    /**
-     * check pattern for startProcessInstanceById
-     *
-     * @param code
-     * @return message ids
-     */
-    private Collection<String> checkStartProcessByIdPattern(final String code) {
-
-        // remove special characters from code
-        final String FILTER_PATTERN = "'|\"| ";
-        final String cleanedCode = code.replaceAll(FILTER_PATTERN, "");
-        
-        // search locations where variables are read
-        final Pattern pattern = Pattern.compile("\\.(startProcessInstanceById)(\\()([a-z0-9_.]+)(,.?)*(\\n?)([a-z0-9_.()])*(,?)([a-z0-9_.()])*\\)", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
-        final Matcher matcher = pattern.matcher(cleanedCode);
-
-        final Collection<String> processIds = new ArrayList<String>();
-        while (matcher.find()) {
-            final String match = matcher.group(3);
-            processIds.add(match);
-        }
-
-        return processIds;
-    }
-    
-    
-    /**
-     * check pattern for startProcessInstanceByMessageAndProcessDefinitionId
-     *
-     * @param code
-     * @return message ids
-     */
-    private Collection<String> checkStartProcessByMessageAndProcessDefinitionId(final String code) {
-
-        // remove special characters from code
-        final String FILTER_PATTERN = "'|\"| ";
-        final String cleanedCode = code.replaceAll(FILTER_PATTERN, "");
-        
-        // search locations where variables are read
-        final Pattern pattern = Pattern.compile("\\.(startProcessInstanceByMessageAndProcessDefinitionId)(\\()([a-z0-9_.]+)(,.?)*(\\n?)([a-z0-9_.()])*(,?)([a-z0-9_.()])*\\)", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
-        final Matcher matcher = pattern.matcher(cleanedCode);
-
-        final Collection<String> messageAndProcessIds = new ArrayList<String>();
-        while (matcher.find()) {
-            final String match = matcher.group(3);
-            messageAndProcessIds.add(match);
-        }
-
-        return messageAndProcessIds;
-    }
-
-    /**
-     * check pattern for startProcessInstanceByKey
-     *
-     * @param code
-     * @return process keys
-     */
-    private Collection<String> checkStartProcessByKeyPattern(final String code) {
-
-        // remove special characters from code
-        final String FILTER_PATTERN = "'|\"| ";
-        final String cleanedCode = code.replaceAll(FILTER_PATTERN, "");
-
-        // search locations where variables are read
-        final Pattern pattern = Pattern.compile("\\.(startProcessInstanceByKey)(\\()([a-z0-9_.]+)(,.?)*(\\n?)([a-z0-9_.()])*(,?)([a-z0-9_.()])*\\)", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
-        final Matcher matcher = pattern.matcher(cleanedCode);
-
-        final Collection<String> processIds = new ArrayList<String>();
-        while (matcher.find()) {
-            final String match = matcher.group(3);
-            processIds.add(match);
-        }
-
-        return processIds;
-    }
-
-    /**
-     * check pattern for correlateMessage
-     *
-     * @param code
-     * @return message ids
-     */
-    private Collection<String> checkCorrelateMessagePattern(final String code) {
-
-        // remove special characters from code
-        final String FILTER_PATTERN = "'|\"| ";
-        final String cleanedCode = code.replaceAll(FILTER_PATTERN, "");
-
-        // search locations where variables are read
-        final Pattern pattern = Pattern.compile("\\.correlateMessage\\((\\w+),(.*)");
-        final Matcher matcher = pattern.matcher(cleanedCode);
-
-        final Collection<String> messageIds = new ArrayList<String>();
-        while (matcher.find()) {
-            final String match = matcher.group(1);
-            messageIds.add(match);
-        }
-
-        return messageIds;
-    }
-
     /**
      * For given filePath returns fields of class InitialProcessVariables (either separate or inner class). This class is used to initialize the
      * process
@@ -374,4 +312,23 @@ public class OuterProcessVariablesScanner {
     public Collection<String> getInitialProcessVariables() {
         return initialProcessVariables;
     }
+
+    /**
+     * initial process variables and engine api calls of a java file
+     */
+    private static class ScannedFile {
+
+        private final String filePath;
+
+        private final Collection<String> initialProcessVariables;
+
+        private final Set<String> messageIds = new HashSet<String>();
+
+        private final Set<String> processIds = new HashSet<String>();
+
+        ScannedFile(final String filePath, final Collection<String> initialProcessVariables) {
+            this.filePath = filePath;
+            this.initialProcessVariables = initialProcessVariables;
+        }
+    }
 }
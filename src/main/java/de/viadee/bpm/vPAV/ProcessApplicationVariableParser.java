@@ -36,13 +36,9 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.HashMap;
 
-import javax.xml.parsers.ParserConfigurationException;
-
-import org.camunda.bpm.model.bpmn.Bpmn;
 import org.camunda.bpm.model.bpmn.BpmnModelInstance;
 import org.camunda.bpm.model.bpmn.instance.BaseElement;
 import org.springframework.context.ApplicationContext;
-import org.xml.sax.SAXException;
 
 import de.viadee.bpm.vPAV.beans.BeanMappingGenerator;
 import de.viadee.bpm.vPAV.constants.ConfigConstants;
@@ -62,8 +58,8 @@ public class ProcessApplicationVariableParser {
         FileScanner fileScanner = new FileScanner(new HashMap<>(), ConfigConstants.JAVAPATH);
         OuterProcessVariablesScanner variableScanner = readOuterProcessVariables(fileScanner);
 
-        BpmnScanner bpmnScanner = createScanner(modelFile);
-        final BpmnModelInstance modelInstance = Bpmn.readModelFromFile(modelFile);
+        final BpmnModelInstance modelInstance = BpmnModelRegistry.getInstance().getModelInstance(modelFile);
+        BpmnScanner bpmnScanner = BpmnModelRegistry.createBpmnScanner(modelFile.getPath(), modelInstance);
 
         // hold bpmn elements
         final Collection<BaseElement> baseElements = modelInstance
@@ -95,21 +91,4 @@ public class ProcessApplicationVariableParser {
 			throw new RuntimeException("Outer process variables couldn't be read", e);
 		}
 	}
-
-	/**
-     *
-     * @param processdefinition
-     *            Holds the path to the BPMN model
-     * @return BpmnScanner
-     */
-    private static BpmnScanner createScanner(final File processdefinition) {
-        // create BPMNScanner
-        BpmnScanner bpmnScanner;
-        try {
-            bpmnScanner = new BpmnScanner(processdefinition.getPath());
-        } catch (ParserConfigurationException | SAXException | IOException e) {
-            throw new RuntimeException("Model couldn't be parsed");
-        }
-        return bpmnScanner;
-    }
 }
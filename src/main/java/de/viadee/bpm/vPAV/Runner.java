@@ -46,14 +46,22 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
 
 import de.viadee.bpm.vPAV.config.model.Rule;
+import de.viadee.bpm.vPAV.config.model.Setting;
 import de.viadee.bpm.vPAV.config.reader.ConfigReaderException;
 import de.viadee.bpm.vPAV.config.reader.XmlConfigReader;
+import de.viadee.bpm.vPAV.constants.BpmnConstants;
 import de.viadee.bpm.vPAV.constants.ConfigConstants;
 import de.viadee.bpm.vPAV.output.IssueOutputWriter;
 import de.viadee.bpm.vPAV.output.JsOutputWriter;
@@ -62,17 +70,29 @@ import de.viadee.bpm.vPAV.output.OutputWriterException;
 import de.viadee.bpm.vPAV.output.RuleSetOutputWriter;
 import de.viadee.bpm.vPAV.output.XmlOutputWriter;
 import de.viadee.bpm.vPAV.processing.BpmnModelDispatcher;
+import de.viadee.bpm.vPAV.processing.CallActivitySummaryCache;
+import de.viadee.bpm.vPAV.processing.ClassMetadataCache;
 import de.viadee.bpm.vPAV.processing.ConfigItemNotFoundException;
+import de.viadee.bpm.vPAV.processing.DelegateSummaryCache;
+import de.viadee.bpm.vPAV.processing.ExpressionCache;
+import de.viadee.bpm.vPAV.processing.GroovyScriptCache;
+import de.viadee.bpm.vPAV.processing.SourceFileCache;
+import de.viadee.bpm.vPAV.processing.StaticAnalysisSession;
 import de.viadee.bpm.vPAV.processing.dataflow.DataFlowRule;
 import de.viadee.bpm.vPAV.processing.model.data.BpmnElement;
 import de.viadee.bpm.vPAV.processing.model.data.CheckerIssue;
 import de.viadee.bpm.vPAV.processing.model.data.ModelDispatchResult;
 import de.viadee.bpm.vPAV.processing.model.data.ProcessVariable;
+import de.viadee.bpm.vPAV.processing.model.data.VariableSymbols;
 
 public class Runner {
 
 	private static Logger logger = Logger.getLogger(Runner.class.getName());
 
+	private static final String DELEGATE_CACHE_FILE = "delegates.json";
+
+	private static final String GROOVY_CACHE_FILE = "groovy.json";
+
 	private FileScanner fileScanner;
 
 	private OuterProcessVariablesScanner variableScanner;
@@ -87,13 +107,14 @@ public class Runner {
 
 	private Map<String, String> fileMapping = createFileFolderMapping();
 
-	private Map<String, String> wrongCheckersMap = new HashMap<>();
+	private Map<String, String> wrongCheckersMap = new ConcurrentHashMap<>();
 
 	private ArrayList<String> allOutputFilesArray = createAllOutputFilesArray();
 
-	private Collection<BpmnElement> elements = new ArrayList<>();
+	private Collection<BpmnElement> elements = Collections.synchronizedList(new ArrayList<BpmnElement>());
 
-	private Collection<ProcessVariable> processVariables = new ArrayList<>();
+	private Collection<ProcessVariable> processVariables = Collections
+			.synchronizedList(new ArrayList<ProcessVariable>());
 
 	private Collection<DataFlowRule> dataFlowRules = new ArrayList<>();
 
@@ -101,6 +122,9 @@ public class Runner {
 
 	private static boolean isStatic = false;
 
+	private ValidationCache validationCache;
+
+	private Map<String, String> cacheKeys = new HashMap<String, String>();
 
 	/**
 	 * Main method which represents lifecycle of the validation process. Calls main
@@ -110,28 +134,68 @@ public class Runner {
 	 */
 	public void viadeeProcessApplicationValidator(final String javaScanPath) {
 
-		// 1
-		rules = readConfig();
-
-		// 2
-		setFileScanner(new FileScanner(rules, javaScanPath));
-
-		// 3
-		getProcessVariables(rules);
-
-		// 4
-		createIssues(rules, dataFlowRules);
+		// the configuration is measured, before it is known whether metrics are wanted
+		final ValidationMetrics metrics = ValidationMetrics.getInstance();
+		metrics.reset();
+		metrics.setEnabled(true);
 
-		// 5
-		removeIgnoredIssues();
-
-		// 6
-		writeOutput(filteredIssues, elements, processVariables);
-
-		// 7
-		copyFiles();
+		try {
+			// 1
+			metrics.startPhase("config");
+			rules = readConfig();
+			metrics.setEnabled(
+					rules.get(ConfigConstants.METRICS) != null && rules.get(ConfigConstants.METRICS).isActive());
+
+			// 2
+			metrics.startPhase("file scan");
+			setFileScanner(new FileScanner(rules, javaScanPath));
+
+			// 3
+			metrics.startPhase("outer variables");
+			getProcessVariables(rules);
+
+			// 4
+			metrics.startPhase("issues");
+			createIssues(rules, dataFlowRules);
+
+			// 5
+			metrics.startPhase("filtering");
+			removeIgnoredIssues();
+
+			// 6
+			metrics.startPhase("output");
+			writeOutput(filteredIssues, elements, processVariables);
+
+			// 7
+			metrics.startPhase("copy");
+			copyFiles();
+			metrics.stopPhase();
+
+			writeMetrics(rules);
+
+			logger.info("BPMN validation successfully completed");
+		} finally {
+			// release models parsed and classes loaded during this run, also if it failed
+			releaseRunResources();
+		}
+	}
 
-		logger.info("BPMN validation successfully completed");
+	/**
+	 * Releases the registries and caches of a validation run, so that they don't
+	 * leak into the next run in the same JVM
+	 */
+	private static void releaseRunResources() {
+		BpmnModelRegistry.getInstance().clear();
+		DmnModelRegistry.getInstance().clear();
+		StaticAnalysisSession.getInstance().reset();
+		DelegateSummaryCache.getInstance().clear();
+		CallActivitySummaryCache.getInstance().clear();
+		GroovyScriptCache.getInstance().clear();
+		ClassMetadataCache.getInstance().clear();
+		SourceFileCache.getInstance().clear();
+		ExpressionCache.getInstance().clear();
+		VariableSymbols.getInstance().clear();
+		ValidationMetrics.getInstance().reset();
 	}
 
 	/**
@@ -330,6 +394,10 @@ public class Runner {
 		if (index.exists()) {
 			String[] entries = index.list();
 			for (String entry : entries) {
+				// keep the results of the last run for IncrementalValidation
+				if (ConfigConstants.CACHE_FOLDER.equals(ConfigConstants.VALIDATION_FOLDER + entry + "/")) {
+					continue;
+				}
 				File currentFile = new File(index.getPath(), entry);
 				if (currentFile.isDirectory()) {
 					String[] subEntries = currentFile.list();
@@ -571,7 +639,9 @@ public class Runner {
 	}
 
 	/**
-	 * Check consistency of all models
+	 * Check consistency of all models. Models are processed in order of their path,
+	 * either sequentially or - if ParallelValidation is active - on a pool of
+	 * workers. In both cases results are merged in the same order.
 	 *
 	 * @param rules
 	 *            all rules of ruleSet.xml
@@ -590,46 +660,246 @@ public class Runner {
 			throws RuntimeException {
 		final Collection<CheckerIssue> issues = new ArrayList<CheckerIssue>();
 
-		for (final String pathToModel : fileScanner.getProcessdefinitions()) {
-			issues.addAll(checkModel(rules, pathToModel, fileScanner, variableScanner, dataFlowRules));
+		final List<String> pathsToModels = new ArrayList<String>(fileScanner.getProcessdefinitions());
+		Collections.sort(pathsToModels);
+
+		prepareStaticAnalysis(rules, pathsToModels);
+
+		// results of unchanged models are taken from the cache of the last run
+		final Map<String, ModelDispatchResult> cachedResults = loadCachedResults(rules, pathsToModels, fileScanner,
+				variableScanner, dataFlowRules);
+		final List<String> modelsToCheck = new ArrayList<String>(pathsToModels);
+		modelsToCheck.removeAll(cachedResults.keySet());
+
+		final int workers = BpmnModelDispatcher.getWorkerCount(rules);
+		final List<ModelDispatchResult> dispatchResults;
+		if (workers > 1 && modelsToCheck.size() > 1) {
+			dispatchResults = checkModelsParallel(rules, modelsToCheck, fileScanner, variableScanner, dataFlowRules,
+					workers);
+		} else {
+			dispatchResults = new ArrayList<ModelDispatchResult>();
+			for (final String pathToModel : modelsToCheck) {
+				dispatchResults.add(
+						checkModel(rules, pathToModel, fileScanner, variableScanner, dataFlowRules, false));
+			}
+		}
+
+		final Map<String, ModelDispatchResult> results = new HashMap<String, ModelDispatchResult>(cachedResults);
+		for (int i = 0; i < modelsToCheck.size(); i++) {
+			results.put(modelsToCheck.get(i), dispatchResults.get(i));
+		}
+
+		if (validationCache != null) {
+			DelegateSummaryCache.getInstance().save(new File(ConfigConstants.CACHE_FOLDER, DELEGATE_CACHE_FILE));
+			GroovyScriptCache.getInstance().save(new File(ConfigConstants.CACHE_FOLDER, GROOVY_CACHE_FILE));
+		}
+
+		for (final String pathToModel : pathsToModels) {
+			final ModelDispatchResult dispatchResult = results.get(pathToModel);
+			issues.addAll(dispatchResult.getIssues());
+			elements.addAll(dispatchResult.getBpmnElements());
+			processVariables.addAll(dispatchResult.getProcessVariables());
 		}
 		return issues;
 	}
 
+	/**
+	 * If IncrementalValidation is active, loads the results of all models, which
+	 * haven't changed since the last run. Custom data flow rules are not part of
+	 * the rule set, so the cache isn't used in this case.
+	 *
+	 * @param rules
+	 *            all rules of ruleSet.xml
+	 * @param pathsToModels
+	 *            paths of process definitions
+	 * @param fileScanner
+	 *            fileScanner
+	 * @param variableScanner
+	 *            variableScanner
+	 * @param dataFlowRules
+	 *            dataFlowRules
+	 * @return cached results by path of process definition
+	 */
+	private Map<String, ModelDispatchResult> loadCachedResults(final Map<String, Rule> rules,
+			final List<String> pathsToModels, final FileScanner fileScanner,
+			final OuterProcessVariablesScanner variableScanner, final Collection<DataFlowRule> dataFlowRules) {
+		final Map<String, ModelDispatchResult> cachedResults = new HashMap<String, ModelDispatchResult>();
+		cacheKeys.clear();
+
+		final Rule rule = rules.get(ConfigConstants.INCREMENTAL_VALIDATION);
+		if (rule == null || !rule.isActive() || (dataFlowRules != null && !dataFlowRules.isEmpty())) {
+			validationCache = null;
+			return cachedResults;
+		}
+
+		validationCache = new ValidationCache(new File(ConfigConstants.CACHE_FOLDER), fileScanner, variableScanner);
+		DelegateSummaryCache.getInstance().load(new File(ConfigConstants.CACHE_FOLDER, DELEGATE_CACHE_FILE));
+		GroovyScriptCache.getInstance().load(new File(ConfigConstants.CACHE_FOLDER, GROOVY_CACHE_FILE));
+
+		for (final String pathToModel : pathsToModels) {
+			final String key = validationCache.createKey(pathToModel);
+			cacheKeys.put(pathToModel, key);
+
+			final ValidationCache.CachedModel cachedModel = validationCache.load(pathToModel, key);
+			if (cachedModel != null) {
+				cachedResults.put(pathToModel, cachedModel.getDispatchResult());
+				getWrongCheckersMap().putAll(cachedModel.getIncorrectCheckers());
+			}
+		}
+		logger.info(cachedResults.size() + " of " + pathsToModels.size() + " models are unchanged since the last run");
+		return cachedResults;
+	}
+
+	/**
+	 * If static analysis is used, registers the delegate classes of all models
+	 * upfront, so that one call graph covers the delegates of all models
+	 *
+	 * @param rules
+	 *            all rules of ruleSet.xml
+	 * @param pathsToModels
+	 *            paths of process definitions
+	 */
+	private void prepareStaticAnalysis(final Map<String, Rule> rules, final List<String> pathsToModels) {
+		final Rule rule = rules.get(BpmnConstants.PROCESS_VARIABLE_MODEL_CHECKER);
+		final Setting setting = rule != null && rule.getSettings() != null
+				? rule.getSettings().get(ConfigConstants.USE_STATIC_ANALYSIS_BOOLEAN)
+				: null;
+		isStatic = setting != null && "true".equals(setting.getValue());
+
+		if (isStatic) {
+			final Set<String> delegateClasses = new LinkedHashSet<String>();
+			for (final String pathToModel : pathsToModels) {
+				delegateClasses.addAll(BpmnModelRegistry.getInstance()
+						.getBpmnScanner(new File(ConfigConstants.BASEPATH + pathToModel)).getDelegateClasses());
+			}
+			StaticAnalysisSession.getInstance().addDelegateClasses(delegateClasses);
+		}
+	}
+
+	/**
+	 * Dispatches all models on a fixed thread pool and collects the results in the
+	 * order of the given paths
+	 *
+	 * @param rules
+	 *            all rules of ruleSet.xml
+	 * @param pathsToModels
+	 *            sorted paths of process definitions
+	 * @param fileScanner
+	 *            fileScanner
+	 * @param variableScanner
+	 *            variableScanner
+	 * @param dataFlowRules
+	 *            dataFlowRules
+	 * @param workers
+	 *            number of threads
+	 * @return dispatch results in order of pathsToModels
+	 * @throws RuntimeException
+	 *             Model couldn't be validated or validation was interrupted
+	 */
+	private List<ModelDispatchResult> checkModelsParallel(final Map<String, Rule> rules,
+			final List<String> pathsToModels, final FileScanner fileScanner,
+			final OuterProcessVariablesScanner variableScanner, final Collection<DataFlowRule> dataFlowRules,
+			final int workers) throws RuntimeException {
+
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.min(workers, pathsToModels.size()));
+		try {
+			final List<Future<ModelDispatchResult>> futures = new ArrayList<Future<ModelDispatchResult>>();
+			for (final String pathToModel : pathsToModels) {
+				futures.add(executor.submit(
+						() -> checkModel(rules, pathToModel, fileScanner, variableScanner, dataFlowRules, true)));
+			}
+
+			final List<ModelDispatchResult> dispatchResults = new ArrayList<ModelDispatchResult>();
+			for (final Future<ModelDispatchResult> future : futures) {
+				dispatchResults.add(future.get());
+			}
+			return dispatchResults;
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Validation of models was interrupted", e);
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new RuntimeException("Model couldn't be validated", e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Writes the recorded metrics, if the rule Metrics is active
+	 *
+	 * @param rules
+	 *            all rules of ruleSet.xml
+	 */
+	private void writeMetrics(final Map<String, Rule> rules) {
+		final ValidationMetrics metrics = ValidationMetrics.getInstance();
+		if (!metrics.isEnabled()) {
+			return;
+		}
+		int top = ConfigConstants.DEFAULT_METRICS_TOP;
+		final Setting setting = rules.get(ConfigConstants.METRICS).getSettings() != null
+				? rules.get(ConfigConstants.METRICS).getSettings().get(ConfigConstants.METRICS_TOP)
+				: null;
+		if (setting != null && setting.getValue() != null) {
+			try {
+				top = Integer.parseInt(setting.getValue().trim());
+			} catch (final NumberFormatException e) {
+				logger.warning("Invalid number for Metrics: '" + setting.getValue() + "'. Using " + top + ".");
+			}
+		}
+		try {
+			metrics.write(new File(ConfigConstants.METRICS_FILE), top);
+		} catch (final IOException e) {
+			logger.warning("Metrics couldn't be written: " + e.getMessage());
+		}
+	}
+
 	/**
 	 * Check consistency of a model
 	 *
 	 * @param rules
 	 *            all rules of ruleSet.xml
-	 * @param beanMapping
-	 *            beanMapping if spring context is available
 	 * @param processdef
 	 *            processdefintion
 	 * @param fileScanner
 	 *            fileScanner
 	 * @param variableScanner
 	 *            variableScanner
-	 * @return modelIssues
+	 * @param dataFlowRules
+	 *            dataFlowRules
+	 * @param modelsInParallel
+	 *            true, if the model is validated on the pool of workers
+	 * @return dispatchResult
 	 */
-	private Collection<CheckerIssue> checkModel(final Map<String, Rule> rules, final String processdef,
+	private ModelDispatchResult checkModel(final Map<String, Rule> rules, final String processdef,
 			final FileScanner fileScanner, final OuterProcessVariablesScanner variableScanner,
-			Collection<DataFlowRule> dataFlowRules) {
+			Collection<DataFlowRule> dataFlowRules, final boolean modelsInParallel) {
 		BpmnModelDispatcher bpmnModelDispatcher = new BpmnModelDispatcher();
+		bpmnModelDispatcher.setModelsInParallel(modelsInParallel);
 		ModelDispatchResult dispatchResult;
-		if (variableScanner != null) {
-			dispatchResult = bpmnModelDispatcher.dispatchWithVariables(fileScanner, new File(ConfigConstants.BASEPATH + processdef),
-					fileScanner.getDecisionRefToPathMap(), fileScanner.getProcessIdToPathMap(), variableScanner,
-					dataFlowRules, fileScanner.getResourcesNewestVersions(), rules);
-		} else {
-			dispatchResult = bpmnModelDispatcher.dispatchWithoutVariables(
-					new File(ConfigConstants.BASEPATH + processdef), fileScanner.getDecisionRefToPathMap(),
-					fileScanner.getProcessIdToPathMap(), fileScanner.getResourcesNewestVersions(), rules);
+		try (ValidationMetrics.Measurement measurement = ValidationMetrics.getInstance()
+				.start(ValidationMetrics.MODEL, processdef)) {
+			if (variableScanner != null) {
+				dispatchResult = bpmnModelDispatcher.dispatchWithVariables(fileScanner,
+						new File(ConfigConstants.BASEPATH + processdef), fileScanner.getDecisionRefToPathMap(),
+						fileScanner.getProcessIdToPathMap(), variableScanner, dataFlowRules,
+						fileScanner.getResourcesNewestVersions(), rules);
+			} else {
+				dispatchResult = bpmnModelDispatcher.dispatchWithoutVariables(
+						new File(ConfigConstants.BASEPATH + processdef), fileScanner.getDecisionRefToPathMap(),
+						fileScanner.getProcessIdToPathMap(), fileScanner.getResourcesNewestVersions(), rules);
+			}
+		}
+		getWrongCheckersMap().putAll(bpmnModelDispatcher.getIncorrectCheckers());
+
+		if (validationCache != null) {
+			validationCache.store(processdef, cacheKeys.get(processdef), dispatchResult,
+					bpmnModelDispatcher.getIncorrectCheckers());
 		}
-		elements.addAll(dispatchResult.getBpmnElements());
-		processVariables.addAll(dispatchResult.getProcessVariables());
-		setWrongCheckersMap(bpmnModelDispatcher.getIncorrectCheckers());
 
-		return dispatchResult.getIssues();
+		return dispatchResult;
 	}
 
 	/**
@@ -711,7 +981,7 @@ public class Runner {
 	}
 
 	public void setWrongCheckersMap(Map<String, String> wrongCheckersMap) {
-		this.wrongCheckersMap = wrongCheckersMap;
+		this.wrongCheckersMap = new ConcurrentHashMap<>(wrongCheckersMap);
 	}
 
 	public static boolean getIsStatic() {
@@ -35,10 +35,10 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 import org.springframework.context.ApplicationContext;
@@ -49,13 +49,13 @@ import de.viadee.bpm.vPAV.constants.ConfigConstants;
 
 public class RuntimeConfig {
 
-    private static RuntimeConfig instance;
+    private static volatile RuntimeConfig instance;
 
     private ApplicationContext ctx;
 
     private Map<String, String> beanMap;
     
-    private Map<String, Rule> activeRuleSet = new HashMap<>();
+    private Map<String, Rule> activeRuleSet = new ConcurrentHashMap<>();
 
     private ClassLoader classLoader;
 
@@ -79,7 +79,11 @@ public class RuntimeConfig {
 
     public static RuntimeConfig getInstance() {
         if (RuntimeConfig.instance == null) {
-            RuntimeConfig.instance = new RuntimeConfig();
+            synchronized (RuntimeConfig.class) {
+                if (RuntimeConfig.instance == null) {
+                    RuntimeConfig.instance = new RuntimeConfig();
+                }
+            }
         }
         return RuntimeConfig.instance;
     }
@@ -123,12 +127,16 @@ public class RuntimeConfig {
         return viadeeRules;
     }
 
-    public void addActiveRules(Map<String, Rule> rules) {
+    public synchronized void addActiveRules(Map<String, Rule> rules) {
         for (Map.Entry<String, Rule> entry : rules.entrySet()) {
             Rule rule = entry.getValue();
-            if (rule.isActive() && !rule.getName().equals(ConfigConstants.HASPARENTRULESET))
-            	activeRuleSet.put(entry.getKey(), entry.getValue());
+            if (rule.isActive() && !rule.getName().equals(ConfigConstants.HASPARENTRULESET)
+                    && !rule.getName().equals(ConfigConstants.PARALLEL_VALIDATION)
+                    && !rule.getName().equals(ConfigConstants.INCREMENTAL_VALIDATION)
+                    && !rule.getName().equals(ConfigConstants.METRICS)) {
+                activeRuleSet.put(entry.getKey(), entry.getValue());
                 allActiveRules.add(rule.getName());
+            }
         }
     }
     
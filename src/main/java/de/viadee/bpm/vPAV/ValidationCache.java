@@ -0,0 +1,671 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.logging.Logger;
+
+import org.apache.commons.io.IOUtils;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.impl.BpmnModelConstants;
+import org.camunda.bpm.model.bpmn.instance.BaseElement;
+import org.camunda.bpm.model.bpmn.instance.Task;
+import org.camunda.bpm.model.xml.type.ModelElementType;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import de.viadee.bpm.vPAV.constants.BpmnConstants;
+import de.viadee.bpm.vPAV.constants.ConfigConstants;
+import de.viadee.bpm.vPAV.processing.ClassMetadataCache;
+import de.viadee.bpm.vPAV.processing.ClassMetadataCache.ClassMetadata;
+import de.viadee.bpm.vPAV.processing.model.data.Anomaly;
+import de.viadee.bpm.vPAV.processing.model.data.BpmnElement;
+import de.viadee.bpm.vPAV.processing.model.data.CheckerIssue;
+import de.viadee.bpm.vPAV.processing.model.data.CriticalityEnum;
+import de.viadee.bpm.vPAV.processing.model.data.ElementChapter;
+import de.viadee.bpm.vPAV.processing.model.data.KnownElementFieldType;
+import de.viadee.bpm.vPAV.processing.model.data.ModelDispatchResult;
+import de.viadee.bpm.vPAV.processing.model.data.ProcessVariable;
+import de.viadee.bpm.vPAV.processing.model.data.ProcessVariableOperation;
+import de.viadee.bpm.vPAV.processing.model.data.VariableOperation;
+import de.viadee.bpm.vPAV.processing.model.graph.Path;
+
+/**
+ * Keeps the results of validated models between runs (IncrementalValidation).
+ *
+ * A result is stored per model together with a key, which is the SHA-256 hash
+ * of everything the result depends on: the model itself, the called processes
+ * and decisions, the java classes referenced by these models (including their
+ * supertypes in the project), the external scripts, the effective rule set and
+ * the process variables found outside of models. If the key of a
+ * model hasn't changed, the stored result is used and the model isn't validated
+ * again.
+ *
+ * Restored elements are detached copies, which only carry id, name and type of
+ * the original elements. This is all the output needs.
+ */
+public class ValidationCache {
+
+	private static final Logger LOGGER = Logger.getLogger(ValidationCache.class.getName());
+
+	// has to be changed, whenever the format of stored results changes
+	private static final String FORMAT_VERSION = "3";
+
+	private final File cacheFolder;
+
+	private final FileScanner fileScanner;
+
+	// source folder of the project classes
+	private final String javaPath;
+
+	private final String runKey;
+
+	private final Gson gson = new Gson();
+
+	/**
+	 * @param cacheFolder
+	 *            folder of the stored results
+	 * @param fileScanner
+	 *            FileScanner
+	 * @param variableScanner
+	 *            OuterProcessVariablesScanner or null, if process variables aren't
+	 *            checked
+	 */
+	public ValidationCache(final File cacheFolder, final FileScanner fileScanner,
+			final OuterProcessVariablesScanner variableScanner) {
+		this(cacheFolder, fileScanner, variableScanner, getJavaPath());
+	}
+
+	ValidationCache(final File cacheFolder, final FileScanner fileScanner,
+			final OuterProcessVariablesScanner variableScanner, final String javaPath) {
+		this.cacheFolder = cacheFolder;
+		this.fileScanner = fileScanner;
+		this.javaPath = javaPath;
+		this.runKey = createRunKey(variableScanner);
+	}
+
+	/**
+	 * Creates the key of a model
+	 *
+	 * @param processdef
+	 *            path of the model
+	 * @return key
+	 */
+	public String createKey(final String processdef) {
+		final StringBuilder key = new StringBuilder(runKey);
+
+		// follow call activities, as their data flow is part of the result
+		final Deque<String> models = new ArrayDeque<String>();
+		final Set<String> visitedModels = new HashSet<String>();
+		models.add(processdef);
+		visitedModels.add(processdef);
+
+		while (!models.isEmpty()) {
+			final String model = models.poll();
+			final File modelFile = new File(ConfigConstants.BASEPATH + model);
+			final BpmnModelRegistry.ParsedModel parsedModel = BpmnModelRegistry.getInstance().getModel(modelFile);
+			final BpmnScanner bpmnScanner = BpmnModelRegistry.createBpmnScanner(parsedModel.getPath(),
+					parsedModel.copyModelInstance());
+
+			key.append('|').append(model).append('=').append(parsedModel.getContentHash());
+
+			for (final String className : bpmnScanner.getDelegateClasses()) {
+				key.append('|').append(className).append('=').append(createClassHash(className));
+			}
+
+			for (final String resource : bpmnScanner.getScriptResources()) {
+				key.append('|').append(resource).append('=')
+						.append(createHash(new File(getResourcePath() + resource)));
+			}
+
+			for (final String decisionRef : bpmnScanner.getDecisionRefs()) {
+				final String dmnPath = fileScanner.getDecisionRefToPathMap().get(decisionRef);
+				key.append('|').append(decisionRef).append('=')
+						.append(dmnPath != null ? createHash(new File(ConfigConstants.BASEPATH + dmnPath)) : null);
+			}
+
+			for (final String calledElement : bpmnScanner.getCalledElements()) {
+				final String calledModel = fileScanner.getProcessIdToPathMap().get(calledElement);
+				if (calledModel != null && visitedModels.add(calledModel)) {
+					models.add(calledModel);
+				}
+			}
+		}
+
+		return createHash(key.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Loads the stored result of a model
+	 *
+	 * @param processdef
+	 *            path of the model
+	 * @param key
+	 *            current key of the model
+	 * @return stored result or null, if there is none for the given key
+	 */
+	public CachedModel load(final String processdef, final String key) {
+		final File file = getCacheFile(processdef);
+		if (!file.exists()) {
+			return null;
+		}
+
+		try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+			final ModelEntry entry = gson.fromJson(reader, ModelEntry.class);
+			if (entry == null || !key.equals(entry.key)) {
+				return null;
+			}
+			return entry.restore();
+		} catch (final IOException | JsonParseException e) {
+			LOGGER.warning("Cached result of " + processdef + " couldn't be read: " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Stores the result of a model
+	 *
+	 * @param processdef
+	 *            path of the model
+	 * @param key
+	 *            key of the model
+	 * @param dispatchResult
+	 *            result of the validation
+	 * @param incorrectCheckers
+	 *            checkers, which couldn't be created
+	 */
+	public void store(final String processdef, final String key, final ModelDispatchResult dispatchResult,
+			final Map<String, String> incorrectCheckers) {
+		final ModelEntry entry = new ModelEntry(key, dispatchResult, incorrectCheckers);
+		try {
+			Files.createDirectories(cacheFolder.toPath());
+			try (Writer writer = Files.newBufferedWriter(getCacheFile(processdef).toPath(),
+					StandardCharsets.UTF_8)) {
+				gson.toJson(entry, writer);
+			}
+		} catch (final IOException e) {
+			LOGGER.warning("Result of " + processdef + " couldn't be cached: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Creates the SHA-256 hash of the given content
+	 *
+	 * @param content
+	 *            content
+	 * @return hash as hex string
+	 */
+	public static String createHash(final byte[] content) {
+		try {
+			final MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+			return new BigInteger(1, messageDigest.digest(content)).toString(16);
+		} catch (final NoSuchAlgorithmException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Creates the SHA-256 hash of a file
+	 *
+	 * @param file
+	 *            file
+	 * @return hash as hex string or null, if the file can't be read
+	 */
+	public static String createHash(final File file) {
+		if (!file.isFile()) {
+			return null;
+		}
+		try {
+			return createHash(Files.readAllBytes(file.toPath()));
+		} catch (final IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Creates the part of the key, which is the same for all models of a run
+	 *
+	 * @param variableScanner
+	 *            OuterProcessVariablesScanner
+	 * @return key of the run
+	 */
+	private String createRunKey(final OuterProcessVariablesScanner variableScanner) {
+		final StringBuilder key = new StringBuilder(FORMAT_VERSION);
+		key.append('|').append(RuntimeConfig.getInstance().isTest());
+		key.append('|').append(createHash(new File(ConfigConstants.EFFECTIVE_RULESET)));
+		key.append('|').append(new TreeSet<String>(fileScanner.getResourcesNewestVersions()));
+
+		// delegate expressions are resolved via the bean mapping
+		final Map<String, String> beanMapping = RuntimeConfig.getInstance().getBeanMapping();
+		if (beanMapping != null) {
+			for (final Map.Entry<String, String> bean : new TreeMap<String, String>(beanMapping).entrySet()) {
+				key.append('|').append(bean.getKey()).append('=').append(bean.getValue()).append('=')
+						.append(createClassHash(bean.getValue()));
+			}
+		}
+
+		// the static analysis follows calls into further classes, so all sources are part of the key
+		if (Runner.getIsStatic()) {
+			for (final String javaResource : new TreeSet<String>(fileScanner.getJavaResourcesFileInputStream())) {
+				key.append('|').append(javaResource).append('=')
+						.append(createHash(new File(javaPath + javaResource)));
+			}
+		}
+
+		if (variableScanner != null) {
+			key.append('|').append(sort(variableScanner.getMessageIdToVariableMap()));
+			key.append('|').append(sort(variableScanner.getProcessIdToVariableMap()));
+			key.append('|').append(new TreeSet<String>(variableScanner.getInitialProcessVariables()));
+		}
+		return key.toString();
+	}
+
+	private static Map<String, Collection<String>> sort(final Map<String, Collection<String>> map) {
+		final Map<String, Collection<String>> sortedMap = new TreeMap<String, Collection<String>>();
+		for (final Map.Entry<String, Collection<String>> entry : map.entrySet()) {
+			sortedMap.put(entry.getKey(), new TreeSet<String>(entry.getValue()));
+		}
+		return sortedMap;
+	}
+
+	/**
+	 * Creates a hash of the compiled class and its source, followed by the hashes
+	 * of its superclasses and interfaces in the project, as these are part of the
+	 * behaviour of the class
+	 *
+	 * @param className
+	 *            fully qualified class name
+	 * @return hash
+	 */
+	String createClassHash(final String className) {
+		final StringBuilder hash = new StringBuilder(createTypeHash(className));
+
+		final Deque<String> supertypes = new ArrayDeque<String>();
+		final Set<String> visitedTypes = new HashSet<String>();
+		visitedTypes.add(className);
+		addProjectSupertypes(className, supertypes, visitedTypes);
+		while (!supertypes.isEmpty()) {
+			final String supertype = supertypes.poll();
+			hash.append('|').append(supertype).append('=').append(createTypeHash(supertype));
+			addProjectSupertypes(supertype, supertypes, visitedTypes);
+		}
+		return hash.toString();
+	}
+
+	private void addProjectSupertypes(final String className, final Deque<String> supertypes,
+			final Set<String> visitedTypes) {
+		final ClassMetadata metadata = ClassMetadataCache.getInstance().get(className);
+		final List<String> directSupertypes = new ArrayList<String>();
+		if (metadata.getSuperclassName() != null) {
+			directSupertypes.add(metadata.getSuperclassName());
+		}
+		directSupertypes.addAll(metadata.getInterfaceNames());
+		for (final String supertype : directSupertypes) {
+			// types outside of the project scan path come from libraries
+			if (getSourceFile(supertype).isFile() && visitedTypes.add(supertype)) {
+				supertypes.add(supertype);
+			}
+		}
+	}
+
+	private String createTypeHash(final String className) {
+		final String path = className.replace('.', '/');
+		final StringBuilder hash = new StringBuilder();
+
+		final URL classFile = RuntimeConfig.getInstance().getClassLoader() != null
+				? RuntimeConfig.getInstance().getClassLoader().getResource(path + ".class")
+				: null;
+		if (classFile != null) {
+			try (InputStream inputStream = classFile.openStream()) {
+				hash.append(createHash(IOUtils.toByteArray(inputStream)));
+			} catch (final IOException e) {
+				hash.append("unreadable");
+			}
+		}
+
+		hash.append('/').append(createHash(getSourceFile(className)));
+		return hash.toString();
+	}
+
+	private File getSourceFile(final String className) {
+		return new File(javaPath + className.replace('.', '/') + ".java");
+	}
+
+	private static String getJavaPath() {
+		return RuntimeConfig.getInstance().isTest() ? ConfigConstants.TEST_JAVAPATH : ConfigConstants.JAVAPATH;
+	}
+
+	private static String getResourcePath() {
+		return RuntimeConfig.getInstance().isTest() ? ConfigConstants.TEST_BASEPATH : ConfigConstants.BASEPATH;
+	}
+
+	private File getCacheFile(final String processdef) {
+		return new File(cacheFolder, createHash(processdef.getBytes(StandardCharsets.UTF_8)) + ".json");
+	}
+
+	/**
+	 * Result of a model restored from the cache
+	 */
+	public static class CachedModel {
+
+		private final ModelDispatchResult dispatchResult;
+
+		private final Map<String, String> incorrectCheckers;
+
+		CachedModel(final ModelDispatchResult dispatchResult, final Map<String, String> incorrectCheckers) {
+			this.dispatchResult = dispatchResult;
+			this.incorrectCheckers = incorrectCheckers;
+		}
+
+		public ModelDispatchResult getDispatchResult() {
+			return dispatchResult;
+		}
+
+		public Map<String, String> getIncorrectCheckers() {
+			return incorrectCheckers;
+		}
+	}
+
+	/**
+	 * Stored result of a model. Elements are stored once and referenced by their
+	 * index.
+	 */
+	private static class ModelEntry {
+
+		private String key;
+
+		private List<ElementEntry> elements = new ArrayList<ElementEntry>();
+
+		private List<Integer> bpmnElements = new ArrayList<Integer>();
+
+		private List<IssueEntry> issues = new ArrayList<IssueEntry>();
+
+		private List<VariableEntry> processVariables = new ArrayList<VariableEntry>();
+
+		private Map<String, String> incorrectCheckers = new HashMap<String, String>();
+
+		private transient Map<BpmnElement, Integer> elementIndex;
+
+		ModelEntry(final String key, final ModelDispatchResult dispatchResult,
+				final Map<String, String> incorrectCheckers) {
+			this.key = key;
+			this.elementIndex = new IdentityHashMap<BpmnElement, Integer>();
+			if (incorrectCheckers != null) {
+				this.incorrectCheckers.putAll(incorrectCheckers);
+			}
+
+			for (final BpmnElement element : dispatchResult.getBpmnElements()) {
+				bpmnElements.add(indexOf(element));
+			}
+			for (final CheckerIssue issue : dispatchResult.getIssues()) {
+				issues.add(new IssueEntry(issue, this));
+			}
+			for (final ProcessVariable processVariable : dispatchResult.getProcessVariables()) {
+				final VariableEntry variableEntry = new VariableEntry();
+				variableEntry.name = processVariable.getName();
+				for (final ProcessVariableOperation operation : processVariable.getOperations()) {
+					variableEntry.operations.add(new OperationEntry(null, operation, this));
+				}
+				processVariables.add(variableEntry);
+			}
+		}
+
+		int indexOf(final BpmnElement element) {
+			Integer index = elementIndex.get(element);
+			if (index == null) {
+				index = elements.size();
+				elementIndex.put(element, index);
+				elements.add(new ElementEntry());
+				elements.get(index).store(element, this);
+			}
+			return index;
+		}
+
+		CachedModel restore() {
+			final BpmnModelInstance modelInstance = Bpmn.createEmptyModel();
+			final List<BpmnElement> restoredElements = new ArrayList<BpmnElement>();
+			for (final ElementEntry element : elements) {
+				restoredElements.add(element.createElement(modelInstance));
+			}
+			for (int i = 0; i < elements.size(); i++) {
+				for (final OperationEntry operation : elements.get(i).operations) {
+					restoredElements.get(i).setProcessVariable(operation.key, operation.restore(restoredElements));
+				}
+			}
+
+			final Collection<BpmnElement> restoredBpmnElements = new ArrayList<BpmnElement>();
+			for (final Integer index : bpmnElements) {
+				restoredBpmnElements.add(restoredElements.get(index));
+			}
+
+			final Collection<CheckerIssue> restoredIssues = new ArrayList<CheckerIssue>();
+			for (final IssueEntry issue : issues) {
+				restoredIssues.add(issue.restore(restoredElements));
+			}
+
+			final Collection<ProcessVariable> restoredVariables = new ArrayList<ProcessVariable>();
+			for (final VariableEntry variable : processVariables) {
+				final ProcessVariable processVariable = new ProcessVariable(variable.name);
+				for (final OperationEntry operation : variable.operations) {
+					final ProcessVariableOperation restoredOperation = operation.restore(restoredElements);
+					if (restoredOperation.getOperation() == VariableOperation.READ) {
+						processVariable.addRead(restoredOperation);
+					} else if (restoredOperation.getOperation() == VariableOperation.WRITE) {
+						processVariable.addWrite(restoredOperation);
+					} else {
+						processVariable.addDelete(restoredOperation);
+					}
+				}
+				restoredVariables.add(processVariable);
+			}
+
+			return new CachedModel(new ModelDispatchResult(restoredIssues, restoredBpmnElements, restoredVariables),
+					new HashMap<String, String>(incorrectCheckers));
+		}
+	}
+
+	private static class ElementEntry {
+
+		private String processdefinition;
+
+		private String type;
+
+		private String id;
+
+		private String name;
+
+		private List<OperationEntry> operations = new ArrayList<OperationEntry>();
+
+		void store(final BpmnElement element, final ModelEntry entry) {
+			processdefinition = element.getProcessdefinition();
+			type = element.getBaseElement().getElementType().getTypeName();
+			id = element.getId();
+			name = element.getBaseElement().getAttributeValue(BpmnConstants.ATTR_NAME);
+			for (final Map.Entry<String, ProcessVariableOperation> operation : element.getProcessVariables()
+					.entrySet()) {
+				operations.add(new OperationEntry(operation.getKey(), operation.getValue(), entry));
+			}
+		}
+
+		BpmnElement createElement(final BpmnModelInstance modelInstance) {
+			ModelElementType elementType = modelInstance.getModel().getTypeForName(BpmnModelConstants.BPMN20_NS,
+					type);
+			if (elementType == null || elementType.isAbstract()) {
+				elementType = modelInstance.getModel().getType(Task.class);
+			}
+			final BaseElement baseElement = (BaseElement) modelInstance.newInstance(elementType);
+			baseElement.setAttributeValue(BpmnConstants.ATTR_ID, id, true);
+			if (name != null) {
+				baseElement.setAttributeValue(BpmnConstants.ATTR_NAME, name);
+			}
+			return new BpmnElement(processdefinition, baseElement);
+		}
+	}
+
+	private static class OperationEntry {
+
+		private String key;
+
+		private String name;
+
+		private int element;
+
+		private ElementChapter chapter;
+
+		private KnownElementFieldType fieldType;
+
+		private String resourceFilePath;
+
+		private VariableOperation operation;
+
+		private String scopeId;
+
+		OperationEntry(final String key, final ProcessVariableOperation operation, final ModelEntry entry) {
+			this.key = key;
+			this.name = operation.getName();
+			this.element = entry.indexOf(operation.getElement());
+			this.chapter = operation.getChapter();
+			this.fieldType = operation.getFieldType();
+			this.resourceFilePath = operation.getResourceFilePath();
+			this.operation = operation.getOperation();
+			this.scopeId = operation.getScopeId();
+		}
+
+		ProcessVariableOperation restore(final List<BpmnElement> elements) {
+			return new ProcessVariableOperation(name, elements.get(element), chapter, fieldType, resourceFilePath,
+					operation, scopeId);
+		}
+	}
+
+	private static class VariableEntry {
+
+		private String name;
+
+		private List<OperationEntry> operations = new ArrayList<OperationEntry>();
+	}
+
+	private static class IssueEntry {
+
+		private String ruleName;
+
+		private String ruleDescription;
+
+		private CriticalityEnum classification;
+
+		private String bpmnFile;
+
+		private String resourceFile;
+
+		private String elementId;
+
+		private String elementName;
+
+		private String variable;
+
+		private Anomaly anomaly;
+
+		private List<List<Integer>> invalidPaths;
+
+		private boolean morePaths;
+
+		private String message;
+
+		private String elementDescription;
+
+		IssueEntry(final CheckerIssue issue, final ModelEntry entry) {
+			ruleName = issue.getRuleName();
+			ruleDescription = issue.getRuleDescription();
+			classification = issue.getClassification();
+			bpmnFile = issue.getBpmnFile();
+			resourceFile = issue.getResourceFile();
+			elementId = issue.getElementId();
+			elementName = issue.getElementName();
+			variable = issue.getVariable();
+			anomaly = issue.getAnomaly();
+			message = issue.getMessage();
+			elementDescription = issue.getElementDescription();
+			morePaths = issue.hasMorePaths();
+			if (issue.getInvalidPaths() != null) {
+				invalidPaths = new ArrayList<List<Integer>>();
+				for (final Path path : issue.getInvalidPaths()) {
+					final List<Integer> pathEntry = new ArrayList<Integer>();
+					for (final BpmnElement element : path.getElements()) {
+						pathEntry.add(entry.indexOf(element));
+					}
+					invalidPaths.add(pathEntry);
+				}
+			}
+		}
+
+		CheckerIssue restore(final List<BpmnElement> elements) {
+			List<Path> paths = null;
+			if (invalidPaths != null) {
+				paths = new ArrayList<Path>();
+				for (final List<Integer> path : invalidPaths) {
+					final List<BpmnElement> pathElements = new ArrayList<BpmnElement>();
+					for (final Integer index : path) {
+						pathElements.add(elements.get(index));
+					}
+					paths.add(new Path(pathElements));
+				}
+			}
+			final CheckerIssue issue = new CheckerIssue(ruleName, ruleDescription, classification, bpmnFile,
+					resourceFile, elementId, elementName, variable, anomaly, paths, message, elementDescription);
+			issue.setMorePaths(morePaths);
+			return issue;
+		}
+	}
+}
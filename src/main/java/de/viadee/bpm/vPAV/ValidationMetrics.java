@@ -0,0 +1,302 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Records wall time, cpu time and allocated bytes of the phases of a validation
+ * run, of each model, each checker class and each analysed delegate. The
+ * measurements of one name are summed up. The results are written to
+ * target/vPAV/metrics.json.
+ *
+ * Cpu time and allocated bytes are measured for the current thread, as far as
+ * the JVM supports it. Otherwise they are reported as -1.
+ */
+public class ValidationMetrics {
+
+	public static final String PHASE = "phase";
+
+	public static final String MODEL = "model";
+
+	public static final String CHECKER = "checker";
+
+	public static final String DELEGATE = "delegate";
+
+	private static volatile ValidationMetrics instance;
+
+	private static final Measurement DISABLED = new Measurement(null, null);
+
+	private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+	private final Map<String, Map<String, Entry>> entries = new ConcurrentHashMap<String, Map<String, Entry>>();
+
+	private volatile boolean enabled;
+
+	private Measurement phase;
+
+	private ValidationMetrics() {
+	}
+
+	public static ValidationMetrics getInstance() {
+		if (ValidationMetrics.instance == null) {
+			synchronized (ValidationMetrics.class) {
+				if (ValidationMetrics.instance == null) {
+					ValidationMetrics.instance = new ValidationMetrics();
+				}
+			}
+		}
+		return ValidationMetrics.instance;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(final boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Starts a measurement, which is recorded when it is closed
+	 *
+	 * @param category
+	 *            PHASE, MODEL, CHECKER or DELEGATE
+	 * @param name
+	 *            name of the measured unit
+	 * @return measurement
+	 */
+	public Measurement start(final String category, final String name) {
+		if (!enabled) {
+			return DISABLED;
+		}
+		return new Measurement(this, getEntry(category, name));
+	}
+
+	/**
+	 * Stops the current phase and starts the next one
+	 *
+	 * @param name
+	 *            name of the phase
+	 */
+	public synchronized void startPhase(final String name) {
+		stopPhase();
+		phase = start(PHASE, name);
+	}
+
+	public synchronized void stopPhase() {
+		if (phase != null) {
+			phase.close();
+			phase = null;
+		}
+	}
+
+	/**
+	 * Removes all measurements and disables the recording
+	 */
+	public synchronized void reset() {
+		phase = null;
+		enabled = false;
+		entries.clear();
+	}
+
+	/**
+	 * Writes the measurements sorted by wall time and a list of the slowest
+	 * models, checkers and delegates
+	 *
+	 * @param file
+	 *            output file
+	 * @param top
+	 *            length of the list of the slowest units
+	 * @throws IOException
+	 *             if the file couldn't be written
+	 */
+	public void write(final File file, final int top) throws IOException {
+		final Map<String, Object> report = new LinkedHashMap<String, Object>();
+		final List<Entry> slowest = new ArrayList<Entry>();
+		for (final String category : new String[] { PHASE, MODEL, CHECKER, DELEGATE }) {
+			final List<Entry> sorted = sort(getEntries(category));
+			report.put(category + "s", sorted);
+			if (!category.equals(PHASE)) {
+				slowest.addAll(sorted);
+			}
+		}
+		report.put("slowest", sort(slowest).subList(0, Math.min(top, slowest.size())));
+
+		final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+		file.getParentFile().mkdirs();
+		try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			gson.toJson(report, writer);
+		}
+	}
+
+	Collection<Entry> getEntries(final String category) {
+		final Map<String, Entry> categoryEntries = entries.get(category);
+		return categoryEntries != null ? categoryEntries.values() : new ArrayList<Entry>();
+	}
+
+	private Entry getEntry(final String category, final String name) {
+		return entries.computeIfAbsent(category, key -> new ConcurrentHashMap<String, Entry>())
+				.computeIfAbsent(String.valueOf(name), key -> new Entry(category, key));
+	}
+
+	private static List<Entry> sort(final Collection<Entry> entries) {
+		final List<Entry> sorted = new ArrayList<Entry>(entries);
+		sorted.sort(Comparator.comparingLong(Entry::getWallNanos).reversed());
+		return sorted;
+	}
+
+	private long getCpuTime() {
+		if (threadBean.isCurrentThreadCpuTimeSupported() && threadBean.isThreadCpuTimeEnabled()) {
+			return threadBean.getCurrentThreadCpuTime();
+		}
+		return -1;
+	}
+
+	private long getAllocatedBytes() {
+		if (threadBean instanceof com.sun.management.ThreadMXBean) {
+			final com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threadBean;
+			if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+				return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Running measurement, which is recorded by close()
+	 */
+	public static final class Measurement implements AutoCloseable {
+
+		private final ValidationMetrics metrics;
+
+		private final Entry entry;
+
+		private final long wallStart;
+
+		private final long cpuStart;
+
+		private final long allocatedStart;
+
+		private boolean closed;
+
+		private Measurement(final ValidationMetrics metrics, final Entry entry) {
+			this.metrics = metrics;
+			this.entry = entry;
+			this.wallStart = System.nanoTime();
+			this.cpuStart = metrics != null ? metrics.getCpuTime() : -1;
+			this.allocatedStart = metrics != null ? metrics.getAllocatedBytes() : -1;
+		}
+
+		@Override
+		public void close() {
+			if (metrics == null || closed) {
+				return;
+			}
+			closed = true;
+			final long cpuEnd = metrics.getCpuTime();
+			final long allocatedEnd = metrics.getAllocatedBytes();
+			entry.add(System.nanoTime() - wallStart, cpuStart >= 0 && cpuEnd >= 0 ? cpuEnd - cpuStart : -1,
+					allocatedStart >= 0 && allocatedEnd >= 0 ? allocatedEnd - allocatedStart : -1);
+		}
+	}
+
+	/**
+	 * Sum of all measurements of one name
+	 */
+	static final class Entry {
+
+		private final String category;
+
+		private final String name;
+
+		private int count;
+
+		private long wallNanos;
+
+		private long cpuNanos;
+
+		private long allocatedBytes;
+
+		private Entry(final String category, final String name) {
+			this.category = category;
+			this.name = name;
+		}
+
+		private synchronized void add(final long wall, final long cpu, final long allocated) {
+			count++;
+			wallNanos += wall;
+			cpuNanos = cpu < 0 || cpuNanos < 0 ? -1 : cpuNanos + cpu;
+			allocatedBytes = allocated < 0 || allocatedBytes < 0 ? -1 : allocatedBytes + allocated;
+		}
+
+		String getCategory() {
+			return category;
+		}
+
+		String getName() {
+			return name;
+		}
+
+		synchronized int getCount() {
+			return count;
+		}
+
+		synchronized long getWallNanos() {
+			return wallNanos;
+		}
+
+		synchronized long getCpuNanos() {
+			return cpuNanos;
+		}
+
+		synchronized long getAllocatedBytes() {
+			return allocatedBytes;
+		}
+	}
+}
@@ -47,7 +47,8 @@ public class ElementConvention {
         this.name = name;
         this.description = description;
         this.elementFieldTypes = elementFieldTypes;
-        this.pattern = pattern;
+        // the pattern is compiled and looked up by Rule, so it's trimmed only here
+        this.pattern = pattern != null ? pattern.trim() : null;
     }
 
     public String getName() {
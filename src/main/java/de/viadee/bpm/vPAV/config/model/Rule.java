@@ -34,6 +34,9 @@ package de.viadee.bpm.vPAV.config.model;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 public class Rule {
 
@@ -49,6 +52,9 @@ public class Rule {
 
     private ArrayList<ModelConvention> modelConventions;
 
+    // compiled patterns of conventions and settings
+    private final Map<String, Pattern> patterns = new ConcurrentHashMap<String, Pattern>();
+
     public Rule(final String name, final boolean isActive, final String ruleDescription,
             final Map<String, Setting> settings,
             final Collection<ElementConvention> elementConventions,
@@ -86,6 +92,20 @@ public class Rule {
         return modelConventions;
     }
 
+    /**
+     * Returns the compiled regular expression. Each expression is compiled once per rule, when it's used for the
+     * first time.
+     *
+     * @param regex
+     *            regular expression of a convention or setting
+     * @return Pattern
+     * @throws PatternSyntaxException
+     *             regular expression is invalid
+     */
+    public Pattern getPattern(final String regex) {
+        return patterns.computeIfAbsent(regex, Pattern::compile);
+    }
+
     public ArrayList<String> getWhiteList() {
         final ArrayList<String> whiteList = new ArrayList<String>();
         for (ModelConvention modelConvention : modelConventions) {
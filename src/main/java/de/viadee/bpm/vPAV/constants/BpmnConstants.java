@@ -77,6 +77,8 @@ public class BpmnConstants {
 
     public static final String RECEIVETASK = "receiveTask";
 
+    public static final String CALLACTIVITY = "callActivity";
+
     // ------------------------
 
     public static final String BPMN_DEFINITIONS = "bpmn:definitions";
@@ -169,8 +171,12 @@ public class BpmnConstants {
 
     public static final String CAMUNDA_DMN = "camunda:decisionRef";
 
+    public static final String CAMUNDA_RESOURCE = "camunda:resource";
+
     public static final String CAMUNDA_EXT = "camunda:type";
 
+    public static final String CAMUNDA_VARIABLEMAPPINGCLASS = "camunda:variableMappingClass";
+
     public static final String CAMUNDA_OUTPAR = "camunda:outputParameter";
 
     public static final String CAMUNDA_INPAR = "camunda:inputParameter";
@@ -223,6 +229,8 @@ public class BpmnConstants {
 
     public static final String ATTR_CLASS = "class";
 
+    public static final String ATTR_RESOURCE = "resource";
+
     public static final String ATTR_DEL = "delegateExpression";
 
     public static final String ATTR_EX = "expression";
@@ -241,6 +249,8 @@ public class BpmnConstants {
 
     public static final String ATTR_MESSAGEREF = "messageRef";
 
+    public static final String ATTR_CALLEDELEMENT = "calledElement";
+
     public static final String DEFAULT = "default";
 
     public static final String REQUIRED_DEFAULT = "requiredDefault";
@@ -297,6 +307,8 @@ public class BpmnConstants {
 
     public static final String VPAV_PATHS = "paths";
 
+    public static final String VPAV_MORE_PATHS = "morePaths";
+
     public static final String VPAV_MESSAGE = "message";
 
     public static final String VPAV_ELEMENT_DESCRIPTION = "elementDescription";
@@ -117,8 +117,30 @@ public final class ConfigConstants {
     
     public static final String USE_STATIC_ANALYSIS_BOOLEAN = "UseStaticAnalysisBoolean";
 
+    public static final String MAX_INVALID_PATHS = "MaxInvalidPaths";
+
+    public static final int DEFAULT_MAX_INVALID_PATHS = 10;
+
     public static final String CREATE_OUTPUT_RULE = "CreateOutputHTML";
 
+    public static final String PARALLEL_VALIDATION = "ParallelValidation";
+
+    public static final String WORKERS = "workers";
+
+    public static final String PARALLEL_CHECKERS = "checkers";
+
+    public static final String INCREMENTAL_VALIDATION = "IncrementalValidation";
+
+    public static final String CACHE_FOLDER = "target/vPAV/.cache/";
+
+    public static final String METRICS = "Metrics";
+
+    public static final String METRICS_TOP = "top";
+
+    public static final int DEFAULT_METRICS_TOP = 10;
+
+    public static final String METRICS_FILE = "target/vPAV/metrics.json";
+
     private ConfigConstants() {
     }
 
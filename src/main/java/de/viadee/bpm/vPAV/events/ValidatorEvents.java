@@ -0,0 +1,164 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.events;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Emits Java Flight Recorder events for the hot paths of the validation: model
+ * parsing, creation of the BpmnScanner, Soot call graph builds, checker calls
+ * and the data flow analysis. Each event carries the model path, the element id
+ * and the checker name, as far as they are known.
+ *
+ * Events are only created while a recording is running. If the JVM doesn't
+ * provide Flight Recorder or vPAV has been built without the event types (on
+ * JDK 8), nothing is emitted. The event types are looked up by reflection, so
+ * this class compiles without jdk.jfr.
+ *
+ * usage: try (ValidatorEvents.Scope scope = ValidatorEvents.begin(...)) { ... }
+ */
+public final class ValidatorEvents {
+
+	public enum Type {
+		MODEL_PARSE, BPMN_SCANNER, CALL_GRAPH, CHECKER, DATA_FLOW, INVALID_PATHS
+	}
+
+	private static final String EVENTS_CLASS = "de.viadee.bpm.vPAV.events.JfrEvents";
+
+	private static final MethodHandle BEGIN;
+
+	private static final MethodHandle COMMIT;
+
+	static {
+		MethodHandle begin = null;
+		MethodHandle commit = null;
+		try {
+			Class.forName("jdk.jfr.Event");
+			final Class<?> events = Class.forName(EVENTS_CLASS);
+			final MethodHandles.Lookup lookup = MethodHandles.lookup();
+			begin = lookup.findStatic(events, "begin", MethodType.methodType(Object.class, Type.class,
+					String.class, String.class, String.class, String.class));
+			commit = lookup.findStatic(events, "commit", MethodType.methodType(void.class, Object.class));
+		} catch (final ReflectiveOperationException | LinkageError e) {
+			begin = null;
+			commit = null;
+		}
+		BEGIN = begin;
+		COMMIT = commit;
+	}
+
+	private static final boolean AVAILABLE = BEGIN != null;
+
+	private static final Scope NONE = new Scope(null);
+
+	private ValidatorEvents() {
+	}
+
+	/**
+	 * Begins an event, which is committed when the scope is closed
+	 *
+	 * @param type
+	 *            type of the event
+	 * @param modelPath
+	 *            path of the model
+	 * @param elementId
+	 *            id of the element or null
+	 * @param checkerName
+	 *            name of the checker or null
+	 * @return scope of the event
+	 */
+	public static Scope begin(final Type type, final String modelPath, final String elementId,
+			final String checkerName) {
+		if (!AVAILABLE) {
+			return NONE;
+		}
+		return begin(type, modelPath, elementId, checkerName, null);
+	}
+
+	/**
+	 * Begins an event for the call graph of an analysed method
+	 *
+	 * @param modelPath
+	 *            path of the model
+	 * @param elementId
+	 *            id of the element, which references the class
+	 * @param method
+	 *            signature of the method
+	 * @return scope of the event
+	 */
+	public static Scope beginCallGraph(final String modelPath, final String elementId, final String method) {
+		if (!AVAILABLE) {
+			return NONE;
+		}
+		return begin(Type.CALL_GRAPH, modelPath, elementId, null, method);
+	}
+
+	private static Scope begin(final Type type, final String modelPath, final String elementId,
+			final String checkerName, final String method) {
+		final Object event;
+		try {
+			event = (Object) BEGIN.invokeExact(type, modelPath, elementId, checkerName, method);
+		} catch (final RuntimeException | Error e) {
+			throw e;
+		} catch (final Throwable e) {
+			throw new IllegalStateException(e);
+		}
+		return event != null ? new Scope(event) : NONE;
+	}
+
+	/**
+	 * Running event, which is committed by close()
+	 */
+	public static final class Scope implements AutoCloseable {
+
+		private final Object event;
+
+		private Scope(final Object event) {
+			this.event = event;
+		}
+
+		@Override
+		public void close() {
+			if (event != null) {
+				try {
+					COMMIT.invokeExact(event);
+				} catch (final RuntimeException | Error e) {
+					throw e;
+				} catch (final Throwable e) {
+					throw new IllegalStateException(e);
+				}
+			}
+		}
+	}
+}
@@ -153,7 +153,7 @@ public class IssueWriter {
 
         issues.add(new CheckerIssue(rule.getName(), rule.getRuleDescription(), classification,
                 var.getElement().getProcessdefinition(), var.getResourceFilePath(),
-                var.getElement().getBaseElement().getId(),
+                var.getElement().getId(),
                 var.getElement().getBaseElement().getAttributeValue(BpmnModelConstants.BPMN_ATTRIBUTE_NAME),
                 var.getName(), anomaly.getAnomaly(), paths, message));
 
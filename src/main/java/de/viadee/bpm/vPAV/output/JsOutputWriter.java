@@ -242,7 +242,7 @@ public class JsOutputWriter implements IssueOutputWriter {
         final JsonObject obj = new JsonObject();
         if (!element.getProcessVariables().isEmpty()) {
             // elementID
-            obj.addProperty("elementId", element.getBaseElement().getId());
+            obj.addProperty("elementId", element.getId());
             // bpmnFile
             obj.addProperty(BpmnConstants.VPAV_BPMN_FILE, replace(File.separator, "\\", element.getProcessdefinition()));
             // element Name
@@ -284,7 +284,7 @@ public class JsOutputWriter implements IssueOutputWriter {
         }
         Function<ProcessVariableOperation, JsonObject> processVariableToJson = o -> {
             final JsonObject jsonOperation = new JsonObject();
-            jsonOperation.addProperty("elementId", o.getElement().getBaseElement().getId());
+            jsonOperation.addProperty("elementId", o.getElement().getId());
             jsonOperation.addProperty("elementName", o.getElement().getBaseElement().getAttributeValue("name"));
             jsonOperation.addProperty("fieldType", o.getFieldType().getDescription());
             jsonOperation.addProperty("elementChapter", o.getChapter().toString());
@@ -303,7 +303,7 @@ public class JsOutputWriter implements IssueOutputWriter {
      *            list of all issues
      * @return list with checkers without issues
      */
-    private Collection<CheckerIssue> getNoIssues(final Collection<CheckerIssue> issues) {
+    Collection<CheckerIssue> getNoIssues(final Collection<CheckerIssue> issues) {
         Collection<CheckerIssue> newIssues = new ArrayList<CheckerIssue>();
 
         for (final String bpmnFilename : getModelPaths()) {
@@ -420,7 +420,7 @@ public class JsOutputWriter implements IssueOutputWriter {
                         final List<BpmnElement> elements = path.getElements();
                         for (BpmnElement element : elements) {
                             final JsonObject jsonElement = new JsonObject();
-                            final String id = element.getBaseElement().getId();
+                            final String id = element.getId();
                             final String name = element.getBaseElement().getAttributeValue(BpmnConstants.ATTR_NAME);
                             jsonElement.addProperty(BpmnConstants.VPAV_ELEMENT_ID, id);
                             jsonElement.addProperty(BpmnConstants.VPAV_ELEMENT_NAME,
@@ -431,6 +431,7 @@ public class JsOutputWriter implements IssueOutputWriter {
                     }
                 }
                 obj.add(BpmnConstants.VPAV_PATHS, jsonPaths);
+                obj.addProperty(BpmnConstants.VPAV_MORE_PATHS, issue.hasMorePaths());
                 obj.addProperty(BpmnConstants.VPAV_MESSAGE, issue.getMessage());
                 obj.addProperty(BpmnConstants.VPAV_ELEMENT_DESCRIPTION, issue.getElementDescription());
                 jsonIssues.add(obj);
@@ -101,7 +101,7 @@ public class JsonOutputWriter implements IssueOutputWriter {
                         final List<BpmnElement> elements = path.getElements();
                         for (BpmnElement element : elements) {
                             final JsonObject jsonElement = new JsonObject();
-                            final String id = element.getBaseElement().getId();
+                            final String id = element.getId();
                             final String name = element.getBaseElement().getAttributeValue(BpmnConstants.ATTR_NAME);
                             jsonElement.addProperty(BpmnConstants.VPAV_ELEMENT_ID, id);
                             jsonElement.addProperty(BpmnConstants.VPAV_ELEMENT_NAME,
@@ -112,6 +112,7 @@ public class JsonOutputWriter implements IssueOutputWriter {
                     }
                 }
                 obj.add(BpmnConstants.VPAV_PATHS, jsonPaths);
+                obj.addProperty(BpmnConstants.VPAV_MORE_PATHS, issue.hasMorePaths());
                 obj.addProperty(BpmnConstants.VPAV_MESSAGE, issue.getMessage());
                 obj.addProperty(BpmnConstants.VPAV_ELEMENT_DESCRIPTION, issue.getElementDescription());
                 jsonIssues.add(obj);
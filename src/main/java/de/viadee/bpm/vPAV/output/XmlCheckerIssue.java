@@ -40,7 +40,7 @@ import javax.xml.bind.annotation.XmlType;
 
 @XmlRootElement(name = "issue")
 @XmlType(propOrder = { "id", "ruleName", "ruleDescription", "bpmnFile", "resourceFile", "classification", "elementId",
-        "elementName", "variable", "anomaly", "paths", "message", "elementDescription" })
+        "elementName", "variable", "anomaly", "paths", "morePaths", "message", "elementDescription" })
 public class XmlCheckerIssue {
 
     private String id;
@@ -59,6 +59,8 @@ public class XmlCheckerIssue {
 
     private List<XmlPath> paths;
 
+    private Boolean morePaths;
+
     private String classification;
 
     private String elementId;
@@ -130,6 +132,11 @@ public class XmlCheckerIssue {
         return paths;
     }
 
+    @XmlElement(name = "morePaths", required = false)
+    public Boolean getMorePaths() {
+        return morePaths;
+    }
+
     @XmlElement(name = "classification", required = true)
     public String getClassification() {
         return classification;
@@ -211,4 +218,8 @@ public class XmlCheckerIssue {
     public void setPaths(List<XmlPath> paths) {
         this.paths = paths;
     }
+
+    public void setMorePaths(Boolean morePaths) {
+        this.morePaths = morePaths;
+    }
 }
@@ -112,18 +112,23 @@ public class XmlOutputWriter implements IssueOutputWriter {
                             // filter newlines
                             elementName = elementName.replace("\n", "");
                         }
-                        pathElements.add(new XmlPathElement(element.getBaseElement().getId(), elementName));
+                        pathElements.add(new XmlPathElement(element.getId(), elementName));
                     }
                     xmlPaths.add(new XmlPath(pathElements));
                 }
             }
             final String elementName = issue.getElementName();
-            xmlIssues.addIssue(new XmlCheckerIssue(issue.getId(), issue.getRuleName(), issue.getRuleDescription(),
+            final XmlCheckerIssue xmlIssue = new XmlCheckerIssue(issue.getId(), issue.getRuleName(),
+                    issue.getRuleDescription(),
                     issue.getClassification().name(), issue.getBpmnFile(), issue.getResourceFile(),
                     issue.getElementId(), elementName == null ? null : elementName.replace("\n", ""),
                     issue.getMessage(), issue.getElementDescription(), issue.getVariable(),
                     issue.getAnomaly() == null ? null : issue.getAnomaly().getDescription(),
-                    xmlPaths.isEmpty() ? null : xmlPaths));
+                    xmlPaths.isEmpty() ? null : xmlPaths);
+            if (issue.hasMorePaths()) {
+                xmlIssue.setMorePaths(Boolean.TRUE);
+            }
+            xmlIssues.addIssue(xmlIssue);
         }
         return xmlIssues;
     }
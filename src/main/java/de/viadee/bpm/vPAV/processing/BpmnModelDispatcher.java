@@ -32,24 +32,30 @@
 package de.viadee.bpm.vPAV.processing;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
 
 import javax.xml.parsers.ParserConfigurationException;
 
 import de.viadee.bpm.vPAV.OuterProcessVariablesScanner;
-import org.camunda.bpm.model.bpmn.Bpmn;
 import org.camunda.bpm.model.bpmn.BpmnModelInstance;
 import org.camunda.bpm.model.bpmn.instance.BaseElement;
-import org.xml.sax.SAXException;
+import org.camunda.bpm.model.xml.type.ModelElementType;
+import org.w3c.dom.Document;
 
+import de.viadee.bpm.vPAV.BpmnModelRegistry;
 import de.viadee.bpm.vPAV.BpmnScanner;
 import de.viadee.bpm.vPAV.FileScanner;
+import de.viadee.bpm.vPAV.ValidationMetrics;
+import de.viadee.bpm.vPAV.events.ValidatorEvents;
 import de.viadee.bpm.vPAV.config.model.Rule;
 import de.viadee.bpm.vPAV.config.model.Setting;
 import de.viadee.bpm.vPAV.constants.BpmnConstants;
@@ -75,8 +81,16 @@ import de.viadee.bpm.vPAV.processing.model.graph.Path;
  */
 public class BpmnModelDispatcher {
 
+	private static Logger logger = Logger.getLogger(BpmnModelDispatcher.class.getName());
+
+	// smaller models are checked on the calling thread, copying the model would
+	// take longer than the checks
+	private static final int MIN_ELEMENTS_PER_WORKER = 16;
+
 	private Map<String, String> incorrectCheckers = new HashMap<>();
 
+	private boolean modelsInParallel;
+
 	/**
 	 * The BpmnModelDispatcher reads a model and creates a collection of all
 	 * elements. Iterates through collection and checks each element for validity
@@ -105,10 +119,11 @@ public class BpmnModelDispatcher {
 			final OuterProcessVariablesScanner scanner, final Collection<DataFlowRule> dataFlowRules,
 			final Collection<String> resourcesNewestVersions, final Map<String, Rule> conf) {
 
-		final BpmnScanner bpmnScanner = createScanner(processdefinition);
+		// parse bpmn model (already parsed models are copied from the registry)
+		final BpmnModelInstance modelInstance = BpmnModelRegistry.getInstance().getModelInstance(processdefinition);
 
-		// parse bpmn model
-		final BpmnModelInstance modelInstance = Bpmn.readModelFromFile(processdefinition);
+		final BpmnScanner bpmnScanner = BpmnModelRegistry.createBpmnScanner(processdefinition.getPath(),
+				modelInstance);
 
 		// hold bpmn elements
 		final Collection<BaseElement> baseElements = modelInstance.getModelElementsByType(BaseElement.class);
@@ -129,9 +144,6 @@ public class BpmnModelDispatcher {
 		final Collection<IGraph> graphCollection = graphBuilder.createProcessGraph(jvc, fileScanner, modelInstance,
 				processdefinition.getPath(), new ArrayList<>(), scanner);
 
-		// add data flow information to graph and calculate invalid paths
-		final Map<AnomalyContainer, List<Path>> invalidPathMap = graphBuilder.createInvalidPaths(graphCollection);
-
 		final Collection<BpmnElement> bpmnElements = getBpmnElements(processdefinition, baseElements, graphBuilder);
 		final Collection<ProcessVariable> processVariables = getProcessVariables(bpmnElements);
 
@@ -141,8 +153,11 @@ public class BpmnModelDispatcher {
 		// TODO: move it to a factory class later
 		final Rule processVariablesModelRule = conf.get(getClassName(ProcessVariablesModelChecker.class));
 		if (processVariablesModelRule != null && processVariablesModelRule.isActive()) {
+			// add data flow information to graph and calculate invalid paths (only needed for this checker)
+			final Map<AnomalyContainer, List<Path>> invalidPathMap = graphBuilder.createInvalidPaths(graphCollection,
+					getMaxInvalidPaths(processVariablesModelRule));
 			final ModelChecker processVarChecker = new ProcessVariablesModelChecker(processVariablesModelRule,
-					invalidPathMap);
+					invalidPathMap, graphBuilder.getMorePaths());
 			issues.addAll(processVarChecker.check(modelInstance));
 		}
 		final Rule dataFlowRule = conf.get(getClassName(DataFlowChecker.class));
@@ -155,7 +170,8 @@ public class BpmnModelDispatcher {
 		Collection<ElementChecker> checkerInstances = createCheckerInstances(resourcesNewestVersions, conf, bpmnScanner,
 				issues);
 
-		executeCheckers(processdefinition, baseElements, graphBuilder, issues, checkerInstances);
+		executeCheckers(processdefinition, baseElements, graphBuilder, issues, checkerInstances,
+				getCheckerWorkers(conf), createWorkerCopy(modelInstance, resourcesNewestVersions, conf));
 
 		return new ModelDispatchResult(issues, bpmnElements, processVariables);
 	}
@@ -181,10 +197,10 @@ public class BpmnModelDispatcher {
 			final Map<String, String> decisionRefToPathMap, final Map<String, String> processIdToPathMap,
 			final Collection<String> resourcesNewestVersions, final Map<String, Rule> conf) {
 
-		BpmnScanner bpmnScanner = createScanner(processdefinition);
+		// parse bpmn model (already parsed models are copied from the registry)
+		final BpmnModelInstance modelInstance = BpmnModelRegistry.getInstance().getModelInstance(processdefinition);
 
-		// parse bpmn model
-		final BpmnModelInstance modelInstance = Bpmn.readModelFromFile(processdefinition);
+		BpmnScanner bpmnScanner = BpmnModelRegistry.createBpmnScanner(processdefinition.getPath(), modelInstance);
 
 		// hold bpmn elements
 		final Collection<BaseElement> baseElements = modelInstance.getModelElementsByType(BaseElement.class);
@@ -198,7 +214,8 @@ public class BpmnModelDispatcher {
 		Collection<ElementChecker> checkerInstances = createCheckerInstances(resourcesNewestVersions, conf, bpmnScanner,
 				issues);
 
-		executeCheckers(processdefinition, baseElements, graphBuilder, issues, checkerInstances);
+		executeCheckers(processdefinition, baseElements, graphBuilder, issues, checkerInstances,
+				getCheckerWorkers(conf), createWorkerCopy(modelInstance, resourcesNewestVersions, conf));
 
 		return new ModelDispatchResult(issues, getBpmnElements(processdefinition, baseElements, graphBuilder),
 				Collections.emptyList());
@@ -272,21 +289,202 @@ public class BpmnModelDispatcher {
 	 *            List of issues
 	 * @param checkerInstances
 	 *            ElementCheckers from ruleSet
+	 * @param maxWorkers
+	 *            maximum number of threads, 1 if the checkers are executed
+	 *            sequentially
+	 * @param workerCopy
+	 *            creates the model and the checkers of a worker
 	 */
 	private void executeCheckers(final File processdefinition, final Collection<BaseElement> baseElements,
 			final ElementGraphBuilder graphBuilder, final Collection<CheckerIssue> issues,
-			Collection<ElementChecker> checkerInstances) {
-		// execute element checkers
+			Collection<ElementChecker> checkerInstances, final int maxWorkers, final Supplier<Worker> workerCopy) {
+		// checkers are routed only to the element types they are interested in
+		final Map<ModelElementType, List<ElementChecker>> checkersByType = new HashMap<>();
+		final List<BpmnElement> elements = new ArrayList<>();
+		final List<List<ElementChecker>> elementCheckers = new ArrayList<>();
 		for (final BaseElement baseElement : baseElements) {
+			final List<ElementChecker> checkers = checkersByType.computeIfAbsent(baseElement.getElementType(),
+					type -> getCheckersForType(type, checkerInstances));
+			if (checkers.isEmpty()) {
+				continue;
+			}
 			BpmnElement element = graphBuilder.getElement(baseElement.getId());
 			if (element == null) {
 				// if element is not in the data flow graph, create it.
 				element = new BpmnElement(processdefinition.getPath(), baseElement);
 			}
-			for (final ElementChecker checker : checkerInstances) {
-				issues.addAll(checker.check(element));
+			elements.add(element);
+			elementCheckers.add(checkers);
+		}
+
+		// execute element checkers
+		final int workers = Math.min(maxWorkers, elements.size() / MIN_ELEMENTS_PER_WORKER);
+		if (workers < 2) {
+			for (int i = 0; i < elements.size(); i++) {
+				for (final ElementChecker checker : elementCheckers.get(i)) {
+					issues.addAll(executeChecker(processdefinition, checker, elements.get(i)));
+				}
+			}
+			return;
+		}
+
+		// every element gets one slot per checker, so that the issues can be merged in
+		// the same order as in a sequential run
+		final List<List<Collection<CheckerIssue>>> results = new ArrayList<>();
+		for (int i = 0; i < elements.size(); i++) {
+			final List<ElementChecker> checkers = elementCheckers.get(i);
+			final List<Collection<CheckerIssue>> elementResults = new ArrayList<>(
+					Collections.nCopies(checkers.size(), null));
+			// checkers holding state between elements run first, on this thread and in
+			// order of the elements. Elements without id can't be found in a copy of the
+			// model, so they are checked here, too.
+			final boolean copyable = elements.get(i).getBaseElement().getId() != null;
+			for (int j = 0; j < checkers.size(); j++) {
+				if (!copyable || !checkers.get(j).isThreadSafe()) {
+					elementResults.set(j, executeChecker(processdefinition, checkers.get(j), elements.get(i)));
+				}
+			}
+			results.add(elementResults);
+		}
+
+		// Reading the DOM isn't thread safe either (lazily expanded nodes, node list
+		// cache, user data). So each worker checks copies of the elements in its own
+		// copy of the model with its own checkers. The copies are made on this thread.
+		final List<Worker> workerList = new ArrayList<>();
+		for (int w = 0; w < workers; w++) {
+			workerList.add(workerCopy.get());
+		}
+
+		IntStream.range(0, workers).parallel().forEach(w -> {
+			final Worker worker = workerList.get(w);
+			for (int i = w; i < elements.size(); i += workers) {
+				final BpmnElement element = elements.get(i);
+				if (element.getBaseElement().getId() == null) {
+					continue;
+				}
+				final BpmnElement copy = worker.copy(element);
+				final List<ElementChecker> checkers = getCheckersForType(copy.getBaseElement().getElementType(),
+						worker.checkers);
+				for (int j = 0; j < checkers.size(); j++) {
+					if (checkers.get(j).isThreadSafe()) {
+						results.get(i).set(j, executeChecker(processdefinition, checkers.get(j), copy));
+					}
+				}
+			}
+		});
+
+		for (final List<Collection<CheckerIssue>> elementResults : results) {
+			for (final Collection<CheckerIssue> checkerIssues : elementResults) {
+				issues.addAll(checkerIssues);
+			}
+		}
+	}
+
+	/**
+	 * Executes a checker for an element and records the time needed
+	 *
+	 * @param processdefinition
+	 *            Holds the path to the BPMN model
+	 * @param checker
+	 *            ElementChecker
+	 * @param element
+	 *            BpmnElement
+	 * @return issues
+	 */
+	private Collection<CheckerIssue> executeChecker(final File processdefinition, final ElementChecker checker,
+			final BpmnElement element) {
+		try (ValidationMetrics.Measurement measurement = ValidationMetrics.getInstance()
+				.start(ValidationMetrics.CHECKER, checker.getClass().getSimpleName());
+				ValidatorEvents.Scope scope = ValidatorEvents.begin(ValidatorEvents.Type.CHECKER,
+						processdefinition.getPath(), element.getBaseElement().getId(),
+						checker.getClass().getSimpleName())) {
+			return checker.check(element);
+		}
+	}
+
+	/**
+	 * Creates the copy of the model and the checkers for a worker of the parallel
+	 * checker execution
+	 *
+	 * @param modelInstance
+	 *            BPMN model
+	 * @param resourcesNewestVersions
+	 *            collection with newest versions of class files
+	 * @param conf
+	 *            ruleSet
+	 * @return factory of workers
+	 */
+	private Supplier<Worker> createWorkerCopy(final BpmnModelInstance modelInstance,
+			final Collection<String> resourcesNewestVersions, final Map<String, Rule> conf) {
+		return () -> {
+			final BpmnModelInstance modelCopy = modelInstance.clone();
+			final BpmnScanner bpmnScanner;
+			try {
+				bpmnScanner = new BpmnScanner((Document) modelCopy.getDocument().getDomSource().getNode());
+			} catch (final ParserConfigurationException e) {
+				throw new RuntimeException("Model couldn't be parsed", e);
+			}
+			return new Worker(modelCopy,
+					createCheckerInstances(resourcesNewestVersions, conf, bpmnScanner, new ArrayList<>()));
+		};
+	}
+
+	/**
+	 * Copy of a model and checkers, which are used by a single thread only
+	 */
+	private static final class Worker {
+
+		private final BpmnModelInstance modelInstance;
+
+		private final Collection<ElementChecker> checkers;
+
+		private Worker(final BpmnModelInstance modelInstance, final Collection<ElementChecker> checkers) {
+			this.modelInstance = modelInstance;
+			this.checkers = checkers;
+		}
+
+		/**
+		 * Copies an element into the model of the worker, the element is found by
+		 * its id
+		 *
+		 * @param element
+		 *            element of the original model
+		 * @return copy of the element
+		 */
+		private BpmnElement copy(final BpmnElement element) {
+			final BaseElement baseElement = modelInstance.getModelElementById(element.getBaseElement().getId());
+			final BpmnElement copy = new BpmnElement(element.getProcessdefinition(), baseElement);
+			copy.setProcessVariables(new LinkedHashMap<>(element.getProcessVariables()));
+			return copy;
+		}
+	}
+
+	/**
+	 * Selects the checkers, which are interested in elements of the given type
+	 *
+	 * @param type
+	 *            Element type
+	 * @param checkerInstances
+	 *            Collection of checkers
+	 * @return List of checkers
+	 */
+	static List<ElementChecker> getCheckersForType(final ModelElementType type,
+			final Collection<ElementChecker> checkerInstances) {
+		final List<ElementChecker> checkers = new ArrayList<>();
+		for (final ElementChecker checker : checkerInstances) {
+			final Collection<Class<? extends BaseElement>> elementTypes = checker.getElementTypes();
+			if (elementTypes == null) {
+				checkers.add(checker);
+				continue;
+			}
+			for (final Class<? extends BaseElement> elementType : elementTypes) {
+				if (elementType.isAssignableFrom(type.getInstanceType())) {
+					checkers.add(checker);
+					break;
+				}
 			}
 		}
+		return checkers;
 	}
 
 	/**
@@ -296,14 +494,8 @@ public class BpmnModelDispatcher {
 	 * @return BpmnScanner
 	 */
 	public BpmnScanner createScanner(final File processdefinition) {
-		// create BPMNScanner
-		BpmnScanner bpmnScanner;
-		try {
-			bpmnScanner = new BpmnScanner(processdefinition.getPath());
-		} catch (ParserConfigurationException | SAXException | IOException e) {
-			throw new RuntimeException("Model couldn't be parsed");
-		}
-		return bpmnScanner;
+		// create BPMNScanner on top of a copy of the parsed model
+		return BpmnModelRegistry.getInstance().getBpmnScanner(processdefinition);
 	}
 
 	/**
@@ -347,6 +539,89 @@ public class BpmnModelDispatcher {
 		return isStatic;
 	}
 
+	/**
+	 * Element checkers are executed in parallel, if the rule ParallelValidation is
+	 * active and its setting checkers is true. If the models are already validated
+	 * in parallel, the elements are checked on the thread of the model.
+	 *
+	 * @param rules
+	 *            ruleSet
+	 * @return maximum number of threads for the element checkers
+	 */
+	private int getCheckerWorkers(final Map<String, Rule> rules) {
+		final Rule rule = rules.get(ConfigConstants.PARALLEL_VALIDATION);
+		if (modelsInParallel || rule == null || !rule.isActive() || rule.getSettings() == null) {
+			return 1;
+		}
+		final Setting setting = rule.getSettings().get(ConfigConstants.PARALLEL_CHECKERS);
+		return setting != null && "true".equals(setting.getValue()) ? getWorkerCount(rules) : 1;
+	}
+
+	/**
+	 * Determines the number of workers for the validation. If ParallelValidation
+	 * is not active, models are validated sequentially. If no valid number of
+	 * workers is configured, the number of available processors is used.
+	 *
+	 * @param rules
+	 *            all rules of ruleSet.xml
+	 * @return number of workers
+	 */
+	public static int getWorkerCount(final Map<String, Rule> rules) {
+		final Rule rule = rules.get(ConfigConstants.PARALLEL_VALIDATION);
+		if (rule == null || !rule.isActive()) {
+			return 1;
+		}
+
+		final Setting setting = rule.getSettings() != null ? rule.getSettings().get(ConfigConstants.WORKERS) : null;
+		if (setting != null && setting.getValue() != null) {
+			try {
+				final int workers = Integer.parseInt(setting.getValue().trim());
+				if (workers > 0) {
+					return workers;
+				}
+			} catch (final NumberFormatException e) {
+				// fall through to default
+			}
+			logger.warning("Invalid number of workers for ParallelValidation: '" + setting.getValue()
+					+ "'. Using number of available processors.");
+		}
+		return Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * @param modelsInParallel
+	 *            true, if the models are validated on a pool of workers, so that
+	 *            the elements of a model aren't checked in parallel again
+	 */
+	public void setModelsInParallel(final boolean modelsInParallel) {
+		this.modelsInParallel = modelsInParallel;
+	}
+
+	/**
+	 * Reads the maximum number of invalid paths per anomaly
+	 *
+	 * @param rule
+	 *            ProcessVariablesModelChecker rule
+	 * @return maximum number of paths
+	 */
+	private int getMaxInvalidPaths(final Rule rule) {
+		final Setting setting = rule.getSettings() != null ? rule.getSettings().get(ConfigConstants.MAX_INVALID_PATHS)
+				: null;
+		if (setting != null && setting.getValue() != null) {
+			try {
+				final int maxPaths = Integer.parseInt(setting.getValue().trim());
+				if (maxPaths >= 0) {
+					return maxPaths;
+				}
+			} catch (final NumberFormatException e) {
+				// fall through to default
+			}
+			logger.warning("Invalid value for " + ConfigConstants.MAX_INVALID_PATHS + ": '" + setting.getValue()
+					+ "'. Using " + ConfigConstants.DEFAULT_MAX_INVALID_PATHS + ".");
+		}
+		return ConfigConstants.DEFAULT_MAX_INVALID_PATHS;
+	}
+
 	private String getClassName(Class<?> clazz) {
 		return clazz.getSimpleName();
 	}
@@ -0,0 +1,239 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.instance.BaseElement;
+
+import de.viadee.bpm.vPAV.constants.BpmnConstants;
+import de.viadee.bpm.vPAV.processing.model.data.AnomalyContainer;
+import de.viadee.bpm.vPAV.processing.model.data.BpmnElement;
+import de.viadee.bpm.vPAV.processing.model.data.ProcessVariableOperation;
+import de.viadee.bpm.vPAV.processing.model.graph.Edge;
+import de.viadee.bpm.vPAV.processing.model.graph.Graph;
+import de.viadee.bpm.vPAV.processing.model.graph.IGraph;
+
+/**
+ * Caches the data flow graphs of processes called by call activities for a
+ * validation run.
+ *
+ * A called model is read and transformed into data flow graphs once, including
+ * the processes it calls itself. Each call activity gets a copy of the graph,
+ * because the integration into the calling graph and the data flow analysis
+ * change the elements. The copy also gets its own model elements, because a
+ * DOM isn't safe for concurrent reads and the copies are used by the threads
+ * of a parallel validation.
+ */
+public class CallActivitySummaryCache {
+
+	private static volatile CallActivitySummaryCache instance;
+
+	private final Map<String, Summary> summaries = new ConcurrentHashMap<String, Summary>();
+
+	private CallActivitySummaryCache() {
+	}
+
+	public static CallActivitySummaryCache getInstance() {
+		if (instance == null) {
+			synchronized (CallActivitySummaryCache.class) {
+				if (instance == null) {
+					instance = new CallActivitySummaryCache();
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Returns a copy of the data flow graph of a called process. The called model
+	 * is only analysed, if no summary exists yet.
+	 *
+	 * @param key
+	 *            Key of the called model (path and reading strategy)
+	 * @param processId
+	 *            Id of the called process
+	 * @param analysis
+	 *            Creates the data flow graphs of all processes of the called model
+	 * @return copy of the graph or null, if the model doesn't contain the process
+	 */
+	public IGraph getGraph(final String key, final String processId, final Supplier<Collection<IGraph>> analysis) {
+		Summary summary = summaries.get(key);
+		if (summary == null) {
+			// not computed inside the map, because the analysis integrates further
+			// called processes
+			final Summary newSummary = new Summary(analysis.get());
+			summary = summaries.putIfAbsent(key, newSummary);
+			if (summary == null) {
+				summary = newSummary;
+			}
+		}
+		return summary.copy(processId);
+	}
+
+	/**
+	 * Releases all summaries
+	 */
+	public void clear() {
+		summaries.clear();
+	}
+
+	int size() {
+		return summaries.size();
+	}
+
+	/**
+	 * Data flow graphs of the processes of a called model. The graphs are never
+	 * integrated or analysed themselves, they only serve as template. Their models
+	 * are only read while copying, under the lock of the summary.
+	 */
+	private static class Summary {
+
+		private final Map<String, IGraph> graphs = new HashMap<String, IGraph>();
+
+		Summary(final Collection<IGraph> graphs) {
+			for (final IGraph graph : graphs) {
+				this.graphs.put(graph.getProcessId(), graph);
+			}
+		}
+
+		synchronized IGraph copy(final String processId) {
+			final IGraph template = graphs.get(processId);
+			if (template == null) {
+				return null;
+			}
+
+			// the template contains elements of the called model and of the models
+			// called by it, each of them is copied once
+			final Map<BpmnModelInstance, CopiedModel> copiedModels = new IdentityHashMap<BpmnModelInstance, CopiedModel>();
+			// the elements are assigned by their id in the data flow
+			final Map<String, BpmnElement> copies = new HashMap<String, BpmnElement>();
+			final IGraph graph = new Graph(template.getProcessId());
+			for (final BpmnElement vertex : template.getVertices()) {
+				final BpmnModelInstance modelInstance = (BpmnModelInstance) vertex.getBaseElement()
+						.getModelInstance();
+				CopiedModel copiedModel = copiedModels.get(modelInstance);
+				if (copiedModel == null) {
+					copiedModel = new CopiedModel(modelInstance);
+					copiedModels.put(modelInstance, copiedModel);
+				}
+				final BpmnElement copy = copyElement(vertex, copiedModel.getElement(vertex.getBaseElement()));
+				copies.put(vertex.getId(), copy);
+				graph.addVertex(copy);
+			}
+			for (final List<Edge> edges : template.getEdges()) {
+				for (final Edge edge : edges) {
+					graph.addEdge(copies.get(edge.getFrom().getId()), copies.get(edge.getTo().getId()),
+							edge.getWeight());
+				}
+			}
+			for (final BpmnElement startNode : template.getStartNodes()) {
+				graph.addStartNode(copies.get(startNode.getId()));
+			}
+			for (final BpmnElement endNode : template.getEndNodes()) {
+				graph.addEndNode(copies.get(endNode.getId()));
+			}
+			return graph;
+		}
+
+		private static BpmnElement copyElement(final BpmnElement element, final BaseElement baseElement) {
+			final BpmnElement copy = new BpmnElement(element.getProcessdefinition(), baseElement);
+			// ids of elements of processes called by the called process are prefixed
+			copy.setId(element.getId());
+
+			final LinkedHashMap<String, ProcessVariableOperation> variables = new LinkedHashMap<String, ProcessVariableOperation>();
+			for (final Map.Entry<String, ProcessVariableOperation> entry : element.getProcessVariables().entrySet()) {
+				variables.put(entry.getKey(), copyOperation(entry.getValue(), copy));
+			}
+			copy.setProcessVariables(variables);
+
+			for (final AnomalyContainer anomaly : element.getSourceCodeAnomalies()) {
+				copy.addSourceCodeAnomaly(new AnomalyContainer(anomaly.getName(), anomaly.getAnomaly(),
+						anomaly.getElementId(),
+						anomaly.getVariable() != null ? copyOperation(anomaly.getVariable(), copy) : null));
+			}
+
+			// in- and output variables of nested call activities
+			copy.setInCa(element.getInCa());
+			copy.setOutCa(element.getOutCa());
+			return copy;
+		}
+
+		private static ProcessVariableOperation copyOperation(final ProcessVariableOperation operation,
+				final BpmnElement element) {
+			final ProcessVariableOperation copy = new ProcessVariableOperation(operation.getName(), element,
+					operation.getChapter(), operation.getFieldType(), operation.getResourceFilePath(),
+					operation.getOperation(), operation.getScopeId());
+			copy.setOperationType(operation.getOperationType());
+			return copy;
+		}
+	}
+
+	/**
+	 * Copy of a model, whose elements are assigned to the elements of the original
+	 * model by their id
+	 */
+	private static class CopiedModel {
+
+		private final BpmnModelInstance modelInstance;
+
+		private final Map<BaseElement, BaseElement> detachedElements = new IdentityHashMap<BaseElement, BaseElement>();
+
+		CopiedModel(final BpmnModelInstance original) {
+			this.modelInstance = original.clone();
+		}
+
+		BaseElement getElement(final BaseElement original) {
+			final BaseElement element = modelInstance.getModelElementById(original.getId());
+			if (element != null) {
+				return element;
+			}
+			// element isn't part of the model tree (the parallel gateways added for a
+			// call activity), so there is nothing to look up
+			BaseElement detachedElement = detachedElements.get(original);
+			if (detachedElement == null) {
+				detachedElement = (BaseElement) modelInstance.newInstance(original.getElementType());
+				detachedElement.setAttributeValue(BpmnConstants.ATTR_ID, original.getId(), true);
+				detachedElements.put(original, detachedElement);
+			}
+			return detachedElement;
+		}
+	}
+}
@@ -0,0 +1,270 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import de.viadee.bpm.vPAV.RuntimeConfig;
+
+/**
+ * Caches the reflection data of java classes referenced in bpmn models for a
+ * validation run.
+ *
+ * A class is loaded and reflected once. The checkers then work on the immutable
+ * metadata instead of loading the class again for each element.
+ */
+public class ClassMetadataCache {
+
+	private static final Logger LOGGER = Logger.getLogger(ClassMetadataCache.class.getName());
+
+	private static volatile ClassMetadataCache instance;
+
+	private final Map<String, ClassMetadata> classes = new ConcurrentHashMap<String, ClassMetadata>();
+
+	// class loader the metadata has been read with
+	private volatile ClassLoader classLoader;
+
+	private ClassMetadataCache() {
+	}
+
+	public static ClassMetadataCache getInstance() {
+		if (instance == null) {
+			synchronized (ClassMetadataCache.class) {
+				if (instance == null) {
+					instance = new ClassMetadataCache();
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Returns the metadata of a class. The class is loaded with the class loader
+	 * of the RuntimeConfig, if it hasn't been loaded yet.
+	 *
+	 * @param className
+	 *            fully qualified name of the class
+	 * @return ClassMetadata, which tells whether the class exists
+	 */
+	public ClassMetadata get(final String className) {
+		final ClassLoader currentClassLoader = RuntimeConfig.getInstance().getClassLoader();
+		if (currentClassLoader != classLoader) {
+			// metadata of another class loader isn't valid anymore
+			synchronized (this) {
+				if (currentClassLoader != classLoader) {
+					classes.clear();
+					classLoader = currentClassLoader;
+				}
+			}
+		}
+		return classes.computeIfAbsent(className, name -> load(currentClassLoader, name));
+	}
+
+	/**
+	 * Releases all metadata
+	 */
+	public synchronized void clear() {
+		classes.clear();
+		classLoader = null;
+	}
+
+	private static ClassMetadata load(final ClassLoader classLoader, final String className) {
+		final Class<?> clazz;
+		try {
+			clazz = classLoader.loadClass(className);
+		} catch (final ClassNotFoundException e) {
+			return new ClassMetadata(className);
+		}
+		return new ClassMetadata(clazz);
+	}
+
+	/**
+	 * Reflection data of a class
+	 */
+	public static final class ClassMetadata {
+
+		private final String name;
+
+		private final boolean exists;
+
+		private final String simpleName;
+
+		private final String superclassName;
+
+		private final List<String> interfaceNames;
+
+		private final Map<String, FieldMetadata> declaredFields;
+
+		// lower case names of all public methods
+		private final Set<String> methodNames;
+
+		private ClassMetadata(final String name) {
+			this.name = name;
+			this.exists = false;
+			this.simpleName = name.substring(name.lastIndexOf('.') + 1);
+			this.superclassName = null;
+			this.interfaceNames = Collections.emptyList();
+			this.declaredFields = Collections.emptyMap();
+			this.methodNames = Collections.emptySet();
+		}
+
+		private ClassMetadata(final Class<?> clazz) {
+			this.name = clazz.getName();
+			this.exists = true;
+			this.simpleName = clazz.getSimpleName();
+			this.superclassName = clazz.getSuperclass() != null ? clazz.getSuperclass().getName() : null;
+
+			final List<String> interfaces = new ArrayList<String>();
+			for (final Class<?> _interface : clazz.getInterfaces()) {
+				interfaces.add(_interface.getName());
+			}
+			this.interfaceNames = Collections.unmodifiableList(interfaces);
+
+			final Map<String, FieldMetadata> fields = new LinkedHashMap<String, FieldMetadata>();
+			final Set<String> methods = new HashSet<String>();
+			try {
+				for (final Field field : clazz.getDeclaredFields()) {
+					fields.put(field.getName(), new FieldMetadata(field));
+				}
+				for (final Method method : clazz.getMethods()) {
+					methods.add(method.getName().toLowerCase());
+				}
+			} catch (final LinkageError | SecurityException e) {
+				LOGGER.warning("Members of class " + clazz.getName() + " couldn't be read: " //$NON-NLS-1$ //$NON-NLS-2$
+						+ e.getMessage());
+			}
+			this.declaredFields = Collections.unmodifiableMap(fields);
+			this.methodNames = Collections.unmodifiableSet(methods);
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public boolean exists() {
+			return exists;
+		}
+
+		public String getSimpleName() {
+			return simpleName;
+		}
+
+		/**
+		 * @return name of the superclass or null, if the class has none
+		 */
+		public String getSuperclassName() {
+			return superclassName;
+		}
+
+		/**
+		 * @return names of the interfaces directly implemented by the class
+		 */
+		public List<String> getInterfaceNames() {
+			return interfaceNames;
+		}
+
+		/**
+		 * @param fieldName
+		 *            name of the field
+		 * @return declared field or null, if the class doesn't declare it
+		 */
+		public FieldMetadata getDeclaredField(final String fieldName) {
+			return declaredFields.get(fieldName);
+		}
+
+		/**
+		 * Checks whether a public method exists, whose name contains set + the name
+		 * of the field (case insensitive)
+		 *
+		 * @param fieldName
+		 *            name of the field
+		 * @return true, if a setter exists
+		 */
+		public boolean hasSetter(final String fieldName) {
+			final String setter = "set" + fieldName.toLowerCase(); //$NON-NLS-1$
+			for (final String methodName : methodNames) {
+				if (methodName.contains(setter)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * @return path of the source file relative to the source folder
+		 */
+		public String getSourcePath() {
+			return name.replaceAll("\\.", "/") + ".java"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+	}
+
+	/**
+	 * Reflection data of a declared field
+	 */
+	public static final class FieldMetadata {
+
+		private final String name;
+
+		private final Class<?> type;
+
+		private final int modifiers;
+
+		private FieldMetadata(final Field field) {
+			this.name = field.getName();
+			this.type = field.getType();
+			this.modifiers = field.getModifiers();
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public Class<?> getType() {
+			return type;
+		}
+
+		public boolean isPublic() {
+			return Modifier.isPublic(modifiers);
+		}
+	}
+}
@@ -0,0 +1,293 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+import de.viadee.bpm.vPAV.processing.model.data.Anomaly;
+import de.viadee.bpm.vPAV.processing.model.data.AnomalyContainer;
+import de.viadee.bpm.vPAV.processing.model.data.BpmnElement;
+import de.viadee.bpm.vPAV.processing.model.data.ElementChapter;
+import de.viadee.bpm.vPAV.processing.model.data.KnownElementFieldType;
+import de.viadee.bpm.vPAV.processing.model.data.ProcessVariableOperation;
+import de.viadee.bpm.vPAV.processing.model.data.VariableOperation;
+
+/**
+ * Caches the process variable operations of delegate classes for a validation
+ * run.
+ *
+ * A delegate class is analysed once per delegate method. The found operations
+ * (and anomalies found in the code) are stored independent of the bpmn element
+ * and rebound to each element, which references the same class.
+ *
+ * Summaries with a content hash of the analysed source can be saved and loaded
+ * again in a later run (IncrementalValidation). A loaded summary is only used,
+ * if the content hash is still the same.
+ */
+public class DelegateSummaryCache {
+
+	private static final Logger LOGGER = Logger.getLogger(DelegateSummaryCache.class.getName());
+
+	private static final Type SUMMARIES_TYPE = new TypeToken<Map<String, Summary>>() {
+	}.getType();
+
+	private static volatile DelegateSummaryCache instance;
+
+	// summaries of the current run
+	private final Map<String, Summary> summaries = new ConcurrentHashMap<String, Summary>();
+
+	// summaries of former runs
+	private final Map<String, Summary> loadedSummaries = new ConcurrentHashMap<String, Summary>();
+
+	private DelegateSummaryCache() {
+	}
+
+	public static DelegateSummaryCache getInstance() {
+		if (instance == null) {
+			synchronized (DelegateSummaryCache.class) {
+				if (instance == null) {
+					instance = new DelegateSummaryCache();
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Returns the process variable operations of a delegate method for the given
+	 * element. The delegate is only analysed, if no summary exists yet.
+	 *
+	 * @param className
+	 *            Name of the delegate class
+	 * @param methodName
+	 *            Name of the delegate method or null, if the whole class is
+	 *            analysed
+	 * @param contentHash
+	 *            Hash of the analysed source or null, if the summary must not
+	 *            outlive the run
+	 * @param element
+	 *            Bpmn element
+	 * @param chapter
+	 *            ElementChapter
+	 * @param fieldType
+	 *            KnownElementFieldType
+	 * @param scopeId
+	 *            Scope of the element
+	 * @param analysis
+	 *            analysis of the delegate, which is bound to the given element
+	 * @return Map of process variables
+	 */
+	public Map<String, ProcessVariableOperation> getVariables(final String className, final String methodName,
+			final Supplier<String> contentHash, final BpmnElement element, final ElementChapter chapter,
+			final KnownElementFieldType fieldType, final String scopeId,
+			final Supplier<Map<String, ProcessVariableOperation>> analysis) {
+
+		final String key = methodName != null ? className + "#" + methodName : className;
+
+		Summary summary = summaries.get(key);
+		if (summary != null) {
+			return summary.bind(element, chapter, fieldType, scopeId);
+		}
+
+		final String hash = contentHash != null ? contentHash.get() : null;
+		summary = loadedSummaries.get(key);
+		if (summary != null && hash != null && hash.equals(summary.contentHash)) {
+			summaries.putIfAbsent(key, summary);
+			return summary.bind(element, chapter, fieldType, scopeId);
+		}
+
+		final int knownAnomalies = element != null ? element.getSourceCodeAnomalies().size() : 0;
+		final Map<String, ProcessVariableOperation> variables = analysis.get();
+
+		final List<AnomalyContainer> anomalies = new ArrayList<AnomalyContainer>();
+		if (element != null) {
+			final List<AnomalyContainer> elementAnomalies = element.getSourceCodeAnomalies();
+			anomalies.addAll(elementAnomalies.subList(knownAnomalies, elementAnomalies.size()));
+		}
+		summaries.putIfAbsent(key, new Summary(hash, variables, anomalies));
+
+		return variables;
+	}
+
+	/**
+	 * Loads summaries saved by a former run
+	 *
+	 * @param file
+	 *            cache file
+	 */
+	public void load(final File file) {
+		if (!file.exists()) {
+			return;
+		}
+		try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+			final Map<String, Summary> savedSummaries = new Gson().fromJson(reader, SUMMARIES_TYPE);
+			if (savedSummaries != null) {
+				loadedSummaries.putAll(savedSummaries);
+			}
+		} catch (final IOException | JsonParseException e) {
+			LOGGER.warning("Cached delegate summaries couldn't be read: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Saves all summaries with a content hash, including loaded summaries which
+	 * weren't used in this run
+	 *
+	 * @param file
+	 *            cache file
+	 */
+	public void save(final File file) {
+		final Map<String, Summary> savedSummaries = new HashMap<String, Summary>(loadedSummaries);
+		for (final Map.Entry<String, Summary> entry : summaries.entrySet()) {
+			if (entry.getValue().contentHash != null) {
+				savedSummaries.put(entry.getKey(), entry.getValue());
+			}
+		}
+
+		try {
+			Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+			try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+				new Gson().toJson(savedSummaries, SUMMARIES_TYPE, writer);
+			}
+		} catch (final IOException e) {
+			LOGGER.warning("Delegate summaries couldn't be cached: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Releases all summaries
+	 */
+	public void clear() {
+		summaries.clear();
+		loadedSummaries.clear();
+	}
+
+	/**
+	 * Element independent result of the analysis of a delegate
+	 */
+	private static class Summary {
+
+		private String contentHash;
+
+		private LinkedHashMap<String, Operation> operations = new LinkedHashMap<String, Operation>();
+
+		private List<SourceCodeAnomaly> anomalies = new ArrayList<SourceCodeAnomaly>();
+
+		Summary(final String contentHash, final Map<String, ProcessVariableOperation> variables,
+				final List<AnomalyContainer> foundAnomalies) {
+			this.contentHash = contentHash;
+			for (final Map.Entry<String, ProcessVariableOperation> entry : variables.entrySet()) {
+				operations.put(entry.getKey(), new Operation(entry.getValue()));
+			}
+			for (final AnomalyContainer anomaly : foundAnomalies) {
+				anomalies.add(new SourceCodeAnomaly(anomaly));
+			}
+		}
+
+		Map<String, ProcessVariableOperation> bind(final BpmnElement element, final ElementChapter chapter,
+				final KnownElementFieldType fieldType, final String scopeId) {
+			final Map<String, ProcessVariableOperation> variables = new LinkedHashMap<String, ProcessVariableOperation>();
+			for (final Map.Entry<String, Operation> entry : operations.entrySet()) {
+				variables.put(entry.getKey(), entry.getValue().bind(element, chapter, fieldType, scopeId));
+			}
+
+			if (element != null) {
+				for (final SourceCodeAnomaly anomaly : anomalies) {
+					element.addSourceCodeAnomaly(new AnomalyContainer(anomaly.name, anomaly.anomaly,
+							element.getId(),
+							anomaly.operation.bind(element, chapter, fieldType, scopeId)));
+				}
+			}
+			return variables;
+		}
+	}
+
+	/**
+	 * Process variable operation without element information
+	 */
+	private static class Operation {
+
+		private String name;
+
+		private VariableOperation operation;
+
+		private String resourceFilePath;
+
+		Operation(final ProcessVariableOperation variable) {
+			this.name = variable.getName();
+			this.operation = variable.getOperation();
+			this.resourceFilePath = variable.getResourceFilePath();
+		}
+
+		ProcessVariableOperation bind(final BpmnElement element, final ElementChapter chapter,
+				final KnownElementFieldType fieldType, final String scopeId) {
+			return new ProcessVariableOperation(name, element, chapter, fieldType, resourceFilePath, operation,
+					scopeId);
+		}
+	}
+
+	/**
+	 * Anomaly found in the source code of a delegate without element information
+	 */
+	private static class SourceCodeAnomaly {
+
+		private String name;
+
+		private Anomaly anomaly;
+
+		private Operation operation;
+
+		SourceCodeAnomaly(final AnomalyContainer anomaly) {
+			this.name = anomaly.getName();
+			this.anomaly = anomaly.getAnomaly();
+			this.operation = new Operation(anomaly.getVariable());
+		}
+	}
+}
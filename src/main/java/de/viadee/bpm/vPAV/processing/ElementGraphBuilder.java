@@ -31,8 +31,10 @@
  */
 package de.viadee.bpm.vPAV.processing;
 
+import de.viadee.bpm.vPAV.BpmnModelRegistry;
 import de.viadee.bpm.vPAV.BpmnScanner;
 import de.viadee.bpm.vPAV.FileScanner;
+import de.viadee.bpm.vPAV.events.ValidatorEvents;
 import de.viadee.bpm.vPAV.OuterProcessVariablesScanner;
 import de.viadee.bpm.vPAV.constants.BpmnConstants;
 import de.viadee.bpm.vPAV.processing.model.data.*;
@@ -40,7 +42,6 @@ import de.viadee.bpm.vPAV.processing.model.graph.Edge;
 import de.viadee.bpm.vPAV.processing.model.graph.Graph;
 import de.viadee.bpm.vPAV.processing.model.graph.IGraph;
 import de.viadee.bpm.vPAV.processing.model.graph.Path;
-import org.camunda.bpm.model.bpmn.Bpmn;
 import org.camunda.bpm.model.bpmn.BpmnModelInstance;
 import org.camunda.bpm.model.bpmn.impl.BpmnModelConstants;
 import org.camunda.bpm.model.bpmn.instance.*;
@@ -69,6 +70,10 @@ public class ElementGraphBuilder {
 
 	private BpmnScanner bpmnScanner;
 
+	// anomalies with paths, which haven't been kept
+	private Set<AnomalyContainer> morePaths = new HashSet<AnomalyContainer>();
+
+
 	public ElementGraphBuilder(BpmnScanner bpmnScanner) {
 		this.bpmnScanner = bpmnScanner;
 	}
@@ -280,23 +285,41 @@ public class ElementGraphBuilder {
 	 * @return invalidPathMap returns invalidPathMap
 	 */
 	public Map<AnomalyContainer, List<Path>> createInvalidPaths(final Collection<IGraph> graphCollection) {
+		return createInvalidPaths(graphCollection, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Create invalid paths for data flow anomalies. For each anomaly only the
+	 * shortest paths up to the given number are kept, the anomalies with further
+	 * paths can be retrieved with getMorePaths.
+	 *
+	 * @param graphCollection
+	 *            IGraph
+	 * @param maxPaths
+	 *            maximum number of paths per anomaly
+	 * @return invalidPathMap returns invalidPathMap
+	 */
+	public Map<AnomalyContainer, List<Path>> createInvalidPaths(final Collection<IGraph> graphCollection,
+			final int maxPaths) {
 		final Map<AnomalyContainer, List<Path>> invalidPathMap = new HashMap<AnomalyContainer, List<Path>>();
+		morePaths.clear();
 
 		for (final IGraph g : graphCollection) {
+			final BpmnElement source = g.getStartNodes().iterator().next();
 			// add data flow information to graph
-			g.setAnomalyInformation(g.getStartNodes().iterator().next());
+			try (ValidatorEvents.Scope scope = ValidatorEvents.begin(ValidatorEvents.Type.DATA_FLOW,
+					source.getProcessdefinition(), source.getId(), null)) {
+				g.setAnomalyInformation(source);
+			}
 			// get nodes with data anomalies
 			final Map<BpmnElement, List<AnomalyContainer>> anomalies = g.getNodesWithAnomalies();
 
 			for (final BpmnElement element : anomalies.keySet()) {
 				for (AnomalyContainer anomaly : anomalies.get(element)) {
-					// create paths for data flow anomalies
-					final List<Path> paths = g.getAllInvalidPaths(element, anomaly);
-					for (final Path path : paths) {
-						// reverse order for a better readability
-						Collections.reverse(path.getElements());
+					try (ValidatorEvents.Scope scope = ValidatorEvents.begin(ValidatorEvents.Type.INVALID_PATHS,
+							element.getProcessdefinition(), element.getId(), null)) {
+						createInvalidPaths(g, element, anomaly, maxPaths, invalidPathMap);
 					}
-					invalidPathMap.put(anomaly, new ArrayList<Path>(paths));
 				}
 			}
 		}
@@ -304,6 +327,47 @@ public class ElementGraphBuilder {
 		return invalidPathMap;
 	}
 
+	/**
+	 * Searches the shortest paths of one anomaly and checks for a further path
+	 *
+	 * @param g
+	 *            graph with data flow information
+	 * @param element
+	 *            element with the anomaly
+	 * @param anomaly
+	 *            anomaly
+	 * @param maxPaths
+	 *            maximum number of paths
+	 * @param invalidPathMap
+	 *            paths by anomaly
+	 */
+	private void createInvalidPaths(final IGraph g, final BpmnElement element, final AnomalyContainer anomaly,
+			final int maxPaths, final Map<AnomalyContainer, List<Path>> invalidPathMap) {
+		// create paths for data flow anomalies
+		final Iterator<Path> iterator = g.getInvalidPaths(element, anomaly);
+		final List<Path> paths = new ArrayList<Path>();
+		while (paths.size() < maxPaths && iterator.hasNext()) {
+			final Path path = iterator.next();
+			// reverse order for a better readability
+			Collections.reverse(path.getElements());
+			paths.add(path);
+		}
+		invalidPathMap.put(anomaly, paths);
+
+		// further paths are not searched, only one more is looked for
+		if (iterator.hasNext()) {
+			morePaths.add(anomaly);
+		}
+	}
+
+	/**
+	 * @return anomalies with further paths, which have not been kept by
+	 *         createInvalidPaths
+	 */
+	public Set<AnomalyContainer> getMorePaths() {
+		return morePaths;
+	}
+
 	/**
 	 * Add edges to data flow graph
 	 *
@@ -447,41 +511,62 @@ public class ElementGraphBuilder {
 		}
 		calledElementHierarchy.add(calledElement);
 
-		// integrate only, if file locations for process ids are known
-		if (processIdToPathMap != null && processIdToPathMap.get(calledElement) != null) {
-
-			// 1) read in- and output variables from call activity
-			final Collection<String> inVariables = new ArrayList<String>();
-			final Collection<String> outVariables = new ArrayList<String>();
-			readCallActivityDataInterfaces(callActivity, inVariables, outVariables);
-
-			// 2) add parallel gateways before and after the call activity in the main data
-			// flow
-			// They are necessary for connecting the sub process with the main flow
-			final List<BpmnElement> parallelGateways = addParallelGatewaysBeforeAndAfterCallActivityInMainDataFlow(
-					modelInstance, callActivity, graph);
-			final BpmnElement parallelGateway1 = parallelGateways.get(0);
-			final BpmnElement parallelGateway2 = parallelGateways.get(1);
-
-			// get file path of the called process
-			final String callActivityPath = processIdToPathMap.get(calledElement);
-			if (callActivityPath != null) {
-				// 3) load process and transform it into a data flow graph
-				final Collection<IGraph> subgraphs = createSubDataFlowsFromCallActivity(context, fileScanner,
-						calledElementHierarchy, callActivityPath, scanner);
-
-				for (final IGraph subgraph : subgraphs) {
+		try {
+			// integrate only, if file locations for process ids are known
+			if (processIdToPathMap != null && processIdToPathMap.get(calledElement) != null) {
+
+				// 1) read in- and output variables from call activity
+				final Collection<String> inVariables = new ArrayList<String>();
+				final Collection<String> outVariables = new ArrayList<String>();
+				readCallActivityDataInterfaces(callActivity, inVariables, outVariables);
+
+				// 2) add parallel gateways before and after the call activity in the main data
+				// flow
+				// They are necessary for connecting the sub process with the main flow
+				final List<BpmnElement> parallelGateways = addParallelGatewaysBeforeAndAfterCallActivityInMainDataFlow(
+						modelInstance, callActivity, graph);
+				final BpmnElement parallelGateway1 = parallelGateways.get(0);
+				final BpmnElement parallelGateway2 = parallelGateways.get(1);
+
+				// get file path of the called process
+				final String callActivityPath = processIdToPathMap.get(calledElement);
+				if (callActivityPath != null) {
+					// 3) take a copy of the data flow of the called process (the called model is
+					// analysed only once)
+					final IGraph subgraph = CallActivitySummaryCache.getInstance().getGraph(
+							createSummaryKey(context, callActivityPath), calledElement,
+							() -> createSubDataFlowsFromCallActivity(context, fileScanner, calledElementHierarchy,
+									callActivityPath, scanner));
+
 					// look only on the called process!
-					if (subgraph.getProcessId().equals(calledElement)) {
+					if (subgraph != null) {
 						// 4) connect sub data flow with the main data flow
 						connectParallelGatewaysWithSubDataFlow(graph, inVariables, outVariables, parallelGateway1,
 								parallelGateway2, subgraph);
 					}
 				}
 			}
+		} finally {
+			// the hierarchy only holds the processes of the current call chain
+			calledElementHierarchy.remove(calledElement);
 		}
 	}
 
+	/**
+	 * Key of the summary of a called model, which depends on the strategy of
+	 * reading java delegates
+	 *
+	 * @param context
+	 *            JavaReaderContext
+	 * @param callActivityPath
+	 *            CallActivityPath
+	 * @return key
+	 */
+	private static String createSummaryKey(final JavaReaderContext context, final String callActivityPath) {
+		final JavaReader strategy = context.getJavaReadingStrategy();
+		return (strategy != null ? strategy.getClass().getName() : "") + "#" + callActivityPath;
+	}
+
 	/**
 	 * Add parallel gateways before and after a call activity. They are needed to
 	 * connect the called process with the main flow
@@ -542,8 +627,7 @@ public class ElementGraphBuilder {
 		final Collection<BpmnElement> vertices = subgraph.getVertices();
 		for (final BpmnElement vertex : vertices) {
 			// add _ before the element id to avoid name clashes
-			final BaseElement baseElement = vertex.getBaseElement();
-			baseElement.setId("_" + baseElement.getId());
+			vertex.setId("_" + vertex.getId());
 			// add node to the main data flow
 			graph.addVertex(vertex);
 		}
@@ -593,12 +677,14 @@ public class ElementGraphBuilder {
 	private Collection<IGraph> createSubDataFlowsFromCallActivity(final JavaReaderContext context,
 			FileScanner fileScanner, final Collection<String> calledElementHierarchy, final String callActivityPath,
 			final OuterProcessVariablesScanner scanner) {
-		// read called process
-		final BpmnModelInstance submodel = Bpmn.readModelFromFile(new File(callActivityPath));
+		// read called process (a copy owned by the summary of the called model)
+		final BpmnModelInstance submodel = BpmnModelRegistry.getInstance().getModelInstance(new File(callActivityPath));
 
-		// transform process into data flow
+		// transform process into data flow (the summary is shared by all callers, so the
+		// scanner of the called model is used)
 		final ElementGraphBuilder graphBuilder = new ElementGraphBuilder(decisionRefToPathMap, processIdToPathMap,
-				messageIdToVariables, processIdToVariables, bpmnScanner);
+				messageIdToVariables, processIdToVariables,
+				BpmnModelRegistry.createBpmnScanner(callActivityPath, submodel));
 		final Collection<IGraph> subgraphs = graphBuilder.createProcessGraph(context, fileScanner, submodel,
 				callActivityPath, calledElementHierarchy, scanner);
 		return subgraphs;
@@ -0,0 +1,194 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import javax.el.ELException;
+
+import org.camunda.bpm.engine.impl.juel.Builder;
+import org.camunda.bpm.engine.impl.juel.IdentifierNode;
+import org.camunda.bpm.engine.impl.juel.Tree;
+
+/**
+ * Caches the parsed form of JUEL expressions for a validation run.
+ *
+ * The same expressions (e.g. ${execution.getVariable('x')} or ${myBean}) occur
+ * in many elements. Each distinct expression is parsed once with the JUEL
+ * parser of the process engine, and its identifiers and the variables it
+ * writes or removes are shared by the readers and checkers.
+ */
+public class ExpressionCache {
+
+	// object names of method calls, e.g. "execution."
+	private static final Pattern OBJECT_NAME_PATTERN = Pattern.compile("[\\w]+\\.");
+
+	private static volatile ExpressionCache instance;
+
+	private final Map<String, ParsedExpression> expressions = new ConcurrentHashMap<String, ParsedExpression>();
+
+	private final Map<String, ParsedExpression> expressionsWithoutObjectNames = new ConcurrentHashMap<String, ParsedExpression>();
+
+	private final Map<String, VariableFacts> variableFacts = new ConcurrentHashMap<String, VariableFacts>();
+
+	private ExpressionCache() {
+	}
+
+	public static ExpressionCache getInstance() {
+		if (instance == null) {
+			synchronized (ExpressionCache.class) {
+				if (instance == null) {
+					instance = new ExpressionCache();
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Returns the identifiers of an expression, as it is written
+	 *
+	 * @param expression
+	 *            JUEL expression
+	 * @return identifiers in the order of the expression
+	 * @throws ELException
+	 *             Expression couldn't be parsed
+	 */
+	public List<String> getIdentifiers(final String expression) throws ELException {
+		return expressions.computeIfAbsent(expression, ExpressionCache::parse).getIdentifiers();
+	}
+
+	/**
+	 * Returns the identifiers of an expression after the object names have been
+	 * removed from method calls, otherwise the method arguments couldn't be found
+	 * (e.g. "x" for ${execution.getVariable(x)})
+	 *
+	 * @param expression
+	 *            JUEL expression
+	 * @return identifiers in the order of the expression
+	 * @throws ELException
+	 *             Expression couldn't be parsed
+	 */
+	public List<String> getIdentifiersWithoutObjectNames(final String expression) throws ELException {
+		return expressionsWithoutObjectNames
+				.computeIfAbsent(expression, key -> parse(OBJECT_NAME_PATTERN.matcher(key).replaceAll("")))
+				.getIdentifiers();
+	}
+
+	/**
+	 * Returns the names of the variables, which are written by an expression
+	 *
+	 * @param expression
+	 *            JUEL expression
+	 * @return variable names
+	 */
+	public Set<String> getWrittenVariables(final String expression) {
+		return variableFacts.computeIfAbsent(expression, VariableFacts::new).writtenVariables;
+	}
+
+	/**
+	 * Returns the names of the variables, which are removed by an expression
+	 *
+	 * @param expression
+	 *            JUEL expression
+	 * @return variable names
+	 */
+	public Set<String> getRemovedVariables(final String expression) {
+		return variableFacts.computeIfAbsent(expression, VariableFacts::new).removedVariables;
+	}
+
+	/**
+	 * Releases all parsed expressions
+	 */
+	public void clear() {
+		expressions.clear();
+		expressionsWithoutObjectNames.clear();
+		variableFacts.clear();
+	}
+
+	private static ParsedExpression parse(final String expression) {
+		try {
+			final Tree tree = new Builder().build(expression);
+			final List<String> identifiers = new ArrayList<String>();
+			for (final IdentifierNode node : tree.getIdentifierNodes()) {
+				identifiers.add(node.getName());
+			}
+			return new ParsedExpression(Collections.unmodifiableList(identifiers), null);
+		} catch (final RuntimeException e) {
+			// the failure is cached as well, so an invalid expression isn't parsed again
+			return new ParsedExpression(null, e);
+		}
+	}
+
+	/**
+	 * Identifiers of an expression or the reason why it couldn't be parsed
+	 */
+	private static final class ParsedExpression {
+
+		private final List<String> identifiers;
+
+		private final RuntimeException error;
+
+		private ParsedExpression(final List<String> identifiers, final RuntimeException error) {
+			this.identifiers = identifiers;
+			this.error = error;
+		}
+
+		private List<String> getIdentifiers() {
+			if (error != null) {
+				throw new ELException(error.getMessage(), error);
+			}
+			return identifiers;
+		}
+	}
+
+	/**
+	 * Variables written and removed by an expression
+	 */
+	private static final class VariableFacts {
+
+		private final Set<String> writtenVariables;
+
+		private final Set<String> removedVariables;
+
+		private VariableFacts(final String expression) {
+			writtenVariables = Collections.unmodifiableSet(ResourceFileReader.findWrittenVariableNames(expression));
+			removedVariables = Collections.unmodifiableSet(ResourceFileReader.findRemovedVariableNames(expression));
+		}
+	}
+}
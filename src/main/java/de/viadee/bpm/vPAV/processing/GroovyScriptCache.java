@@ -0,0 +1,240 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import org.codehaus.groovy.control.CompilationFailedException;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+import groovy.lang.Binding;
+import groovy.lang.GroovyShell;
+import groovy.lang.MissingPropertyException;
+import groovy.lang.Script;
+
+/**
+ * Caches the results of embedded groovy scripts for a validation run.
+ *
+ * Scripts are compiled with one shared GroovyShell and each distinct script
+ * (identified by the hash of its content) is evaluated once. Valid scripts as
+ * well as compilation errors and missing properties are cached.
+ *
+ * Results can be saved and loaded again in a later run
+ * (IncrementalValidation).
+ */
+public class GroovyScriptCache {
+
+	private static final Logger LOGGER = Logger.getLogger(GroovyScriptCache.class.getName());
+
+	private static final Type RESULTS_TYPE = new TypeToken<Map<String, Result>>() {
+	}.getType();
+
+	// name of the script class, as used by a new GroovyShell for its first script
+	private static final String SCRIPT_NAME = "Script1.groovy";
+
+	private static volatile GroovyScriptCache instance;
+
+	// results of the current run
+	private final Map<String, Result> results = new ConcurrentHashMap<String, Result>();
+
+	// results of former runs
+	private final Map<String, Result> loadedResults = new ConcurrentHashMap<String, Result>();
+
+	private GroovyShell shell;
+
+	private GroovyScriptCache() {
+	}
+
+	public static GroovyScriptCache getInstance() {
+		if (instance == null) {
+			synchronized (GroovyScriptCache.class) {
+				if (instance == null) {
+					instance = new GroovyScriptCache();
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Returns the result of a groovy script. The script is only evaluated, if no
+	 * result exists yet.
+	 *
+	 * @param scriptText
+	 *            groovy script
+	 * @return Result
+	 */
+	public Result evaluate(final String scriptText) {
+		final String hash = createHash(scriptText);
+
+		Result result = results.get(hash);
+		if (result != null) {
+			return result;
+		}
+
+		result = loadedResults.get(hash);
+		if (result == null) {
+			result = evaluateScript(scriptText);
+		}
+		final Result existing = results.putIfAbsent(hash, result);
+		return existing != null ? existing : result;
+	}
+
+	/**
+	 * Compiles the script with the shared shell and runs it with an own binding
+	 *
+	 * @param scriptText
+	 *            groovy script
+	 * @return Result
+	 */
+	private Result evaluateScript(final String scriptText) {
+		try {
+			final Script script = getShell().parse(scriptText, SCRIPT_NAME);
+			script.setBinding(new Binding());
+			script.run();
+			return new Result(Status.VALID, null);
+		} catch (final CompilationFailedException e) {
+			return new Result(Status.COMPILATION_FAILED, e.getMessage());
+		} catch (final MissingPropertyException e) {
+			return new Result(Status.MISSING_PROPERTY, e.getMessage());
+		}
+	}
+
+	private synchronized GroovyShell getShell() {
+		if (shell == null) {
+			shell = new GroovyShell();
+		}
+		return shell;
+	}
+
+	/**
+	 * Loads results saved by a former run
+	 *
+	 * @param file
+	 *            cache file
+	 */
+	public void load(final File file) {
+		if (!file.exists()) {
+			return;
+		}
+		try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+			final Map<String, Result> savedResults = new Gson().fromJson(reader, RESULTS_TYPE);
+			if (savedResults != null) {
+				loadedResults.putAll(savedResults);
+			}
+		} catch (final IOException | JsonParseException e) {
+			LOGGER.warning("Cached groovy scripts couldn't be read: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Saves all results, including loaded results which weren't used in this run
+	 *
+	 * @param file
+	 *            cache file
+	 */
+	public void save(final File file) {
+		final Map<String, Result> savedResults = new HashMap<String, Result>(loadedResults);
+		savedResults.putAll(results);
+
+		try {
+			Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+			try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+				new Gson().toJson(savedResults, RESULTS_TYPE, writer);
+			}
+		} catch (final IOException e) {
+			LOGGER.warning("Groovy scripts couldn't be cached: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Releases all results and the classes compiled by the shared shell
+	 */
+	public synchronized void clear() {
+		results.clear();
+		loadedResults.clear();
+		shell = null;
+	}
+
+	private static String createHash(final String scriptText) {
+		try {
+			final MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+			return new BigInteger(1, messageDigest.digest(scriptText.getBytes(StandardCharsets.UTF_8)))
+					.toString(16);
+		} catch (final NoSuchAlgorithmException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	public enum Status {
+		VALID, COMPILATION_FAILED, MISSING_PROPERTY
+	}
+
+	/**
+	 * Outcome of the evaluation of a groovy script
+	 */
+	public static class Result {
+
+		private Status status;
+
+		private String message;
+
+		Result(final Status status, final String message) {
+			this.status = status;
+			this.message = message;
+		}
+
+		public Status getStatus() {
+			return status;
+		}
+
+		public String getMessage() {
+			return message;
+		}
+	}
+}
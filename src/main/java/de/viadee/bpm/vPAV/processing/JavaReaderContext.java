@@ -34,6 +34,7 @@ package de.viadee.bpm.vPAV.processing;
 import java.util.*;
 import de.viadee.bpm.vPAV.FileScanner;
 import de.viadee.bpm.vPAV.OuterProcessVariablesScanner;
+import de.viadee.bpm.vPAV.ValidationMetrics;
 import de.viadee.bpm.vPAV.processing.model.data.BpmnElement;
 import de.viadee.bpm.vPAV.processing.model.data.ElementChapter;
 import de.viadee.bpm.vPAV.processing.model.data.KnownElementFieldType;
@@ -47,13 +48,24 @@ public class JavaReaderContext {
         this.javaReaderStrategy = readingStrategy;
     }
 
+    public JavaReader getJavaReadingStrategy() {
+        return javaReaderStrategy;
+    }
+
     public LinkedHashMap<String, ProcessVariableOperation> readJavaDelegate(final FileScanner fileScanner, final String classFile, final BpmnElement element,
             final ElementChapter chapter, final KnownElementFieldType fieldType, final String scopeId) {
-        return javaReaderStrategy.getVariablesFromJavaDelegate(fileScanner, classFile, element, chapter, fieldType, scopeId);
+        try (ValidationMetrics.Measurement measurement = ValidationMetrics.getInstance()
+                .start(ValidationMetrics.DELEGATE, classFile)) {
+            return javaReaderStrategy.getVariablesFromJavaDelegate(fileScanner, classFile, element, chapter, fieldType,
+                    scopeId);
+        }
     }
     
     public LinkedHashMap<String, ProcessVariableOperation> readClass(final String className, final OuterProcessVariablesScanner scanner, final BpmnElement element, final String resourceFilePath){
-    	return javaReaderStrategy.getVariablesFromClass(className, scanner, element, resourceFilePath);
+        try (ValidationMetrics.Measurement measurement = ValidationMetrics.getInstance()
+                .start(ValidationMetrics.DELEGATE, className)) {
+            return javaReaderStrategy.getVariablesFromClass(className, scanner, element, resourceFilePath);
+        }
     }
 
     
@@ -31,6 +31,7 @@
  */
 package de.viadee.bpm.vPAV.processing;
 
+import java.io.IOException;
 import java.util.LinkedHashMap;
 import java.util.logging.Logger;
 
@@ -70,16 +71,32 @@ public class JavaReaderRegex implements JavaReader {
 	public LinkedHashMap<String, ProcessVariableOperation> getVariablesFromJavaDelegate(final FileScanner fileScanner,
 			final String classFile, final BpmnElement element, final ElementChapter chapter,
 			final KnownElementFieldType fieldType, final String scopeId) {
-		// convert package format in a concrete path to the java class (.java)
-		String filePath = "";
+		final LinkedHashMap<String, ProcessVariableOperation> variables = new LinkedHashMap<String, ProcessVariableOperation>();
 		if (classFile != null && classFile.trim().length() > 0) {
-			filePath = classFile.replaceAll("\\.", "/") + ".java";
+			// convert package format in a concrete path to the java class (.java)
+			final String filePath = classFile.replaceAll("\\.", "/") + ".java";
+
+			// the class is read once and rebound to further elements
+			variables.putAll(DelegateSummaryCache.getInstance().getVariables(classFile, null,
+					() -> getContentHash(filePath), element, chapter, fieldType, scopeId,
+					() -> ResourceFileReader.readResourceFile(filePath, element, chapter, fieldType, scopeId)));
 		}
-		final LinkedHashMap<String, ProcessVariableOperation> variables = ResourceFileReader.readResourceFile(filePath,
-				element, chapter, fieldType, scopeId);
 		return variables;
 	}
 
+	/**
+	 * Hashes the source, which is actually analysed. A source, which can't be
+	 * read, gets no hash, so its summary isn't saved.
+	 */
+	private String getContentHash(final String filePath) {
+		try {
+			return SourceFileCache.getInstance().getContentHash(filePath);
+		} catch (final IOException e) {
+			LOGGER.warning("Class " + filePath + " couldn't be hashed: " + e.getMessage());
+			return null;
+		}
+	}
+
 	/**
 	 *
 	 * Unused implementation
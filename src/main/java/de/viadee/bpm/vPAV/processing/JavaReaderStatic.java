@@ -36,6 +36,7 @@ import java.util.logging.Logger;
 
 import de.viadee.bpm.vPAV.FileScanner;
 import de.viadee.bpm.vPAV.OuterProcessVariablesScanner;
+import de.viadee.bpm.vPAV.events.ValidatorEvents;
 import de.viadee.bpm.vPAV.processing.model.data.Anomaly;
 import de.viadee.bpm.vPAV.processing.model.data.AnomalyContainer;
 import de.viadee.bpm.vPAV.processing.model.data.BpmnElement;
@@ -47,11 +48,8 @@ import de.viadee.bpm.vPAV.processing.model.data.ProcessVariableOperation;
 import de.viadee.bpm.vPAV.processing.model.data.VariableBlock;
 import de.viadee.bpm.vPAV.processing.model.data.VariableOperation;
 import soot.Body;
-import soot.G;
-import soot.PackManager;
 import soot.PatchingChain;
 import soot.RefType;
-import soot.Scene;
 import soot.SootClass;
 import soot.SootMethod;
 import soot.Type;
@@ -64,7 +62,6 @@ import soot.jimple.internal.JInterfaceInvokeExpr;
 import soot.jimple.internal.JVirtualInvokeExpr;
 import soot.jimple.toolkits.callgraph.CallGraph;
 import soot.jimple.toolkits.callgraph.Edge;
-import soot.options.Options;
 import soot.toolkits.graph.Block;
 import soot.toolkits.graph.BlockGraph;
 import soot.toolkits.graph.ClassicCompleteBlockGraph;
@@ -103,20 +100,19 @@ public class JavaReaderStatic implements JavaReader {
 
 		if (classFile != null && classFile.trim().length() > 0) {
 
-			final String sootPath = FileScanner.getSootPath();
-
-			System.setProperty("soot.class.path", sootPath);
-
 			final Set<String> classPaths = fileScanner.getJavaResourcesFileInputStream();
-			final ArrayList<String> delegateMethods = new ArrayList<>();
-			delegateMethods.add("execute");
-			delegateMethods.add("notify");
-			delegateMethods.add("mapInputVariables");
-			delegateMethods.add("mapOutputVariables");
-
-			for (String delegateMethodName : delegateMethods) {
-				variables.putAll(classFetcher(classPaths, classFile, delegateMethodName, classFile, element, chapter,
-						fieldType, scopeId));
+
+			// each delegate method is analysed once and rebound to further elements
+			for (String delegateMethodName : StaticAnalysisSession.DELEGATE_METHODS) {
+				// the analysis follows further classes, so summaries aren't kept beyond the run
+				variables.putAll(DelegateSummaryCache.getInstance().getVariables(classFile, delegateMethodName,
+						null, element, chapter, fieldType, scopeId, () -> {
+							// Soot keeps its state in global singletons, analyses must not run concurrently
+							synchronized (StaticAnalysisSession.getInstance()) {
+								return classFetcher(classPaths, classFile, delegateMethodName, classFile, element,
+										chapter, fieldType, scopeId);
+							}
+						}));
 			}
 		}
 		return variables;
@@ -142,22 +138,16 @@ public class JavaReaderStatic implements JavaReader {
 		final LinkedHashMap<String, ProcessVariableOperation> initialOperations = new LinkedHashMap<>();
 
 		if (className != null && className.trim().length() > 0) {
-			final String sootPath = FileScanner.getSootPath();
-			System.setProperty("soot.class.path", sootPath);
-
 			className = cleanString(className, true);
 
-			Options.v().set_whole_program(true);
-			Options.v().set_allow_phantom_refs(true);
-
-			SootClass sootClass = Scene.v().forceResolve(className, SootClass.SIGNATURES);
+			synchronized (StaticAnalysisSession.getInstance()) {
+				SootClass sootClass = StaticAnalysisSession.getInstance().getSootClass(className);
 
-			if (sootClass != null) {
-				sootClass.setApplicationClass();
-				Scene.v().loadNecessaryClasses();
-				for (SootMethod method : sootClass.getMethods()) {
-					final Body body = method.retrieveActiveBody();
-					initialOperations.putAll(checkWriteAccess(body, scanner, element, resourceFilePath));
+				if (sootClass != null) {
+					for (SootMethod method : sootClass.getMethods()) {
+						final Body body = method.retrieveActiveBody();
+						initialOperations.putAll(checkWriteAccess(body, scanner, element, resourceFilePath));
+					}
 				}
 			}
 		}
@@ -318,16 +308,10 @@ public class JavaReaderStatic implements JavaReader {
 		if (!visitedClasses.contains(className)) {
 			className = cleanString(className, true);
 
-			Options.v().set_whole_program(true);
-			Options.v().set_allow_phantom_refs(true);
-
-			SootClass sootClass = Scene.v().forceResolve(className, SootClass.SIGNATURES);
+			SootClass sootClass = StaticAnalysisSession.getInstance().getSootClass(className);
 
 			if (sootClass != null) {
 
-				sootClass.setApplicationClass();
-				Scene.v().loadNecessaryClasses();
-
 				// Retrieve the method and its body based on the used interface
 				List<Type> parameterTypes = new ArrayList<Type>();
 				RefType delegateExecutionType = RefType.v("org.camunda.bpm.engine.delegate.DelegateExecution");
@@ -523,13 +507,12 @@ public class JavaReaderStatic implements JavaReader {
 
 		BlockGraph graph = new ClassicCompleteBlockGraph(body);
 
-		// Prepare call graph for inter-procedural recursive call
-		List<SootMethod> entryPoints = new ArrayList<SootMethod>();
-		entryPoints.add(method);
-		Scene.v().setEntryPoints(entryPoints);
-
-		PackManager.v().getPack("cg").apply();
-		CallGraph cg = Scene.v().getCallGraph();
+		// Call graph for inter-procedural recursive call, shared by all analysed methods
+		final CallGraph cg;
+		try (ValidatorEvents.Scope scope = ValidatorEvents.beginCallGraph(element.getProcessdefinition(),
+				element.getBaseElement().getId(), method.getSignature())) {
+			cg = StaticAnalysisSession.getInstance().getCallGraph(method);
+		}
 
 		final List<Block> graphHeads = graph.getHeads();
 		final List<Block> graphTails = graph.getTails();
@@ -666,7 +649,6 @@ public class JavaReaderStatic implements JavaReader {
 					}
 
 					if (classPaths.contains(className) || className.contains("$")) {
-						G.reset();
 						classFetcherRecursive(classPaths, className, methodName, className, element, chapter, fieldType,
 								scopeId, outSet, variableBlock, visitedClasses);
 
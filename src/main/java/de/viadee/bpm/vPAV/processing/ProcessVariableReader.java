@@ -31,7 +31,6 @@
  */
 package de.viadee.bpm.vPAV.processing;
 
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -39,15 +38,10 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import javax.el.ELException;
 
-import org.camunda.bpm.engine.impl.juel.Builder;
-import org.camunda.bpm.engine.impl.juel.IdentifierNode;
-import org.camunda.bpm.engine.impl.juel.Tree;
-import org.camunda.bpm.engine.impl.juel.TreeBuilder;
 import org.camunda.bpm.model.bpmn.Query;
 import org.camunda.bpm.model.bpmn.impl.BpmnModelConstants;
 import org.camunda.bpm.model.bpmn.instance.BaseElement;
@@ -72,15 +66,10 @@ import org.camunda.bpm.model.bpmn.instance.camunda.CamundaIn;
 import org.camunda.bpm.model.bpmn.instance.camunda.CamundaOut;
 import org.camunda.bpm.model.bpmn.instance.camunda.CamundaScript;
 import org.camunda.bpm.model.bpmn.instance.camunda.CamundaTaskListener;
-import org.camunda.bpm.model.dmn.Dmn;
-import org.camunda.bpm.model.dmn.DmnModelInstance;
-import org.camunda.bpm.model.dmn.instance.Decision;
-import org.camunda.bpm.model.dmn.instance.InputExpression;
-import org.camunda.bpm.model.dmn.instance.Output;
-import org.camunda.bpm.model.dmn.instance.Text;
 import org.camunda.bpm.model.xml.instance.ModelElementInstance;
 
 import de.viadee.bpm.vPAV.BpmnScanner;
+import de.viadee.bpm.vPAV.DmnModelRegistry;
 import de.viadee.bpm.vPAV.FileScanner;
 import de.viadee.bpm.vPAV.RuntimeConfig;
 import de.viadee.bpm.vPAV.constants.BpmnConstants;
@@ -103,6 +92,9 @@ public final class ProcessVariableReader {
 
 	public static final Logger LOGGER = Logger.getLogger(ProcessVariableReader.class.getName());
 
+	// expressions consisting of a chain of method calls, which the TreeBuilder can't parse
+	private static final Pattern METHOD_CHAIN_PATTERN = Pattern.compile("\\$\\{(\\w)*\\(.*\\)\\}");
+
 	public ProcessVariableReader(final Map<String, String> decisionRefToPathMap, BpmnScanner scanner) {
 		this.decisionRefToPathMap = decisionRefToPathMap;
 		this.bpmnScanner = scanner;
@@ -822,21 +814,14 @@ public final class ProcessVariableReader {
 		final Map<String, ProcessVariableOperation> variables = new HashMap<String, ProcessVariableOperation>();
 
 		if (fileName != null && fileName.trim().length() > 0) {
-			final InputStream resource = RuntimeConfig.getInstance().getClassLoader().getResourceAsStream(fileName);
-			if (resource != null) {
-				// parse dmn model
-				final DmnModelInstance modelInstance = Dmn.readModelFromStream(resource);
-				final Decision decision = modelInstance.getModelElementById(decisionId);
-				final Collection<InputExpression> inputExpressions = decision.getModelInstance()
-						.getModelElementsByType(InputExpression.class);
-				for (final InputExpression inputExpression : inputExpressions) {
-					final Text variable = inputExpression.getText();
-					variables.put(variable.getTextContent(), new ProcessVariableOperation(variable.getTextContent(),
-							element, chapter, fieldType, fileName, VariableOperation.READ, scopeId));
+			final DmnModelRegistry.DmnModel model = DmnModelRegistry.getInstance().getModel(fileName);
+			final DmnModelRegistry.DecisionFacts decision = model != null ? model.getDecision(decisionId) : null;
+			if (decision != null) {
+				for (final String variable : decision.getInputExpressions()) {
+					variables.put(variable, new ProcessVariableOperation(variable, element, chapter, fieldType,
+							fileName, VariableOperation.READ, scopeId));
 				}
-				final Collection<Output> outputs = decision.getModelInstance().getModelElementsByType(Output.class);
-				for (final Output output : outputs) {
-					final String variable = output.getName();
+				for (final String variable : decision.getOutputNames()) {
 					variables.put(variable, new ProcessVariableOperation(variable, element, chapter, fieldType,
 							fileName, VariableOperation.WRITE, scopeId));
 				}
@@ -872,41 +857,36 @@ public final class ProcessVariableReader {
 
 		// HOTFIX: Catch pattern like below to avoid crash of TreeBuilder
 		// ${dateTime().plusWeeks(1).toDate()}
-		final Pattern pattern = Pattern.compile("\\$\\{(\\w)*\\(.*\\)\\}");
-
-		Matcher matcher = pattern.matcher(expression);
-
-		if (matcher.matches()) {
+		if (METHOD_CHAIN_PATTERN.matcher(expression).matches()) {
 			return variables;
 		}
 
+		final ExpressionCache expressionCache = ExpressionCache.getInstance();
 		try {
-			// remove object name from method calls, otherwise the method arguments could
-			// not be found
-			final String filteredExpression = expression.replaceAll("[\\w]+\\.", "");
-			final TreeBuilder treeBuilder = new Builder();
-			final Tree tree = treeBuilder.build(filteredExpression);
-
-			final Iterable<IdentifierNode> identifierNodes = tree.getIdentifierNodes();
-			for (final IdentifierNode node : identifierNodes) {
+			// the expression is parsed once and shared with further elements
+			for (final String identifier : expressionCache.getIdentifiersWithoutObjectNames(expression)) {
 				// checks, if found variable is a bean
-				final String className = isBean(node.getName());
+				final String className = isBean(identifier);
 				if (className != null) {
 					// read variables in class file (bean)
 					variables.putAll(
 							context.readJavaDelegate(fileScanner, className, element, chapter, fieldType, scopeId));
 				} else {
 					// save variable
-					variables.put(node.getName(), new ProcessVariableOperation(node.getName(), element, chapter,
-							fieldType, null, VariableOperation.READ, scopeId));
+					variables.put(identifier, new ProcessVariableOperation(identifier, element, chapter, fieldType,
+							null, VariableOperation.READ, scopeId));
 				}
 			}
 			// extract written variables
-			variables.putAll(ResourceFileReader.searchWrittenProcessVariablesInCode(element, chapter, fieldType, null,
-					scopeId, expression));
+			for (final String name : expressionCache.getWrittenVariables(expression)) {
+				variables.put(name, new ProcessVariableOperation(name, element, chapter, fieldType, null,
+						VariableOperation.WRITE, scopeId));
+			}
 			// extract deleted variables
-			variables.putAll(ResourceFileReader.searchRemovedProcessVariablesInCode(element, chapter, fieldType, null,
-					scopeId, expression));
+			for (final String name : expressionCache.getRemovedVariables(expression)) {
+				variables.put(name, new ProcessVariableOperation(name, element, chapter, fieldType, null,
+						VariableOperation.DELETE, scopeId));
+			}
 		} catch (final ELException e) {
 			throw new ProcessingException("EL expression " + expression + " in " + element.getProcessdefinition()
 					+ ", element ID: " + element.getBaseElement().getId() + ", Type: " + fieldType.getDescription()
@@ -928,17 +908,10 @@ public final class ProcessVariableReader {
 	private ArrayList<String> checkExpressionForReadVariable(final String expression, final BpmnElement element) {
 		final ArrayList<String> variables = new ArrayList<String>();
 		try {
-			// remove object name from method calls, otherwise the method arguments could
-			// not be found
-			final String filteredExpression = expression.replaceAll("[\\w]+\\.", "");
-			final TreeBuilder treeBuilder = new Builder();
-			final Tree tree = treeBuilder.build(filteredExpression);
-
-			final Iterable<IdentifierNode> identifierNodes = tree.getIdentifierNodes();
-			for (final IdentifierNode node : identifierNodes) {
+			for (final String identifier : ExpressionCache.getInstance().getIdentifiersWithoutObjectNames(expression)) {
 				// checks, if found variable is a bean
-				if (isBean(node.getName()) == null) {
-					variables.add(node.getName());
+				if (isBean(identifier) == null) {
+					variables.add(identifier);
 				}
 			}
 		} catch (final ELException e) {
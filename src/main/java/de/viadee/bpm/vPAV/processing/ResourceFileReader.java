@@ -31,20 +31,14 @@
  */
 package de.viadee.bpm.vPAV.processing;
 
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import org.apache.commons.io.IOUtils;
-import org.apache.tools.ant.DirectoryScanner;
-import org.apache.tools.ant.types.Resource;
-
-import de.viadee.bpm.vPAV.RuntimeConfig;
-import de.viadee.bpm.vPAV.constants.ConfigConstants;
 import de.viadee.bpm.vPAV.processing.model.data.BpmnElement;
 import de.viadee.bpm.vPAV.processing.model.data.ElementChapter;
 import de.viadee.bpm.vPAV.processing.model.data.KnownElementFieldType;
@@ -55,6 +49,33 @@ public class ResourceFileReader {
 
 	public static final Logger LOGGER = Logger.getLogger(ResourceFileReader.class.getName());
 
+	// special characters, which are removed from code
+	private static final Pattern FILTER_PATTERN = Pattern.compile("'|\"| ");
+
+	private static final Pattern COMMENT_PATTERN = Pattern.compile("//.*");
+
+	private static final Pattern IMPORT_PATTERN = Pattern.compile("import .*");
+
+	private static final Pattern PACKAGE_PATTERN = Pattern.compile("package .*");
+
+	private static final Pattern GET_VARIABLE_RUNTIME_SERVICE_PATTERN = Pattern
+			.compile("\\.getVariable\\((.*),(\\w+)\\)");
+
+	private static final Pattern GET_VARIABLE_DELEGATE_EXECUTION_PATTERN = Pattern
+			.compile("\\.getVariable\\((\\w+)\\)");
+
+	private static final Pattern SET_VARIABLE_RUNTIME_SERVICE_PATTERN = Pattern
+			.compile("\\.setVariable\\((.*),(\\w+),(.*)\\)");
+
+	private static final Pattern SET_VARIABLE_DELEGATE_EXECUTION_PATTERN = Pattern
+			.compile("\\.setVariable\\((\\w+),(.*)\\)");
+
+	private static final Pattern REMOVE_VARIABLE_RUNTIME_SERVICE_PATTERN = Pattern
+			.compile("\\.removeVariable\\((.*),(\\w+)\\)");
+
+	private static final Pattern REMOVE_VARIABLE_DELEGATE_EXECUTION_PATTERN = Pattern
+			.compile("\\.removeVariable\\((\\w+)\\)");
+
 	/**
 	 * Reads a resource file from class path
 	 *
@@ -76,27 +97,8 @@ public class ResourceFileReader {
 		LinkedHashMap<String, ProcessVariableOperation> variables = new LinkedHashMap<String, ProcessVariableOperation>();
 		if (fileName != null && fileName.trim().length() > 0) {
 			try {
-				final DirectoryScanner directoryScanner = new DirectoryScanner();
-
-				if (RuntimeConfig.getInstance().isTest()) {
-					if (fileName.endsWith(".java"))
-						directoryScanner.setBasedir(ConfigConstants.TEST_JAVAPATH);
-					else
-						directoryScanner.setBasedir(ConfigConstants.TEST_BASEPATH);
-				} else {
-					if (fileName.endsWith(".java"))
-						directoryScanner.setBasedir(ConfigConstants.JAVAPATH);
-					else
-						directoryScanner.setBasedir(ConfigConstants.BASEPATH);
-				}
-
-				Resource s = directoryScanner.getResource(fileName);
-
-				if (s.isExists()) {
-
-					InputStreamReader resource = new InputStreamReader(new FileInputStream(s.toString()));
-
-					final String methodBody = IOUtils.toString(resource);
+				final String methodBody = SourceFileCache.getInstance().getContent(fileName);
+				if (methodBody != null) {
 					variables = searchProcessVariablesInCode(element, chapter, fieldType, fileName, scopeId,
 							methodBody);
 				} else {
@@ -132,10 +134,12 @@ public class ResourceFileReader {
 			final BpmnElement element, final ElementChapter chapter, final KnownElementFieldType fieldType,
 			final String fileName, final String scopeId, final String code) {
 
+		// the code is cleaned once for all searches
+		final String cleanedCode = cleanCode(code);
 		final LinkedHashMap<String, ProcessVariableOperation> variables = new LinkedHashMap<String, ProcessVariableOperation>();
-		variables.putAll(searchReadProcessVariablesInCode(element, chapter, fieldType, fileName, scopeId, code));
-		variables.putAll(searchWrittenProcessVariablesInCode(element, chapter, fieldType, fileName, scopeId, code));
-		variables.putAll(searchRemovedProcessVariablesInCode(element, chapter, fieldType, fileName, scopeId, code));
+		variables.putAll(findReadProcessVariables(element, chapter, fieldType, fileName, scopeId, cleanedCode));
+		variables.putAll(findWrittenProcessVariables(element, chapter, fieldType, fileName, scopeId, cleanedCode));
+		variables.putAll(findRemovedProcessVariables(element, chapter, fieldType, fileName, scopeId, cleanedCode));
 
 		return variables;
 	}
@@ -160,20 +164,17 @@ public class ResourceFileReader {
 	public static LinkedHashMap<String, ProcessVariableOperation> searchReadProcessVariablesInCode(
 			final BpmnElement element, final ElementChapter chapter, final KnownElementFieldType fieldType,
 			final String fileName, final String scopeId, final String code) {
+		return findReadProcessVariables(element, chapter, fieldType, fileName, scopeId, cleanCode(code));
+	}
 
-		final LinkedHashMap<String, ProcessVariableOperation> variables = new LinkedHashMap<String, ProcessVariableOperation>();
+	private static LinkedHashMap<String, ProcessVariableOperation> findReadProcessVariables(final BpmnElement element,
+			final ElementChapter chapter, final KnownElementFieldType fieldType, final String fileName,
+			final String scopeId, final String cleanedCode) {
 
-		// remove special characters from code
-		final String FILTER_PATTERN = "'|\"| ";
-		final String COMMENT_PATTERN = "//.*";
-		final String IMPORT_PATTERN = "import .*";
-		final String PACKAGE_PATTERN = "package .*";
-		final String cleanedCode = code.replaceAll(COMMENT_PATTERN, "").replaceAll(IMPORT_PATTERN, "")
-				.replaceAll(PACKAGE_PATTERN, "").replaceAll(FILTER_PATTERN, "");
+		final LinkedHashMap<String, ProcessVariableOperation> variables = new LinkedHashMap<String, ProcessVariableOperation>();
 
 		// search locations where variables are read
-		final Pattern getVariablePatternRuntimeService = Pattern.compile("\\.getVariable\\((.*),(\\w+)\\)");
-		final Matcher matcherRuntimeService = getVariablePatternRuntimeService.matcher(cleanedCode);
+		final Matcher matcherRuntimeService = GET_VARIABLE_RUNTIME_SERVICE_PATTERN.matcher(cleanedCode);
 
 		while (matcherRuntimeService.find()) {
 			final String match = matcherRuntimeService.group(2);
@@ -181,8 +182,7 @@ public class ResourceFileReader {
 					VariableOperation.READ, scopeId));
 		}
 
-		final Pattern getVariablePatternDelegateExecution = Pattern.compile("\\.getVariable\\((\\w+)\\)");
-		final Matcher matcherDelegateExecution = getVariablePatternDelegateExecution.matcher(cleanedCode);
+		final Matcher matcherDelegateExecution = GET_VARIABLE_DELEGATE_EXECUTION_PATTERN.matcher(cleanedCode);
 
 		while (matcherDelegateExecution.find()) {
 			final String match = matcherDelegateExecution.group(1);
@@ -213,35 +213,48 @@ public class ResourceFileReader {
 	public static LinkedHashMap<String, ProcessVariableOperation> searchWrittenProcessVariablesInCode(
 			final BpmnElement element, final ElementChapter chapter, final KnownElementFieldType fieldType,
 			final String fileName, final String scopeId, final String code) {
+		return findWrittenProcessVariables(element, chapter, fieldType, fileName, scopeId, cleanCode(code));
+	}
+
+	private static LinkedHashMap<String, ProcessVariableOperation> findWrittenProcessVariables(final BpmnElement element,
+			final ElementChapter chapter, final KnownElementFieldType fieldType, final String fileName,
+			final String scopeId, final String cleanedCode) {
 
 		final LinkedHashMap<String, ProcessVariableOperation> variables = new LinkedHashMap<String, ProcessVariableOperation>();
+		for (final String name : writtenVariableNames(cleanedCode)) {
+			variables.put(name, new ProcessVariableOperation(name, element, chapter, fieldType, fileName,
+					VariableOperation.WRITE, scopeId));
+		}
+		return variables;
+	}
 
-		// remove special characters from code
-		final String FILTER_PATTERN = "'|\"| ";
-		final String COMMENT_PATTERN = "//.*";
-		final String IMPORT_PATTERN = "import .*";
-		final String PACKAGE_PATTERN = "package .*";
-		final String cleanedCode = code.replaceAll(COMMENT_PATTERN, "").replaceAll(IMPORT_PATTERN, "")
-				.replaceAll(PACKAGE_PATTERN, "").replaceAll(FILTER_PATTERN, "");
+	/**
+	 * Search names of written process variables
+	 *
+	 * @param code
+	 *            source code or expression
+	 * @return names in the order of their first occurrence
+	 */
+	static Set<String> findWrittenVariableNames(final String code) {
+		return writtenVariableNames(cleanCode(code));
+	}
+
+	private static Set<String> writtenVariableNames(final String cleanedCode) {
+		final Set<String> names = new LinkedHashSet<String>();
 
 		// search locations where variables are written
-		final Pattern setVariablePatternRuntimeService = Pattern.compile("\\.setVariable\\((.*),(\\w+),(.*)\\)");
-		final Matcher matcherPatternRuntimeService = setVariablePatternRuntimeService.matcher(cleanedCode);
+		final Matcher matcherPatternRuntimeService = SET_VARIABLE_RUNTIME_SERVICE_PATTERN.matcher(cleanedCode);
 		while (matcherPatternRuntimeService.find()) {
-			final String match = matcherPatternRuntimeService.group(2);
-			variables.put(match, new ProcessVariableOperation(match, element, chapter, fieldType, fileName,
-					VariableOperation.WRITE, scopeId));
+			names.add(matcherPatternRuntimeService.group(2));
 		}
 
-		final Pattern setVariablePatternDelegateExecution = Pattern.compile("\\.setVariable\\((\\w+),(.*)\\)");
-		final Matcher matcherPatternDelegateExecution = setVariablePatternDelegateExecution.matcher(cleanedCode);
+		final Matcher matcherPatternDelegateExecution = SET_VARIABLE_DELEGATE_EXECUTION_PATTERN
+				.matcher(cleanedCode);
 		while (matcherPatternDelegateExecution.find()) {
-			final String match = matcherPatternDelegateExecution.group(1);
-			variables.put(match, new ProcessVariableOperation(match, element, chapter, fieldType, fileName,
-					VariableOperation.WRITE, scopeId));
+			names.add(matcherPatternDelegateExecution.group(1));
 		}
 
-		return variables;
+		return names;
 	}
 
 	/**
@@ -264,37 +277,64 @@ public class ResourceFileReader {
 	public static LinkedHashMap<String, ProcessVariableOperation> searchRemovedProcessVariablesInCode(
 			final BpmnElement element, final ElementChapter chapter, final KnownElementFieldType fieldType,
 			final String fileName, final String scopeId, final String code) {
+		return findRemovedProcessVariables(element, chapter, fieldType, fileName, scopeId, cleanCode(code));
+	}
+
+	private static LinkedHashMap<String, ProcessVariableOperation> findRemovedProcessVariables(final BpmnElement element,
+			final ElementChapter chapter, final KnownElementFieldType fieldType, final String fileName,
+			final String scopeId, final String cleanedCode) {
 
 		final LinkedHashMap<String, ProcessVariableOperation> variables = new LinkedHashMap<String, ProcessVariableOperation>();
+		for (final String name : removedVariableNames(cleanedCode)) {
+			variables.put(name, new ProcessVariableOperation(name, element, chapter, fieldType, fileName,
+					VariableOperation.DELETE, scopeId));
+		}
+		return variables;
+	}
 
-		// remove special characters from code
-		final String FILTER_PATTERN = "'|\"| ";
-		final String COMMENT_PATTERN = "//.*";
-		final String IMPORT_PATTERN = "import .*";
-		final String PACKAGE_PATTERN = "package .*";
-		final String cleanedCode = code.replaceAll(COMMENT_PATTERN, "").replaceAll(IMPORT_PATTERN, "")
-				.replaceAll(PACKAGE_PATTERN, "").replaceAll(FILTER_PATTERN, "");
+	/**
+	 * Search names of removed process variables
+	 *
+	 * @param code
+	 *            source code or expression
+	 * @return names in the order of their first occurrence
+	 */
+	static Set<String> findRemovedVariableNames(final String code) {
+		return removedVariableNames(cleanCode(code));
+	}
+
+	private static Set<String> removedVariableNames(final String cleanedCode) {
+		final Set<String> names = new LinkedHashSet<String>();
 
 		// search locations where variables are removed
-		final Pattern removeVariablePatternRuntimeService = Pattern.compile("\\.removeVariable\\((.*),(\\w+)\\)");
-		final Matcher matcherRuntimeService = removeVariablePatternRuntimeService.matcher(cleanedCode);
+		final Matcher matcherRuntimeService = REMOVE_VARIABLE_RUNTIME_SERVICE_PATTERN.matcher(cleanedCode);
 
 		while (matcherRuntimeService.find()) {
-			final String match = matcherRuntimeService.group(2);
-			variables.put(match, new ProcessVariableOperation(match, element, chapter, fieldType, fileName,
-					VariableOperation.DELETE, scopeId));
+			names.add(matcherRuntimeService.group(2));
 		}
 
-		final Pattern removeVariablePatternDelegateExecution = Pattern.compile("\\.removeVariable\\((\\w+)\\)");
-		final Matcher matcherDelegateExecution = removeVariablePatternDelegateExecution.matcher(cleanedCode);
+		final Matcher matcherDelegateExecution = REMOVE_VARIABLE_DELEGATE_EXECUTION_PATTERN.matcher(cleanedCode);
 
 		while (matcherDelegateExecution.find()) {
-			final String match = matcherDelegateExecution.group(1);
-			variables.put(match, new ProcessVariableOperation(match, element, chapter, fieldType, fileName,
-					VariableOperation.DELETE, scopeId));
+			names.add(matcherDelegateExecution.group(1));
 		}
 
-		return variables;
+		return names;
+	}
+
+	/**
+	 * Removes comments, imports, the package declaration, quotes and blanks from
+	 * source code
+	 *
+	 * @param code
+	 *            source code
+	 * @return cleaned code
+	 */
+	private static String cleanCode(final String code) {
+		final String withoutComments = COMMENT_PATTERN.matcher(code).replaceAll("");
+		final String withoutImports = IMPORT_PATTERN.matcher(withoutComments).replaceAll("");
+		final String withoutPackage = PACKAGE_PATTERN.matcher(withoutImports).replaceAll("");
+		return FILTER_PATTERN.matcher(withoutPackage).replaceAll("");
 	}
 
 }
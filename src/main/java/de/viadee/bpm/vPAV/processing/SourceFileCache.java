@@ -0,0 +1,204 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import de.viadee.bpm.vPAV.RuntimeConfig;
+import de.viadee.bpm.vPAV.ValidationCache;
+import de.viadee.bpm.vPAV.constants.ConfigConstants;
+
+/**
+ * Caches the content of source files (java classes, scripts) for a validation
+ * run, so popular delegates are read from disk only once.
+ *
+ * The cache is bounded by the number of cached characters and evicts the least
+ * recently used files first. A cached file is read again, if it has been
+ * modified since. Large files are read through a memory mapping.
+ */
+public class SourceFileCache {
+
+	// upper bound of cached characters over all files
+	static final long MAX_CACHED_CHARS = 32L * 1024 * 1024;
+
+	static final long MAPPED_READ_THRESHOLD = 1024L * 1024;
+
+	private static volatile SourceFileCache instance;
+
+	// access ordered, the eldest entry is the least recently used one
+	private final LinkedHashMap<String, SourceFile> files = new LinkedHashMap<String, SourceFile>(16, 0.75f, true);
+
+	private long cachedChars;
+
+	private SourceFileCache() {
+	}
+
+	public static SourceFileCache getInstance() {
+		if (instance == null) {
+			synchronized (SourceFileCache.class) {
+				if (instance == null) {
+					instance = new SourceFileCache();
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Returns the content of a source file. Java files are resolved against the
+	 * java path, all other files against the resource path (or the test paths
+	 * during tests).
+	 *
+	 * @param fileName
+	 *            path of the file, relative to the java or resource path
+	 * @return content or null, if the file doesn't exist
+	 * @throws IOException
+	 *             File couldn't be read
+	 */
+	public String getContent(final String fileName) throws IOException {
+		final File file = resolve(fileName);
+		if (!file.isFile()) {
+			return null;
+		}
+		final String key = file.getPath();
+		final long lastModified = file.lastModified();
+		final long length = file.length();
+
+		synchronized (this) {
+			final SourceFile sourceFile = files.get(key);
+			if (sourceFile != null && sourceFile.lastModified == lastModified && sourceFile.length == length) {
+				return sourceFile.content;
+			}
+		}
+
+		final String content = read(file, length);
+		synchronized (this) {
+			final SourceFile replaced = files.put(key, new SourceFile(content, lastModified, length));
+			if (replaced != null) {
+				cachedChars -= replaced.content.length();
+			}
+			cachedChars += content.length();
+			evict();
+		}
+		return content;
+	}
+
+	/**
+	 * Returns the hash of the content, which {@link #getContent(String)} returns
+	 * for a source file. Results based on the content can be keyed with it.
+	 *
+	 * @param fileName
+	 *            path of the file, relative to the java or resource path
+	 * @return hash as hex string or null, if the file doesn't exist
+	 * @throws IOException
+	 *             File couldn't be read
+	 */
+	public String getContentHash(final String fileName) throws IOException {
+		final String content = getContent(fileName);
+		return content != null ? ValidationCache.createHash(content.getBytes(StandardCharsets.UTF_8)) : null;
+	}
+
+	/**
+	 * Releases all cached files
+	 */
+	public synchronized void clear() {
+		files.clear();
+		cachedChars = 0;
+	}
+
+	/**
+	 * Returns the number of cached characters
+	 *
+	 * @return cached characters
+	 */
+	synchronized long getCachedChars() {
+		return cachedChars;
+	}
+
+	private void evict() {
+		final Iterator<SourceFile> iterator = files.values().iterator();
+		while (cachedChars > MAX_CACHED_CHARS && iterator.hasNext()) {
+			cachedChars -= iterator.next().content.length();
+			iterator.remove();
+		}
+	}
+
+	private static File resolve(final String fileName) {
+		final boolean javaFile = fileName.endsWith(".java");
+		final String basePath;
+		if (RuntimeConfig.getInstance().isTest()) {
+			basePath = javaFile ? ConfigConstants.TEST_JAVAPATH : ConfigConstants.TEST_BASEPATH;
+		} else {
+			basePath = javaFile ? ConfigConstants.JAVAPATH : ConfigConstants.BASEPATH;
+		}
+		return new File(basePath, fileName);
+	}
+
+	/**
+	 * Reads a file with the default charset, like a reader without explicit
+	 * encoding does
+	 */
+	private static String read(final File file, final long length) throws IOException {
+		final Charset charset = Charset.defaultCharset();
+		if (length < MAPPED_READ_THRESHOLD) {
+			return new String(Files.readAllBytes(file.toPath()), charset);
+		}
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return charset.decode(buffer).toString();
+		}
+	}
+
+	private static final class SourceFile {
+
+		private final String content;
+
+		private final long lastModified;
+
+		private final long length;
+
+		private SourceFile(final String content, final long lastModified, final long length) {
+			this.content = content;
+			this.lastModified = lastModified;
+			this.length = length;
+		}
+	}
+}
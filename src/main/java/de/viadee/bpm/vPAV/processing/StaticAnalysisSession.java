@@ -0,0 +1,220 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import de.viadee.bpm.vPAV.FileScanner;
+import soot.G;
+import soot.PackManager;
+import soot.Scene;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.jimple.toolkits.callgraph.CallGraph;
+import soot.options.Options;
+
+/**
+ * Holds the Soot scene and the call graph of the static analysis for a whole
+ * validation run.
+ *
+ * The scene is set up once per soot path and classes are loaded on demand. The
+ * call graph is built once over the delegate methods of all registered delegate
+ * classes and only rebuilt, if a method is analysed which isn't reachable from
+ * the current entry points.
+ *
+ * Soot keeps its state in global singletons, so callers have to synchronize on
+ * the session while working with Soot objects.
+ */
+public class StaticAnalysisSession {
+
+	private static final Logger LOGGER = Logger.getLogger(StaticAnalysisSession.class.getName());
+
+	// methods of the camunda delegate interfaces, which are analysed for each class
+	public static final List<String> DELEGATE_METHODS = Collections
+			.unmodifiableList(Arrays.asList("execute", "notify", "mapInputVariables", "mapOutputVariables"));
+
+	private static volatile StaticAnalysisSession instance;
+
+	private String sootPath;
+
+	private final Set<String> delegateClasses = new LinkedHashSet<String>();
+
+	private final Set<String> resolvedClasses = new HashSet<String>();
+
+	private final Set<SootMethod> entryPoints = new LinkedHashSet<SootMethod>();
+
+	private CallGraph callGraph;
+
+	private int callGraphBuilds = 0;
+
+	private StaticAnalysisSession() {
+	}
+
+	public static StaticAnalysisSession getInstance() {
+		if (instance == null) {
+			synchronized (StaticAnalysisSession.class) {
+				if (instance == null) {
+					instance = new StaticAnalysisSession();
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Registers delegate classes referenced in the models. Their delegate methods
+	 * are entry points of the call graph, so it can be built once for all of them.
+	 *
+	 * @param classNames
+	 *            fully qualified names of delegate classes
+	 */
+	public synchronized void addDelegateClasses(final Collection<String> classNames) {
+		for (final String className : classNames) {
+			if (className != null && className.trim().length() > 0 && delegateClasses.add(className.trim())) {
+				// entry points changed
+				callGraph = null;
+			}
+		}
+	}
+
+	/**
+	 * Loads a class into the scene. The scene is set up on first use and again, if
+	 * the soot path has changed in the meantime.
+	 *
+	 * @param className
+	 *            fully qualified name of the class
+	 * @return Soot representation of the class
+	 */
+	public synchronized SootClass getSootClass(final String className) {
+		setUpScene();
+		return resolve(className);
+	}
+
+	/**
+	 * Returns the call graph containing the given method. The call graph is only
+	 * rebuilt, if the method isn't reachable from the current entry points.
+	 *
+	 * @param method
+	 *            Soot representation of the analysed method
+	 * @return call graph
+	 */
+	public synchronized CallGraph getCallGraph(final SootMethod method) {
+		setUpScene();
+
+		if (callGraph == null) {
+			for (final String delegateClass : delegateClasses) {
+				addEntryPoints(resolve(delegateClass));
+			}
+		} else if (!entryPoints.contains(method) && !Scene.v().getReachableMethods().contains(method)) {
+			callGraph = null;
+		}
+
+		if (callGraph == null) {
+			entryPoints.add(method);
+			Scene.v().setEntryPoints(new ArrayList<SootMethod>(entryPoints));
+			PackManager.v().getPack("cg").apply();
+			callGraph = Scene.v().getCallGraph();
+			callGraphBuilds++;
+			LOGGER.fine("Call graph built for " + entryPoints.size() + " entry points");
+		}
+		return callGraph;
+	}
+
+	/**
+	 * Releases the scene and the call graph
+	 */
+	public synchronized void reset() {
+		if (sootPath != null) {
+			G.reset();
+		}
+		sootPath = null;
+		delegateClasses.clear();
+		resolvedClasses.clear();
+		entryPoints.clear();
+		callGraph = null;
+		callGraphBuilds = 0;
+	}
+
+	int getCallGraphBuilds() {
+		return callGraphBuilds;
+	}
+
+	private void setUpScene() {
+		final String currentSootPath = FileScanner.getSootPath();
+		if (currentSootPath.equals(sootPath)) {
+			return;
+		}
+
+		G.reset();
+		resolvedClasses.clear();
+		entryPoints.clear();
+		callGraph = null;
+		sootPath = currentSootPath;
+
+		System.setProperty("soot.class.path", sootPath);
+		Options.v().set_whole_program(true);
+		Options.v().set_allow_phantom_refs(true);
+		// classes, which are reached later on, are resolved on demand
+		Options.v().set_ignore_resolving_levels(true);
+
+		for (final String delegateClass : delegateClasses) {
+			resolve(delegateClass);
+		}
+		Scene.v().loadNecessaryClasses();
+	}
+
+	private SootClass resolve(final String className) {
+		final SootClass sootClass = Scene.v().forceResolve(className, SootClass.SIGNATURES);
+		if (sootClass != null && resolvedClasses.add(className)) {
+			sootClass.setApplicationClass();
+		}
+		return sootClass;
+	}
+
+	private void addEntryPoints(final SootClass sootClass) {
+		if (sootClass != null) {
+			for (final SootMethod method : sootClass.getMethods()) {
+				if (method.isConcrete() && DELEGATE_METHODS.contains(method.getName())) {
+					entryPoints.add(method);
+				}
+			}
+		}
+	}
+}
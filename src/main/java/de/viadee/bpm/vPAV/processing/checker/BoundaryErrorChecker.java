@@ -31,38 +31,37 @@
  */
 package de.viadee.bpm.vPAV.processing.checker;
 
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 
-import org.apache.commons.io.IOUtils;
-import org.apache.tools.ant.DirectoryScanner;
-import org.apache.tools.ant.types.Resource;
 import org.camunda.bpm.model.bpmn.impl.BpmnModelConstants;
 import org.camunda.bpm.model.bpmn.instance.BaseElement;
+import org.camunda.bpm.model.bpmn.instance.BoundaryEvent;
 
-import de.odysseus.el.tree.IdentifierNode;
-import de.odysseus.el.tree.Tree;
-import de.odysseus.el.tree.TreeBuilder;
-import de.odysseus.el.tree.impl.Builder;
 import de.viadee.bpm.vPAV.BpmnScanner;
 import de.viadee.bpm.vPAV.Messages;
 import de.viadee.bpm.vPAV.RuntimeConfig;
 import de.viadee.bpm.vPAV.config.model.Rule;
 import de.viadee.bpm.vPAV.constants.BpmnConstants;
-import de.viadee.bpm.vPAV.constants.ConfigConstants;
 import de.viadee.bpm.vPAV.output.IssueWriter;
+import de.viadee.bpm.vPAV.processing.ClassMetadataCache;
 import de.viadee.bpm.vPAV.processing.CheckName;
+import de.viadee.bpm.vPAV.processing.ExpressionCache;
+import de.viadee.bpm.vPAV.processing.SourceFileCache;
 import de.viadee.bpm.vPAV.processing.model.data.BpmnElement;
 import de.viadee.bpm.vPAV.processing.model.data.CheckerIssue;
 import de.viadee.bpm.vPAV.processing.model.data.CriticalityEnum;
 
 public class BoundaryErrorChecker extends AbstractElementChecker {
 
+    private static final Collection<Class<? extends BaseElement>> ELEMENT_TYPES = Arrays.asList(
+            BoundaryEvent.class);
+
     private static Logger logger = Logger.getLogger(BoundaryErrorChecker.class.getName());
 
     public BoundaryErrorChecker(final Rule rule, BpmnScanner bpmnScanner) {
@@ -173,14 +172,12 @@ public class BoundaryErrorChecker extends AbstractElementChecker {
     private void checkBeanMapping(BpmnElement element, final Collection<CheckerIssue> issues,
             final BaseElement bpmnElement, final String errorDefEntry, final String implementationRef) {
         if (RuntimeConfig.getInstance().getBeanMapping() != null) {
-            final TreeBuilder treeBuilder = new Builder();
-            final Tree tree = treeBuilder.build(implementationRef);
-            final Iterable<IdentifierNode> identifierNodes = tree.getIdentifierNodes();
+            final List<String> identifiers = ExpressionCache.getInstance().getIdentifiers(implementationRef);
             // if beanMapping ${...} reference
-            if (identifierNodes.iterator().hasNext()) {
-                for (final IdentifierNode node : identifierNodes) {
+            if (!identifiers.isEmpty()) {
+                for (final String identifier : identifiers) {
                     final String classFile = RuntimeConfig.getInstance().getBeanMapping()
-                            .get(node.getName());
+                            .get(identifier);
                     // correct beanmapping was found -> check if class exists
                     if (classFile != null && classFile.trim().length() > 0) {
                         if (checkClassFile(classFile)) {
@@ -188,7 +185,7 @@ public class BoundaryErrorChecker extends AbstractElementChecker {
                                 issues.addAll(IssueWriter.createIssue(rule, CriticalityEnum.ERROR, element,
                                         String.format(
                                                 Messages.getString("BoundaryErrorChecker.6"), //$NON-NLS-1$
-                                                CheckName.checkName(bpmnElement), node.getName())));
+                                                CheckName.checkName(bpmnElement), identifier)));
                             }
                         } else {
                             issues.addAll(IssueWriter.createIssue(rule, CriticalityEnum.ERROR, element,
@@ -228,25 +225,9 @@ public class BoundaryErrorChecker extends AbstractElementChecker {
 
         if (fileName != null && fileName.trim().length() > 0) {
             try {
-                final DirectoryScanner scanner = new DirectoryScanner();
-
-                if (RuntimeConfig.getInstance().isTest()) {
-                    if (fileName.endsWith(".java")) //$NON-NLS-1$
-                        scanner.setBasedir(ConfigConstants.TEST_JAVAPATH);
-                    else
-                        scanner.setBasedir(ConfigConstants.TEST_BASEPATH);
-                } else {
-                    if (fileName.endsWith(".java")) //$NON-NLS-1$
-                        scanner.setBasedir(ConfigConstants.JAVAPATH);
-                    else
-                        scanner.setBasedir(ConfigConstants.BASEPATH);
-                }
-
-                Resource s = scanner.getResource(fileName);
+                final String methodBody = SourceFileCache.getInstance().getContent(fileName);
 
-                if (s.isExists()) {
-                    InputStreamReader resource = new InputStreamReader(new FileInputStream(s.toString()));
-                    final String methodBody = IOUtils.toString(resource);
+                if (methodBody != null) {
                     return validateContent(methodBody, errorCode);
                 } else {
                     logger.warning("Class " + fileName + " could not be read or does not exist"); //$NON-NLS-1$ //$NON-NLS-2$
@@ -290,15 +271,11 @@ public class BoundaryErrorChecker extends AbstractElementChecker {
      */
     private boolean checkClassFile(final String className) {
 
-        @SuppressWarnings("unused")
-        final String classPath = className.replaceAll("\\.", "/") + ".java"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
-
-        try {
-            RuntimeConfig.getInstance().getClassLoader().loadClass(className);
-        } catch (final ClassNotFoundException e) {
-            return false;
-        }
-        return true;
+        return ClassMetadataCache.getInstance().get(className).exists();
     }
 
+    @Override
+    public Collection<Class<? extends BaseElement>> getElementTypes() {
+        return ELEMENT_TYPES;
+    }
 }
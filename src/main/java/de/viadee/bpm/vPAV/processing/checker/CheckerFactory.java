@@ -39,10 +39,12 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.logging.Logger;
+import java.util.regex.PatternSyntaxException;
 
 import de.viadee.bpm.vPAV.BpmnScanner;
 import de.viadee.bpm.vPAV.Messages;
 import de.viadee.bpm.vPAV.RuntimeConfig;
+import de.viadee.bpm.vPAV.config.model.ElementConvention;
 import de.viadee.bpm.vPAV.config.model.Rule;
 import de.viadee.bpm.vPAV.constants.BpmnConstants;
 import de.viadee.bpm.vPAV.constants.ConfigConstants;
@@ -74,14 +76,17 @@ public class CheckerFactory {
 		final Collection<ElementChecker> checkers = new ArrayList<ElementChecker>();
 
 		for (Map.Entry<String, Rule> rule : ruleConf.entrySet()) {
-			String fullyQualifiedName = getFullyQualifiedName(rule);
-
-			if (rule.getKey().equals(ConfigConstants.CREATE_OUTPUT_RULE)) {
+			if (rule.getKey().equals(ConfigConstants.CREATE_OUTPUT_RULE)
+					|| rule.getKey().equals(ConfigConstants.PARALLEL_VALIDATION)
+					|| rule.getKey().equals(ConfigConstants.INCREMENTAL_VALIDATION)
+					|| rule.getKey().equals(ConfigConstants.METRICS)) {
 				continue;
 			}
 
+			String fullyQualifiedName = getFullyQualifiedName(rule);
+
 			if (!fullyQualifiedName.isEmpty() && !rule.getKey().equals("ProcessVariablesModelChecker")
-					&& !rule.getKey().equals("DataFlowChecker")) { //$NON-NLS-1$
+					&& !rule.getKey().equals("DataFlowChecker") && hasValidPatterns(rule)) { //$NON-NLS-1$
 				try {					
 					if (!rule.getKey().equals("VersioningChecker")) { //$NON-NLS-1$
 						Class clazz = Class.forName(fullyQualifiedName);
@@ -130,6 +135,36 @@ public class CheckerFactory {
 		return fullyQualifiedName;
 	}
 	
+	/**
+	 * Compiles the patterns of the element conventions of an active rule. A rule
+	 * with an invalid pattern is deactivated and reported as incorrect checker.
+	 *
+	 * @param rule
+	 *            Rule in Map
+	 * @return true, if all patterns are valid
+	 */
+	private boolean hasValidPatterns(final Map.Entry<String, Rule> rule) {
+		if (rule.getValue().getElementConventions() == null) {
+			return true;
+		}
+		for (final ElementConvention convention : rule.getValue().getElementConventions()) {
+			if (convention.getPattern() == null) {
+				continue;
+			}
+			try {
+				rule.getValue().getPattern(convention.getPattern());
+			} catch (final PatternSyntaxException e) {
+				LOGGER.warning("Pattern '" + convention.getPattern() + "' of checker '" //$NON-NLS-1$ //$NON-NLS-2$
+						+ rule.getValue().getName() + "' is invalid: " + e.getDescription()); //$NON-NLS-1$
+				rule.getValue().deactivate();
+				setIncorrectCheckers(rule, String.format(Messages.getString("CheckerFactory.9"), //$NON-NLS-1$
+						convention.getPattern(), rule.getValue().getName()));
+				return false;
+			}
+		}
+		return true;
+	}
+
 	public void setIncorrectCheckers(final Map.Entry<String, Rule> rule, final String message) {
 		if (!getIncorrectCheckers().containsKey(rule.getValue().getName())) {
 			this.incorrectCheckers.put(rule.getValue().getName(), message);
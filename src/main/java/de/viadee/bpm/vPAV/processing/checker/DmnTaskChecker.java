@@ -31,8 +31,8 @@
  */
 package de.viadee.bpm.vPAV.processing.checker;
 
-import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 
 import org.camunda.bpm.model.bpmn.impl.BpmnModelConstants;
@@ -40,8 +40,8 @@ import org.camunda.bpm.model.bpmn.instance.BaseElement;
 import org.camunda.bpm.model.bpmn.instance.BusinessRuleTask;
 
 import de.viadee.bpm.vPAV.BpmnScanner;
+import de.viadee.bpm.vPAV.DmnModelRegistry;
 import de.viadee.bpm.vPAV.Messages;
-import de.viadee.bpm.vPAV.RuntimeConfig;
 import de.viadee.bpm.vPAV.config.model.Rule;
 import de.viadee.bpm.vPAV.constants.BpmnConstants;
 import de.viadee.bpm.vPAV.output.IssueWriter;
@@ -56,6 +56,9 @@ import de.viadee.bpm.vPAV.processing.model.data.CriticalityEnum;
  */
 public class DmnTaskChecker extends AbstractElementChecker {
 
+    private static final Collection<Class<? extends BaseElement>> ELEMENT_TYPES = Arrays.asList(
+            BusinessRuleTask.class);
+
     public DmnTaskChecker(final Rule rule, BpmnScanner bpmnScanner) {
         super(rule, bpmnScanner);
     }
@@ -108,13 +111,16 @@ public class DmnTaskChecker extends AbstractElementChecker {
         final String dmnPath = dmnName.replaceAll("\\.", "/") + ".dmn"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 
         // If a dmn path has been found, check the correctness
-        URL urlDMN = RuntimeConfig.getInstance().getClassLoader().getResource(dmnPath);
-
-        if (urlDMN == null) {
+        if (!DmnModelRegistry.getInstance().exists(dmnPath)) {
             // Throws an error, if the class was not found
             issues.addAll(IssueWriter.createIssue(rule, CriticalityEnum.ERROR, element,
                     String.format(Messages.getString("DmnTaskChecker.4"), CheckName.checkName(bpmnElement)))); //$NON-NLS-1$
         }
         return issues;
     }
+
+    @Override
+    public Collection<Class<? extends BaseElement>> getElementTypes() {
+        return ELEMENT_TYPES;
+    }
 }
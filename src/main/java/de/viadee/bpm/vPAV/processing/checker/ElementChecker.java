@@ -33,6 +33,8 @@ package de.viadee.bpm.vPAV.processing.checker;
 
 import java.util.Collection;
 
+import org.camunda.bpm.model.bpmn.instance.BaseElement;
+
 import de.viadee.bpm.vPAV.processing.model.data.BpmnElement;
 import de.viadee.bpm.vPAV.processing.model.data.CheckerIssue;
 
@@ -42,4 +44,24 @@ import de.viadee.bpm.vPAV.processing.model.data.CheckerIssue;
 public interface ElementChecker {
 
     Collection<CheckerIssue> check(final BpmnElement element);
+
+    /**
+     * Element types this checker is interested in. The dispatcher only routes
+     * elements of these types (or their subtypes) to the checker.
+     *
+     * @return element types or null, if the checker has to see every element
+     */
+    default Collection<Class<? extends BaseElement>> getElementTypes() {
+        return null;
+    }
+
+    /**
+     * Checkers keeping state between elements (e.g. to find duplicates) have to
+     * return false. They are never executed in parallel.
+     *
+     * @return true, if the checker can check several elements at the same time
+     */
+    default boolean isThreadSafe() {
+        return true;
+    }
 }
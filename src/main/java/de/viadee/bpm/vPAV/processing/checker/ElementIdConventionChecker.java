@@ -69,13 +69,15 @@ public class ElementIdConventionChecker extends AbstractElementChecker {
         final String elementId = baseElement.getAttributeValue(BpmnModelConstants.BPMN_ATTRIBUTE_ID);
 
         if (elementConventions != null && !elementConventions.isEmpty() && elementId != null) {
+            final String elementType = baseElement.getElementType().getInstanceType().getSimpleName();
             for (final ElementConvention convention : elementConventions) {
-                final Pattern pattern = Pattern.compile(convention.getPattern().trim());
+                // only conventions for the type of the element have to be matched
+                if (!elementType.equalsIgnoreCase(convention.getName())) {
+                    continue;
+                }
+                final Pattern pattern = rule.getPattern(convention.getPattern());
                 Matcher matcher = pattern.matcher(elementId);
-                String bpmnInstance = convention.getName();
-                if (!matcher.matches()
-                        && baseElement.getElementType().getInstanceType().getSimpleName().toLowerCase()
-                                .equals(bpmnInstance.toLowerCase())) {
+                if (!matcher.matches()) {
                     issues.addAll(IssueWriter.createIssue(rule, CriticalityEnum.WARNING, element,
                             String.format(Messages.getString("ElementIdConventionChecker.0"), elementId), //$NON-NLS-1$
                             convention.getDescription()));
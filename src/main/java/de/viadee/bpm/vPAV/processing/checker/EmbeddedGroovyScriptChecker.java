@@ -42,18 +42,16 @@ import org.camunda.bpm.model.bpmn.instance.ScriptTask;
 import org.camunda.bpm.model.bpmn.instance.camunda.CamundaExecutionListener;
 import org.camunda.bpm.model.bpmn.instance.camunda.CamundaScript;
 import org.camunda.bpm.model.bpmn.instance.camunda.CamundaTaskListener;
-import org.codehaus.groovy.control.CompilationFailedException;
 
 import de.viadee.bpm.vPAV.BpmnScanner;
 import de.viadee.bpm.vPAV.Messages;
 import de.viadee.bpm.vPAV.config.model.Rule;
 import de.viadee.bpm.vPAV.constants.ConfigConstants;
 import de.viadee.bpm.vPAV.output.IssueWriter;
+import de.viadee.bpm.vPAV.processing.GroovyScriptCache;
 import de.viadee.bpm.vPAV.processing.model.data.BpmnElement;
 import de.viadee.bpm.vPAV.processing.model.data.CheckerIssue;
 import de.viadee.bpm.vPAV.processing.model.data.CriticalityEnum;
-import groovy.lang.GroovyShell;
-import groovy.lang.MissingPropertyException;
 
 /**
  * Class EmbeddedGroovyScriptChecker
@@ -212,17 +210,14 @@ public class EmbeddedGroovyScriptChecker extends AbstractElementChecker {
     private CheckerIssue parseGroovyCode(final String bpmnFile, final BpmnElement element,
             final BaseElement baseElement,
             final String scriptText) {
-        final GroovyShell shell = new GroovyShell();
-        try {
-            shell.evaluate(scriptText);
-        } catch (final CompilationFailedException | MissingPropertyException ex) {
-            if (ex instanceof CompilationFailedException) {
-                return IssueWriter.createSingleIssue(rule, CriticalityEnum.ERROR, element, bpmnFile,
-                        ex.getMessage());
-            } else {
-                return IssueWriter.createSingleIssue(rule, CriticalityEnum.ERROR, element, bpmnFile,
-                        String.format(Messages.getString("EmbeddedGroovyScriptChecker.1"), ex.getMessage())); //$NON-NLS-1$
-            }
+        // identical scripts are evaluated only once
+        final GroovyScriptCache.Result result = GroovyScriptCache.getInstance().evaluate(scriptText);
+        if (result.getStatus() == GroovyScriptCache.Status.COMPILATION_FAILED) {
+            return IssueWriter.createSingleIssue(rule, CriticalityEnum.ERROR, element, bpmnFile,
+                    result.getMessage());
+        } else if (result.getStatus() == GroovyScriptCache.Status.MISSING_PROPERTY) {
+            return IssueWriter.createSingleIssue(rule, CriticalityEnum.ERROR, element, bpmnFile,
+                    String.format(Messages.getString("EmbeddedGroovyScriptChecker.1"), result.getMessage())); //$NON-NLS-1$
         }
         return null;
     }
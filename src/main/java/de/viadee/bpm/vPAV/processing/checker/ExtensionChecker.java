@@ -266,7 +266,7 @@ public class ExtensionChecker extends AbstractElementChecker {
         if (keyPairs.get(setting.getName()) != null && !keyPairs.get(setting.getName()).isEmpty()) {
 
             final String patternString = setting.getValue();
-            final Pattern pattern = Pattern.compile(patternString);
+            final Pattern pattern = rule.getPattern(patternString);
             Matcher matcher = pattern.matcher(keyPairs.get(setting.getName()));
 
             // if predefined value of a key-value pair does not fit a given regex (e.g. digits for
@@ -31,11 +31,9 @@
  */
 package de.viadee.bpm.vPAV.processing.checker;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.logging.Logger;
 
 import org.camunda.bpm.engine.delegate.Expression;
@@ -47,16 +45,14 @@ import org.camunda.bpm.model.bpmn.instance.SendTask;
 import org.camunda.bpm.model.bpmn.instance.ServiceTask;
 import org.camunda.bpm.model.bpmn.instance.UserTask;
 
-import de.odysseus.el.tree.IdentifierNode;
-import de.odysseus.el.tree.Tree;
-import de.odysseus.el.tree.TreeBuilder;
-import de.odysseus.el.tree.impl.Builder;
 import de.viadee.bpm.vPAV.BpmnScanner;
 import de.viadee.bpm.vPAV.Messages;
 import de.viadee.bpm.vPAV.RuntimeConfig;
 import de.viadee.bpm.vPAV.config.model.Rule;
 import de.viadee.bpm.vPAV.constants.BpmnConstants;
 import de.viadee.bpm.vPAV.output.IssueWriter;
+import de.viadee.bpm.vPAV.processing.ClassMetadataCache;
+import de.viadee.bpm.vPAV.processing.ExpressionCache;
 import de.viadee.bpm.vPAV.processing.model.data.BpmnElement;
 import de.viadee.bpm.vPAV.processing.model.data.CheckerIssue;
 import de.viadee.bpm.vPAV.processing.model.data.CriticalityEnum;
@@ -137,14 +133,12 @@ public class FieldInjectionChecker extends AbstractElementChecker {
                 } else {
                     // check validity of a bean
                     if (RuntimeConfig.getInstance().getBeanMapping() != null) {
-                        final TreeBuilder treeBuilder = new Builder();
-                        final Tree tree = treeBuilder.build(delegateExprAttr);
-                        final Iterable<IdentifierNode> identifierNodes = tree.getIdentifierNodes();
+                        final List<String> identifiers = ExpressionCache.getInstance().getIdentifiers(delegateExprAttr);
                         // if beanMapping ${...} reference
-                        if (identifierNodes.iterator().hasNext()) {
-                            for (final IdentifierNode node : identifierNodes) {
+                        if (!identifiers.isEmpty()) {
+                            for (final String identifier : identifiers) {
                                 final String classFile = RuntimeConfig.getInstance().getBeanMapping()
-                                        .get(node.getName());
+                                        .get(identifier);
                                 // correct beanmapping was found -> check if class exists
                                 if (classFile != null && classFile.trim().length() > 0) {
                                     for (String fieldInjectionVarName : fieldInjectionVarNames)
@@ -222,14 +216,12 @@ public class FieldInjectionChecker extends AbstractElementChecker {
                 } else if (eDel != null) {
                     // check validity of a bean
                     if (RuntimeConfig.getInstance().getBeanMapping() != null) {
-                        final TreeBuilder treeBuilder = new Builder();
-                        final Tree tree = treeBuilder.build(eDel);
-                        final Iterable<IdentifierNode> identifierNodes = tree.getIdentifierNodes();
+                        final List<String> identifiers = ExpressionCache.getInstance().getIdentifiers(eDel);
                         // if beanMapping ${...} reference
-                        if (identifierNodes.iterator().hasNext()) {
-                            for (final IdentifierNode node : identifierNodes) {
+                        if (!identifiers.isEmpty()) {
+                            for (final String identifier : identifiers) {
                                 final String classFile = RuntimeConfig.getInstance().getBeanMapping()
-                                        .get(node.getName());
+                                        .get(identifier);
                                 // correct beanmapping was found -> check if class exists
                                 if (classFile != null && classFile.trim().length() > 0) {
                                     issues.addAll(checkClassFileForVar(element, classFile, varName));
@@ -265,10 +257,10 @@ public class FieldInjectionChecker extends AbstractElementChecker {
         final Collection<CheckerIssue> issues = new ArrayList<CheckerIssue>();
         final String classPath = className.replaceAll("\\.", "/") + ".java"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 
-        try {
-            Class<?> clazz = RuntimeConfig.getInstance().getClassLoader().loadClass(className);
-            try {
-                Field field = clazz.getDeclaredField(varName);
+        final ClassMetadataCache.ClassMetadata clazz = ClassMetadataCache.getInstance().get(className);
+        if (clazz.exists()) {
+            final ClassMetadataCache.FieldMetadata field = clazz.getDeclaredField(varName);
+            if (field != null) {
 
                 if (!field.getType().isAssignableFrom(FixedValue.class)
                         && !field.getType().isAssignableFrom(Expression.class)) {
@@ -276,31 +268,25 @@ public class FieldInjectionChecker extends AbstractElementChecker {
                             String.format(Messages.getString("FieldInjectionChecker.3"), varName))); //$NON-NLS-1$
                 }
 
-                if (!Modifier.isPublic(field.getModifiers())) {
+                if (!field.isPublic()) {
                     issues.add(IssueWriter.createIssueWithClassPath(rule, CriticalityEnum.WARNING, classPath, element,
                             String.format(Messages.getString("FieldInjectionChecker.4"), varName))); //$NON-NLS-1$
 
                 }
-                Method[] methods = clazz.getMethods();
-                boolean hasMethod = false;
-                for (Method method : methods) {
-                    if (method.getName().toLowerCase().contains("set" + varName.toLowerCase())) //$NON-NLS-1$
-                        hasMethod = true;
-                }
 
-                if (!hasMethod) {
+                if (!clazz.hasSetter(varName)) {
                     issues.add(IssueWriter.createIssueWithClassPath(rule, CriticalityEnum.WARNING, classPath, element,
                             String.format(Messages.getString("FieldInjectionChecker.6"), varName))); //$NON-NLS-1$
                 }
 
-            } catch (NoSuchFieldException | SecurityException e) {
+            } else {
                 issues.add(IssueWriter.createIssueWithClassPath(rule, CriticalityEnum.WARNING, classPath, element,
                         String.format(Messages.getString("FieldInjectionChecker.7"), clazz.getSimpleName(), //$NON-NLS-1$
                                 varName)));
             }
 
-        } catch (final ClassNotFoundException e) {
-            LOGGER.warning("Class " + className + " does not exist." + e); //$NON-NLS-1$ //$NON-NLS-2$
+        } else {
+            LOGGER.warning("Class " + className + " does not exist."); //$NON-NLS-1$ //$NON-NLS-2$
         }
 
         return issues;
@@ -33,6 +33,7 @@ package de.viadee.bpm.vPAV.processing.checker;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import org.camunda.bpm.model.bpmn.impl.BpmnModelConstants;
 import org.camunda.bpm.model.bpmn.instance.BaseElement;
@@ -41,17 +42,15 @@ import org.camunda.bpm.model.bpmn.instance.SendTask;
 import org.camunda.bpm.model.bpmn.instance.ServiceTask;
 import org.camunda.bpm.model.bpmn.instance.UserTask;
 
-import de.odysseus.el.tree.IdentifierNode;
-import de.odysseus.el.tree.Tree;
-import de.odysseus.el.tree.TreeBuilder;
-import de.odysseus.el.tree.impl.Builder;
 import de.viadee.bpm.vPAV.BpmnScanner;
 import de.viadee.bpm.vPAV.Messages;
 import de.viadee.bpm.vPAV.RuntimeConfig;
 import de.viadee.bpm.vPAV.config.model.Rule;
 import de.viadee.bpm.vPAV.constants.BpmnConstants;
 import de.viadee.bpm.vPAV.output.IssueWriter;
+import de.viadee.bpm.vPAV.processing.ClassMetadataCache;
 import de.viadee.bpm.vPAV.processing.CheckName;
+import de.viadee.bpm.vPAV.processing.ExpressionCache;
 import de.viadee.bpm.vPAV.processing.model.data.BpmnElement;
 import de.viadee.bpm.vPAV.processing.model.data.CheckerIssue;
 import de.viadee.bpm.vPAV.processing.model.data.CriticalityEnum;
@@ -158,14 +157,12 @@ public class JavaDelegateChecker extends AbstractElementChecker {
                 } else {
                     // check validity of a bean
                     if (RuntimeConfig.getInstance().getBeanMapping() != null) {
-                        final TreeBuilder treeBuilder = new Builder();
-                        final Tree tree = treeBuilder.build(delegateExprAttr);
-                        final Iterable<IdentifierNode> identifierNodes = tree.getIdentifierNodes();
+                        final List<String> identifiers = ExpressionCache.getInstance().getIdentifiers(delegateExprAttr);
                         // if beanMapping ${...} reference
-                        if (identifierNodes.iterator().hasNext()) {
-                            for (final IdentifierNode node : identifierNodes) {
+                        if (!identifiers.isEmpty()) {
+                            for (final String identifier : identifiers) {
                                 final String classFile = RuntimeConfig.getInstance().getBeanMapping()
-                                        .get(node.getName());
+                                        .get(identifier);
                                 // correct beanmapping was found -> check if class exists
                                 if (classFile != null && classFile.trim().length() > 0) {
                                     issues.addAll(checkClassFile(element, classFile, false, false));
@@ -220,14 +217,12 @@ public class JavaDelegateChecker extends AbstractElementChecker {
             } else if (implementationAttr != null && implementationAttr.equals(BpmnConstants.CAMUNDA_DEXPRESSION)) {
                 // check validity of a bean
                 if (RuntimeConfig.getInstance().getBeanMapping() != null) {
-                    final TreeBuilder treeBuilder = new Builder();
-                    final Tree tree = treeBuilder.build(implementation);
-                    final Iterable<IdentifierNode> identifierNodes = tree.getIdentifierNodes();
+                    final List<String> identifiers = ExpressionCache.getInstance().getIdentifiers(implementation);
                     // if beanMapping ${...} reference
-                    if (identifierNodes.iterator().hasNext()) {
-                        for (final IdentifierNode node : identifierNodes) {
+                    if (!identifiers.isEmpty()) {
+                        for (final String identifier : identifiers) {
                             final String classFile = RuntimeConfig.getInstance().getBeanMapping()
-                                    .get(node.getName());
+                                    .get(identifier);
                             // correct beanmapping was found -> check if class exists
                             if (classFile != null && classFile.trim().length() > 0) {
                                 issues.addAll(checkClassFile(element, classFile, false, false));
@@ -304,14 +299,12 @@ public class JavaDelegateChecker extends AbstractElementChecker {
                 } else if (eDel != null) {
                     // check validity of a bean
                     if (RuntimeConfig.getInstance().getBeanMapping() != null) {
-                        final TreeBuilder treeBuilder = new Builder();
-                        final Tree tree = treeBuilder.build(eDel);
-                        final Iterable<IdentifierNode> identifierNodes = tree.getIdentifierNodes();
+                        final List<String> identifiers = ExpressionCache.getInstance().getIdentifiers(eDel);
                         // if beanMapping ${...} reference
-                        if (identifierNodes.iterator().hasNext()) {
-                            for (final IdentifierNode node : identifierNodes) {
+                        if (!identifiers.isEmpty()) {
+                            for (final String identifier : identifiers) {
                                 final String classFile = RuntimeConfig.getInstance().getBeanMapping()
-                                        .get(node.getName());
+                                        .get(identifier);
                                 // correct beanmapping was found -> check if class exists
                                 if (classFile != null && classFile.trim().length() > 0) {
                                     issues.addAll(checkClassFile(element, classFile, true, taskListener));
@@ -365,28 +358,27 @@ public class JavaDelegateChecker extends AbstractElementChecker {
         }
 
         // If a class path has been found, check the correctness
-        try {
-            Class<?> clazz = RuntimeConfig.getInstance().getClassLoader().loadClass(className);
+        final ClassMetadataCache.ClassMetadata clazz = ClassMetadataCache.getInstance().get(className);
+        if (clazz.exists()) {
 
             // Checks, whether the correct interface was implemented
-            Class<?> sClass = clazz.getSuperclass();
+            final String sClass = clazz.getSuperclassName();
             boolean extendsSuperClass = false;
-            if (!listener && sClass.getName().contains(BpmnConstants.SUPERCLASS_ABSTRACT_BPMN_ACTIVITY_BEHAVIOR)) {
+            if (!listener && sClass != null
+                    && sClass.contains(BpmnConstants.SUPERCLASS_ABSTRACT_BPMN_ACTIVITY_BEHAVIOR)) {
                 extendsSuperClass = true;
             }
 
             // Checks, whether the correct interface was implemented
-            Class<?>[] interfaces = clazz.getInterfaces();
             boolean interfaceImplemented = false;
-            for (final Class<?> _interface : interfaces) {
+            for (final String _interface : clazz.getInterfaceNames()) {
                 if (!listener) {
-                    if (_interface.getName().contains(BpmnConstants.INTERFACE_DEL)
-                            || _interface.getName().contains(BpmnConstants.INTERFACE_SIGNALLABLE_ACTIVITY_BEHAVIOR)
-                            || _interface.getName().contains(BpmnConstants.INTERFACE_ACTIVITY_BEHAVIOUR)) {
+                    if (_interface.contains(BpmnConstants.INTERFACE_DEL)
+                            || _interface.contains(BpmnConstants.INTERFACE_SIGNALLABLE_ACTIVITY_BEHAVIOR)
+                            || _interface.contains(BpmnConstants.INTERFACE_ACTIVITY_BEHAVIOUR)) {
                         interfaceImplemented = true;
-                        if (_interface.getName().contains(BpmnConstants.INTERFACE_ACTIVITY_BEHAVIOUR)
-                                && !_interface.getName()
-                                        .contains(BpmnConstants.INTERFACE_SIGNALLABLE_ACTIVITY_BEHAVIOR)) {
+                        if (_interface.contains(BpmnConstants.INTERFACE_ACTIVITY_BEHAVIOUR)
+                                && !_interface.contains(BpmnConstants.INTERFACE_SIGNALLABLE_ACTIVITY_BEHAVIOR)) {
                             // ActivityBehavior is not a very good practice and should be avoided as much as possible
                             issues.add(
                                     IssueWriter.createIssueWithClassPath(rule, CriticalityEnum.INFO, classPath, element,
@@ -396,10 +388,10 @@ public class JavaDelegateChecker extends AbstractElementChecker {
                         }
                     }
                 } else {
-                    if (taskListener && _interface.getName().contains(BpmnConstants.INTERFACE_TASK_LISTENER)) {
+                    if (taskListener && _interface.contains(BpmnConstants.INTERFACE_TASK_LISTENER)) {
                         interfaceImplemented = true;
-                    } else if (_interface.getName().contains(BpmnConstants.INTERFACE_EXECUTION_LISTENER)
-                            || _interface.getName().contains(BpmnConstants.INTERFACE_DEL)) {
+                    } else if (_interface.contains(BpmnConstants.INTERFACE_EXECUTION_LISTENER)
+                            || _interface.contains(BpmnConstants.INTERFACE_DEL)) {
                         interfaceImplemented = true;
                     }
                 }
@@ -412,7 +404,7 @@ public class JavaDelegateChecker extends AbstractElementChecker {
                                 clazz.getSimpleName(), location)));
             }
 
-        } catch (final ClassNotFoundException e) {
+        } else {
             // Throws an error, if the class was not found
             if (className == null || !className.isEmpty()) {
                 issues.add(IssueWriter.createIssueWithClassPath(rule, CriticalityEnum.ERROR, classPath, element,
@@ -32,13 +32,20 @@
 package de.viadee.bpm.vPAV.processing.checker;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 
 import org.camunda.bpm.model.bpmn.impl.BpmnModelConstants;
 import org.camunda.bpm.model.bpmn.instance.BaseElement;
+import org.camunda.bpm.model.bpmn.instance.BoundaryEvent;
+import org.camunda.bpm.model.bpmn.instance.EndEvent;
 import org.camunda.bpm.model.bpmn.instance.Event;
+import org.camunda.bpm.model.bpmn.instance.IntermediateCatchEvent;
+import org.camunda.bpm.model.bpmn.instance.IntermediateThrowEvent;
 import org.camunda.bpm.model.bpmn.instance.Message;
 import org.camunda.bpm.model.bpmn.instance.MessageEventDefinition;
+import org.camunda.bpm.model.bpmn.instance.ReceiveTask;
+import org.camunda.bpm.model.bpmn.instance.StartEvent;
 
 import de.viadee.bpm.vPAV.BpmnScanner;
 import de.viadee.bpm.vPAV.Messages;
@@ -51,6 +58,10 @@ import de.viadee.bpm.vPAV.processing.model.data.CriticalityEnum;
 
 public class MessageEventChecker extends AbstractElementChecker {
 
+    private static final Collection<Class<? extends BaseElement>> ELEMENT_TYPES = Arrays.asList(
+            EndEvent.class, IntermediateCatchEvent.class, IntermediateThrowEvent.class, BoundaryEvent.class,
+            ReceiveTask.class, StartEvent.class);
+
     public MessageEventChecker(final Rule rule, final BpmnScanner bpmnScanner) {
         super(rule, bpmnScanner);
     }
@@ -183,4 +194,8 @@ public class MessageEventChecker extends AbstractElementChecker {
         }
     }
 
+    @Override
+    public Collection<Class<? extends BaseElement>> getElementTypes() {
+        return ELEMENT_TYPES;
+    }
 }
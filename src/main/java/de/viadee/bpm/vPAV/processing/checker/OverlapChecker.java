@@ -32,6 +32,7 @@
 package de.viadee.bpm.vPAV.processing.checker;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
@@ -50,6 +51,9 @@ import de.viadee.bpm.vPAV.processing.model.data.CriticalityEnum;
 
 public class OverlapChecker extends AbstractElementChecker {
 
+    private static final Collection<Class<? extends BaseElement>> ELEMENT_TYPES = Arrays.asList(
+            SequenceFlow.class);
+
     public OverlapChecker(final Rule rule, final BpmnScanner bpmnScanner) {
         super(rule, bpmnScanner);
     }
@@ -107,4 +111,13 @@ public class OverlapChecker extends AbstractElementChecker {
 		this.sequenceFlowList.clear();
 	}
 
+    @Override
+    public Collection<Class<? extends BaseElement>> getElementTypes() {
+        return ELEMENT_TYPES;
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return false;
+    }
 }
\ No newline at end of file
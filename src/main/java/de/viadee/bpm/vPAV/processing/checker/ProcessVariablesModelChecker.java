@@ -33,8 +33,10 @@ package de.viadee.bpm.vPAV.processing.checker;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import de.viadee.bpm.vPAV.processing.model.data.*;
 import org.camunda.bpm.model.bpmn.BpmnModelInstance;
@@ -52,10 +54,28 @@ public class ProcessVariablesModelChecker implements ModelChecker {
 
     private final Map<AnomalyContainer, List<Path>> invalidPathsMap;
 
+    private final Set<AnomalyContainer> morePaths;
+
     public ProcessVariablesModelChecker(final Rule rule,
             final Map<AnomalyContainer, List<Path>> invalidPathsMap) {
+        this(rule, invalidPathsMap, new HashSet<AnomalyContainer>());
+    }
+
+    /**
+     * @param rule
+     *            Rule
+     * @param invalidPathsMap
+     *            invalid paths by anomaly
+     * @param morePaths
+     *            anomalies with further invalid paths, which are not contained in
+     *            invalidPathsMap
+     */
+    public ProcessVariablesModelChecker(final Rule rule,
+            final Map<AnomalyContainer, List<Path>> invalidPathsMap,
+            final Set<AnomalyContainer> morePaths) {
         this.rule = rule;
         this.invalidPathsMap = invalidPathsMap;
+        this.morePaths = morePaths;
     }
 
     /**
@@ -66,10 +86,11 @@ public class ProcessVariablesModelChecker implements ModelChecker {
     @Override
     public Collection<CheckerIssue> check(final BpmnModelInstance processdefinition) {
 
-        final Collection<CheckerIssue> issues = new ArrayList<CheckerIssue>();
+        final List<CheckerIssue> issues = new ArrayList<CheckerIssue>();
         for (final AnomalyContainer anomaly : invalidPathsMap.keySet()) {
             final List<Path> paths = invalidPathsMap.get(anomaly);
             final ProcessVariableOperation var = anomaly.getVariable();
+            final int issueCount = issues.size();
             if (paths != null) {
                 if (anomaly.getAnomaly() == Anomaly.DD) {
                     issues.addAll(
@@ -102,6 +123,12 @@ public class ProcessVariablesModelChecker implements ModelChecker {
                                             var.getChapter(), var.getFieldType().getDescription())));
                 }
             }
+
+            if (morePaths.contains(anomaly)) {
+                for (final CheckerIssue issue : issues.subList(issueCount, issues.size())) {
+                    issue.setMorePaths(true);
+                }
+            }
         }
 
         return issues;
@@ -32,15 +32,21 @@
 package de.viadee.bpm.vPAV.processing.checker;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.camunda.bpm.model.bpmn.impl.BpmnModelConstants;
 import org.camunda.bpm.model.bpmn.instance.BaseElement;
+import org.camunda.bpm.model.bpmn.instance.BoundaryEvent;
+import org.camunda.bpm.model.bpmn.instance.EndEvent;
 import org.camunda.bpm.model.bpmn.instance.Event;
+import org.camunda.bpm.model.bpmn.instance.IntermediateCatchEvent;
+import org.camunda.bpm.model.bpmn.instance.IntermediateThrowEvent;
 import org.camunda.bpm.model.bpmn.instance.Signal;
 import org.camunda.bpm.model.bpmn.instance.SignalEventDefinition;
+import org.camunda.bpm.model.bpmn.instance.StartEvent;
 
 import de.viadee.bpm.vPAV.BpmnScanner;
 import de.viadee.bpm.vPAV.Messages;
@@ -52,6 +58,10 @@ import de.viadee.bpm.vPAV.processing.model.data.CheckerIssue;
 import de.viadee.bpm.vPAV.processing.model.data.CriticalityEnum;
 
 public class SignalEventChecker extends AbstractElementChecker {
+
+    private static final Collection<Class<? extends BaseElement>> ELEMENT_TYPES = Arrays.asList(
+            StartEvent.class, EndEvent.class, IntermediateCatchEvent.class, IntermediateThrowEvent.class,
+            BoundaryEvent.class);
 	
 	private Map<String, BaseElement> signalNames = new HashMap<>();	
 
@@ -143,4 +153,13 @@ public class SignalEventChecker extends AbstractElementChecker {
 		signalNames.remove(name);
 	}
 
+    @Override
+    public Collection<Class<? extends BaseElement>> getElementTypes() {
+        return ELEMENT_TYPES;
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return false;
+    }
 }
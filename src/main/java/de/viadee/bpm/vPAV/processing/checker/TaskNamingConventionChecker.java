@@ -33,6 +33,7 @@ package de.viadee.bpm.vPAV.processing.checker;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -52,6 +53,8 @@ import de.viadee.bpm.vPAV.processing.model.data.CriticalityEnum;
 
 public class TaskNamingConventionChecker extends AbstractElementChecker {
 
+    private static final Collection<Class<? extends BaseElement>> ELEMENT_TYPES = Collections.singletonList(Task.class);
+
     public TaskNamingConventionChecker(final Rule rule, final BpmnScanner bpmnScanner) {
         super(rule, bpmnScanner);
     }
@@ -76,7 +79,7 @@ public class TaskNamingConventionChecker extends AbstractElementChecker {
             final String patternString = elementConventions.iterator().next().getPattern();
             final String taskName = baseElement.getAttributeValue(BpmnModelConstants.BPMN_ATTRIBUTE_NAME);
             if (taskName != null && taskName.trim().length() > 0) {
-                final Pattern pattern = Pattern.compile(patternString);
+                final Pattern pattern = rule.getPattern(patternString);
                 Matcher matcher = pattern.matcher(taskName);
                 if (!matcher.matches()) {
                     issues.addAll(IssueWriter.createIssue(rule, CriticalityEnum.WARNING, element,
@@ -92,4 +95,9 @@ public class TaskNamingConventionChecker extends AbstractElementChecker {
         }
         return issues;
     }
+
+    @Override
+    public Collection<Class<? extends BaseElement>> getElementTypes() {
+        return ELEMENT_TYPES;
+    }
 }
@@ -33,6 +33,7 @@ package de.viadee.bpm.vPAV.processing.checker;
 
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
@@ -66,6 +67,9 @@ import net.time4j.range.MomentInterval;
 
 public class TimerExpressionChecker extends AbstractElementChecker {
 
+    private static final Collection<Class<? extends BaseElement>> ELEMENT_TYPES = Arrays.asList(
+            IntermediateCatchEvent.class, StartEvent.class, BoundaryEvent.class);
+
     public TimerExpressionChecker(final Rule rule, final BpmnScanner bpmnScanner) {
         super(rule, bpmnScanner);
     }
@@ -210,4 +214,9 @@ public class TimerExpressionChecker extends AbstractElementChecker {
 
         return issues;
     }
+
+    @Override
+    public Collection<Class<? extends BaseElement>> getElementTypes() {
+        return ELEMENT_TYPES;
+    }
 }
@@ -51,10 +51,6 @@ import org.camunda.bpm.model.bpmn.instance.camunda.CamundaExecutionListener;
 import org.camunda.bpm.model.bpmn.instance.camunda.CamundaScript;
 import org.camunda.bpm.model.bpmn.instance.camunda.CamundaTaskListener;
 
-import de.odysseus.el.tree.IdentifierNode;
-import de.odysseus.el.tree.Tree;
-import de.odysseus.el.tree.TreeBuilder;
-import de.odysseus.el.tree.impl.Builder;
 import de.viadee.bpm.vPAV.BpmnScanner;
 import de.viadee.bpm.vPAV.FileScanner;
 import de.viadee.bpm.vPAV.Messages;
@@ -63,6 +59,7 @@ import de.viadee.bpm.vPAV.config.model.Rule;
 import de.viadee.bpm.vPAV.constants.BpmnConstants;
 import de.viadee.bpm.vPAV.constants.ConfigConstants;
 import de.viadee.bpm.vPAV.output.IssueWriter;
+import de.viadee.bpm.vPAV.processing.ExpressionCache;
 import de.viadee.bpm.vPAV.processing.ProcessingException;
 import de.viadee.bpm.vPAV.processing.model.data.BpmnElement;
 import de.viadee.bpm.vPAV.processing.model.data.CheckerIssue;
@@ -314,15 +311,12 @@ public class VersioningChecker extends AbstractElementChecker {
             final Collection<CheckerIssue> issues) {
 
         try {
-            final String filteredExpression = expression.replaceAll("[\\w]+\\.", ""); //$NON-NLS-1$ //$NON-NLS-2$
-            final TreeBuilder treeBuilder = new Builder();
-            final Tree tree = treeBuilder.build(filteredExpression);
-
-            final Iterable<IdentifierNode> identifierNodes = tree.getIdentifierNodes();
+            final List<String> identifiers = ExpressionCache.getInstance()
+                    .getIdentifiersWithoutObjectNames(expression);
             final Set<String> paths = new HashSet<String>();
-            for (final IdentifierNode node : identifierNodes) {
+            for (final String identifier : identifiers) {
                 if (RuntimeConfig.getInstance().getBeanMapping() != null) {
-                    final String packagePath = RuntimeConfig.getInstance().getBeanMapping().get(node.getName());
+                    final String packagePath = RuntimeConfig.getInstance().getBeanMapping().get(identifier);
                     if (packagePath != null) {
                         paths.add(packagePath);
                     }
@@ -32,6 +32,7 @@
 package de.viadee.bpm.vPAV.processing.checker;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -58,6 +59,9 @@ import de.viadee.bpm.vPAV.processing.model.data.CriticalityEnum;
 
 public class XorConventionChecker extends AbstractElementChecker {
 
+    private static final Collection<Class<? extends BaseElement>> ELEMENT_TYPES = Arrays.asList(
+            ExclusiveGateway.class);
+
     public XorConventionChecker(final Rule rule, final BpmnScanner bpmnScanner) {
         super(rule, bpmnScanner);
     }
@@ -97,10 +101,10 @@ public class XorConventionChecker extends AbstractElementChecker {
                 }
 
                 // TODO: dont use indices
-                final String patternString = elementConventions.get(0).getPattern().trim();
+                final String patternString = elementConventions.get(0).getPattern();
                 final String taskName = bpmnElement.getAttributeValue(BpmnModelConstants.BPMN_ATTRIBUTE_NAME);
                 if (taskName != null && taskName.trim().length() > 0) {
-                    final Pattern pattern = Pattern.compile(patternString);
+                    final Pattern pattern = rule.getPattern(patternString);
                     final String taskNameClean = taskName.replaceAll("\n", "").replaceAll("\r", ""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
                     Matcher matcher = pattern.matcher(taskNameClean);
 
@@ -119,13 +123,13 @@ public class XorConventionChecker extends AbstractElementChecker {
 
                 // TODO: dont use indices
                 final ArrayList<Node> edges = bpmnScanner.getOutgoingEdges(bpmnElement.getId());
-                final String patternStringEdge = elementConventions.get(1).getPattern().trim();
+                final String patternStringEdge = elementConventions.get(1).getPattern();
 
                 for (int i = 0; i < edges.size(); i++) {
                     Element Task_Element = (Element) edges.get(i);
                     final String edgeName = Task_Element.getAttribute(BpmnModelConstants.BPMN_ATTRIBUTE_NAME);
                     if (edgeName != null && edgeName.trim().length() > 0) {
-                        final Pattern pattern = Pattern.compile(patternStringEdge);
+                        final Pattern pattern = rule.getPattern(patternStringEdge);
                         final String edgeNameClean = edgeName.replaceAll("\n", "").replaceAll("\r", ""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
                         Matcher matcher = pattern.matcher(edgeNameClean);
                         if (!matcher.matches()) {
@@ -145,4 +149,9 @@ public class XorConventionChecker extends AbstractElementChecker {
         }
         return issues;
     }
+
+    @Override
+    public Collection<Class<? extends BaseElement>> getElementTypes() {
+        return ELEMENT_TYPES;
+    }
 }
@@ -52,13 +52,29 @@ public class BpmnElement {
 
     private BaseElement baseElement;
 
-    private Map<String, InOutState> used = new HashMap<String, InOutState>();
+    /* id in the data flow, differs from the id of the model element in called processes */
+    private String id;
 
-    private Map<String, InOutState> defined = new HashMap<String, InOutState>();
+    /* states of the process variables before the element */
+    private VariableStates in = new VariableStates();
 
-    private Map<String, InOutState> in = new HashMap<String, InOutState>();
+    /* states of the process variables after the element */
+    private VariableStates out = new VariableStates();
 
-    private Map<String, InOutState> out = new HashMap<String, InOutState>();
+    /* views of the in and out states by variable name, created on first use */
+    private Map<String, InOutState> inView;
+
+    private Map<String, InOutState> outView;
+
+    /* numbers of the variables in the in and out sets */
+    private final VariableSymbols symbols = VariableSymbols.getInstance();
+
+    /* variables read, written and deleted by the element, by number of VariableSymbols */
+    private long[] used;
+
+    private long[] defined;
+
+    private long[] killed;
 
     /* in interface for call activity */
     private Collection<String> inCa;
@@ -74,6 +90,7 @@ public class BpmnElement {
     public BpmnElement(final String processdefinition, final BaseElement element) {
         this.processdefinition = processdefinition;
         this.baseElement = element;
+        this.id = element.getId();
         this.processVariables = new LinkedHashMap<String, ProcessVariableOperation>();
     }
 
@@ -85,25 +102,52 @@ public class BpmnElement {
         return baseElement;
     }
 
+    /**
+     * Returns the id of the element in the data flow. It equals the id of the
+     * model element, unless the element belongs to a called process.
+     *
+     * @return id
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Sets the id of the element in the data flow. The model element isn't
+     * changed, so it can be shared by several data flows.
+     *
+     * @param id
+     *            id
+     */
+    public void setId(final String id) {
+        this.id = id;
+    }
+
     public Map<String, ProcessVariableOperation> getProcessVariables() {
         return processVariables;
     }
 
     public void setProcessVariables(final LinkedHashMap<String, ProcessVariableOperation> variables) {
         this.processVariables = variables;
+        this.used = null;
     }
 
     public void setProcessVariable(final String variableName, final ProcessVariableOperation variableObject) {
         processVariables.put(variableName, variableObject);
+        this.used = null;
     }
 
     public void addSourceCodeAnomaly(AnomalyContainer anomaly) {
         sourceCodeAnomalies.add(anomaly);
     }
 
+    public List<AnomalyContainer> getSourceCodeAnomalies() {
+        return sourceCodeAnomalies;
+    }
+
     @Override
     public int hashCode() {
-        return baseElement.getId().hashCode();
+        return id.hashCode();
     }
 
     @Override
@@ -116,86 +160,117 @@ public class BpmnElement {
 
     @Override
     public String toString() {
-        return baseElement.getId();
+        return id;
     }
 
+    /**
+     * @return read-only view of the states before the element by variable name
+     */
     public Map<String, InOutState> getIn() {
-        return in;
+        if (inView == null) {
+            inView = in.asMap(symbols);
+        }
+        return inView;
     }
 
+    /**
+     * @return read-only view of the states after the element by variable name
+     */
     public Map<String, InOutState> getOut() {
+        if (outView == null) {
+            outView = out.asMap(symbols);
+        }
+        return outView;
+    }
+
+    /**
+     * @return table of the variable numbers used by the states of this element
+     */
+    public VariableSymbols getSymbols() {
+        return symbols;
+    }
+
+    public VariableStates getInStates() {
+        return in;
+    }
+
+    public VariableStates getOutStates() {
         return out;
     }
 
-    public void setIn(final Map<String, InOutState> outPredecessor) {
-        this.in = outPredecessor;
-        // TODO: call activity (create own method)
-        if (inCa != null) {
-            final Collection<String> removeCandidates = new ArrayList<String>();
-            for (final String variable : in.keySet()) {
-                if (!inCa.contains(variable)) {
-                    removeCandidates.add(variable);
-                }
-            }
-            for (final String var : removeCandidates) {
-                in.remove(var);
-            }
-        }
+    public void setIn(final VariableStates in) {
+        this.in = in;
+        this.inView = null;
     }
 
-    public void setOut() {
-        out.putAll(defined());
-        changeStatusToRead(in);
-        out.putAll(killed());
-        // TODO: call activity (create own method)
-        if (outCa != null) {
-            final Collection<String> removeCandidates = new ArrayList<String>();
-            for (final String variable : out.keySet()) {
-                if (!outCa.contains(variable)) {
-                    removeCandidates.add(variable);
-                } else {
-                    final InOutState state = out.get(variable);
-                    if (state == InOutState.DELETED) {
-                        removeCandidates.add(variable);
-                    }
-                }
-            }
-            for (final String var : removeCandidates) {
-                out.remove(var);
-            }
-        }
+    public void setOut(final VariableStates out) {
+        this.out = out;
+        this.outView = null;
     }
 
-    private Map<String, InOutState> used() {
-        if (this.used.isEmpty()) {
-            for (final ProcessVariableOperation var : processVariables.values()) {
-                if (var.getOperation() == VariableOperation.READ) {
-                    used.put(var.getName(), InOutState.READ);
-                }
-            }
-        }
+    /**
+     * @return bit vector of the variables read by the element
+     */
+    public long[] getUsedVariables() {
+        initVariableSets();
         return used;
     }
 
+    /**
+     * @return bit vector of the variables written by the element
+     */
+    public long[] getDefinedVariables() {
+        initVariableSets();
+        return defined;
+    }
+
+    /**
+     * @return bit vector of the variables deleted by the element
+     */
+    public long[] getDeletedVariables() {
+        initVariableSets();
+        return killed;
+    }
+
+    public boolean isDefined(final String varName) {
+        final int variable = symbols.indexOf(varName);
+        return variable >= 0 && VariableStates.bit(getDefinedVariables(), variable);
+    }
+
+    /**
+     * @return variables written by the element
+     * @deprecated use {@link #isDefined(String)} or {@link #getDefinedVariables()}
+     */
+    @Deprecated
     public Map<String, InOutState> defined() {
-        if (this.defined.isEmpty()) {
-            for (final ProcessVariableOperation var : processVariables.values()) {
-                if (var.getOperation() == VariableOperation.WRITE) {
-                    defined.put(var.getName(), InOutState.DEFINED);
-                }
+        final Map<String, InOutState> written = new HashMap<String, InOutState>();
+        for (final ProcessVariableOperation var : processVariables.values()) {
+            if (var.getOperation() == VariableOperation.WRITE) {
+                written.put(var.getName(), InOutState.DEFINED);
             }
         }
-        return defined;
+        return written;
     }
 
-    private Map<String, InOutState> killed() {
-        final Map<String, InOutState> killedVariables = new HashMap<String, InOutState>();
-        for (final ProcessVariableOperation var : processVariables.values()) {
-            if (var.getOperation() == VariableOperation.DELETE) {
-                killedVariables.put(var.getName(), InOutState.DELETED);
+    private void initVariableSets() {
+        if (used == null) {
+            long[] read = new long[0];
+            long[] written = new long[0];
+            long[] deleted = new long[0];
+            for (final ProcessVariableOperation var : processVariables.values()) {
+                final int variable = symbols.intern(var.getName());
+                if (var.getOperation() == VariableOperation.READ) {
+                    read = VariableStates.setBit(read, variable, true);
+                } else if (var.getOperation() == VariableOperation.WRITE) {
+                    written = VariableStates.setBit(written, variable, true);
+                } else if (var.getOperation() == VariableOperation.DELETE) {
+                    deleted = VariableStates.setBit(deleted, variable, true);
+                }
             }
+            defined = written;
+            killed = deleted;
+            used = read;
         }
-        return killedVariables;
     }
 
     public void setInCa(final Collection<String> in) {
@@ -206,51 +281,72 @@ public class BpmnElement {
         this.outCa = out;
     }
 
+    public Collection<String> getInCa() {
+        return inCa;
+    }
+
+    public Collection<String> getOutCa() {
+        return outCa;
+    }
+
+    // names, which aren't in the symbol table, are neither read nor written by any element
     public boolean ur(final String varName) {
-        if ((in.containsKey(varName) == false
-                || (in.containsKey(varName) == true && in.get(varName) == InOutState.DELETED))
-                && used().containsKey(varName)) {
-            return true;
-        }
-        return false;
+        final int variable = symbols.indexOf(varName);
+        return variable >= 0 && ur(variable);
     }
 
     public boolean du(final String varName) {
-        if (in.containsKey(varName) && in.get(varName) == InOutState.DEFINED && out.containsKey(varName)
-                && out.get(varName) == InOutState.DELETED) {
-            return true;
-        }
-        return false;
+        final int variable = symbols.indexOf(varName);
+        return variable >= 0 && du(variable);
     }
 
     public boolean dd(final String varName) {
-        if (in.containsKey(varName) && in.get(varName) == InOutState.DEFINED && defined().containsKey(varName)) {
-            return true;
-        }
-        return false;
+        final int variable = symbols.indexOf(varName);
+        return variable >= 0 && dd(variable);
+    }
+
+    private boolean ur(final int variable) {
+        final InOutState state = in.get(variable);
+        return (state == null || state == InOutState.DELETED)
+                && VariableStates.bit(getUsedVariables(), variable);
+    }
+
+    private boolean du(final int variable) {
+        return in.get(variable) == InOutState.DEFINED && out.get(variable) == InOutState.DELETED;
+    }
+
+    private boolean dd(final int variable) {
+        return in.get(variable) == InOutState.DEFINED && VariableStates.bit(getDefinedVariables(), variable);
     }
 
     public Map<BpmnElement, List<AnomalyContainer>> getAnomalies() {
         final Map<BpmnElement, List<AnomalyContainer>> anomalyMap = new HashMap<BpmnElement, List<AnomalyContainer>>();
+        // interns the variables of the element
+        initVariableSets();
+        final List<AnomalyContainer> anomalies = new ArrayList<AnomalyContainer>();
         final Set<String> variableNames = new HashSet<String>();
-        variableNames.addAll(used().keySet());
-        for (final String variableName : in.keySet()) {
-            if (in.get(variableName) == InOutState.DEFINED) {
-                variableNames.add(variableName);
+        for (final ProcessVariableOperation var : processVariables.values()) {
+            if (var.getOperation() == VariableOperation.READ) {
+                variableNames.add(var.getName());
+            }
+        }
+        for (final Map.Entry<String, InOutState> entry : getIn().entrySet()) {
+            if (entry.getValue() == InOutState.DEFINED) {
+                variableNames.add(entry.getKey());
             }
         }
-        final List<AnomalyContainer> anomalies = new ArrayList<AnomalyContainer>();
         for (final String variableName : variableNames) {
-            if (ur(variableName)) {
-                anomalies.add(new AnomalyContainer(variableName, Anomaly.UR, baseElement.getId(),
+            final int variable = symbols.indexOf(variableName);
+            if (ur(variable)) {
+                anomalies.add(new AnomalyContainer(variableName, Anomaly.UR, id,
                         processVariables.get(variableName)));
             }
-            if (du(variableName)) {
-                anomalies.add(new AnomalyContainer(variableName, Anomaly.DU, baseElement.getId(),
+            if (du(variable)) {
+                anomalies.add(new AnomalyContainer(variableName, Anomaly.DU, id,
                         processVariables.get(variableName)));
             }
-            if (dd(variableName)) {
-                anomalies.add(new AnomalyContainer(variableName, Anomaly.DD, baseElement.getId(),
+            if (dd(variable)) {
+                anomalies.add(new AnomalyContainer(variableName, Anomaly.DD, id,
                         processVariables.get(variableName)));
             }
         }
@@ -263,14 +359,4 @@ public class BpmnElement {
 
         return anomalyMap;
     }
-
-    private void changeStatusToRead(final Map<String, InOutState> inVariables) {
-        for (final String varName : inVariables.keySet()) {
-            if (used().containsKey(varName)) {
-                out.put(varName, InOutState.READ);
-            } else {
-                out.put(varName, inVariables.get(varName));
-            }
-        }
-    }
 }
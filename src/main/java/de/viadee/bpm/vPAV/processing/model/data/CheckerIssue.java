@@ -65,6 +65,9 @@ public class CheckerIssue implements Comparable<CheckerIssue> {
 
 	private List<Path> invalidPaths;
 
+	// there are invalid paths, which are not part of invalidPaths
+	private boolean morePaths;
+
 	private String message;
 
 	private String elementDescription;
@@ -366,6 +369,14 @@ public class CheckerIssue implements Comparable<CheckerIssue> {
 		return invalidPaths;
 	}
 
+	public boolean hasMorePaths() {
+		return morePaths;
+	}
+
+	public void setMorePaths(final boolean morePaths) {
+		this.morePaths = morePaths;
+	}
+
 	public CriticalityEnum getClassification() {
 		return classification;
 	}
@@ -0,0 +1,364 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing.model.data;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * States of process variables at one point of the data flow. Each variable
+ * takes two bits, spread over two bit vectors, which are indexed by the
+ * numbers of VariableSymbols: 00 no state, 01 DEFINED, 10 READ, 11 DELETED.
+ *
+ * The order of the codes is the precedence of the states, if states are
+ * combined: 1) DELETED 2) READ 3) DEFINED
+ */
+public final class VariableStates {
+
+    private long[] high;
+
+    private long[] low;
+
+    public VariableStates() {
+        this(new long[0], new long[0]);
+    }
+
+    private VariableStates(final long[] high, final long[] low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * @param variable
+     *            number of the variable
+     * @return state of the variable or null
+     */
+    public InOutState get(final int variable) {
+        final int code = (bit(high, variable) ? 2 : 0) + (bit(low, variable) ? 1 : 0);
+        return code == 0 ? null : InOutState.values()[code - 1];
+    }
+
+    public boolean contains(final int variable) {
+        return bit(high, variable) || bit(low, variable);
+    }
+
+    /**
+     * @param variable
+     *            number of the variable
+     * @param state
+     *            new state or null to remove the state
+     */
+    public void put(final int variable, final InOutState state) {
+        final int code = state == null ? 0 : state.ordinal() + 1;
+        high = setBit(high, variable, (code & 2) != 0);
+        low = setBit(low, variable, (code & 1) != 0);
+    }
+
+    public boolean isEmpty() {
+        return isEmpty(high) && isEmpty(low);
+    }
+
+    /**
+     * Removes all variables, which are not part of the mask
+     *
+     * @param mask
+     *            bit vector of the variables to keep
+     */
+    public void retain(final long[] mask) {
+        for (int i = 0; i < high.length; i++) {
+            high[i] &= word(mask, i);
+        }
+        for (int i = 0; i < low.length; i++) {
+            low[i] &= word(mask, i);
+        }
+    }
+
+    /**
+     * Removes all deleted variables
+     */
+    public void removeDeleted() {
+        for (int i = 0; i < Math.min(high.length, low.length); i++) {
+            final long deleted = high[i] & low[i];
+            high[i] &= ~deleted;
+            low[i] &= ~deleted;
+        }
+    }
+
+    /**
+     * Union of two states, variables known on both sides follow the precedence
+     * rule
+     *
+     * @param a
+     *            states
+     * @param b
+     *            states
+     * @return union
+     */
+    public static VariableStates union(final VariableStates a, final VariableStates b) {
+        final int length = Math.max(Math.max(a.high.length, a.low.length), Math.max(b.high.length, b.low.length));
+        final long[] high = new long[length];
+        final long[] low = new long[length];
+        for (int i = 0; i < length; i++) {
+            final long ah = word(a.high, i);
+            final long al = word(a.low, i);
+            final long bh = word(b.high, i);
+            final long bl = word(b.low, i);
+            // maximum of the two bit codes
+            high[i] = ah | bh;
+            low[i] = (al & (ah | ~bh)) | (bl & (bh | ~ah));
+        }
+        return new VariableStates(high, low);
+    }
+
+    /**
+     * Intersection of two states, the state of a variable follows the precedence
+     * rule
+     *
+     * @param a
+     *            states
+     * @param b
+     *            states
+     * @return intersection
+     */
+    public static VariableStates intersection(final VariableStates a, final VariableStates b) {
+        final VariableStates intersection = union(a, b);
+        for (int i = 0; i < intersection.high.length; i++) {
+            final long common = (word(a.high, i) | word(a.low, i)) & (word(b.high, i) | word(b.low, i));
+            intersection.high[i] &= common;
+            intersection.low[i] &= common;
+        }
+        return intersection;
+    }
+
+    /**
+     * Calculates the states after an element: read variables are marked as read,
+     * newly defined variables as defined and deleted variables as deleted
+     *
+     * @param in
+     *            states before the element
+     * @param defined
+     *            bit vector of the variables written by the element
+     * @param used
+     *            bit vector of the variables read by the element
+     * @param killed
+     *            bit vector of the variables deleted by the element
+     * @return states after the element
+     */
+    public static VariableStates transfer(final VariableStates in, final long[] defined, final long[] used,
+            final long[] killed) {
+        final int length = Math.max(Math.max(in.high.length, in.low.length),
+                Math.max(defined.length, Math.max(used.length, killed.length)));
+        final long[] high = new long[length];
+        final long[] low = new long[length];
+        for (int i = 0; i < length; i++) {
+            final long h = word(in.high, i);
+            final long l = word(in.low, i);
+            final long present = h | l;
+            final long u = word(used, i);
+            final long k = word(killed, i);
+            high[i] = (h & ~u) | (present & u) | k;
+            low[i] = (l & ~u) | (word(defined, i) & ~present) | k;
+        }
+        return new VariableStates(high, low);
+    }
+
+    /**
+     * Returns a read-only view of the states by variable name. The view isn't
+     * copied, so it reflects later changes of the states.
+     *
+     * @param symbols
+     *            table, which the states are based on
+     * @return states by variable name
+     */
+    public Map<String, InOutState> asMap(final VariableSymbols symbols) {
+        return new NamedStates(symbols);
+    }
+
+    /**
+     * @param from
+     *            number of the first variable to check
+     * @return number of the next variable with a state or -1
+     */
+    private int nextVariable(final int from) {
+        final int length = Math.max(high.length, low.length);
+        for (int i = from / Long.SIZE; i < length; i++) {
+            long bits = word(high, i) | word(low, i);
+            if (i == from / Long.SIZE) {
+                bits &= -1L << from;
+            }
+            if (bits != 0) {
+                return i * Long.SIZE + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Sets a bit in a bit vector, which is enlarged if necessary
+     *
+     * @param bits
+     *            bit vector
+     * @param index
+     *            index of the bit
+     * @param value
+     *            value of the bit
+     * @return bit vector
+     */
+    public static long[] setBit(long[] bits, final int index, final boolean value) {
+        final int word = index / Long.SIZE;
+        if (word >= bits.length) {
+            if (!value) {
+                return bits;
+            }
+            bits = Arrays.copyOf(bits, word + 1);
+        }
+        if (value) {
+            bits[word] |= 1L << index;
+        } else {
+            bits[word] &= ~(1L << index);
+        }
+        return bits;
+    }
+
+    public static boolean bit(final long[] bits, final int index) {
+        final int word = index / Long.SIZE;
+        return word < bits.length && (bits[word] & (1L << index)) != 0;
+    }
+
+    private static long word(final long[] bits, final int index) {
+        return index < bits.length ? bits[index] : 0L;
+    }
+
+    private static boolean isEmpty(final long[] bits) {
+        for (final long word : bits) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (!(o instanceof VariableStates)) {
+            return false;
+        }
+        final VariableStates other = (VariableStates) o;
+        final int length = Math.max(Math.max(high.length, low.length),
+                Math.max(other.high.length, other.low.length));
+        for (int i = 0; i < length; i++) {
+            if (word(high, i) != word(other.high, i) || word(low, i) != word(other.low, i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        long hash = 0;
+        for (int i = 0; i < Math.max(high.length, low.length); i++) {
+            hash = 31 * hash + (word(high, i) * 17 + word(low, i));
+        }
+        return Long.hashCode(hash);
+    }
+
+    /**
+     * Map view of the states, names are looked up in the symbol table
+     */
+    private final class NamedStates extends AbstractMap<String, InOutState> {
+
+        private final VariableSymbols symbols;
+
+        private NamedStates(final VariableSymbols symbols) {
+            this.symbols = symbols;
+        }
+
+        @Override
+        public InOutState get(final Object key) {
+            if (!(key instanceof String)) {
+                return null;
+            }
+            final int variable = symbols.indexOf((String) key);
+            return variable < 0 ? null : VariableStates.this.get(variable);
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Set<Map.Entry<String, InOutState>> entrySet() {
+            return new AbstractSet<Map.Entry<String, InOutState>>() {
+
+                @Override
+                public Iterator<Map.Entry<String, InOutState>> iterator() {
+                    return new Iterator<Map.Entry<String, InOutState>>() {
+
+                        private int next = nextVariable(0);
+
+                        @Override
+                        public boolean hasNext() {
+                            return next >= 0;
+                        }
+
+                        @Override
+                        public Map.Entry<String, InOutState> next() {
+                            if (next < 0) {
+                                throw new NoSuchElementException();
+                            }
+                            final int variable = next;
+                            next = nextVariable(variable + 1);
+                            return new AbstractMap.SimpleImmutableEntry<String, InOutState>(
+                                    symbols.getName(variable), VariableStates.this.get(variable));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    int size = 0;
+                    for (int i = 0; i < Math.max(high.length, low.length); i++) {
+                        size += Long.bitCount(word(high, i) | word(low, i));
+                    }
+                    return size;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing.model.data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps the names of process variables to consecutive numbers, so that the data
+ * flow states of all elements can be kept as bit vectors. The table is shared by
+ * all models of a validation run. Each element keeps the table it has been
+ * created with, so its states can still be read after the run.
+ */
+public class VariableSymbols {
+
+    private static volatile VariableSymbols instance;
+
+    private final Map<String, Integer> indices = new ConcurrentHashMap<String, Integer>();
+
+    private final List<String> names = new ArrayList<String>();
+
+    private VariableSymbols() {
+    }
+
+    public static VariableSymbols getInstance() {
+        if (VariableSymbols.instance == null) {
+            synchronized (VariableSymbols.class) {
+                if (VariableSymbols.instance == null) {
+                    VariableSymbols.instance = new VariableSymbols();
+                }
+            }
+        }
+        return VariableSymbols.instance;
+    }
+
+    /**
+     * Returns the number of a variable, unknown variables get the next number
+     *
+     * @param name
+     *            name of the variable
+     * @return number of the variable
+     */
+    public int intern(final String name) {
+        final Integer index = indices.get(name);
+        if (index != null) {
+            return index;
+        }
+        synchronized (this) {
+            return indices.computeIfAbsent(name, key -> {
+                names.add(key);
+                return names.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * Returns the number of a variable without adding unknown variables
+     *
+     * @param name
+     *            name of the variable
+     * @return number of the variable or -1, if the variable is unknown
+     */
+    public int indexOf(final String name) {
+        final Integer index = indices.get(name);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * @param index
+     *            number of a variable
+     * @return name of the variable
+     */
+    public synchronized String getName(final int index) {
+        return names.get(index);
+    }
+
+    /**
+     * Detaches the table at the end of a validation run. The next run gets a new
+     * table, elements of the finished run keep this one.
+     */
+    public void clear() {
+        synchronized (VariableSymbols.class) {
+            if (VariableSymbols.instance == this) {
+                VariableSymbols.instance = null;
+            }
+        }
+    }
+}
@@ -36,11 +36,13 @@ package de.viadee.bpm.vPAV.processing.model.graph;
  *
  * A class for a directed graph. Implemented by an adjacency list representation of a graph.
  */
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -49,10 +51,10 @@ import java.util.Set;
 import org.camunda.bpm.model.bpmn.impl.BpmnModelConstants;
 
 import de.viadee.bpm.vPAV.constants.BpmnConstants;
-import de.viadee.bpm.vPAV.processing.model.data.Anomaly;
 import de.viadee.bpm.vPAV.processing.model.data.AnomalyContainer;
 import de.viadee.bpm.vPAV.processing.model.data.BpmnElement;
-import de.viadee.bpm.vPAV.processing.model.data.InOutState;
+import de.viadee.bpm.vPAV.processing.model.data.VariableStates;
+import de.viadee.bpm.vPAV.processing.model.data.VariableSymbols;
 
 public class Graph implements IGraph {
 
@@ -189,232 +191,214 @@ public class Graph implements IGraph {
     /**
      * set anomaly information on data flow graph
      *
+     * The in and out sets of all elements are calculated with a worklist
+     * algorithm until a fixpoint is reached. Variable states are kept as bit
+     * vectors over the indices of the variables. Parallel gateways take the union
+     * of all incoming states, other gateways the intersection. Only predecessors,
+     * which haven't been processed yet, don't restrict the intersection.
+     *
+     * The in set of a gateway taking the intersection is computed anew each time,
+     * so it can shrink, e.g. at the head of a loop. The in sets of all other
+     * elements only grow. Each cycle contains such an element (at least its
+     * sequence flows), so the calculation terminates.
+     *
+     * Before, the states were propagated along every path (loops were
+     * entered twice) and the intersection of a gateway depended on the order of
+     * its incoming flows. Now a variable, which is defined on some branches of an
+     * exclusive gateway only, is always missing after the join, even if the other
+     * branches don't carry any variables.
      */
     @Override
     public void setAnomalyInformation(final BpmnElement source) {
-        setAnomalyInformationRecursive(source, new LinkedList<BpmnElement>());
-    }
+        final List<BpmnElement> nodes = getReversePostOrder(source);
+        final Map<BpmnElement, Integer> nodeIndex = new HashMap<BpmnElement, Integer>();
+        for (int i = 0; i < nodes.size(); i++) {
+            nodeIndex.put(nodes.get(i), i);
+        }
 
-    /**
-     * set anomaly information recursive on data flow graph (forward)
-     *
-     * @param startNode
-     * @param currentPath
-     */
-    private void setAnomalyInformationRecursive(final BpmnElement startNode,
-            final LinkedList<BpmnElement> currentPath) {
+        final VariableStates[] in = new VariableStates[nodes.size()];
+        final VariableStates[] out = new VariableStates[nodes.size()];
+        final Deque<Integer> worklist = new ArrayDeque<Integer>();
+        final boolean[] queued = new boolean[nodes.size()];
+        for (int i = 0; i < nodes.size(); i++) {
+            worklist.add(i);
+            queued[i] = true;
+        }
 
-        currentPath.add(startNode);
+        while (!worklist.isEmpty()) {
+            final int i = worklist.poll();
+            queued[i] = false;
+            final BpmnElement node = nodes.get(i);
 
-        final boolean isGateway = startNode.getBaseElement().getElementType().getBaseType()
-                .getTypeName().equals(BpmnModelConstants.BPMN_ELEMENT_GATEWAY);
-        final boolean isNodeParallelGateway = startNode.getBaseElement().getElementType().getTypeName()
-                .equals(BpmnModelConstants.BPMN_ELEMENT_PARALLEL_GATEWAY);
-        final boolean isEndEvent = startNode.getBaseElement().getElementType().getTypeName()
-                .equals(BpmnConstants.ENDEVENT)
-                && startNode.getBaseElement().getParentElement().getElementType().getTypeName()
-                        .equals(BpmnConstants.PROCESS);
+            VariableStates newIn = meet(node, nodeIndex, out);
+            if (node.getInCa() != null) {
+                newIn.retain(mask(node.getSymbols(), node.getInCa()));
+            }
+            if (in[i] != null && !isIntersection(node)) {
+                newIn = VariableStates.union(in[i], newIn);
+            }
+            in[i] = newIn;
 
-        final List<Edge> predecessorEdges = this.adjacencyListPredecessor.get(startNode);
-        Map<String, InOutState> outSuccessors = new HashMap<String, InOutState>();
-        if (predecessorEdges != null) {
-            for (final Edge t : predecessorEdges) {
-                if (isGateway) {
-                    if (isNodeParallelGateway) {
-                        // If the node is a parallel gateway, take all predecessor variables.
-                        // If variables are identical, take the variable with the following precedence
-                        // 1) DELETED
-                        // 2) READ
-                        // 3) DEFINED
-                        if (outSuccessors.isEmpty()) {
-                            outSuccessors.putAll(t.getTo().getOut());
-                        } else {
-                            outSuccessors.putAll(unionWithStatePrecedence(outSuccessors, t.getTo().getOut()));
-                        }
-                    } else {
-                        // If the node is an other gateway, take the intersection of all predecessor variables.
-                        // Follow the precedence rule (look above)
-                        if (outSuccessors.isEmpty()) {
-                            outSuccessors.putAll(t.getTo().getOut());
-                        } else {
-                            outSuccessors.putAll(intersection(outSuccessors, t.getTo().getOut()));
-                        }
+            // end element has not an out set
+            final VariableStates newOut = isProcessEndEvent(node) ? new VariableStates()
+                    : transfer(node, newIn);
+            if (!newOut.equals(out[i])) {
+                out[i] = newOut;
+                for (final Edge edge : adjacencyListSucessor.get(node)) {
+                    final int successor = nodeIndex.get(edge.getTo());
+                    if (!queued[successor]) {
+                        worklist.add(successor);
+                        queued[successor] = true;
                     }
-                } else {
-                    outSuccessors.putAll(t.getTo().getOut());
                 }
             }
         }
 
-        startNode.setIn(outSuccessors);
-        if (!isEndEvent) {
-            // end element has not an out set
-            startNode.setOut();
+        for (int i = 0; i < nodes.size(); i++) {
+            nodes.get(i).setIn(in[i]);
+            nodes.get(i).setOut(out[i]);
         }
+    }
 
-        if (startNode.getBaseElement() != null) {
-            // save the path, if the the search has reached the begin of the process
-            if (isEndEvent) {
-                currentPath.remove(startNode);
-                return;
+    /**
+     * combines the out sets of all predecessors, which have already been processed
+     *
+     * @param node
+     *            current element
+     * @param nodeIndex
+     *            index of elements
+     * @param out
+     *            out sets by index
+     * @return in set
+     */
+    private VariableStates meet(final BpmnElement node, final Map<BpmnElement, Integer> nodeIndex,
+            final VariableStates[] out) {
+        final boolean isIntersection = isIntersection(node);
+
+        VariableStates result = null;
+        for (final Edge edge : adjacencyListPredecessor.get(node)) {
+            final VariableStates predecessor = out[nodeIndex.get(edge.getTo())];
+            if (predecessor == null) {
+                // not computed yet
+                continue;
             }
-        }
-
-        final List<Edge> edges = this.adjacencyListSucessor.get(startNode);
-
-        for (final Edge t : edges) {
-            int occurrences = Collections.frequency(currentPath, t.getTo());
-            if (occurrences < 2) { // case iterations n=1 and n=2 for loops
-                setAnomalyInformationRecursive(t.getTo(), currentPath);
+            if (result == null) {
+                result = VariableStates.union(predecessor, new VariableStates());
+            } else if (isIntersection) {
+                result = VariableStates.intersection(result, predecessor);
+            } else {
+                result = VariableStates.union(result, predecessor);
             }
         }
-
-        currentPath.remove(startNode);
+        return result != null ? result : new VariableStates();
     }
 
     /**
-     * get nodes with data flow anomalies
+     * calculates the out set of an element: defined variables are added, read
+     * variables are marked as read and deleted variables as deleted
+     *
+     * @return out set
      */
-    @Override
-    public Map<BpmnElement, List<AnomalyContainer>> getNodesWithAnomalies() {
-
-        final Map<BpmnElement, List<AnomalyContainer>> anomalies = new HashMap<BpmnElement, List<AnomalyContainer>>();
-        for (final BpmnElement node : adjacencyListSucessor.keySet()) {
-            anomalies.putAll(node.getAnomalies());
+    private VariableStates transfer(final BpmnElement node, final VariableStates in) {
+        final VariableStates out = VariableStates.transfer(in, node.getDefinedVariables(),
+                node.getUsedVariables(), node.getDeletedVariables());
+        if (node.getOutCa() != null) {
+            // deleted variables are not passed back from a call activity
+            out.retain(mask(node.getSymbols(), node.getOutCa()));
+            out.removeDeleted();
         }
-        return anomalies;
+        return out;
     }
 
-    /**
-     * search all paths with variables, which has not been set
-     *
-     * source: http://codereview.stackexchange.com/questions/45678/find-all-paths-from-source-to-destination
-     */
-    @Override
-    public List<Path> getAllInvalidPaths(final BpmnElement source, final AnomalyContainer anomaly) {
-        final List<Path> paths = getAllInvalidPathsRecursive(source, anomaly,
-                new LinkedList<BpmnElement>());
-        return paths;
+    private static long[] mask(final VariableSymbols symbols, final Collection<String> names) {
+        long[] mask = new long[0];
+        for (final String name : names) {
+            mask = VariableStates.setBit(mask, symbols.intern(name), true);
+        }
+        return mask;
     }
 
     /**
-     * search all paths with variables, which has not been set (backward)
-     *
-     * source: http://codereview.stackexchange.com/questions/45678/find-all-paths-from-source-to-destination
-     *
-     * @param startNode
-     * @param varName
-     * @param currentPath
-     * @param maxSize
-     * @return paths
+     * @return true, if the element is a gateway, which takes the intersection of
+     *         the incoming states
      */
-    private List<Path> getAllInvalidPathsRecursive(final BpmnElement startNode,
-            final AnomalyContainer anomaly, final LinkedList<BpmnElement> currentPath) {
-
-        final List<Path> invalidPaths = new ArrayList<Path>();
-
-        currentPath.add(startNode);
-
-        final List<Edge> edges = this.adjacencyListPredecessor.get(startNode);
-
-        final Map<String, InOutState> in = startNode.getIn();
-        final Map<String, InOutState> out = startNode.getOut();
-
-        final List<Path> returnPathsUrAnomaly = exitConditionUrAnomaly(startNode, anomaly, currentPath,
-                invalidPaths, in, out);
-        final List<Path> returnPathsDdDuAnomaly = exitConditionDdDuAnomaly(startNode, anomaly,
-                currentPath, invalidPaths, in);
-
-        if (anomaly.getAnomaly() == Anomaly.UR && !in.containsKey(anomaly.getName())
-                && out.containsKey(anomaly.getName())) {
-            return invalidPaths;
-        } else if (returnPathsUrAnomaly != null) {
-            return returnPathsUrAnomaly;
-        } else if (returnPathsDdDuAnomaly != null) {
-            return returnPathsDdDuAnomaly;
-        }
-
-        for (final Edge t : edges) {
-            if (!currentPath.contains(t.getTo()) || t.getTo() == anomaly.getVariable().getElement()) {
-                invalidPaths.addAll(getAllInvalidPathsRecursive(t.getTo(), anomaly, currentPath));
-            }
-        }
-
-        currentPath.remove(startNode);
+    private static boolean isIntersection(final BpmnElement node) {
+        final boolean isGateway = node.getBaseElement().getElementType().getBaseType().getTypeName()
+                .equals(BpmnModelConstants.BPMN_ELEMENT_GATEWAY);
+        return isGateway && !node.getBaseElement().getElementType().getTypeName()
+                .equals(BpmnModelConstants.BPMN_ELEMENT_PARALLEL_GATEWAY);
+    }
 
-        return invalidPaths;
+    private static boolean isProcessEndEvent(final BpmnElement node) {
+        return node.getBaseElement().getElementType().getTypeName().equals(BpmnConstants.ENDEVENT)
+                && node.getBaseElement().getParentElement().getElementType().getTypeName()
+                        .equals(BpmnConstants.PROCESS);
     }
 
     /**
-     * exit condition for path finding (ur anomaly)
+     * orders the elements, so that predecessors are mostly processed before their
+     * successors. Elements, which can't be reached from the source, are appended.
      *
-     * @param startNode
-     * @param anomaly
-     * @param currentPath
-     * @param invalidPaths
-     * @param in
-     * @param out
+     * @param source
+     *            first element
+     * @return all elements in reverse post order
      */
-    private List<Path> exitConditionUrAnomaly(final BpmnElement startNode,
-            final AnomalyContainer anomaly, final LinkedList<BpmnElement> currentPath,
-            final List<Path> invalidPaths, final Map<String, InOutState> in,
-            final Map<String, InOutState> out) {
-
-        // go back to the node, where the variable was deleted
-        // or go back to the start
-        if (anomaly.getAnomaly() == Anomaly.UR && (variableDeleted(anomaly, in, out)
-                || ((startNode.getBaseElement().getElementType().getTypeName().equals(BpmnConstants.STARTEVENT)
-                        && startNode.getBaseElement().getParentElement().getElementType().getTypeName()
-                                .equals(BpmnConstants.PROCESS))))) {
-
-            final List<BpmnElement> newPath = new ArrayList<BpmnElement>(currentPath);
-            invalidPaths.add(new Path(newPath));
-
-            currentPath.remove(startNode);
-            return invalidPaths;
+    private List<BpmnElement> getReversePostOrder(final BpmnElement source) {
+        final List<BpmnElement> roots = new ArrayList<BpmnElement>();
+        roots.add(source);
+        roots.addAll(startNodes);
+        roots.addAll(adjacencyListSucessor.keySet());
+
+        final Set<BpmnElement> visited = new HashSet<BpmnElement>();
+        final LinkedList<BpmnElement> order = new LinkedList<BpmnElement>();
+        final Deque<BpmnElement> stack = new ArrayDeque<BpmnElement>();
+        final Deque<Integer> nextEdge = new ArrayDeque<Integer>();
+        for (final BpmnElement root : roots) {
+            if (!adjacencyListSucessor.containsKey(root) || !visited.add(root)) {
+                continue;
+            }
+            stack.push(root);
+            nextEdge.push(0);
+            while (!stack.isEmpty()) {
+                final BpmnElement node = stack.peek();
+                final int edge = nextEdge.pop();
+                final List<Edge> edges = adjacencyListSucessor.get(node);
+                if (edge < edges.size()) {
+                    nextEdge.push(edge + 1);
+                    final BpmnElement successor = edges.get(edge).getTo();
+                    if (visited.add(successor)) {
+                        stack.push(successor);
+                        nextEdge.push(0);
+                    }
+                } else {
+                    stack.pop();
+                    order.addFirst(node);
+                }
+            }
         }
-        return null;
+        return order;
     }
 
     /**
-     * is variable deleted
-     *
-     * @param anomaly
-     * @param in
-     * @param out
-     * @return
+     * get nodes with data flow anomalies
      */
-    private boolean variableDeleted(final AnomalyContainer anomaly, final Map<String, InOutState> in,
-            final Map<String, InOutState> out) {
+    @Override
+    public Map<BpmnElement, List<AnomalyContainer>> getNodesWithAnomalies() {
 
-        return ((in.containsKey(anomaly.getName()) && in.get(anomaly.getName()) != InOutState.DELETED))
-                && (out.containsKey(anomaly.getName()) && out.get(anomaly.getName()) == InOutState.DELETED);
+        final Map<BpmnElement, List<AnomalyContainer>> anomalies = new HashMap<BpmnElement, List<AnomalyContainer>>();
+        for (final BpmnElement node : adjacencyListSucessor.keySet()) {
+            anomalies.putAll(node.getAnomalies());
+        }
+        return anomalies;
     }
 
     /**
-     * exit condition for path finding (du / dd anomaly)
-     *
-     * @param startNode
-     * @param anomaly
-     * @param currentPath
-     * @param invalidPaths
+     * search paths with variables, which has not been set. The paths are searched
+     * lazily and shortest paths first.
      */
-    private List<Path> exitConditionDdDuAnomaly(final BpmnElement startNode,
-            final AnomalyContainer anomaly, final LinkedList<BpmnElement> currentPath,
-            final List<Path> invalidPaths, Map<String, InOutState> in) {
-
-        // go back to the node where the element is defined
-        // skip the startpoint
-        if (startNode.defined().containsKey(anomaly.getName())
-                && (anomaly.getAnomaly() == Anomaly.DD || anomaly.getAnomaly() == Anomaly.DU)
-                && currentPath.size() > 1) {
-            final List<BpmnElement> newPath = new ArrayList<BpmnElement>(currentPath);
-            invalidPaths.add(new Path(newPath));
-
-            currentPath.remove(startNode);
-            return invalidPaths;
-        }
-        return null;
+    @Override
+    public Iterator<Path> getInvalidPaths(final BpmnElement source, final AnomalyContainer anomaly) {
+        return new InvalidPathIterator(adjacencyListPredecessor, adjacencyListSucessor, source, anomaly);
     }
 
     @Override
@@ -441,75 +425,4 @@ public class Graph implements IGraph {
             info.clear();
         }
     }
-
-    /**
-     * generate intersection for variable maps and remind precedence rule for variable states
-     *
-     * @param mapA
-     *            mapA
-     * @param mapB
-     *            mapB
-     * @return intersection
-     */
-    public static Map<String, InOutState> intersection(final Map<String, InOutState> mapA,
-            final Map<String, InOutState> mapB) {
-        final Map<String, InOutState> intersectionMap = new HashMap<String, InOutState>();
-        final Set<String> variables = new HashSet<String>();
-        variables.addAll(mapA.keySet());
-        variables.addAll(mapB.keySet());
-        for (final String varName : variables) {
-            if (mapA.containsKey(varName) && mapB.containsKey(varName)) {
-                final InOutState state1 = mapA.get(varName);
-                final InOutState state2 = mapB.get(varName);
-
-                final InOutState intersectionElement = getStatePrecedence(state1, state2);
-                intersectionMap.put(varName, intersectionElement);
-            } else {
-                mapA.remove(varName);
-                mapB.remove(varName);
-            }
-        }
-        return intersectionMap;
-    }
-
-    /**
-     * get union and remind precedence rule for variable states
-     *
-     * @param mapA
-     *            mapA
-     * @param mapB
-     *            mapB
-     * @return union
-     */
-    public static Map<String, InOutState> unionWithStatePrecedence(final Map<String, InOutState> mapA,
-            final Map<String, InOutState> mapB) {
-
-        final Map<String, InOutState> unionMap = new HashMap<String, InOutState>();
-        unionMap.putAll(mapA);
-        unionMap.putAll(mapB);
-        unionMap.putAll(intersection(mapA, mapB));
-
-        return unionMap;
-
-    }
-
-    /**
-     * precedence rule for variable states
-     *
-     * 1) delete 2) read 3) define
-     *
-     * @param element1
-     * @param element2
-     * @return
-     */
-    private static InOutState getStatePrecedence(final InOutState state1, final InOutState state2) {
-        if (state1 == InOutState.DELETED || state2 == InOutState.DELETED
-                || (state1 == InOutState.DELETED && state2 == InOutState.DELETED)) {
-            return InOutState.DELETED;
-        } else if (state1 == InOutState.READ || state2 == InOutState.READ
-                || (state1 == InOutState.READ && state2 == InOutState.READ)) {
-            return InOutState.READ;
-        }
-        return InOutState.DEFINED;
-    }
 }
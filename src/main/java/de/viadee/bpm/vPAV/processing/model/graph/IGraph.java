@@ -37,6 +37,7 @@ import java.util.Collection;
  * 
  * A basic graph interface.
  */
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -61,7 +62,7 @@ public interface IGraph {
 
   public Edge getEdge(BpmnElement v1, BpmnElement v2);
 
-  public List<Path> getAllInvalidPaths(BpmnElement v, AnomalyContainer anomaly);
+  public Iterator<Path> getInvalidPaths(BpmnElement v, AnomalyContainer anomaly);
 
   public void setAnomalyInformation(BpmnElement v);
 
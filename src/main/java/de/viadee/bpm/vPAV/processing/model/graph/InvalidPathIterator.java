@@ -0,0 +1,266 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing.model.graph;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+import de.viadee.bpm.vPAV.constants.BpmnConstants;
+import de.viadee.bpm.vPAV.processing.model.data.Anomaly;
+import de.viadee.bpm.vPAV.processing.model.data.AnomalyContainer;
+import de.viadee.bpm.vPAV.processing.model.data.BpmnElement;
+import de.viadee.bpm.vPAV.processing.model.data.InOutState;
+import de.viadee.bpm.vPAV.processing.model.data.VariableStates;
+
+/**
+ * Searches the paths of a data flow anomaly backwards from the element with
+ * the anomaly. Paths are only searched as far as they are requested and
+ * shorter paths are returned first.
+ *
+ * A path ends at the element, where the variable has been defined (dd / du
+ * anomaly), or where it has been deleted or the process has been started (ur
+ * anomaly). Apart from the element with the anomaly, which closes loops, each
+ * element is contained at most once in a path.
+ *
+ * Partial paths are extended in order of their length plus the distance of
+ * their last element to the nearest end of a path. Partial paths, which can't
+ * reach an end, are dropped. So the search goes straight to the next path
+ * instead of extending all partial paths of the same length.
+ */
+class InvalidPathIterator implements Iterator<Path> {
+
+    private final Map<BpmnElement, List<Edge>> adjacencyListPredecessor;
+
+    private final AnomalyContainer anomaly;
+
+    /* number of the anomaly's variable in the symbols of the source */
+    private final int variable;
+
+    private final BpmnElement source;
+
+    private final BpmnElement anomalyElement;
+
+    // distance of each element to the nearest end of a path
+    private final Map<BpmnElement, Integer> distances = new HashMap<BpmnElement, Integer>();
+
+    private final PriorityQueue<PathNode> queue;
+
+    private int sequence;
+
+    private Path next;
+
+    InvalidPathIterator(final Map<BpmnElement, List<Edge>> adjacencyListPredecessor,
+            final Map<BpmnElement, List<Edge>> adjacencyListSucessor, final BpmnElement source,
+            final AnomalyContainer anomaly) {
+        this.adjacencyListPredecessor = adjacencyListPredecessor;
+        this.anomaly = anomaly;
+        this.variable = source.getSymbols().intern(anomaly.getName());
+        this.source = source;
+        this.anomalyElement = anomaly.getVariable() != null ? anomaly.getVariable().getElement() : null;
+        this.queue = new PriorityQueue<PathNode>(11, (a, b) -> {
+            final int priority = Integer.compare(a.length + distances.get(a.element),
+                    b.length + distances.get(b.element));
+            if (priority != 0) {
+                return priority;
+            }
+            // prefer longer partial paths, they are closer to an end
+            final int length = Integer.compare(b.length, a.length);
+            return length != 0 ? length : Integer.compare(a.sequence, b.sequence);
+        });
+
+        calculateDistances(adjacencyListSucessor);
+        if (distances.containsKey(source) || isEnd(source, 1)) {
+            distances.putIfAbsent(source, 0);
+            queue.add(new PathNode(source, null, sequence++));
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = findNext();
+        }
+        return next != null;
+    }
+
+    @Override
+    public Path next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final Path path = next;
+        next = null;
+        return path;
+    }
+
+    private Path findNext() {
+        while (!queue.isEmpty()) {
+            final PathNode node = queue.poll();
+            if (isEnd(node.element, node.length)) {
+                return node.toPath();
+            }
+            if (isBlocked(node.element)) {
+                continue;
+            }
+
+            final List<Edge> edges = adjacencyListPredecessor.get(node.element);
+            if (edges != null) {
+                for (final Edge edge : edges) {
+                    final BpmnElement predecessor = edge.getTo();
+                    if (!distances.containsKey(predecessor)) {
+                        // no end can be reached from here
+                        continue;
+                    }
+                    final int occurrences = node.count(predecessor);
+                    if (occurrences == 0 || (predecessor == anomalyElement && occurrences < 2)) {
+                        queue.add(new PathNode(predecessor, node, sequence++));
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Breadth first search from all ends of paths along the successors, i.e. in
+     * the opposite direction of the path search
+     *
+     * @param adjacencyListSucessor
+     *            successors of the elements
+     */
+    private void calculateDistances(final Map<BpmnElement, List<Edge>> adjacencyListSucessor) {
+        final Deque<BpmnElement> elements = new ArrayDeque<BpmnElement>();
+        for (final BpmnElement element : adjacencyListSucessor.keySet()) {
+            if (isEnd(element, 2)) {
+                distances.put(element, 0);
+                elements.add(element);
+            }
+        }
+        while (!elements.isEmpty()) {
+            final BpmnElement element = elements.poll();
+            for (final Edge edge : adjacencyListSucessor.get(element)) {
+                final BpmnElement successor = edge.getTo();
+                if (!distances.containsKey(successor) && !isBlocked(successor)) {
+                    distances.put(successor, distances.get(element) + 1);
+                    elements.add(successor);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param element
+     *            last element of a path
+     * @param length
+     *            length of the path
+     * @return true, if the path ends with this element
+     */
+    private boolean isEnd(final BpmnElement element, final int length) {
+        if (anomaly.getAnomaly() == Anomaly.UR) {
+            // go back to the node, where the variable was deleted or go back to the start
+            return variableDeleted(element.getInStates(), element.getOutStates()) || isProcessStartEvent(element);
+        }
+        // go back to the node where the element is defined, skip the start point
+        return VariableStates.bit(element.getDefinedVariables(), variable) && (length > 1 || element != source);
+    }
+
+    /**
+     * @param element
+     *            element
+     * @return true, if no path leads over this element
+     */
+    private boolean isBlocked(final BpmnElement element) {
+        return anomaly.getAnomaly() == Anomaly.UR && !element.getInStates().contains(variable)
+                && element.getOutStates().contains(variable);
+    }
+
+    private boolean variableDeleted(final VariableStates in, final VariableStates out) {
+        return in.contains(variable) && in.get(variable) != InOutState.DELETED
+                && out.get(variable) == InOutState.DELETED;
+    }
+
+    private static boolean isProcessStartEvent(final BpmnElement element) {
+        return element.getBaseElement().getElementType().getTypeName().equals(BpmnConstants.STARTEVENT)
+                && element.getBaseElement().getParentElement().getElementType().getTypeName()
+                        .equals(BpmnConstants.PROCESS);
+    }
+
+    /**
+     * Last element of a partial path. Paths with the same beginning share their
+     * nodes.
+     */
+    private static class PathNode {
+
+        private final BpmnElement element;
+
+        private final PathNode previous;
+
+        private final int length;
+
+        private final int sequence;
+
+        PathNode(final BpmnElement element, final PathNode previous, final int sequence) {
+            this.element = element;
+            this.previous = previous;
+            this.length = previous == null ? 1 : previous.length + 1;
+            this.sequence = sequence;
+        }
+
+        int count(final BpmnElement candidate) {
+            int count = 0;
+            for (PathNode node = this; node != null; node = node.previous) {
+                if (node.element.equals(candidate)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        Path toPath() {
+            final List<BpmnElement> elements = new ArrayList<BpmnElement>(length);
+            for (PathNode node = this; node != null; node = node.previous) {
+                elements.add(node.element);
+            }
+            // begin with the element of the anomaly
+            Collections.reverse(elements);
+            return new Path(elements);
+        }
+    }
+}
@@ -494,6 +494,10 @@ function createIssueTable(bpmnFile, tableContent, mode) {
                         myCell.appendChild(brz);
                     }
                 }
+                //paths, which are not listed
+                if (issue.morePaths) {
+                    myCell.appendChild(document.createTextNode("... more paths"));
+                }
             }
             myRow.appendChild(myCell);
             //---------
@@ -0,0 +1,169 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collection;
+
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.instance.ServiceTask;
+import org.camunda.bpm.model.bpmn.instance.StartEvent;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.w3c.dom.Document;
+
+public class BpmnModelRegistryTest {
+
+    private static final String BASE_PATH = "src/test/resources/";
+
+    @Rule
+    public TemporaryFolder modelFolder = new TemporaryFolder();
+
+    @After
+    public void clearRegistry() {
+        BpmnModelRegistry.getInstance().clear();
+    }
+
+    /**
+     * Case: The same model is requested several times and must be parsed only once
+     */
+    @Test
+    public void testModelIsParsedOnce() {
+        final File model = new File(BASE_PATH + "BPMN_Model_Version_V1.bpmn");
+
+        final BpmnModelRegistry.ParsedModel parsedModel = BpmnModelRegistry.getInstance().getModel(model);
+
+        assertSame("Model should not be parsed again", parsedModel,
+                BpmnModelRegistry.getInstance().getModel(new File(model.getAbsolutePath())));
+    }
+
+    /**
+     * Case: Each caller gets its own copy of the parsed model, so models can be
+     * read by several threads
+     */
+    @Test
+    public void testEachCallerGetsOwnCopy() {
+        final File model = new File(BASE_PATH + "BPMN_Model_Version_V1.bpmn");
+
+        final BpmnModelInstance firstInstance = BpmnModelRegistry.getInstance().getModelInstance(model);
+        final BpmnModelInstance secondInstance = BpmnModelRegistry.getInstance().getModelInstance(model);
+
+        assertNotSame("Each caller should get its own model instance", firstInstance, secondInstance);
+        assertNotSame("Each caller should get its own model elements",
+                firstInstance.getModelElementById("StartEvent_1"),
+                secondInstance.getModelElementById("StartEvent_1"));
+        assertNotSame("Each caller should get its own scanner", BpmnModelRegistry.getInstance().getBpmnScanner(model),
+                BpmnModelRegistry.getInstance().getBpmnScanner(model));
+    }
+
+    /**
+     * Case: The scanner works on the DOM of the parsed model
+     */
+    @Test
+    public void testScannerUsesParsedModel() {
+        final File model = new File(BASE_PATH + "BPMN_Model_Version_V2.bpmn");
+
+        final Collection<ServiceTask> serviceTasks = BpmnModelRegistry.getInstance().getModelInstance(model)
+                .getModelElementsByType(ServiceTask.class);
+        final String imp = BpmnModelRegistry.getInstance().getBpmnScanner(model)
+                .getImplementation(serviceTasks.iterator().next().getId());
+
+        assertEquals("Get unexpected implementation", "camunda:class", imp);
+    }
+
+    /**
+     * Case: The diagram interchange is removed, but the process content stays the
+     * same (including line breaks in names)
+     */
+    @Test
+    public void testDiagramInterchangeIsRemoved() {
+        final File model = new File(BASE_PATH + "BPMN_Model_Version_V1.bpmn");
+
+        final BpmnModelInstance modelInstance = BpmnModelRegistry.getInstance().getModelInstance(model);
+        final BpmnModelInstance completeModel = Bpmn.readModelFromFile(model);
+
+        assertEquals("Diagram interchange should be removed", 0,
+                ((Document) modelInstance.getDocument().getDomSource().getNode())
+                        .getElementsByTagNameNS(DiagramInterchangeFilter.BPMNDI_NAMESPACE, "*").getLength());
+        assertTrue("Model should contain a diagram", completeModel.getDefinitions().getBpmDiagrams().size() > 0);
+
+        final StartEvent startEvent = modelInstance.getModelElementById("StartEvent_1");
+        assertEquals("Name should be unchanged",
+                ((StartEvent) completeModel.getModelElementById("StartEvent_1")).getName(), startEvent.getName());
+        assertEquals("Number of elements should be unchanged",
+                completeModel.getModelElementsByType(ServiceTask.class).size(),
+                modelInstance.getModelElementsByType(ServiceTask.class).size());
+    }
+
+    /**
+     * Case: The content of a model is only read again, if its modification time or
+     * size changed
+     */
+    @Test
+    public void testFileStampIsCheckedBeforeContent() throws IOException {
+        final File model = modelFolder.newFile("model.bpmn");
+        final String content = new String(Files.readAllBytes(new File(BASE_PATH + "BPMN_Model_Version_V1.bpmn")
+                .toPath()), StandardCharsets.UTF_8);
+        Files.write(model.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        final long lastModified = model.lastModified();
+
+        final BpmnModelRegistry.ParsedModel parsedModel = BpmnModelRegistry.getInstance().getModel(model);
+
+        // same size and modification time, the content isn't read again
+        Files.write(model.toPath(), content.replace("StartEvent_1", "StartEvent_2").getBytes(StandardCharsets.UTF_8));
+        assertTrue("Modification time should be set", model.setLastModified(lastModified));
+        assertSame("Model should not be read again", parsedModel, BpmnModelRegistry.getInstance().getModel(model));
+
+        // touched, but the content is the same
+        Files.write(model.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        assertTrue("Modification time should be set", model.setLastModified(lastModified + 10000));
+        assertSame("Model with the same content should not be parsed again", parsedModel,
+                BpmnModelRegistry.getInstance().getModel(model));
+
+        // changed content
+        Files.write(model.toPath(), content.replace("StartEvent_1", "StartEvent_2").getBytes(StandardCharsets.UTF_8));
+        assertTrue("Modification time should be set", model.setLastModified(lastModified + 20000));
+        assertNotSame("Changed model should be parsed again", parsedModel,
+                BpmnModelRegistry.getInstance().getModel(model));
+    }
+}
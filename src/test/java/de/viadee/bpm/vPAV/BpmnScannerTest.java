@@ -38,6 +38,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 
+import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPathExpressionException;
 
@@ -46,8 +47,10 @@ import org.camunda.bpm.model.bpmn.BpmnModelInstance;
 import org.camunda.bpm.model.bpmn.instance.Gateway;
 import org.camunda.bpm.model.bpmn.instance.ServiceTask;
 import org.junit.Test;
+import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
 
+import de.viadee.bpm.vPAV.constants.BpmnConstants;
 import de.viadee.bpm.vPAV.processing.model.data.BpmnElement;
 
 public class BpmnScannerTest {
@@ -215,4 +218,74 @@ public class BpmnScannerTest {
 
         assertTrue("More or less outgoing sequentflows as expected", out == anzOut);
     }
+
+    /**
+     * Case: Lookup of ids, which don't belong to an element of the requested type
+     *
+     * @throws IOException
+     * @throws SAXException
+     * @throws ParserConfigurationException
+     */
+    @Test
+    public void testUnknownIdsAreIgnored() throws SAXException, IOException, ParserConfigurationException {
+        final String PATH = BASE_PATH + "BPMNScannerXorGateway.bpmn";
+
+        BpmnScanner scanner = new BpmnScanner(PATH);
+
+        assertTrue("Unknown id must not be resolved", scanner.getXorGateWays("unknownId").isEmpty());
+        assertTrue("Unknown id must not be resolved", scanner.getOutgoing("unknownId") == 0);
+        assertTrue("Unknown id must not be resolved", scanner.getListener("unknownId",
+                BpmnConstants.ATTR_CLASS, BpmnConstants.CAMUNDA_EXECUTIONLISTENER).isEmpty());
+        assertTrue("Gateway must not be resolved as sequence flow",
+                scanner.getSequenceFlowDef("ExclusiveGateway_Id").isEmpty());
+    }
+
+    /**
+     * Case: Document without bpmn definitions
+     *
+     * @throws ParserConfigurationException
+     */
+    @Test(expected = ParserConfigurationException.class)
+    public void testDocumentWithoutDefinitions() throws ParserConfigurationException {
+        final Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        doc.appendChild(doc.createElement("definitions"));
+
+        new BpmnScanner(doc);
+    }
+
+    /**
+     * Case: Test getDelegateClasses
+     *
+     * @throws IOException
+     * @throws SAXException
+     * @throws ParserConfigurationException
+     */
+    @Test
+    public void testGetDelegateClasses() throws SAXException, IOException, ParserConfigurationException {
+        final String PATH = BASE_PATH + "BPMN_Model_Version_V2.bpmn";
+
+        BpmnScanner scanner = new BpmnScanner(PATH);
+
+        assertTrue("Referenced class wasn't found", scanner.getDelegateClasses().contains("TestClass"));
+        assertTrue("Only one class is referenced", scanner.getDelegateClasses().size() == 1);
+    }
+
+    /**
+     * Case: Test getScriptResources
+     *
+     * @throws IOException
+     * @throws SAXException
+     * @throws ParserConfigurationException
+     */
+    @Test
+    public void testGetScriptResources() throws SAXException, IOException, ParserConfigurationException {
+        final String PATH = BASE_PATH + "ComplexModelTest_GraphOnComplexModel.bpmn";
+
+        BpmnScanner scanner = new BpmnScanner(PATH);
+
+        assertTrue("Resource of script task wasn't found",
+                scanner.getScriptResources().contains("scriptWithCorrectVariable.groovy"));
+        assertTrue("Resource of listener script wasn't found",
+                scanner.getScriptResources().contains("scriptWithVariableAgainstConvention.groovy"));
+    }
 }
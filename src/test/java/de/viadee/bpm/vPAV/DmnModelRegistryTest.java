@@ -0,0 +1,85 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class DmnModelRegistryTest {
+
+    private static final String BASE_PATH = "src/test/resources/";
+
+    @After
+    public void clearRegistry() {
+        DmnModelRegistry.getInstance().clear();
+    }
+
+    /**
+     * Case: The same model is requested several times and must be parsed only once
+     */
+    @Test
+    public void testModelIsParsedOnce() {
+        final DmnModelRegistry.DmnModel model = DmnModelRegistry.getInstance().getModel("table.dmn",
+                new File(BASE_PATH + "table.dmn"));
+
+        assertSame("Model should not be parsed again", model,
+                DmnModelRegistry.getInstance().getModel("table.dmn", new File(BASE_PATH + "table.dmn")));
+        assertSame("Registered model should be found by its resource name", model,
+                DmnModelRegistry.getInstance().getModel("table.dmn"));
+        assertTrue("Registered model should exist", DmnModelRegistry.getInstance().exists("table.dmn"));
+    }
+
+    /**
+     * Case: Input expressions and outputs of a decision are collected while parsing
+     */
+    @Test
+    public void testDecisionFactsAreCollected() {
+        final DmnModelRegistry.DmnModel model = DmnModelRegistry.getInstance().getModel("table.dmn",
+                new File(BASE_PATH + "table.dmn"));
+
+        assertEquals("Get unexpected decisions", Arrays.asList("decision"),
+                Arrays.asList(model.getDecisionIds().toArray()));
+        final DmnModelRegistry.DecisionFacts decision = model.getDecision("decision");
+        assertEquals("Get unexpected input expressions", Arrays.asList("status", "sum"),
+                decision.getInputExpressions());
+        assertEquals("Get unexpected outputs", Arrays.asList("result", "reason"), decision.getOutputNames());
+        assertNull("Unknown decision should not be found", model.getDecision("unknown"));
+    }
+}
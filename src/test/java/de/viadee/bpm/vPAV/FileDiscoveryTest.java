@@ -0,0 +1,84 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.tools.ant.DirectoryScanner;
+import org.junit.Test;
+
+import de.viadee.bpm.vPAV.constants.ConfigConstants;
+
+public class FileDiscoveryTest {
+
+    private static final String BASE_PATH = "src/test/resources/";
+
+    /**
+     * Case: A single walk finds the same files as a DirectoryScanner for each
+     * pattern
+     */
+    @Test
+    public void testSameFilesAsDirectoryScanner() {
+        final String[] patterns = { ConfigConstants.BPMN_FILE_PATTERN, ConfigConstants.DMN_FILE_PATTERN,
+                ConfigConstants.SCRIPT_FILE_PATTERN };
+
+        final Map<String, Set<String>> discovered = FileDiscovery.discover(BASE_PATH, patterns);
+
+        for (final String pattern : patterns) {
+            final DirectoryScanner scanner = new DirectoryScanner();
+            scanner.setBasedir(BASE_PATH);
+            scanner.setIncludes(new String[] { pattern });
+            scanner.scan();
+
+            assertEquals("Unexpected files for " + pattern,
+                    new HashSet<String>(Arrays.asList(scanner.getIncludedFiles())), discovered.get(pattern));
+        }
+    }
+
+    /**
+     * Case: A missing base directory contains no files
+     */
+    @Test
+    public void testMissingDirectory() {
+        final Map<String, Set<String>> discovered = FileDiscovery.discover(BASE_PATH + "missing/",
+                ConfigConstants.BPMN_FILE_PATTERN);
+
+        assertTrue("Missing directory should contain no files",
+                discovered.get(ConfigConstants.BPMN_FILE_PATTERN).isEmpty());
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class OuterProcessVariablesScannerTest {
+
+    /**
+     * Case: All kinds of engine api calls are found in a single scan
+     */
+    @Test
+    public void testFindEngineApiCalls() {
+        final String code = "runtimeService.startProcessInstanceByKey(\"processKey\", variables);\n"
+                + "runtimeService.startProcessInstanceById(\"processId\");\n"
+                + "runtimeService.startProcessInstanceByMessage(\"startMessage\", variables);\n"
+                + "runtimeService.startProcessInstanceByMessageAndProcessDefinitionId(\"otherMessage\", \"id\");\n"
+                + "runtimeService.correlateMessage(\"correlatedMessage\", variables);\n";
+
+        final Set<String> messageIds = new HashSet<String>();
+        final Set<String> processIds = new HashSet<String>();
+        OuterProcessVariablesScanner.findEngineApiCalls(code, messageIds, processIds);
+
+        assertEquals("Unexpected message ids",
+                new HashSet<String>(Arrays.asList("startMessage", "otherMessage", "correlatedMessage")), messageIds);
+        assertEquals("Unexpected process ids", new HashSet<String>(Arrays.asList("processKey", "processId")),
+                processIds);
+    }
+
+    /**
+     * Case: A call nested in the arguments of another kind of call is found, a
+     * nested call of the same kind is not
+     */
+    @Test
+    public void testNestedEngineApiCalls() {
+        final String code = "a.startProcessInstanceByKey(\"outer\", b.startProcessInstanceById(\"inner\"));\n"
+                + "c.startProcessInstanceByKey(\"first\", d.startProcessInstanceByKey(\"second\"));\n";
+
+        final Set<String> messageIds = new HashSet<String>();
+        final Set<String> processIds = new HashSet<String>();
+        OuterProcessVariablesScanner.findEngineApiCalls(code, messageIds, processIds);
+
+        assertEquals("Unexpected process ids", new HashSet<String>(Arrays.asList("outer", "inner", "first")),
+                processIds);
+    }
+}
@@ -32,13 +32,23 @@
 package de.viadee.bpm.vPAV;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Map;
 
 import org.junit.Test;
 
+import de.viadee.bpm.vPAV.config.model.ElementConvention;
+import de.viadee.bpm.vPAV.config.model.ModelConvention;
+import de.viadee.bpm.vPAV.config.model.Rule;
+import de.viadee.bpm.vPAV.config.model.Setting;
+import de.viadee.bpm.vPAV.constants.ConfigConstants;
+
 public class RuntimeConfigTest {
 
     @Test
@@ -77,4 +87,32 @@ public class RuntimeConfigTest {
 
     }
 
+    @Test
+    public void configRulesAndInactiveRulesMustNotBeActive() {
+        // Given
+        RuntimeConfig rc = RuntimeConfig.getInstance();
+        final Map<String, Rule> rules = new HashMap<String, Rule>();
+        rules.put(ConfigConstants.PARALLEL_VALIDATION, createRule(ConfigConstants.PARALLEL_VALIDATION, true));
+        rules.put("NoScriptChecker", createRule("NoScriptChecker", false));
+        rules.put("OverlapChecker", createRule("OverlapChecker", true));
+
+        // When
+        rc.addActiveRules(rules);
+
+        // Then
+        assertTrue("Active checker is missing", rc.getActiveRuleSet().containsKey("OverlapChecker"));
+        assertFalse("Config rule must not be an active checker",
+                rc.getActiveRuleSet().containsKey(ConfigConstants.PARALLEL_VALIDATION));
+        assertFalse("Inactive checker must not be active", rc.getActiveRuleSet().containsKey("NoScriptChecker"));
+        assertFalse("Config rule must not be listed as active rule",
+                rc.getActiveRules().contains(ConfigConstants.PARALLEL_VALIDATION));
+        assertFalse("Inactive checker must not be listed as active rule",
+                rc.getActiveRules().contains("NoScriptChecker"));
+    }
+
+    private Rule createRule(final String name, final boolean isActive) {
+        return new Rule(name, isActive, null, new HashMap<String, Setting>(), new ArrayList<ElementConvention>(),
+                new ArrayList<ModelConvention>());
+    }
+
 }
@@ -0,0 +1,289 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.builder.AbstractFlowNodeBuilder;
+
+/**
+ * Generates BPMN models of a given size and shape for scale tests and
+ * benchmarks. The models are built with the fluent builder of the Camunda
+ * model API and consist of service tasks, exclusive and parallel gateway
+ * blocks, loops, embedded sub processes and a chain of call activities. Each
+ * service task references a delegate class, whose source is written as well.
+ *
+ * The generation only depends on the parameters and the seed, so the same
+ * models are created in every run.
+ */
+public class SyntheticModelGenerator {
+
+    public static final String DELEGATE_PACKAGE = "de.viadee.bpm.vPAV.synthetic";
+
+    /* number of flow nodes per process */
+    private int elements = 100;
+
+    /* share of blocks, which are gateway blocks */
+    private double gatewayDensity = 0.3;
+
+    /* number of loops per process */
+    private int loops = 0;
+
+    /* number of process variables */
+    private int variables = 20;
+
+    /* probability that a service task uses an existing delegate class */
+    private double delegateReuse = 0.5;
+
+    /* depth of nested embedded sub processes */
+    private int subProcessDepth = 0;
+
+    /* number of processes, each calling the next one with a call activity */
+    private int callActivityChain = 1;
+
+    private long seed = 42;
+
+    private Random random;
+
+    private int counter;
+
+    private final List<String> delegates = new ArrayList<String>();
+
+    public SyntheticModelGenerator setElements(final int elements) {
+        this.elements = elements;
+        return this;
+    }
+
+    public SyntheticModelGenerator setGatewayDensity(final double gatewayDensity) {
+        this.gatewayDensity = gatewayDensity;
+        return this;
+    }
+
+    public SyntheticModelGenerator setLoops(final int loops) {
+        this.loops = loops;
+        return this;
+    }
+
+    public SyntheticModelGenerator setVariables(final int variables) {
+        this.variables = variables;
+        return this;
+    }
+
+    public SyntheticModelGenerator setDelegateReuse(final double delegateReuse) {
+        this.delegateReuse = delegateReuse;
+        return this;
+    }
+
+    public SyntheticModelGenerator setSubProcessDepth(final int subProcessDepth) {
+        this.subProcessDepth = subProcessDepth;
+        return this;
+    }
+
+    public SyntheticModelGenerator setCallActivityChain(final int callActivityChain) {
+        this.callActivityChain = callActivityChain;
+        return this;
+    }
+
+    public SyntheticModelGenerator setSeed(final long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public List<String> getDelegates() {
+        return delegates;
+    }
+
+    /**
+     * Writes the models to the folder and the sources of the delegate classes to
+     * the subfolder "java"
+     *
+     * @param folder
+     *            output folder
+     * @param name
+     *            prefix of process ids and file names
+     * @return file paths by process id, the first entry is the main process
+     * @throws IOException
+     *             if a file couldn't be written
+     */
+    public Map<String, String> generate(final File folder, final String name) throws IOException {
+        random = new Random(seed);
+        delegates.clear();
+        // element ids are unique over all processes
+        counter = 0;
+        final Map<String, String> processIdToPathMap = new LinkedHashMap<String, String>();
+        for (int i = 0; i < callActivityChain; i++) {
+            final String processId = name + "_" + i;
+            final String calledElement = i + 1 < callActivityChain ? name + "_" + (i + 1) : null;
+            final File file = new File(folder, processId + ".bpmn");
+            file.getParentFile().mkdirs();
+            Bpmn.writeModelToFile(file, createProcess(processId, calledElement));
+            processIdToPathMap.put(processId, file.getPath());
+        }
+        writeDelegates(new File(folder, "java"));
+        return processIdToPathMap;
+    }
+
+    private BpmnModelInstance createProcess(final String processId, final String calledElement) {
+        AbstractFlowNodeBuilder<?, ?> builder = Bpmn.createExecutableProcess(processId).startEvent(id("start"));
+        if (calledElement != null) {
+            builder = builder.callActivity(id("call")).calledElement(calledElement);
+        }
+        builder = createBlocks(builder, elements, subProcessDepth);
+        return builder.endEvent(id("end")).done();
+    }
+
+    /**
+     * Appends blocks to the flow until the number of flow nodes is reached
+     */
+    private AbstractFlowNodeBuilder<?, ?> createBlocks(AbstractFlowNodeBuilder<?, ?> builder, final int size,
+            final int depth) {
+        final int end = counter + size;
+        final int loopDistance = loops > 0 ? Math.max(1, size / (loops + 1)) : Integer.MAX_VALUE;
+        int nextLoop = counter + loopDistance;
+        while (counter < end) {
+            final int remaining = end - counter;
+            if (counter >= nextLoop && depth == subProcessDepth) {
+                builder = createLoop(builder);
+                nextLoop += loopDistance;
+            } else if (depth > 0 && remaining > 8 && random.nextDouble() < 0.1) {
+                builder = createSubProcess(builder, Math.min(remaining - 2, size / 4), depth - 1);
+            } else if (remaining > 4 && random.nextDouble() < gatewayDensity) {
+                builder = createGatewayBlock(builder);
+            } else {
+                builder = createServiceTask(builder);
+            }
+        }
+        return builder;
+    }
+
+    private AbstractFlowNodeBuilder<?, ?> createServiceTask(final AbstractFlowNodeBuilder<?, ?> builder) {
+        final String delegate;
+        if (!delegates.isEmpty() && random.nextDouble() < delegateReuse) {
+            delegate = delegates.get(random.nextInt(delegates.size()));
+        } else {
+            delegate = "Delegate_" + delegates.size();
+            delegates.add(delegate);
+        }
+        return builder.serviceTask(id("task")).camundaClass(DELEGATE_PACKAGE + "." + delegate);
+    }
+
+    /**
+     * Exclusive or parallel split with two or three branches and the matching
+     * join
+     */
+    private AbstractFlowNodeBuilder<?, ?> createGatewayBlock(final AbstractFlowNodeBuilder<?, ?> builder) {
+        final boolean parallel = random.nextBoolean();
+        final String split = id("split");
+        final String join = id("join");
+        final int branches = 2 + random.nextInt(2);
+        AbstractFlowNodeBuilder<?, ?> branch = parallel ? builder.parallelGateway(split)
+                : builder.exclusiveGateway(split);
+        for (int i = 0; i < branches; i++) {
+            if (i > 0) {
+                branch = branch.moveToNode(split);
+            }
+            if (!parallel) {
+                branch = branch.condition("branch " + i, "${" + variable() + " == " + i + "}");
+            }
+            branch = createServiceTask(branch);
+            if (i == 0) {
+                branch = parallel ? branch.parallelGateway(join) : branch.exclusiveGateway(join);
+            } else {
+                branch = branch.connectTo(join);
+            }
+        }
+        return branch.moveToNode(join);
+    }
+
+    /**
+     * Service task, which is repeated by an exclusive gateway
+     */
+    private AbstractFlowNodeBuilder<?, ?> createLoop(final AbstractFlowNodeBuilder<?, ?> builder) {
+        final String entry = id("loopEntry");
+        final String exit = id("loopExit");
+        final String variable = variable();
+        AbstractFlowNodeBuilder<?, ?> loop = createServiceTask(builder.exclusiveGateway(entry))
+                .exclusiveGateway(exit);
+        loop = loop.condition("repeat", "${" + variable + "}").connectTo(entry);
+        return loop.moveToNode(exit).condition("done", "${!" + variable + "}");
+    }
+
+    private AbstractFlowNodeBuilder<?, ?> createSubProcess(final AbstractFlowNodeBuilder<?, ?> builder,
+            final int size, final int depth) {
+        AbstractFlowNodeBuilder<?, ?> inner = builder.subProcess(id("subProcess")).embeddedSubProcess()
+                .startEvent(id("subStart"));
+        inner = createBlocks(inner, size, depth);
+        return inner.endEvent(id("subEnd")).subProcessDone();
+    }
+
+    /**
+     * Writes a delegate class for each referenced name, which reads one and
+     * writes another process variable
+     */
+    private void writeDelegates(final File folder) throws IOException {
+        final File packageFolder = new File(folder, DELEGATE_PACKAGE.replace('.', '/'));
+        packageFolder.mkdirs();
+        for (final String delegate : delegates) {
+            final String source = "package " + DELEGATE_PACKAGE + ";\n\n"
+                    + "import org.camunda.bpm.engine.delegate.DelegateExecution;\n"
+                    + "import org.camunda.bpm.engine.delegate.JavaDelegate;\n\n"
+                    + "public class " + delegate + " implements JavaDelegate {\n\n"
+                    + "    @Override\n"
+                    + "    public void execute(DelegateExecution execution) throws Exception {\n"
+                    + "        execution.setVariable(\"" + variable() + "\", execution.getVariable(\""
+                    + variable() + "\"));\n"
+                    + "    }\n"
+                    + "}\n";
+            Files.write(new File(packageFolder, delegate + ".java").toPath(),
+                    source.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private String variable() {
+        return "var_" + random.nextInt(variables);
+    }
+
+    private String id(final String prefix) {
+        counter++;
+        return prefix + "_" + counter;
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.instance.FlowNode;
+import org.camunda.bpm.model.bpmn.instance.ServiceTask;
+import org.camunda.bpm.model.bpmn.instance.SubProcess;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.xml.sax.SAXException;
+
+import de.viadee.bpm.vPAV.constants.ConfigConstants;
+import de.viadee.bpm.vPAV.processing.ElementGraphBuilder;
+import de.viadee.bpm.vPAV.processing.JavaReaderContext;
+import de.viadee.bpm.vPAV.processing.JavaReaderRegex;
+import de.viadee.bpm.vPAV.processing.model.data.AnomalyContainer;
+import de.viadee.bpm.vPAV.processing.model.graph.IGraph;
+import de.viadee.bpm.vPAV.processing.model.graph.Path;
+
+public class SyntheticModelGeneratorTest {
+
+    private static final File FOLDER = new File("target/synthetic");
+
+    private static Map<String, String> processIdToPathMap;
+
+    private static SyntheticModelGenerator generator;
+
+    @BeforeClass
+    public static void setup() throws MalformedURLException, IOException {
+        generator = new SyntheticModelGenerator().setElements(2000).setGatewayDensity(0.5).setLoops(5)
+                .setVariables(30).setDelegateReuse(0.8).setSubProcessDepth(3).setCallActivityChain(2);
+        processIdToPathMap = generator.generate(FOLDER, "stress");
+
+        RuntimeConfig.getInstance().setTest(true);
+        final String currentPath = new File(".").toURI().toURL().toString();
+        final URL[] classUrls = { new URL(currentPath + "target/synthetic/java/") };
+        RuntimeConfig.getInstance().setClassLoader(new URLClassLoader(classUrls));
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        RuntimeConfig.getInstance().setTest(false);
+        BpmnModelRegistry.getInstance().clear();
+    }
+
+    /**
+     * Case: Models have the requested size and shape and delegates are reused
+     */
+    @Test
+    public void testGeneratedModels() {
+        assertEquals(2, processIdToPathMap.size());
+        final BpmnModelInstance modelInstance = Bpmn
+                .readModelFromFile(new File(processIdToPathMap.get("stress_0")));
+        assertTrue(modelInstance.getModelElementsByType(FlowNode.class).size() >= 2000);
+        assertFalse(modelInstance.getModelElementsByType(SubProcess.class).isEmpty());
+
+        final int serviceTasks = modelInstance.getModelElementsByType(ServiceTask.class).size();
+        assertTrue(generator.getDelegates().size() < serviceTasks);
+        final File delegateFolder = new File(FOLDER,
+                "java/" + SyntheticModelGenerator.DELEGATE_PACKAGE.replace('.', '/'));
+        for (final String delegate : generator.getDelegates()) {
+            assertTrue(new File(delegateFolder, delegate + ".java").exists());
+        }
+    }
+
+    /**
+     * Case: Data flow graphs and invalid paths can be calculated for the chain of
+     * call activities
+     */
+    @Test
+    public void testDataFlowAnalysis() throws ParserConfigurationException, SAXException, IOException {
+        final String path = processIdToPathMap.get("stress_0");
+        final JavaReaderContext jvc = new JavaReaderContext();
+        jvc.setJavaReadingStrategy(new JavaReaderRegex());
+        final ElementGraphBuilder graphBuilder = new ElementGraphBuilder(new HashMap<String, String>(),
+                processIdToPathMap, new BpmnScanner(path));
+
+        final Collection<IGraph> graphs = graphBuilder.createProcessGraph(jvc,
+                new FileScanner(new HashMap<>(), ConfigConstants.TEST_JAVAPATH),
+                BpmnModelRegistry.getInstance().getModelInstance(new File(path)), path, new ArrayList<String>(),
+                new OuterProcessVariablesScanner(null));
+        assertEquals(1, graphs.size());
+
+        final Map<AnomalyContainer, List<Path>> invalidPaths = graphBuilder.createInvalidPaths(graphs, 10);
+        assertNotNull(invalidPaths);
+        assertFalse(invalidPaths.isEmpty());
+    }
+}
@@ -0,0 +1,192 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.instance.BaseElement;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.viadee.bpm.vPAV.constants.ConfigConstants;
+import de.viadee.bpm.vPAV.processing.model.data.Anomaly;
+import de.viadee.bpm.vPAV.processing.model.data.BpmnElement;
+import de.viadee.bpm.vPAV.processing.model.data.CheckerIssue;
+import de.viadee.bpm.vPAV.processing.model.data.CriticalityEnum;
+import de.viadee.bpm.vPAV.processing.model.data.ElementChapter;
+import de.viadee.bpm.vPAV.processing.model.data.KnownElementFieldType;
+import de.viadee.bpm.vPAV.processing.model.data.ModelDispatchResult;
+import de.viadee.bpm.vPAV.processing.model.data.ProcessVariable;
+import de.viadee.bpm.vPAV.processing.model.data.ProcessVariableOperation;
+import de.viadee.bpm.vPAV.processing.model.data.VariableOperation;
+import de.viadee.bpm.vPAV.processing.model.graph.Path;
+
+public class ValidationCacheTest {
+
+    private static final String PROCESS = "process.bpmn";
+
+    private static FileScanner fileScanner;
+
+    @Rule
+    public TemporaryFolder cacheFolder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void setup() throws MalformedURLException {
+        final File file = new File(".");
+        final String currentPath = file.toURI().toURL().toString();
+        final URL classUrl = new URL(currentPath + "src/test/java");
+        final URL[] classUrls = { classUrl };
+        RuntimeConfig.getInstance().setClassLoader(new URLClassLoader(classUrls));
+        RuntimeConfig.getInstance().setTest(true);
+        fileScanner = new FileScanner(new HashMap<>(), ConfigConstants.TEST_JAVAPATH);
+    }
+
+    /**
+     * Case: A stored result is restored with its issues, elements and variables
+     */
+    @Test
+    public void testResultIsRestored() {
+        // Given
+        final BpmnModelInstance modelInstance = Bpmn.createExecutableProcess("process").startEvent()
+                .serviceTask("task1").name("Task 1").endEvent("end").done();
+        final BpmnElement task = new BpmnElement(PROCESS, (BaseElement) modelInstance.getModelElementById("task1"));
+        final BpmnElement end = new BpmnElement(PROCESS, (BaseElement) modelInstance.getModelElementById("end"));
+        final ProcessVariableOperation write = new ProcessVariableOperation("var", task, ElementChapter.Details,
+                KnownElementFieldType.Class, null, VariableOperation.WRITE, "process");
+        task.setProcessVariable("var", write);
+        final ProcessVariable variable = new ProcessVariable("var");
+        variable.addWrite(write);
+
+        final List<Path> paths = new ArrayList<>();
+        final List<BpmnElement> pathElements = new ArrayList<>();
+        pathElements.add(task);
+        pathElements.add(end);
+        paths.add(new Path(pathElements));
+        final CheckerIssue issue = new CheckerIssue("ProcessVariablesModelChecker", null, CriticalityEnum.ERROR,
+                PROCESS, null, "task1", "Task 1", "var", Anomaly.DD, paths, "message", null);
+
+        final List<BpmnElement> elements = new ArrayList<>();
+        elements.add(task);
+        elements.add(end);
+        final ModelDispatchResult result = new ModelDispatchResult(Collections.singletonList(issue), elements,
+                Collections.singletonList(variable));
+
+        final ValidationCache cache = new ValidationCache(cacheFolder.getRoot(), fileScanner, null);
+
+        // When
+        cache.store(PROCESS, "key", result, new HashMap<>());
+        final ModelDispatchResult restored = cache.load(PROCESS, "key").getDispatchResult();
+
+        // Then
+        final CheckerIssue restoredIssue = restored.getIssues().iterator().next();
+        assertEquals("Issue should keep its id", issue.getId(), restoredIssue.getId());
+        assertEquals("Invalid path should be restored", "end",
+                restoredIssue.getInvalidPaths().get(0).getElements().get(1).getBaseElement().getId());
+
+        final BpmnElement restoredTask = restored.getBpmnElements().iterator().next();
+        assertEquals("Element name should be restored", "Task 1",
+                restoredTask.getBaseElement().getAttributeValue("name"));
+        assertEquals("Element operations should be restored", VariableOperation.WRITE,
+                restoredTask.getProcessVariables().get("var").getOperation());
+
+        final ProcessVariable restoredVariable = restored.getProcessVariables().iterator().next();
+        assertEquals("Variable should be restored", 1, restoredVariable.getWrites().size());
+        assertEquals("Operation should refer to the restored element", restoredTask,
+                restoredVariable.getWrites().get(0).getElement());
+    }
+
+    /**
+     * Case: A stored result with a different key is not used
+     */
+    @Test
+    public void testChangedKeyIsMiss() {
+        // Given
+        final ValidationCache cache = new ValidationCache(cacheFolder.getRoot(), fileScanner, null);
+        cache.store(PROCESS, "key",
+                new ModelDispatchResult(new ArrayList<>(), new ArrayList<>(), new ArrayList<>()), new HashMap<>());
+
+        // Then
+        assertNull("Result of another key should not be used", cache.load(PROCESS, "changed"));
+        assertNull("Unknown model should not have a result", cache.load("other.bpmn", "key"));
+    }
+
+    /**
+     * Case: Only the superclass of a delegate changes, so the delegate must get a
+     * new hash
+     */
+    @Test
+    public void testChangedSuperclassChangesClassHash() throws IOException {
+        // Given
+        final File javaFolder = cacheFolder.newFolder("java");
+        final String delegatePath = "de/viadee/bpm/vPAV/delegates/";
+        final File delegateFolder = new File(javaFolder, delegatePath);
+        assertTrue("Source folder should be created", delegateFolder.mkdirs());
+        Files.copy(new File(ConfigConstants.TEST_JAVAPATH + delegatePath + "DelegateWithSuperclass.java").toPath(),
+                new File(delegateFolder, "DelegateWithSuperclass.java").toPath());
+        final File superclass = new File(delegateFolder, "DelegateSuperclass.java");
+        Files.copy(new File(ConfigConstants.TEST_JAVAPATH + delegatePath + "DelegateSuperclass.java").toPath(),
+                superclass.toPath());
+
+        final ValidationCache cache = new ValidationCache(cacheFolder.getRoot(), fileScanner, null,
+                javaFolder.getPath() + "/");
+        final String className = "de.viadee.bpm.vPAV.delegates.DelegateWithSuperclass";
+        final String hash = cache.createClassHash(className);
+
+        // When
+        Files.write(superclass.toPath(), "// changed".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        // Then
+        assertTrue("Superclass should be part of the hash",
+                hash.contains("de.viadee.bpm.vPAV.delegates.DelegateSuperclass"));
+        assertNotEquals("Changed superclass should change the hash", hash, cache.createClassHash(className));
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+public class ValidationMetricsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void tearDown() {
+        ValidationMetrics.getInstance().reset();
+    }
+
+    /**
+     * Case: Measurements of one name are summed up and the slowest units are
+     * listed
+     */
+    @Test
+    public void testReport() throws IOException, InterruptedException {
+        final ValidationMetrics metrics = ValidationMetrics.getInstance();
+        metrics.reset();
+        metrics.setEnabled(true);
+
+        metrics.startPhase("issues");
+        for (int i = 0; i < 2; i++) {
+            try (ValidationMetrics.Measurement measurement = metrics.start(ValidationMetrics.CHECKER, "Fast")) {
+                Thread.sleep(1);
+            }
+        }
+        try (ValidationMetrics.Measurement measurement = metrics.start(ValidationMetrics.MODEL, "slow.bpmn")) {
+            Thread.sleep(20);
+        }
+        metrics.stopPhase();
+
+        final File file = new File(folder.getRoot(), "metrics.json");
+        metrics.write(file, 1);
+
+        final JsonObject report;
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            report = new JsonParser().parse(reader).getAsJsonObject();
+        }
+        assertEquals("issues",
+                report.getAsJsonArray("phases").get(0).getAsJsonObject().get("name").getAsString());
+        final JsonObject checker = report.getAsJsonArray("checkers").get(0).getAsJsonObject();
+        assertEquals(2, checker.get("count").getAsInt());
+        assertTrue(checker.get("wallNanos").getAsLong() >= 2000000L);
+
+        final JsonArray slowest = report.getAsJsonArray("slowest");
+        assertEquals(1, slowest.size());
+        assertEquals("slow.bpmn", slowest.get(0).getAsJsonObject().get("name").getAsString());
+    }
+
+    /**
+     * Case: Nothing is recorded, if metrics are disabled
+     */
+    @Test
+    public void testDisabled() {
+        final ValidationMetrics metrics = ValidationMetrics.getInstance();
+        metrics.reset();
+        try (ValidationMetrics.Measurement measurement = metrics.start(ValidationMetrics.MODEL, "model.bpmn")) {
+            // nothing to do
+        }
+        assertTrue(metrics.getEntries(ValidationMetrics.MODEL).isEmpty());
+    }
+}
@@ -32,6 +32,7 @@
 package de.viadee.bpm.vPAV.config.reader;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
@@ -44,6 +45,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import de.viadee.bpm.vPAV.RuntimeConfig;
+import de.viadee.bpm.vPAV.config.model.ElementConvention;
 import de.viadee.bpm.vPAV.config.model.Rule;
 import de.viadee.bpm.vPAV.config.model.Setting;
 import de.viadee.bpm.vPAV.constants.BpmnConstants;
@@ -165,4 +167,25 @@ public class XmlConfigReaderTest {
 
     }
 
+    /**
+     * Test that the patterns of element conventions are compiled once, when the rule set is loaded
+     *
+     * @throws ConfigReaderException
+     */
+    @Test()
+    public void testPatternsOfElementConventionsAreCompiledOnce() throws ConfigReaderException {
+        // Given
+        XmlConfigReader reader = new XmlConfigReader();
+
+        // When
+        Map<String, Rule> result = reader.read(ConfigConstants.RULESET);
+
+        // Then
+        Rule rule = result.get("ProcessVariablesNameConventionChecker");
+        for (ElementConvention convention : rule.getElementConventions()) {
+            assertSame(rule.getPattern(convention.getPattern()), rule.getPattern(convention.getPattern()));
+            assertTrue(rule.getPattern(convention.getPattern()).pattern().equals(convention.getPattern()));
+        }
+    }
+
 }
@@ -0,0 +1,87 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.output;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import de.viadee.bpm.vPAV.RuntimeConfig;
+import de.viadee.bpm.vPAV.config.model.ElementConvention;
+import de.viadee.bpm.vPAV.config.model.ModelConvention;
+import de.viadee.bpm.vPAV.config.model.Rule;
+import de.viadee.bpm.vPAV.config.model.Setting;
+import de.viadee.bpm.vPAV.constants.ConfigConstants;
+import de.viadee.bpm.vPAV.processing.model.data.CheckerIssue;
+
+public class JsOutputWriterTest {
+
+    /**
+     * Case: The report lists successful checks only for active checkers
+     */
+    @Test
+    public void testReportListsOnlyActiveRules() {
+        final Map<String, Rule> rules = new HashMap<String, Rule>();
+        rules.put("JsOutputWriterTestActiveChecker", createRule("JsOutputWriterTestActiveChecker", true));
+        rules.put("JsOutputWriterTestInactiveChecker", createRule("JsOutputWriterTestInactiveChecker", false));
+        rules.put(ConfigConstants.HASPARENTRULESET, createRule(ConfigConstants.HASPARENTRULESET, true));
+        RuntimeConfig.getInstance().addActiveRules(rules);
+
+        final JsOutputWriter writer = new JsOutputWriter();
+        writer.setModelPaths(Collections.singleton("model.bpmn"));
+
+        final Set<String> reportedRules = new HashSet<String>();
+        final Collection<CheckerIssue> successfulChecks = writer.getNoIssues(new ArrayList<CheckerIssue>());
+        for (final CheckerIssue issue : successfulChecks) {
+            reportedRules.add(issue.getRuleName());
+        }
+
+        assertTrue("Active checker should be reported", reportedRules.contains("JsOutputWriterTestActiveChecker"));
+        assertFalse("Inactive checker must not be reported",
+                reportedRules.contains("JsOutputWriterTestInactiveChecker"));
+        assertFalse("Config rule must not be reported", reportedRules.contains(ConfigConstants.HASPARENTRULESET));
+    }
+
+    private Rule createRule(final String name, final boolean isActive) {
+        return new Rule(name, isActive, null, new HashMap<String, Setting>(), new ArrayList<ElementConvention>(),
+                new ArrayList<ModelConvention>());
+    }
+}
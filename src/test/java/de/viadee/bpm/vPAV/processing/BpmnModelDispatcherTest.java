@@ -0,0 +1,151 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.instance.ExclusiveGateway;
+import org.camunda.bpm.model.bpmn.instance.SequenceFlow;
+import org.camunda.bpm.model.bpmn.instance.UserTask;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import de.viadee.bpm.vPAV.RuntimeConfig;
+import de.viadee.bpm.vPAV.config.model.Rule;
+import de.viadee.bpm.vPAV.config.model.Setting;
+import de.viadee.bpm.vPAV.config.reader.XmlConfigReader;
+import de.viadee.bpm.vPAV.constants.ConfigConstants;
+import de.viadee.bpm.vPAV.processing.checker.ElementChecker;
+import de.viadee.bpm.vPAV.processing.checker.TaskNamingConventionChecker;
+import de.viadee.bpm.vPAV.processing.checker.XorConventionChecker;
+import de.viadee.bpm.vPAV.processing.model.data.CheckerIssue;
+
+public class BpmnModelDispatcherTest {
+
+    private static final String BASE_PATH = "src/test/resources/";
+
+    @BeforeClass
+    public static void setup() throws MalformedURLException {
+        final File file = new File(".");
+        final String currentPath = file.toURI().toURL().toString();
+        final URL classUrl = new URL(currentPath + "src/test/java");
+        final URL[] classUrls = { classUrl };
+        RuntimeConfig.getInstance().setClassLoader(new URLClassLoader(classUrls));
+        RuntimeConfig.getInstance().getResource("en_US");
+    }
+
+    /**
+     * Case: Checkers declaring element types only receive matching elements,
+     * checkers without declaration receive every element
+     */
+    @Test
+    public void testCheckersAreRoutedByElementType() {
+        // Given
+        final BpmnModelInstance modelInstance = Bpmn.createEmptyModel();
+        final ElementChecker taskChecker = new TaskNamingConventionChecker(
+                new Rule("TaskNamingConventionChecker", true, null, null, null, null), null);
+        final ElementChecker xorChecker = new XorConventionChecker(
+                new Rule("XorConventionChecker", true, null, null, null, null), null);
+        final ElementChecker genericChecker = element -> new ArrayList<>();
+        final Collection<ElementChecker> checkers = new ArrayList<>();
+        checkers.add(taskChecker);
+        checkers.add(xorChecker);
+        checkers.add(genericChecker);
+
+        // When
+        final List<ElementChecker> userTaskCheckers = BpmnModelDispatcher
+                .getCheckersForType(modelInstance.getModel().getType(UserTask.class), checkers);
+        final List<ElementChecker> gatewayCheckers = BpmnModelDispatcher
+                .getCheckersForType(modelInstance.getModel().getType(ExclusiveGateway.class), checkers);
+        final List<ElementChecker> flowCheckers = BpmnModelDispatcher
+                .getCheckersForType(modelInstance.getModel().getType(SequenceFlow.class), checkers);
+
+        // Then
+        assertEquals(2, userTaskCheckers.size());
+        assertSame(taskChecker, userTaskCheckers.get(0));
+        assertEquals(2, gatewayCheckers.size());
+        assertSame(xorChecker, gatewayCheckers.get(0));
+        assertEquals(1, flowCheckers.size());
+        assertTrue(flowCheckers.contains(genericChecker));
+    }
+
+    /**
+     * Case: Checking the elements of a model in parallel finds the same issues in
+     * the same order as a sequential run
+     */
+    @Test
+    public void testParallelCheckersFindSameIssues() throws Exception {
+        // Given
+        final File model = new File(BASE_PATH + "ComplexModelTest_GraphOnComplexModel.bpmn");
+        final Map<String, Rule> sequentialConf = new XmlConfigReader().read(ConfigConstants.RULESET);
+        final Map<String, Rule> parallelConf = new XmlConfigReader().read(ConfigConstants.RULESET);
+        final Map<String, Setting> settings = new HashMap<>();
+        settings.put(ConfigConstants.PARALLEL_CHECKERS,
+                new Setting(ConfigConstants.PARALLEL_CHECKERS, null, null, null, false, "true"));
+        settings.put(ConfigConstants.WORKERS, new Setting(ConfigConstants.WORKERS, null, null, null, false, "2"));
+        parallelConf.put(ConfigConstants.PARALLEL_VALIDATION,
+                new Rule(ConfigConstants.PARALLEL_VALIDATION, true, null, settings, null, null));
+
+        // When
+        final Collection<CheckerIssue> sequentialIssues = new BpmnModelDispatcher().dispatchWithoutVariables(model,
+                new HashMap<>(), new HashMap<>(), new ArrayList<>(), sequentialConf).getIssues();
+        final Collection<CheckerIssue> parallelIssues = new BpmnModelDispatcher().dispatchWithoutVariables(model,
+                new HashMap<>(), new HashMap<>(), new ArrayList<>(), parallelConf).getIssues();
+
+        // Then
+        assertFalse("The model should have issues", sequentialIssues.isEmpty());
+        assertEquals(toString(sequentialIssues), toString(parallelIssues));
+    }
+
+    private static List<String> toString(final Collection<CheckerIssue> issues) {
+        final List<String> result = new ArrayList<>();
+        for (final CheckerIssue issue : issues) {
+            result.add(issue.getRuleName() + " " + issue.getElementId() + " " + issue.getMessage());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,179 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.xml.sax.SAXException;
+
+import de.viadee.bpm.vPAV.BpmnScanner;
+import de.viadee.bpm.vPAV.FileScanner;
+import de.viadee.bpm.vPAV.OuterProcessVariablesScanner;
+import de.viadee.bpm.vPAV.RuntimeConfig;
+import de.viadee.bpm.vPAV.constants.ConfigConstants;
+import de.viadee.bpm.vPAV.processing.model.data.AnomalyContainer;
+import de.viadee.bpm.vPAV.processing.model.data.BpmnElement;
+import de.viadee.bpm.vPAV.processing.model.graph.Edge;
+import de.viadee.bpm.vPAV.processing.model.graph.IGraph;
+import de.viadee.bpm.vPAV.processing.model.graph.Path;
+
+public class CallActivitySummaryCacheTest {
+
+    private static final String BASE_PATH = "src/test/resources/";
+
+    private static final String PATH = BASE_PATH + "CallActivityTest_embeddingCallActivity.bpmn";
+
+    @BeforeClass
+    public static void setup() throws MalformedURLException {
+        final File file = new File(".");
+        final String currentPath = file.toURI().toURL().toString();
+        final URL classUrl = new URL(currentPath + "src/test/java");
+        final URL[] classUrls = { classUrl };
+        RuntimeConfig.getInstance().setClassLoader(new URLClassLoader(classUrls));
+    }
+
+    @After
+    public void clearCache() {
+        CallActivitySummaryCache.getInstance().clear();
+    }
+
+    /**
+     * Case: A called process is analysed once and each call activity gets its own
+     * copy of the called data flow with the same anomalies
+     */
+    @Test
+    public void testCalledProcessIsAnalysedOnce() throws ParserConfigurationException, SAXException, IOException {
+        final ElementGraphBuilder firstBuilder = createGraphBuilder();
+        final Collection<IGraph> firstGraphs = createGraphs(firstBuilder);
+        final Map<AnomalyContainer, List<Path>> firstPaths = firstBuilder.createInvalidPaths(firstGraphs);
+
+        // called process and the process called by it
+        assertEquals("Called models should be summarised", 2, CallActivitySummaryCache.getInstance().size());
+
+        final ElementGraphBuilder secondBuilder = createGraphBuilder();
+        final Collection<IGraph> secondGraphs = createGraphs(secondBuilder);
+        final Map<AnomalyContainer, List<Path>> secondPaths = secondBuilder.createInvalidPaths(secondGraphs);
+
+        assertEquals("Called models should not be analysed again", 2, CallActivitySummaryCache.getInstance().size());
+        assertEquals("Anomalies should be the same", firstPaths.toString(), secondPaths.toString());
+
+        final BpmnElement firstElement = findVertex(firstGraphs, "__ServiceTask_0edbu4z");
+        final BpmnElement secondElement = findVertex(secondGraphs, "__ServiceTask_0edbu4z");
+        assertNotSame("Each call activity should get its own elements", firstElement, secondElement);
+        assertNotSame("Each call activity should get its own model elements", firstElement.getBaseElement(),
+                secondElement.getBaseElement());
+        assertEquals("Variables should be bound to the copied element", secondElement,
+                secondElement.getProcessVariables().values().iterator().next().getElement());
+    }
+
+    /**
+     * Case: The copied elements and their model elements are assigned by id, the
+     * ids of the model elements stay unchanged
+     */
+    @Test
+    public void testCopiedElementsAreAssignedById() throws ParserConfigurationException, SAXException, IOException {
+        final Collection<IGraph> firstGraphs = createGraphs(createGraphBuilder());
+        final Collection<IGraph> secondGraphs = createGraphs(createGraphBuilder());
+
+        final BpmnElement firstElement = findVertex(firstGraphs, "__ServiceTask_0edbu4z");
+        final BpmnElement element = findVertex(secondGraphs, "__ServiceTask_0edbu4z");
+        assertEquals("The id of the model element should not be changed", "ServiceTask_0edbu4z",
+                element.getBaseElement().getId());
+        assertEquals("The model element should be assigned by id", "Task 3b",
+                element.getBaseElement().getAttributeValue("name"));
+        assertNotSame("Each call activity should get its own model", firstElement.getBaseElement().getModelInstance(),
+                element.getBaseElement().getModelInstance());
+        assertSame("The model element should be part of the copied model", element.getBaseElement(),
+                element.getBaseElement().getModelInstance().getModelElementById("ServiceTask_0edbu4z"));
+
+        for (final IGraph graph : secondGraphs) {
+            for (final List<Edge> edges : graph.getEdges()) {
+                for (final Edge edge : edges) {
+                    assertSame("Edges should connect the copied elements", edge.getFrom(),
+                            findVertex(secondGraphs, edge.getFrom().getId()));
+                    assertSame("Edges should connect the copied elements", edge.getTo(),
+                            findVertex(secondGraphs, edge.getTo().getId()));
+                    assertNotSame("Edges should not connect the elements of another call activity", edge.getTo(),
+                            findVertex(firstGraphs, edge.getTo().getId()));
+                }
+            }
+        }
+    }
+
+    private static ElementGraphBuilder createGraphBuilder()
+            throws ParserConfigurationException, SAXException, IOException {
+        final Map<String, String> processIdToPathMap = new HashMap<String, String>();
+        processIdToPathMap.put("calledProcess", BASE_PATH + "CallActivityTest_calledProcess.bpmn");
+        processIdToPathMap.put("calledcalledProcess", BASE_PATH + "CallActivityTest_calledcalledProcess.bpmn");
+        return new ElementGraphBuilder(null, processIdToPathMap, null, null, new BpmnScanner(PATH));
+    }
+
+    private static Collection<IGraph> createGraphs(final ElementGraphBuilder graphBuilder) {
+        final FileScanner fileScanner = new FileScanner(new HashMap<>(), ConfigConstants.TEST_JAVAPATH);
+        final JavaReaderContext jvc = new JavaReaderContext();
+        jvc.setJavaReadingStrategy(new JavaReaderRegex());
+        final BpmnModelInstance modelInstance = Bpmn.readModelFromFile(new File(PATH));
+        return graphBuilder.createProcessGraph(jvc, fileScanner, modelInstance, PATH, new ArrayList<String>(),
+                new OuterProcessVariablesScanner(null));
+    }
+
+    private static BpmnElement findVertex(final Collection<IGraph> graphs, final String id) {
+        for (final IGraph graph : graphs) {
+            for (final BpmnElement vertex : graph.getVertices()) {
+                if (vertex.getId().equals(id)) {
+                    return vertex;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.camunda.bpm.engine.delegate.Expression;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import de.viadee.bpm.vPAV.RuntimeConfig;
+
+public class ClassMetadataCacheTest {
+
+    private static ClassLoader cl;
+
+    @BeforeClass
+    public static void setup() throws MalformedURLException {
+        final File file = new File(".");
+        final String currentPath = file.toURI().toURL().toString();
+        final URL classUrl = new URL(currentPath + "src/test/java");
+        final URL[] classUrls = { classUrl };
+        cl = new URLClassLoader(classUrls);
+        RuntimeConfig.getInstance().setClassLoader(cl);
+    }
+
+    @After
+    public void tearDown() {
+        RuntimeConfig.getInstance().setClassLoader(cl);
+        ClassMetadataCache.getInstance().clear();
+    }
+
+    /**
+     * Case: Interfaces, fields and setters of an existing class are read once
+     */
+    @Test
+    public void testMetadataOfExistingClass() {
+        // When
+        final ClassMetadataCache.ClassMetadata metadata = ClassMetadataCache.getInstance()
+                .get("de.viadee.bpm.vPAV.delegates.DelegateWithNoSetter");
+
+        // Then
+        assertTrue(metadata.exists());
+        assertEquals("DelegateWithNoSetter", metadata.getSimpleName());
+        assertTrue(metadata.getInterfaceNames().contains("org.camunda.bpm.engine.delegate.JavaDelegate"));
+        assertEquals(Expression.class, metadata.getDeclaredField("test").getType());
+        assertTrue(metadata.getDeclaredField("test").isPublic());
+        assertFalse(metadata.hasSetter("test"));
+        assertNull(metadata.getDeclaredField("unknown"));
+        assertEquals("de/viadee/bpm/vPAV/delegates/DelegateWithNoSetter.java", metadata.getSourcePath());
+        assertSame(metadata, ClassMetadataCache.getInstance().get("de.viadee.bpm.vPAV.delegates.DelegateWithNoSetter"));
+    }
+
+    /**
+     * Case: A missing class is cached as well
+     */
+    @Test
+    public void testMetadataOfMissingClass() {
+        // When
+        final ClassMetadataCache.ClassMetadata metadata = ClassMetadataCache.getInstance()
+                .get("de.viadee.bpm.vPAV.delegates.MissingDelegate");
+
+        // Then
+        assertFalse(metadata.exists());
+        assertEquals("MissingDelegate", metadata.getSimpleName());
+        assertTrue(metadata.getInterfaceNames().isEmpty());
+        assertSame(metadata, ClassMetadataCache.getInstance().get("de.viadee.bpm.vPAV.delegates.MissingDelegate"));
+    }
+
+    /**
+     * Case: Metadata is read again, if the class loader has changed
+     */
+    @Test
+    public void testChangedClassLoader() {
+        // Given
+        final ClassMetadataCache.ClassMetadata metadata = ClassMetadataCache.getInstance()
+                .get("de.viadee.bpm.vPAV.delegates.DelegateWithNoSetter");
+
+        // When
+        RuntimeConfig.getInstance().setClassLoader(new URLClassLoader(new URL[0], cl));
+
+        // Then
+        assertNotSame(metadata,
+                ClassMetadataCache.getInstance().get("de.viadee.bpm.vPAV.delegates.DelegateWithNoSetter"));
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.instance.BaseElement;
+import org.junit.After;
+import org.junit.Test;
+
+import de.viadee.bpm.vPAV.processing.model.data.BpmnElement;
+import de.viadee.bpm.vPAV.processing.model.data.ElementChapter;
+import de.viadee.bpm.vPAV.processing.model.data.KnownElementFieldType;
+import de.viadee.bpm.vPAV.processing.model.data.ProcessVariableOperation;
+import de.viadee.bpm.vPAV.processing.model.data.VariableOperation;
+
+public class DelegateSummaryCacheTest {
+
+    private static final String DELEGATE = "de.viadee.bpm.vPAV.delegates.TestDelegate";
+
+    @After
+    public void tearDown() {
+        DelegateSummaryCache.getInstance().clear();
+    }
+
+    /**
+     * Case: A delegate referenced by two elements is analysed once and the
+     * operations are bound to the second element
+     */
+    @Test
+    public void testSummaryIsReboundToElement() {
+        // Given
+        final BpmnModelInstance modelInstance = Bpmn.createExecutableProcess("process").startEvent()
+                .serviceTask("task1").serviceTask("task2").endEvent().done();
+        final BpmnElement first = new BpmnElement("process.bpmn",
+                (BaseElement) modelInstance.getModelElementById("task1"));
+        final BpmnElement second = new BpmnElement("process.bpmn",
+                (BaseElement) modelInstance.getModelElementById("task2"));
+        final AtomicInteger analyses = new AtomicInteger();
+
+        // When
+        DelegateSummaryCache.getInstance().getVariables(DELEGATE, "execute", null, first, ElementChapter.Details,
+                KnownElementFieldType.Class, "scope1", () -> {
+                    analyses.incrementAndGet();
+                    final Map<String, ProcessVariableOperation> variables = new LinkedHashMap<>();
+                    variables.put("var", new ProcessVariableOperation("var", first, ElementChapter.Details,
+                            KnownElementFieldType.Class, DELEGATE, VariableOperation.WRITE, "scope1"));
+                    return variables;
+                });
+        final Map<String, ProcessVariableOperation> variables = DelegateSummaryCache.getInstance().getVariables(
+                DELEGATE, "execute", null, second, ElementChapter.ExecutionListener, KnownElementFieldType.Class,
+                "scope2", () -> {
+                    analyses.incrementAndGet();
+                    return new LinkedHashMap<>();
+                });
+
+        // Then
+        assertEquals("Delegate should be analysed once", 1, analyses.get());
+        final ProcessVariableOperation operation = variables.get("var");
+        assertSame(second, operation.getElement());
+        assertEquals(ElementChapter.ExecutionListener, operation.getChapter());
+        assertEquals("scope2", operation.getScopeId());
+        assertEquals(VariableOperation.WRITE, operation.getOperation());
+        assertEquals(DELEGATE, operation.getResourceFilePath());
+    }
+}
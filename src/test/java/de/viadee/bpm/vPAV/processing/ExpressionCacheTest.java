@@ -0,0 +1,103 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.el.ELException;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class ExpressionCacheTest {
+
+    @After
+    public void tearDown() {
+        ExpressionCache.getInstance().clear();
+    }
+
+    /**
+     * Case: An expression is parsed once and its identifiers are shared
+     */
+    @Test
+    public void testExpressionIsParsedOnce() {
+        final List<String> identifiers = ExpressionCache.getInstance().getIdentifiers("${myBean}");
+
+        assertEquals(Collections.singletonList("myBean"), identifiers);
+        assertSame("Expression should be parsed once", identifiers,
+                ExpressionCache.getInstance().getIdentifiers("${myBean}"));
+    }
+
+    /**
+     * Case: Without object names, the arguments of method calls are found
+     */
+    @Test
+    public void testIdentifiersWithoutObjectNames() {
+        final String expression = "${execution.getVariable(myVariable)}";
+
+        assertTrue(ExpressionCache.getInstance().getIdentifiers(expression).contains("execution"));
+        assertEquals(Arrays.asList("myVariable"),
+                ExpressionCache.getInstance().getIdentifiersWithoutObjectNames(expression));
+    }
+
+    /**
+     * Case: Written and removed variables are derived from the expression
+     */
+    @Test
+    public void testWrittenAndRemovedVariables() {
+        final String expression = "${execution.setVariable('written', true) && execution.removeVariable('removed')}";
+
+        assertTrue(ExpressionCache.getInstance().getWrittenVariables(expression).contains("written"));
+        assertEquals(Collections.singleton("removed"), ExpressionCache.getInstance().getRemovedVariables(expression));
+    }
+
+    /**
+     * Case: An invalid expression fails each time it is requested
+     */
+    @Test
+    public void testInvalidExpression() {
+        for (int i = 0; i < 2; i++) {
+            try {
+                ExpressionCache.getInstance().getIdentifiers("${a +}");
+                throw new AssertionError("Expression should be invalid");
+            } catch (final ELException e) {
+                // expected
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class GroovyScriptCacheTest {
+
+    @After
+    public void tearDown() {
+        GroovyScriptCache.getInstance().clear();
+    }
+
+    /**
+     * Case: Identical scripts are evaluated once
+     */
+    @Test
+    public void testIdenticalScriptIsEvaluatedOnce() {
+        // When
+        final GroovyScriptCache.Result first = GroovyScriptCache.getInstance().evaluate("def a = 1");
+        final GroovyScriptCache.Result second = GroovyScriptCache.getInstance().evaluate("def a = 1");
+
+        // Then
+        assertEquals(GroovyScriptCache.Status.VALID, first.getStatus());
+        assertNull(first.getMessage());
+        assertSame(first, second);
+    }
+
+    /**
+     * Case: Compilation errors and missing properties are cached as well
+     */
+    @Test
+    public void testErrorsAreCached() {
+        // When
+        final GroovyScriptCache.Result compilationFailed = GroovyScriptCache.getInstance().evaluate("def a = ");
+        final GroovyScriptCache.Result missingProperty = GroovyScriptCache.getInstance().evaluate("a + 1");
+
+        // Then
+        assertEquals(GroovyScriptCache.Status.COMPILATION_FAILED, compilationFailed.getStatus());
+        assertTrue(compilationFailed.getMessage().startsWith("startup failed:"));
+        assertSame(compilationFailed, GroovyScriptCache.getInstance().evaluate("def a = "));
+        assertEquals(GroovyScriptCache.Status.MISSING_PROPERTY, missingProperty.getStatus());
+        assertSame(missingProperty, GroovyScriptCache.getInstance().evaluate("a + 1"));
+    }
+
+    /**
+     * Case: Variables of one script aren't visible in another script
+     */
+    @Test
+    public void testScriptsDontShareBinding() {
+        // When
+        GroovyScriptCache.getInstance().evaluate("b = 1");
+        final GroovyScriptCache.Result result = GroovyScriptCache.getInstance().evaluate("b + 1");
+
+        // Then
+        assertEquals(GroovyScriptCache.Status.MISSING_PROPERTY, result.getStatus());
+    }
+
+    /**
+     * Case: Saved results are used in a later run
+     */
+    @Test
+    public void testResultsAreLoaded() {
+        // Given
+        final File file = new File("target/vPAV/test/groovy.json");
+        GroovyScriptCache.getInstance().evaluate("def c = ");
+        GroovyScriptCache.getInstance().save(file);
+        GroovyScriptCache.getInstance().clear();
+
+        // When
+        GroovyScriptCache.getInstance().load(file);
+        final GroovyScriptCache.Result result = GroovyScriptCache.getInstance().evaluate("def c = ");
+
+        // Then
+        assertEquals(GroovyScriptCache.Status.COMPILATION_FAILED, result.getStatus());
+        assertTrue(result.getMessage().startsWith("startup failed:"));
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import de.viadee.bpm.vPAV.RuntimeConfig;
+import de.viadee.bpm.vPAV.ValidationCache;
+
+public class SourceFileCacheTest {
+
+    @BeforeClass
+    public static void setup() {
+        RuntimeConfig.getInstance().setTest(true);
+    }
+
+    @AfterClass
+    public static void reset() {
+        RuntimeConfig.getInstance().setTest(false);
+    }
+
+    @After
+    public void tearDown() {
+        SourceFileCache.getInstance().clear();
+    }
+
+    /**
+     * Case: A java file is read once and then served from the cache
+     */
+    @Test
+    public void testJavaFileIsReadOnce() throws IOException {
+        final String fileName = "de/viadee/bpm/vPAV/delegates/DelegateWithNoSetter.java";
+
+        final String content = SourceFileCache.getInstance().getContent(fileName);
+
+        assertTrue("Unexpected content", content.contains("class DelegateWithNoSetter"));
+        assertSame("File should be read once", content, SourceFileCache.getInstance().getContent(fileName));
+        assertEquals(content.length(), SourceFileCache.getInstance().getCachedChars());
+    }
+
+    /**
+     * Case: Scripts are resolved against the resource path
+     */
+    @Test
+    public void testScriptIsResolvedAgainstResourcePath() throws IOException {
+        final String content = SourceFileCache.getInstance().getContent("scriptWithCorrectVariable.groovy");
+
+        assertTrue("Script should be read", content != null && !content.isEmpty());
+    }
+
+    /**
+     * Case: Missing files aren't cached
+     */
+    @Test
+    public void testMissingFile() throws IOException {
+        assertNull(SourceFileCache.getInstance().getContent("de/viadee/bpm/vPAV/delegates/Missing.java"));
+        assertEquals(0, SourceFileCache.getInstance().getCachedChars());
+    }
+
+    /**
+     * Case: The content hash is the hash of the returned content
+     */
+    @Test
+    public void testContentHash() throws IOException {
+        final String fileName = "de/viadee/bpm/vPAV/delegates/DelegateWithNoSetter.java";
+
+        final String content = SourceFileCache.getInstance().getContent(fileName);
+
+        assertEquals(ValidationCache.createHash(content.getBytes(StandardCharsets.UTF_8)),
+                SourceFileCache.getInstance().getContentHash(fileName));
+        assertNull(SourceFileCache.getInstance().getContentHash("de/viadee/bpm/vPAV/delegates/Missing.java"));
+    }
+}
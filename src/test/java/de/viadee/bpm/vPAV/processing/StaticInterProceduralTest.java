@@ -35,6 +35,7 @@ import static org.junit.Assert.*;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -86,4 +87,24 @@ public class StaticInterProceduralTest {
 
     }
 
+    @Test
+    public void testCallGraphIsBuiltOnce() {
+        // Given
+        final FileScanner fileScanner = new FileScanner(new HashMap<>(), ConfigConstants.TEST_JAVAPATH);
+        runner.viadeeProcessApplicationValidator(ConfigConstants.TEST_JAVAPATH);
+        final String delegate = "de.viadee.bpm.vPAV.delegates.TestDelegateStaticInterProc";
+        StaticAnalysisSession.getInstance().addDelegateClasses(Collections.singletonList(delegate));
+
+        // When
+        final Map<String, ProcessVariableOperation> first = new JavaReaderStatic()
+                .getVariablesFromJavaDelegate(fileScanner, delegate, null, null, null, null);
+        final Map<String, ProcessVariableOperation> second = new JavaReaderStatic()
+                .getVariablesFromJavaDelegate(fileScanner, delegate, null, null, null, null);
+
+        // Then
+        assertEquals("Repeated analysis should find the same variables", first.keySet(), second.keySet());
+        assertEquals("Call graph should be built only once", 1,
+                StaticAnalysisSession.getInstance().getCallGraphBuilds());
+    }
+
 }
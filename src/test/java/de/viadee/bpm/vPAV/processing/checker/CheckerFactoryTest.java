@@ -31,6 +31,7 @@
  */
 package de.viadee.bpm.vPAV.processing.checker;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
@@ -38,6 +39,7 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
@@ -51,6 +53,7 @@ import org.xml.sax.SAXException;
 
 import de.viadee.bpm.vPAV.BpmnScanner;
 import de.viadee.bpm.vPAV.RuntimeConfig;
+import de.viadee.bpm.vPAV.config.model.ElementConvention;
 import de.viadee.bpm.vPAV.config.model.Rule;
 import de.viadee.bpm.vPAV.config.model.Setting;
 import de.viadee.bpm.vPAV.processing.ConfigItemNotFoundException;
@@ -149,6 +152,56 @@ public class CheckerFactoryTest {
         assertTrue("Collection of Checker should be empty", cElChecker.isEmpty());
     }
 
+    /**
+     * Test that an invalid pattern of an inactive checker is ignored
+     *
+     * @throws ParserConfigurationException
+     * @throws SAXException
+     * @throws IOException
+     */
+    @Test
+    public void testInvalidPatternOfInactiveChecker()
+            throws ParserConfigurationException, SAXException, IOException {
+        rules.put("TaskNamingConventionChecker", createNamingRule(false, "[a-z"));
+        CheckerFactory checkerFactory = new CheckerFactory();
+
+        Collection<ElementChecker> cElChecker = checkerFactory.createCheckerInstances(rules, null,
+                new BpmnScanner(PATH));
+
+        assertTrue("Collection of Checker should be empty", cElChecker.isEmpty());
+        assertTrue("Inactive checker shouldn't be reported", checkerFactory.getIncorrectCheckers().isEmpty());
+    }
+
+    /**
+     * Test that an invalid pattern of an active checker is reported for this checker
+     *
+     * @throws ParserConfigurationException
+     * @throws SAXException
+     * @throws IOException
+     */
+    @Test
+    public void testInvalidPatternOfActiveChecker()
+            throws ParserConfigurationException, SAXException, IOException {
+        Rule rule = createNamingRule(true, "[a-z");
+        rules.put("TaskNamingConventionChecker", rule);
+        rules.put("JavaDelegateChecker", new Rule("JavaDelegateChecker", true, null, null, null, null));
+        CheckerFactory checkerFactory = new CheckerFactory();
+
+        Collection<ElementChecker> cElChecker = checkerFactory.createCheckerInstances(rules, null,
+                new BpmnScanner(PATH));
+
+        assertTrue("Only the valid checker should be created", cElChecker.size() == 1);
+        assertTrue("Checker with invalid pattern should be reported",
+                checkerFactory.getIncorrectCheckers().containsKey("TaskNamingConventionChecker"));
+        assertFalse("Checker with invalid pattern should be deactivated", rule.isActive());
+    }
+
+    private static Rule createNamingRule(final boolean isActive, final String pattern) {
+        final Collection<ElementConvention> elementConventions = new ArrayList<ElementConvention>();
+        elementConventions.add(new ElementConvention("convention", null, null, pattern));
+        return new Rule("TaskNamingConventionChecker", isActive, null, null, elementConventions, null);
+    }
+
     @After
     public void clearLists() {
         rules.clear();
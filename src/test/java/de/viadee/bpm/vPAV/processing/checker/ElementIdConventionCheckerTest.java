@@ -142,6 +142,39 @@ public class ElementIdConventionCheckerTest {
         assertEquals("The issue wasn't recognised", 2, issues.size());
     }
 
+    /**
+     * Case 4: A pattern surrounded by whitespace (e.g. a line break in the rule
+     * set) is trimmed, before it is compiled and looked up
+     */
+    @Test
+    public void testConventionWithSurroundingWhitespace() {
+        final String PATH = BASE_PATH
+                + "ElementIdConventionCheckerTest_CorrectIdConvention.bpmn";
+        final Collection<ElementConvention> elementConventions = new ArrayList<ElementConvention>();
+        for (final ElementConvention convention : createRule().getElementConventions()) {
+            elementConventions.add(new ElementConvention(convention.getName(), null, null,
+                    "\n    " + convention.getPattern() + "\n"));
+        }
+        final Rule rule = new Rule("ElementIdConventionChecker", true, null, null, elementConventions, null);
+        final ElementChecker whitespaceChecker = new ElementIdConventionChecker(rule, null);
+
+        // parse bpmn model
+        final BpmnModelInstance modelInstance = Bpmn.readModelFromFile(new File(PATH));
+
+        final Collection<BaseElement> baseElements = modelInstance
+                .getModelElementsByType(BaseElement.class);
+
+        final Collection<CheckerIssue> issues = new ArrayList<CheckerIssue>();
+        for (final BaseElement baseElement : baseElements) {
+            final BpmnElement element = new BpmnElement(PATH, baseElement);
+            issues.addAll(whitespaceChecker.check(element));
+        }
+        assertEquals("There are issues, altough the convention is correct.", 0, issues.size());
+        for (final ElementConvention convention : elementConventions) {
+            assertEquals(convention.getPattern(), rule.getPattern(convention.getPattern()).pattern());
+        }
+    }
+
     /**
      * Creates rule configuration
      * 
@@ -63,7 +63,7 @@ public class TaskNamingConventionCheckerTest {
 
     @BeforeClass
     public static void setup() throws MalformedURLException {
-        checker = new TaskNamingConventionChecker(createRule(), null);
+        checker = new TaskNamingConventionChecker(createRule("[A-ZÄÖÜ][a-zäöü\\-\\s]+"), null);
         final File file = new File(".");
         final String currentPath = file.toURI().toURL().toString();
         final URL classUrl = new URL(currentPath + "src/test/java/");
@@ -121,17 +121,44 @@ public class TaskNamingConventionCheckerTest {
         assertEquals("The issue wasn't recognised", 1, issues.size());
     }
 
+    /**
+     * Case 3: Whitespace around the configured pattern (e.g. from a formatted ruleSet.xml) is ignored
+     */
+    @Test
+    public void testPatternWithSurroundingWhitespace() {
+        final String PATH = BASE_PATH
+                + "TaskNamingConventionCheckerTest_CorrectTaskNamingConvention.bpmn";
+
+        final ElementChecker formattedChecker = new TaskNamingConventionChecker(
+                createRule("\n        [A-ZÄÖÜ][a-zäöü\\-\\s]+\n    "), null);
+
+        // parse bpmn model
+        final BpmnModelInstance modelInstance = Bpmn.readModelFromFile(new File(PATH));
+
+        final Collection<BaseElement> baseElements = modelInstance
+                .getModelElementsByType(BaseElement.class);
+
+        final Collection<CheckerIssue> issues = new ArrayList<CheckerIssue>();
+        for (final BaseElement baseElement : baseElements) {
+            final BpmnElement element = new BpmnElement(PATH, baseElement);
+            issues.addAll(formattedChecker.check(element));
+        }
+
+        assertEquals("Whitespace around the pattern should be ignored", 0, issues.size());
+    }
+
     /**
      * Creates rule configuration
      * 
+     * @param pattern
+     *            naming convention
      * @return rule
      */
-    private static Rule createRule() {
+    private static Rule createRule(final String pattern) {
 
         final Collection<ElementConvention> elementConventions = new ArrayList<ElementConvention>();
 
-        final ElementConvention elementConvention = new ElementConvention("convention", null, null,
-                "[A-ZÄÖÜ][a-zäöü\\-\\s]+");
+        final ElementConvention elementConvention = new ElementConvention("convention", null, null, pattern);
         elementConventions.add(elementConvention);
 
         final Rule rule = new Rule("TaskNamingConventionChecker", true, null, null, elementConventions, null);
@@ -0,0 +1,118 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing.model.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+public class VariableStatesTest {
+
+	/**
+	 * Combined states follow the precedence DELETED, READ, DEFINED, also for
+	 * variables beyond the first word of the bit vectors
+	 */
+	@Test
+	public void testUnionAndIntersection() {
+		final VariableStates a = new VariableStates();
+		a.put(1, InOutState.DEFINED);
+		a.put(2, InOutState.DELETED);
+		a.put(70, InOutState.READ);
+		final VariableStates b = new VariableStates();
+		b.put(1, InOutState.READ);
+		b.put(3, InOutState.DEFINED);
+		b.put(70, InOutState.DEFINED);
+
+		final VariableStates union = VariableStates.union(a, b);
+		assertEquals(InOutState.READ, union.get(1));
+		assertEquals(InOutState.DELETED, union.get(2));
+		assertEquals(InOutState.DEFINED, union.get(3));
+		assertEquals(InOutState.READ, union.get(70));
+
+		final VariableStates intersection = VariableStates.intersection(a, b);
+		assertEquals(InOutState.READ, intersection.get(1));
+		assertNull(intersection.get(2));
+		assertNull(intersection.get(3));
+		assertEquals(InOutState.READ, intersection.get(70));
+	}
+
+	/**
+	 * Read variables are marked as read, new variables as defined and deleted
+	 * variables as deleted
+	 */
+	@Test
+	public void testTransfer() {
+		final VariableStates in = new VariableStates();
+		in.put(0, InOutState.DEFINED);
+		in.put(1, InOutState.DEFINED);
+		in.put(2, InOutState.READ);
+
+		final long[] defined = VariableStates.setBit(VariableStates.setBit(new long[0], 1, true), 3, true);
+		final long[] used = VariableStates.setBit(new long[0], 0, true);
+		final long[] killed = VariableStates.setBit(new long[0], 100, true);
+		final VariableStates out = VariableStates.transfer(in, defined, used, killed);
+
+		assertEquals(InOutState.READ, out.get(0));
+		assertEquals(InOutState.DEFINED, out.get(1));
+		assertEquals(InOutState.READ, out.get(2));
+		assertEquals(InOutState.DEFINED, out.get(3));
+		assertEquals(InOutState.DELETED, out.get(100));
+		assertNull(out.get(4));
+	}
+
+	/**
+	 * The map view follows changes of the states and doesn't add unknown names to
+	 * the symbol table
+	 */
+	@Test
+	public void testMapView() {
+		final VariableSymbols symbols = VariableSymbols.getInstance();
+		final int first = symbols.intern("viewFirst");
+		final int second = symbols.intern("viewSecond");
+		final VariableStates states = new VariableStates();
+		states.put(first, InOutState.DEFINED);
+
+		final Map<String, InOutState> view = states.asMap(symbols);
+		assertEquals(1, view.size());
+		assertEquals(InOutState.DEFINED, view.get("viewFirst"));
+
+		states.put(second, InOutState.READ);
+		assertEquals(2, view.size());
+		assertEquals(InOutState.READ, view.get("viewSecond"));
+
+		assertNull(view.get("viewUnknown"));
+		assertEquals(-1, symbols.indexOf("viewUnknown"));
+	}
+}
@@ -0,0 +1,398 @@
+/**
+ * BSD 3-Clause License
+ *
+ * Copyright © 2018, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing.model.graph;
+
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.builder.AbstractFlowNodeBuilder;
+import org.camunda.bpm.model.bpmn.instance.FlowNode;
+import org.camunda.bpm.model.bpmn.instance.SequenceFlow;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import de.viadee.bpm.vPAV.BpmnScanner;
+import de.viadee.bpm.vPAV.FileScanner;
+import de.viadee.bpm.vPAV.OuterProcessVariablesScanner;
+import de.viadee.bpm.vPAV.RuntimeConfig;
+import de.viadee.bpm.vPAV.constants.ConfigConstants;
+import de.viadee.bpm.vPAV.processing.ElementGraphBuilder;
+import de.viadee.bpm.vPAV.processing.JavaReaderContext;
+import de.viadee.bpm.vPAV.processing.JavaReaderRegex;
+import de.viadee.bpm.vPAV.processing.model.data.Anomaly;
+import de.viadee.bpm.vPAV.processing.model.data.AnomalyContainer;
+import de.viadee.bpm.vPAV.processing.model.data.BpmnElement;
+import de.viadee.bpm.vPAV.processing.model.data.ElementChapter;
+import de.viadee.bpm.vPAV.processing.model.data.KnownElementFieldType;
+import de.viadee.bpm.vPAV.processing.model.data.ProcessVariableOperation;
+import de.viadee.bpm.vPAV.processing.model.data.VariableOperation;
+import de.viadee.bpm.vPAV.processing.model.data.VariableSymbols;
+
+public class DataFlowAnalysisTest {
+
+    private static final String PROCESS = "DataFlowAnalysisTest.bpmn";
+
+    private static final int GATEWAYS = 40;
+
+    private static final String BASE_PATH = "src/test/resources/";
+
+    @BeforeClass
+    public static void setup() throws MalformedURLException {
+        final File file = new File(".");
+        final String currentPath = file.toURI().toURL().toString();
+        final URL classUrl = new URL(currentPath + "src/test/java");
+        final URL[] classUrls = { classUrl };
+        RuntimeConfig.getInstance().setClassLoader(new URLClassLoader(classUrls));
+    }
+
+    /**
+     * Case: The loop of the model is entered without any variable, so the second
+     * iteration of the task defines its variable again. No other element has an
+     * anomaly.
+     */
+    @Test
+    public void testAnomaliesOfLoopModel() throws Exception {
+        // When
+        final List<String> anomalies = getAnomalies("LoopAnalysisTest_TestLoop.bpmn");
+
+        // Then
+        Assert.assertEquals("[ServiceTask_1ev9i13: dd DD]", anomalies.toString());
+    }
+
+    /**
+     * Case: The anomalies of a model with an exclusive gateway, a boundary event and
+     * embedded subprocesses. Both branches of the exclusive gateway pass the same
+     * variables, so the join doesn't lose any of them.
+     */
+    @Test
+    public void testAnomaliesOfGatewayModel() throws Exception {
+        // When
+        final List<String> anomalies = getAnomalies("ProcessVariablesModelCheckerTest_GraphCreation.bpmn");
+
+        // Then
+        Assert.assertTrue(anomalies.toString(), anomalies.contains("SequenceFlow_0bi6kaa: geloeschteVariable DU"));
+        Assert.assertTrue(anomalies.toString(), anomalies.contains("SequenceFlow_0btqo3y: jepppa DD"));
+        Assert.assertTrue(anomalies.toString(), anomalies.contains("ServiceTask_05g4a96: intHallo UR"));
+        Assert.assertTrue(anomalies.toString(), anomalies.contains("BusinessRuleTask_119jb6t: hallo2 UR"));
+        for (final String anomaly : anomalies) {
+            Assert.assertFalse("valid variable is marked as invalid", anomaly.contains("validVar"));
+            Assert.assertFalse("join of the exclusive gateway has an anomaly",
+                    anomaly.startsWith("ExclusiveGateway_0fsjxd1"));
+        }
+    }
+
+    /**
+     * Case: A model with many consecutive gateways has too many paths to walk
+     * through, but the anomalies are found anyway
+     */
+    @Test(timeout = 10000)
+    public void testManyGateways() {
+        // Given
+        AbstractFlowNodeBuilder<?, ?> builder = Bpmn.createExecutableProcess("process").startEvent("start")
+                .serviceTask("write");
+        for (int i = 0; i < GATEWAYS; i++) {
+            builder = builder.exclusiveGateway("split" + i).serviceTask("a" + i).exclusiveGateway("join" + i)
+                    .moveToNode("split" + i).serviceTask("b" + i).connectTo("join" + i).moveToNode("join" + i);
+        }
+        final BpmnModelInstance modelInstance = builder.serviceTask("read").endEvent("end").done();
+
+        final Map<String, BpmnElement> elements = new HashMap<String, BpmnElement>();
+        final IGraph graph = createGraph(modelInstance, elements);
+        addOperation(elements.get("write"), "var", VariableOperation.WRITE);
+        addOperation(elements.get("b0"), "var", VariableOperation.WRITE);
+        addOperation(elements.get("read"), "var", VariableOperation.READ);
+        addOperation(elements.get("read"), "missing", VariableOperation.READ);
+
+        // When
+        graph.setAnomalyInformation(elements.get("start"));
+        final Map<BpmnElement, List<AnomalyContainer>> anomalies = graph.getNodesWithAnomalies();
+
+        // Then
+        Assert.assertEquals("[var: DD]", toString(anomalies.get(elements.get("b0"))));
+        Assert.assertEquals("[missing: UR]", toString(anomalies.get(elements.get("read"))));
+        Assert.assertEquals("[]", toString(anomalies.get(elements.get("a0"))));
+    }
+
+    /**
+     * Case: A variable deleted on one branch of a parallel gateway is deleted
+     * after the join. A variable written on one branch of an exclusive gateway is
+     * not defined after the join.
+     */
+    @Test
+    public void testGatewayStates() {
+        // Given
+        final BpmnModelInstance modelInstance = Bpmn.createExecutableProcess("process").startEvent("start")
+                .serviceTask("write").parallelGateway("fork").serviceTask("delete").parallelGateway("sync")
+                .moveToNode("fork").serviceTask("other").connectTo("sync").moveToNode("sync")
+                .serviceTask("readParallel").exclusiveGateway("split").serviceTask("write2")
+                .exclusiveGateway("join").moveToNode("split").serviceTask("none").connectTo("join")
+                .moveToNode("join").serviceTask("readExclusive").endEvent("end").done();
+
+        final Map<String, BpmnElement> elements = new HashMap<String, BpmnElement>();
+        final IGraph graph = createGraph(modelInstance, elements);
+        addOperation(elements.get("write"), "var", VariableOperation.WRITE);
+        addOperation(elements.get("delete"), "var", VariableOperation.DELETE);
+        addOperation(elements.get("readParallel"), "var", VariableOperation.READ);
+        addOperation(elements.get("write2"), "var2", VariableOperation.WRITE);
+        addOperation(elements.get("readExclusive"), "var2", VariableOperation.READ);
+
+        // When
+        graph.setAnomalyInformation(elements.get("start"));
+        final Map<BpmnElement, List<AnomalyContainer>> anomalies = graph.getNodesWithAnomalies();
+
+        // Then
+        Assert.assertEquals("[var: UR]", toString(anomalies.get(elements.get("readParallel"))));
+        Assert.assertEquals("[var2: UR]", toString(anomalies.get(elements.get("readExclusive"))));
+    }
+
+    /**
+     * Case: A variable written on one branch of an exclusive gateway is not defined
+     * after the join, although the other branch doesn't carry any variables
+     */
+    @Test
+    public void testGatewayWithEmptyBranch() {
+        // Given
+        final BpmnModelInstance modelInstance = Bpmn.createExecutableProcess("process").startEvent("start")
+                .exclusiveGateway("split").serviceTask("write").exclusiveGateway("join").moveToNode("split")
+                .serviceTask("none").connectTo("join").moveToNode("join").serviceTask("read").endEvent("end")
+                .done();
+
+        final Map<String, BpmnElement> elements = new HashMap<String, BpmnElement>();
+        final IGraph graph = createGraph(modelInstance, elements);
+        addOperation(elements.get("write"), "var", VariableOperation.WRITE);
+        addOperation(elements.get("read"), "var", VariableOperation.READ);
+
+        // When
+        graph.setAnomalyInformation(elements.get("start"));
+        final Map<BpmnElement, List<AnomalyContainer>> anomalies = graph.getNodesWithAnomalies();
+
+        // Then
+        Assert.assertEquals("[var: UR]", toString(anomalies.get(elements.get("read"))));
+    }
+
+    /**
+     * Case: A variable written in the body of a loop only is not defined at the
+     * head of the loop
+     */
+    @Test
+    public void testLoopHeadWithEmptyEntry() {
+        // Given
+        final BpmnModelInstance modelInstance = Bpmn.createExecutableProcess("process").startEvent("start")
+                .exclusiveGateway("head").serviceTask("read").serviceTask("write").exclusiveGateway("split")
+                .connectTo("head").moveToNode("split").endEvent("end").done();
+
+        final Map<String, BpmnElement> elements = new HashMap<String, BpmnElement>();
+        final IGraph graph = createGraph(modelInstance, elements);
+        addOperation(elements.get("read"), "var", VariableOperation.READ);
+        addOperation(elements.get("write"), "var", VariableOperation.WRITE);
+
+        // When
+        graph.setAnomalyInformation(elements.get("start"));
+        final Map<BpmnElement, List<AnomalyContainer>> anomalies = graph.getNodesWithAnomalies();
+
+        // Then
+        Assert.assertEquals("[var: UR]", toString(anomalies.get(elements.get("read"))));
+        Assert.assertTrue(elements.get("head").getIn().isEmpty());
+    }
+
+    /**
+     * Case: The states of the elements can still be read after the symbol table of
+     * the run has been cleared and a new run has numbered its own variables
+     */
+    @Test
+    public void testStatesAfterRun() {
+        // Given
+        final BpmnModelInstance modelInstance = Bpmn.createExecutableProcess("process").startEvent("start")
+                .serviceTask("write").serviceTask("read").endEvent("end").done();
+        final Map<String, BpmnElement> elements = new HashMap<String, BpmnElement>();
+        final IGraph graph = createGraph(modelInstance, elements);
+        addOperation(elements.get("write"), "var", VariableOperation.WRITE);
+        addOperation(elements.get("read"), "var", VariableOperation.READ);
+        graph.setAnomalyInformation(elements.get("start"));
+
+        // When
+        VariableSymbols.getInstance().clear();
+        VariableSymbols.getInstance().intern("other");
+
+        // Then
+        Assert.assertEquals("{var=DEFINED}", elements.get("read").getIn().toString());
+        Assert.assertFalse(elements.get("read").ur("var"));
+        Assert.assertEquals("{var=READ}", elements.get("read").getOut().toString());
+        Assert.assertFalse(elements.get("read").ur("notAVariable"));
+        Assert.assertEquals("Lookups shouldn't add names to the table", -1,
+                elements.get("read").getSymbols().indexOf("notAVariable"));
+    }
+
+    /**
+     * Case: The paths of an anomaly are returned shortest first and only as far
+     * as they are requested
+     */
+    @Test(timeout = 10000)
+    public void testInvalidPaths() {
+        // Given
+        AbstractFlowNodeBuilder<?, ?> builder = Bpmn.createExecutableProcess("process").startEvent("start")
+                .exclusiveGateway("split").serviceTask("long1").serviceTask("long2").exclusiveGateway("join")
+                .moveToNode("split").serviceTask("short").connectTo("join").moveToNode("join");
+        for (int i = 0; i < GATEWAYS; i++) {
+            builder = builder.exclusiveGateway("split" + i).serviceTask("a" + i).exclusiveGateway("join" + i)
+                    .moveToNode("split" + i).serviceTask("b" + i).connectTo("join" + i).moveToNode("join" + i);
+        }
+        final BpmnModelInstance modelInstance = builder.serviceTask("read").endEvent("end").done();
+
+        final Map<String, BpmnElement> elements = new HashMap<String, BpmnElement>();
+        final IGraph graph = createGraph(modelInstance, elements);
+        addOperation(elements.get("read"), "missing", VariableOperation.READ);
+        graph.setAnomalyInformation(elements.get("start"));
+        final AnomalyContainer anomaly = graph.getNodesWithAnomalies().get(elements.get("read")).get(0);
+
+        // When
+        final Iterator<Path> paths = graph.getInvalidPaths(elements.get("read"), anomaly);
+
+        // Then
+        final List<BpmnElement> shortest = paths.next().getElements();
+        Assert.assertEquals("read", shortest.get(0).getBaseElement().getId());
+        Assert.assertEquals("start", shortest.get(shortest.size() - 1).getBaseElement().getId());
+        Assert.assertTrue("Shortest path should be found first", shortest.contains(elements.get("short")));
+        for (int i = 0; i < 100; i++) {
+            Assert.assertTrue("Paths should be available", paths.hasNext());
+            Assert.assertTrue("Paths should not get shorter", paths.next().getElements().size() >= shortest.size());
+        }
+    }
+
+    /**
+     * Case: Only the requested number of paths is kept, an anomaly with further
+     * paths is marked without searching them
+     */
+    @Test
+    public void testMorePaths() throws Exception {
+        // Given
+        final String model = "ProcessVariablesModelCheckerTest_GraphCreation.bpmn";
+        final ElementGraphBuilder graphBuilder = new ElementGraphBuilder(new BpmnScanner(BASE_PATH + model));
+        final Collection<IGraph> graphs = createGraphs(graphBuilder, model);
+        final AnomalyContainer jepppa = new AnomalyContainer("jepppa", Anomaly.DD, "SequenceFlow_0btqo3y", null);
+
+        // When
+        final Map<AnomalyContainer, List<Path>> onePath = graphBuilder.createInvalidPaths(graphs, 1);
+        final Set<AnomalyContainer> morePaths = new HashSet<AnomalyContainer>(graphBuilder.getMorePaths());
+        final Map<AnomalyContainer, List<Path>> allPaths = graphBuilder.createInvalidPaths(graphs, 2);
+
+        // Then
+        Assert.assertEquals(1, onePath.get(jepppa).size());
+        Assert.assertTrue("Anomaly should have more paths", morePaths.contains(jepppa));
+        Assert.assertEquals(2, allPaths.get(jepppa).size());
+        Assert.assertFalse("Anomaly shouldn't have more paths", graphBuilder.getMorePaths().contains(jepppa));
+    }
+
+    private static List<String> getAnomalies(final String model) throws Exception {
+        final ElementGraphBuilder graphBuilder = new ElementGraphBuilder(new BpmnScanner(BASE_PATH + model));
+        final Collection<IGraph> graphs = createGraphs(graphBuilder, model);
+        graphBuilder.createInvalidPaths(graphs);
+
+        final List<String> anomalies = new ArrayList<String>();
+        for (final IGraph graph : graphs) {
+            for (final Map.Entry<BpmnElement, List<AnomalyContainer>> entry : graph.getNodesWithAnomalies()
+                    .entrySet()) {
+                for (final AnomalyContainer anomaly : entry.getValue()) {
+                    anomalies.add(entry.getKey().getBaseElement().getId() + ": " + anomaly.getName() + " "
+                            + anomaly.getAnomaly());
+                }
+            }
+        }
+        Collections.sort(anomalies);
+        return anomalies;
+    }
+
+    private static Collection<IGraph> createGraphs(final ElementGraphBuilder graphBuilder, final String model)
+            throws Exception {
+        final File processdefinition = new File(BASE_PATH + model);
+        final JavaReaderContext jvc = new JavaReaderContext();
+        jvc.setJavaReadingStrategy(new JavaReaderRegex());
+        final BpmnModelInstance modelInstance = Bpmn.readModelFromFile(processdefinition);
+        return graphBuilder.createProcessGraph(jvc, new FileScanner(new HashMap<>(), ConfigConstants.TEST_JAVAPATH),
+                modelInstance, processdefinition.getPath(), new ArrayList<String>(),
+                new OuterProcessVariablesScanner(null));
+    }
+
+    private static IGraph createGraph(final BpmnModelInstance modelInstance,
+            final Map<String, BpmnElement> elements) {
+        final IGraph graph = new Graph("process");
+        for (final FlowNode node : modelInstance.getModelElementsByType(FlowNode.class)) {
+            addVertex(graph, elements, new BpmnElement(PROCESS, node));
+        }
+        for (final SequenceFlow flow : modelInstance.getModelElementsByType(SequenceFlow.class)) {
+            final BpmnElement flowElement = addVertex(graph, elements, new BpmnElement(PROCESS, flow));
+            graph.addEdge(elements.get(flow.getSource().getId()), flowElement, 100);
+            graph.addEdge(flowElement, elements.get(flow.getTarget().getId()), 100);
+        }
+        graph.addStartNode(elements.get("start"));
+        graph.addEndNode(elements.get("end"));
+        return graph;
+    }
+
+    private static BpmnElement addVertex(final IGraph graph, final Map<String, BpmnElement> elements,
+            final BpmnElement element) {
+        graph.addVertex(element);
+        elements.put(element.getBaseElement().getId(), element);
+        return element;
+    }
+
+    private static void addOperation(final BpmnElement element, final String name,
+            final VariableOperation operation) {
+        element.setProcessVariable(name, new ProcessVariableOperation(name, element, ElementChapter.Details,
+                KnownElementFieldType.Class, null, operation, "process"));
+    }
+
+    private static String toString(final List<AnomalyContainer> anomalies) {
+        final StringBuilder result = new StringBuilder("[");
+        for (final AnomalyContainer anomaly : anomalies) {
+            if (result.length() > 1) {
+                result.append(", ");
+            }
+            result.append(anomaly.getName()).append(": ").append(anomaly.getAnomaly());
+        }
+        return result.append("]").toString();
+    }
+}